@@ -19,13 +19,17 @@ package org.apache.sis.services;
 //JDK imports
 import java.awt.geom.Rectangle2D;
 import java.io.FileInputStream;
-import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.PrintWriter;
 import java.io.StringWriter;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import javax.servlet.ServletConfig;
@@ -54,11 +58,10 @@ import org.xml.sax.SAXException;
 import org.apache.sis.geometry.DirectPosition2D;
 import org.apache.sis.geometry.Envelope2D;
 import org.apache.sis.distance.DistanceUtils;
+import org.apache.sis.distance.LatLonPointRadius;
 import org.apache.sis.index.tree.GeoRSSData;
-import org.apache.sis.index.tree.QuadTree;
+import org.apache.sis.index.tree.PointIndex;
 import org.apache.sis.index.tree.QuadTreeData;
-import org.apache.sis.index.tree.QuadTreeReader;
-import org.apache.sis.index.tree.QuadTreeWriter;
 
 //ROME imports
 import com.sun.syndication.feed.WireFeed;
@@ -71,14 +74,29 @@ import com.sun.syndication.io.XmlReader;
 /**
  *
  * A location web service that loads data from GeoRSS format (configured via a
- * provided config.xml file), and then loads up a {@link QuadTree} with this
- * information, making it queryable for callers.
+ * provided config.xml file), and then loads up a {@link PointIndex} with this
+ * information, making it queryable for callers. The index is saved in a binary
+ * file which is memory-mapped on next start, together with a text file listing
+ * the name of the file where each GeoRSS entry is saved.
  *
  */
 public class LocationServlet extends HttpServlet {
 
   private static final long serialVersionUID = 731743219362175102L;
-  private QuadTree tree;
+
+  /**
+   * Name of the file where the spatial index is saved.
+   */
+  private static final String INDEX_FILE = "points.idx";
+
+  /**
+   * Name of the file where the GeoRSS file names are saved, one per line
+   * in the order of point identifiers.
+   */
+  private static final String NAMES_FILE = "names.txt";
+
+  private PointIndex tree;
+  private String[] filenames;
   private ServletContext context;
   private String timeToLoad;
   private String qtreeIdxPath;
@@ -86,7 +104,7 @@ public class LocationServlet extends HttpServlet {
 
   /**
    * Read GeoRSS data (location information provide sis-location-config.xml )
-   * and build quad-tree.
+   * and build the spatial index.
    *
    * @param config
    *          Servlet configuration file
@@ -98,7 +116,7 @@ public class LocationServlet extends HttpServlet {
     this.context = config.getServletContext();
     long startTime = 0;
     long endTime = 0;
-    int capacity = -1, depth = -1;
+    int capacity = -1;
     this.qtreeIdxPath = this.context
         .getInitParameter("org.apache.sis.services.config.qIndexPath");
     this.georssStoragePath = this.context
@@ -109,27 +127,22 @@ public class LocationServlet extends HttpServlet {
     if (!this.georssStoragePath.endsWith("/"))
       this.georssStoragePath += "/";
 
-    InputStream indexStream = null;
-    try {
-      indexStream = new FileInputStream(qtreeIdxPath + "node_0.txt");
-    } catch (FileNotFoundException e) {
-      System.out.println("[INFO] Existing qtree index at: ["+qtreeIdxPath+"] not found. Creating new index.");
-    }
-
-    if (indexStream != null) {
+    final Path indexFile = Paths.get(qtreeIdxPath, INDEX_FILE);
+    final Path namesFile = Paths.get(qtreeIdxPath, NAMES_FILE);
+    if (Files.isRegularFile(indexFile) && Files.isRegularFile(namesFile)) {
       startTime = System.currentTimeMillis();
-      this.tree = QuadTreeReader.readFromFile(qtreeIdxPath, "tree_config.txt",
-          "node_0.txt");
       try {
-        indexStream.close();
+        this.tree = PointIndex.read(indexFile);
+        this.filenames = Files.readAllLines(namesFile, StandardCharsets.UTF_8).toArray(new String[0]);
       } catch (IOException e) {
-        e.printStackTrace();
+        throw new ServletException(e);
       }
       endTime = System.currentTimeMillis();
-      this.timeToLoad = "Quad Tree fully loaded from index files in "
-          + Double.toString((endTime - startTime) / 1000L) + " seconds";
+      this.timeToLoad = "Spatial index fully loaded from index files in "
+          + Double.toString((endTime - startTime) / 1000.0) + " seconds";
       System.out.println("[INFO] Finished loading tree from stored index");
     } else {
+      System.out.println("[INFO] Existing index at: ["+qtreeIdxPath+"] not found. Creating new index.");
       startTime = System.currentTimeMillis();
       WireFeedInput wf = new WireFeedInput(true);
       // read quad tree properties set in config xml file
@@ -151,14 +164,8 @@ public class LocationServlet extends HttpServlet {
             capacity = Integer.parseInt(capacityNode.item(0).getFirstChild()
                 .getNodeValue());
           }
-
-          NodeList depthNode = configDoc.getElementsByTagName("depth");
-          if (depthNode.item(0) != null) {
-            depth = Integer.parseInt(depthNode.item(0).getFirstChild()
-                .getNodeValue());
-          }
-          this.tree = new QuadTree(capacity, depth); // TODO make this
-          // configurable
+          double[] coordinates = new double[256];
+          final List<String> names = new ArrayList<String>();
 
           NodeList urlNodes = configDoc.getElementsByTagName("url");
           for (int i = 0; i < urlNodes.getLength(); i++) {
@@ -197,22 +204,27 @@ public class LocationServlet extends HttpServlet {
                 GeoRSSData data = new GeoRSSData(filename, new DirectPosition2D(
                     geoRSSModule.getPosition().getLongitude(),
                     geoRSSModule.getPosition().getLatitude()));
-                if (this.tree.insert(data)) {
-                  data.saveToFile(item, geoRSSModule, georssStoragePath);
-                } else {
-                  System.out.println("[INFO] Unable to store data at location "
-                      + data.getLatLon().y + ", "
-                      + data.getLatLon().x + " under filename "
-                      + data.getFileName());
+                final int n = names.size() * 2;
+                if (n == coordinates.length) {
+                  coordinates = Arrays.copyOf(coordinates, n * 2);
                 }
+                coordinates[n]     = data.getLatLon().x;
+                coordinates[n + 1] = data.getLatLon().y;
+                names.add(filename);
+                data.saveToFile(item, geoRSSModule, georssStoragePath);
               }
             }
           }
           configStream.close();
+          this.tree = new PointIndex(Arrays.copyOf(coordinates, names.size() * 2),
+              capacity > 1 ? capacity : PointIndex.DEFAULT_NODE_CAPACITY);
+          this.filenames = names.toArray(new String[names.size()]);
           endTime = System.currentTimeMillis();
-          this.timeToLoad = "Quad Tree fully loaded from retrieving GeoRSS files over the network in "
-              + Double.toString((endTime - startTime) / 1000L) + " seconds";
-          QuadTreeWriter.writeTreeToFile(tree, qtreeIdxPath);
+          this.timeToLoad = "Spatial index fully loaded from retrieving GeoRSS files over the network in "
+              + Double.toString((endTime - startTime) / 1000.0) + " seconds";
+          Files.createDirectories(indexFile.getParent());
+          tree.write(indexFile);
+          Files.write(namesFile, names, StandardCharsets.UTF_8);
         } catch (ParserConfigurationException e) {
           e.printStackTrace();
         } catch (SAXException e) {
@@ -253,7 +265,7 @@ public class LocationServlet extends HttpServlet {
 
     String type = request.getParameter("type");
 
-    List<QuadTreeData> results = new ArrayList<QuadTreeData>();
+    final List<QuadTreeData> results = new ArrayList<QuadTreeData>();
     List<String> regions = new ArrayList<String>();
     if (type != null && type.equals("bbox")) {
       String llLat = request.getParameter("llLat");
@@ -267,11 +279,16 @@ public class LocationServlet extends HttpServlet {
               Double.parseDouble(llLon), Double.parseDouble(llLat)),
               new DirectPosition2D(Double.parseDouble(urLon), Double.parseDouble(urLat)));
 
-          beforeTime = System.currentTimeMillis();
-          results = tree.queryByBoundingBox(bbox);
-          afterTime = System.currentTimeMillis();
           // get the polygon that approximates the region
           Rectangle2D[] rects = bbox.toRectangles();
+          beforeTime = System.currentTimeMillis();
+          for (final Rectangle2D r : rects) {
+            tree.search(r.getMinX(), r.getMinY(), r.getMaxX(), r.getMaxY(), (id, x, y) -> {
+              results.add(new GeoRSSData(filenames[id], new DirectPosition2D(x, y)));
+              return true;
+            });
+          }
+          afterTime = System.currentTimeMillis();
           for (int i = 0; i < rects.length; i++) {
             final Rectangle2D r = rects[i];
             String regionStr = (r.getMinY()) + "," + (r.getMinX()) + ",";
@@ -314,8 +331,16 @@ public class LocationServlet extends HttpServlet {
         regionStr += pt.y + "," + pt.x + ",";
         regions.add(regionStr.substring(0, regionStr.length() - 1));
 
+        final DirectPosition2D center = point;
         beforeTime = System.currentTimeMillis();
-        results = tree.queryByPointRadius(point, radiusKM);
+        // search region is in longitudes and latitudes shifted by 180 and 90 degrees
+        Rectangle2D r = new LatLonPointRadius(center, radiusKM).getRectangularRegionApproximation(360);
+        tree.search(r.getMinX() - 180, r.getMinY() - 90, r.getMaxX() - 180, r.getMaxY() - 90, (id, x, y) -> {
+          if (DistanceUtils.getHaversineDistance(y, x, center.y, center.x) <= radiusKM) {
+            results.add(new GeoRSSData(filenames[id], new DirectPosition2D(x, y)));
+          }
+          return true;
+        });
         afterTime = System.currentTimeMillis();
 
       }
@@ -17,6 +17,8 @@
 package org.apache.sis.internal.feature;
 
 import java.util.Iterator;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import com.esri.core.geometry.Geometry;
 import com.esri.core.geometry.Envelope2D;
 import com.esri.core.geometry.MultiPath;
@@ -26,11 +28,14 @@ import com.esri.core.geometry.Point;
 import com.esri.core.geometry.Point2D;
 import com.esri.core.geometry.Point3D;
 import com.esri.core.geometry.WktImportFlags;
+import com.esri.core.geometry.WkbImportFlags;
 import com.esri.core.geometry.OperatorImportFromWkt;
+import com.esri.core.geometry.OperatorImportFromWkb;
 import org.apache.sis.geometry.GeneralEnvelope;
 import org.apache.sis.setup.GeometryLibrary;
 import org.apache.sis.math.Vector;
 import org.apache.sis.util.Classes;
+import org.apache.sis.util.resources.Errors;
 
 
 /**
@@ -199,4 +204,100 @@ final class ESRI extends Geometries<Geometry> {
     public Object parseWKT(final String wkt) {
         return OperatorImportFromWkt.local().execute(WktImportFlags.wktImportDefaults, Geometry.Type.Unknown, wkt, null);
     }
+
+    /**
+     * Parses the given Well Known Binary (WKB).
+     * The PostGIS extensions (EWKB) are not supported by the ESRI library. If the top-level geometry
+     * has the EWKB <var>z</var>, <var>m</var> or SRID flags, then this method rewrites all geometry headers
+     * (including the ones of nested geometries) with the ISO type codes and without spatial reference identifier.
+     */
+    @Override
+    public Object parseWKB(final byte[] wkb) {
+        ByteBuffer buffer = ByteBuffer.wrap(wkb);
+        if (wkb.length >= 5) {
+            buffer.order(wkb[0] == 0 ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN);
+            if ((buffer.getInt(1) & (EWKB_Z | EWKB_M | EWKB_SRID)) != 0) {
+                final ByteBuffer iso = ByteBuffer.allocate(wkb.length).order(buffer.order());
+                toISO(buffer, iso);
+                buffer = (ByteBuffer) iso.flip();
+            }
+        }
+        return OperatorImportFromWkb.local().execute(WkbImportFlags.wkbImportDefaults, Geometry.Type.Unknown, buffer, null);
+    }
+
+    /**
+     * Flags set by PostGIS in the geometry type code of Extended Well Known Binary (EWKB).
+     */
+    private static final int EWKB_Z = 0x80000000, EWKB_M = 0x40000000, EWKB_SRID = 0x20000000;
+
+    /**
+     * Copies the geometry at the current position of {@code in} into {@code out}, replacing the EWKB flags
+     * by the equivalent ISO type codes (1000 added for <var>z</var>, 2000 for <var>m</var>) and omitting
+     * the spatial reference identifier. Nested geometries of collections are converted recursively and
+     * written in the byte order of {@code out}, since ESRI ignores the byte order of nested geometries.
+     * The output can not be longer than the input.
+     *
+     * @param  in   the EWKB to read, positioned on the byte order mark of a geometry.
+     * @param  out  where to write the ISO WKB.
+     * @throws IllegalArgumentException if the geometry type is not one of the types known to WKB.
+     */
+    private static void toISO(final ByteBuffer in, final ByteBuffer out) {
+        in.order(in.get() == 0 ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN);
+        out.put((byte) (out.order() == ByteOrder.BIG_ENDIAN ? 0 : 1));
+        final int code = in.getInt();
+        int type = code & ~(EWKB_Z | EWKB_M | EWKB_SRID);
+        if ((code & EWKB_Z) != 0) type += 1000;
+        if ((code & EWKB_M) != 0) type += 2000;
+        if ((code & EWKB_SRID) != 0) in.getInt();
+        out.putInt(type);
+        final int dimension;
+        switch (type / 1000) {
+            case 0:  dimension = 2; break;
+            case 1:
+            case 2:  dimension = 3; break;
+            case 3:  dimension = 4; break;
+            default: throw new IllegalArgumentException(Errors.format(Errors.Keys.UnknownType_1, code));
+        }
+        switch (type % 1000) {
+            case 1: {                                           // Point
+                copyOrdinates(in, out, dimension);
+                break;
+            }
+            case 2: {                                           // LineString
+                copyOrdinates(in, out, copyCount(in, out) * dimension);
+                break;
+            }
+            case 3: {                                           // Polygon
+                for (int n = copyCount(in, out); --n >= 0;) {
+                    copyOrdinates(in, out, copyCount(in, out) * dimension);
+                }
+                break;
+            }
+            case 4: case 5: case 6: case 7: {                   // Multi-geometries and GeometryCollection
+                for (int n = copyCount(in, out); --n >= 0;) {
+                    toISO(in, out);
+                }
+                break;
+            }
+            default: throw new IllegalArgumentException(Errors.format(Errors.Keys.UnknownType_1, code));
+        }
+    }
+
+    /**
+     * Copies a number of points, rings or geometries from the input to the output, then returns that number.
+     */
+    private static int copyCount(final ByteBuffer in, final ByteBuffer out) {
+        final int n = in.getInt();
+        out.putInt(n);
+        return n;
+    }
+
+    /**
+     * Copies the given number of ordinate values from the input to the output.
+     */
+    private static void copyOrdinates(final ByteBuffer in, final ByteBuffer out, int n) {
+        while (--n >= 0) {
+            out.putDouble(in.getDouble());
+        }
+    }
 }
@@ -292,6 +292,17 @@ public abstract class Geometries<G> {
      */
     public abstract Object parseWKT(String wkt) throws Exception;
 
+    /**
+     * Parses the given Well Known Binary (WKB). Some implementations accept also the PostGIS extensions (EWKB),
+     * in which case the <var>z</var> and spatial reference identifier flags are recognized. This method is for
+     * decoding geometries read from spatial databases with {@link java.sql.ResultSet#getBytes(int)}.
+     *
+     * @param  wkb  the WKB to parse.
+     * @return the geometry object for the given WKB.
+     * @throws Exception if the WKB can not be parsed. The exception sub-class depends on the implementation.
+     */
+    public abstract Object parseWKB(byte[] wkb) throws Exception;
+
     /**
      * Returns an error message for an unsupported geometry object.
      *
@@ -28,6 +28,7 @@ import org.locationtech.jts.geom.MultiLineString;
 import org.locationtech.jts.geom.Envelope;
 import org.locationtech.jts.geom.Geometry;
 import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.io.WKBReader;
 import org.locationtech.jts.io.WKTReader;
 import org.locationtech.jts.io.ParseException;
 import org.apache.sis.geometry.GeneralEnvelope;
@@ -249,4 +250,13 @@ final class JTS extends Geometries<Geometry> {
     public Object parseWKT(final String wkt) throws ParseException {
         return new WKTReader(factory).read(wkt);
     }
+
+    /**
+     * Parses the given Well Known Binary (WKB) or PostGIS Extended WKB (EWKB).
+     * The JTS reader recognizes the EWKB flags for <var>z</var> values and spatial reference identifier.
+     */
+    @Override
+    public Object parseWKB(final byte[] wkb) throws ParseException {
+        return new WKBReader(factory).read(wkb);
+    }
 }
@@ -17,6 +17,8 @@
 package org.apache.sis.internal.feature;
 
 import java.util.Iterator;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.awt.Shape;
 import java.awt.geom.Line2D;
 import java.awt.geom.Path2D;
@@ -27,6 +29,7 @@ import org.apache.sis.setup.GeometryLibrary;
 import org.apache.sis.internal.referencing.j2d.ShapeUtilities;
 import org.apache.sis.math.Vector;
 import org.apache.sis.util.Classes;
+import org.apache.sis.util.resources.Errors;
 
 
 /**
@@ -35,7 +38,7 @@ import org.apache.sis.util.Classes;
  *
  * @author  Johann Sorel (Geomatys)
  * @author  Martin Desruisseaux (Geomatys)
- * @version 0.8
+ * @version 1.0
  * @since   0.7
  * @module
  */
@@ -220,4 +223,107 @@ final class Java2D extends Geometries<Shape> {
     public Object parseWKT(final String wkt) {
         throw unsupported(2);
     }
+
+    /**
+     * Parses the given Well Known Binary (WKB) or PostGIS Extended WKB (EWKB).
+     * A single point is returned as a {@link Point2D}. All other geometries are appended in a single
+     * {@link Path2D}, with polygon rings closed. The <var>z</var> and <var>m</var> values are ignored.
+     * The coordinates are appended directly in the path without intermediate buffer.
+     *
+     * @throws IllegalArgumentException if the given array contains an unknown geometry type.
+     */
+    @Override
+    public Object parseWKB(final byte[] wkb) {
+        final ByteBuffer buffer = ByteBuffer.wrap(wkb);
+        final Path2D path = new Path2D.Double(Path2D.WIND_EVEN_ODD, wkb.length / (2*Double.BYTES));
+        final Point2D point = readWKB(buffer, path, true);
+        return (point != null) ? point : ShapeUtilities.toPrimitive(path);
+    }
+
+    /**
+     * Reads a geometry encoded in WKB or EWKB format and appends it to the given path.
+     * The byte order and geometry type are read from the buffer. If the geometry is a point
+     * and {@code isRoot} is {@code true}, then the point is returned instead than appended.
+     *
+     * @param  buffer  the buffer from which to read the geometry.
+     * @param  path    where to append the coordinates.
+     * @param  isRoot  whether the geometry is the top-level one (not a component of a collection).
+     * @return the point if the top-level geometry is a point, or {@code null} otherwise.
+     */
+    private static Point2D readWKB(final ByteBuffer buffer, final Path2D path, final boolean isRoot) {
+        buffer.order(buffer.get() == 0 ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN);
+        final int code = buffer.getInt();
+        int type = code & 0x0FFFFFFF;
+        int dimension = 2;
+        if ((code & 0x80000000) != 0) dimension++;          // EWKB flag for z values.
+        if ((code & 0x40000000) != 0) dimension++;          // EWKB flag for m values.
+        if ((code & 0x20000000) != 0) buffer.getInt();      // EWKB spatial reference identifier (ignored).
+        switch (type / 1000) {                              // ISO 13249 flags for z and m values.
+            case 1: case 2: dimension++; break;
+            case 3: dimension += 2; break;
+        }
+        final int skip = (dimension - 2) * Double.BYTES;
+        switch (type %= 1000) {
+            case 1: {                                                       // Point
+                final double x = buffer.getDouble();
+                final double y = buffer.getDouble();
+                buffer.position(buffer.position() + skip);
+                if (isRoot) {
+                    return new Point2D.Double(x, y);
+                }
+                path.moveTo(x, y);
+                break;
+            }
+            case 2: {                                                       // LineString
+                readPoints(buffer, path, skip, false);
+                break;
+            }
+            case 3: {                                                       // Polygon
+                for (int n = buffer.getInt(); --n >= 0;) {
+                    readPoints(buffer, path, skip, true);
+                }
+                break;
+            }
+            case 4:                                                         // MultiPoint
+            case 5:                                                         // MultiLineString
+            case 6:                                                         // MultiPolygon
+            case 7: {                                                       // GeometryCollection
+                for (int n = buffer.getInt(); --n >= 0;) {
+                    readWKB(buffer, path, false);
+                }
+                break;
+            }
+            default: {
+                throw new IllegalArgumentException(Errors.format(Errors.Keys.UnexpectedValueInElement_2, "WKB", type));
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Reads a sequence of points preceded by their number, and appends them in the given path.
+     *
+     * @param  buffer  the buffer from which to read the coordinates.
+     * @param  path    where to append the coordinates.
+     * @param  skip    number of bytes to skip after each (<var>x</var>,<var>y</var>) tuple.
+     * @param  close   whether to close the path (for polygon rings).
+     */
+    private static void readPoints(final ByteBuffer buffer, final Path2D path, final int skip, final boolean close) {
+        final int n = buffer.getInt();
+        for (int i=0; i<n; i++) {
+            final double x = buffer.getDouble();
+            final double y = buffer.getDouble();
+            if (skip != 0) {
+                buffer.position(buffer.position() + skip);
+            }
+            if (i == 0) {
+                path.moveTo(x, y);
+            } else {
+                path.lineTo(x, y);
+            }
+        }
+        if (close && n != 0) {
+            path.closePath();
+        }
+    }
 }
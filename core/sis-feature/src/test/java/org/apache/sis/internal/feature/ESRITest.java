@@ -16,6 +16,10 @@
  */
 package org.apache.sis.internal.feature;
 
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import com.esri.core.geometry.MultiPoint;
+import com.esri.core.geometry.Point;
 import com.esri.core.geometry.Polyline;
 import org.junit.Test;
 
@@ -59,4 +63,23 @@ public final strictfp class ESRITest extends GeometriesTestCase {
         final Polyline poly = (Polyline) geometry;
         assertEquals("pathCount", 3, poly.getPathCount());
     }
+
+    /**
+     * Tests {@link ESRI#parseWKB(byte[])} with PostGIS extensions: a multi-point with <var>z</var> values
+     * and a spatial reference identifier. PostGIS sets the <var>z</var> flag on the nested points too.
+     */
+    @Test
+    public void testParseEWKB() {
+        final ByteBuffer wkb = ByteBuffer.allocate(1 + 3*Integer.BYTES + 2*(1 + Integer.BYTES + 3*Double.BYTES));
+        wkb.order(ByteOrder.BIG_ENDIAN).put((byte) 0).putInt(0xA0000004).putInt(4326).putInt(2);
+        wkb.order(ByteOrder.LITTLE_ENDIAN).put((byte) 1).putInt(0x80000001).putDouble(1).putDouble(2).putDouble(3);
+        wkb.order(ByteOrder.BIG_ENDIAN)   .put((byte) 0).putInt(0x80000001).putDouble(4).putDouble(5).putDouble(6);
+        final MultiPoint points = (MultiPoint) new ESRI().parseWKB(wkb.array());
+        assertEquals("pointCount", 2, points.getPointCount());
+        final Point p = points.getPoint(1);
+        assertEquals("x", 4, p.getX(), STRICT);
+        assertEquals("y", 5, p.getY(), STRICT);
+        assertEquals("z", 6, p.getZ(), STRICT);
+        assertEquals("z", 3, points.getPoint(0).getZ(), STRICT);
+    }
 }
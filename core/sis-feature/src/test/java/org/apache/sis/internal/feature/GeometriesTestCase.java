@@ -18,6 +18,8 @@ package org.apache.sis.internal.feature;
 
 import java.util.Arrays;
 import java.util.Iterator;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import org.apache.sis.math.Vector;
 import org.apache.sis.geometry.GeneralEnvelope;
 import org.apache.sis.test.TestCase;
@@ -119,4 +121,27 @@ public abstract strictfp class GeometriesTestCase extends TestCase {
         assertEquals("xmax", 15, env.getUpper(0), STRICT);
         assertEquals("ymax", 12, env.getUpper(1), STRICT);
     }
+
+    /**
+     * Tests {@link Geometries#parseWKB(byte[])} with a polygon encoded in little-endian order.
+     * This method verifies the polygon by a call to {@link Geometries#tryGetEnvelope(Object)}.
+     * Subclasses should perform more extensive tests by verifying the {@link #geometry} field.
+     *
+     * @throws Exception if the WKB can not be parsed.
+     */
+    @Test
+    public void testParseWKB() throws Exception {
+        final double[] ring = {0,0,  4,0,  4,3,  0,3,  0,0};
+        final ByteBuffer wkb = ByteBuffer.allocate(1 + 3*Integer.BYTES + ring.length * Double.BYTES);
+        wkb.order(ByteOrder.LITTLE_ENDIAN).put((byte) 1).putInt(3).putInt(1).putInt(ring.length / 2);
+        for (final double value : ring) {
+            wkb.putDouble(value);
+        }
+        geometry = factory.parseWKB(wkb.array());
+        final GeneralEnvelope env = factory.tryGetEnvelope(geometry);
+        assertEquals("xmin", 0, env.getLower(0), STRICT);
+        assertEquals("ymin", 0, env.getLower(1), STRICT);
+        assertEquals("xmax", 4, env.getUpper(0), STRICT);
+        assertEquals("ymax", 3, env.getUpper(1), STRICT);
+    }
 }
@@ -16,7 +16,9 @@
  */
 package org.apache.sis.internal.feature;
 
+import java.nio.ByteBuffer;
 import java.awt.geom.Path2D;
+import java.awt.geom.Point2D;
 import org.junit.Test;
 
 import static org.opengis.test.Assert.*;
@@ -57,4 +59,27 @@ public final strictfp class Java2DTest extends GeometriesTestCase {
         super.testTryMergePolylines();
         assertInstanceOf("geometry", Path2D.class, geometry);
     }
+
+    /**
+     * Tests {@link Java2D#parseWKB(byte[])}.
+     *
+     * @throws Exception if the WKB can not be parsed.
+     */
+    @Test
+    @Override
+    public void testParseWKB() throws Exception {
+        super.testParseWKB();
+        assertInstanceOf("geometry", Path2D.class, geometry);
+    }
+
+    /**
+     * Tests {@link Java2D#parseWKB(byte[])} with a point in the PostGIS extended format (EWKB)
+     * having <var>z</var> value and spatial reference identifier. Those information are ignored.
+     */
+    @Test
+    public void testParseEWKB() {
+        final ByteBuffer wkb = ByteBuffer.allocate(1 + 2*Integer.BYTES + 3*Double.BYTES);
+        wkb.put((byte) 0).putInt(0x80000000 | 0x20000000 | 1).putInt(4326).putDouble(2).putDouble(48).putDouble(100);
+        assertEquals(new Point2D.Double(2, 48), new Java2D().parseWKB(wkb.array()));
+    }
 }
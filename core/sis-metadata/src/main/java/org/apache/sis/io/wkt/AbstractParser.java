@@ -39,6 +39,7 @@ import org.apache.sis.measure.Units;
 import org.apache.sis.measure.UnitFormat;
 import org.apache.sis.util.ArgumentChecks;
 import org.apache.sis.util.CharSequences;
+import org.apache.sis.util.collection.WeakHashSet;
 import org.apache.sis.util.logging.Logging;
 import org.apache.sis.util.resources.Errors;
 
@@ -57,7 +58,7 @@ import static org.apache.sis.util.ArgumentChecks.ensureNonNull;
  *
  * @author  Rémi Eve (IRD)
  * @author  Martin Desruisseaux (IRD, Geomatys)
- * @version 0.8
+ * @version 1.0
  * @since   0.6
  * @module
  */
@@ -82,6 +83,15 @@ abstract class AbstractParser implements Parser {
      */
     static final int MANDATORY = 2;
 
+    /**
+     * Unique instances of units, ellipsoids, prime meridians and datums created by all parsers.
+     * The same components are repeated in many WKT strings (for example the WGS84 datum), so sharing
+     * them reduces memory usage and allows faster comparisons between the CRS using those components.
+     *
+     * @see #unique(Object)
+     */
+    private static final WeakHashSet<Object> POOL = new WeakHashSet<>(Object.class);
+
     /**
      * The locale for error messages (not for number parsing), or {@code null} for the system default.
      */
@@ -294,23 +304,49 @@ abstract class AbstractParser implements Parser {
      */
     abstract Object parseObject(final Element element) throws ParseException;
 
+    /**
+     * Returns a unique instance of the given unit, ellipsoid, prime meridian or datum.
+     * If an object equal to the given one has been created by a previous parsing, then
+     * that previous instance is returned. Otherwise the given object is returned.
+     *
+     * @param  <T>     the type of the object to share.
+     * @param  object  the object to share, or {@code null}.
+     * @return an object equal to the given one, or {@code null} if the given object was null.
+     */
+    static <T> T unique(final T object) {
+        return POOL.unique(object);
+    }
+
     /**
      * Parses the number at the given position.
      * This is a helper method for {@link Element} only.
      */
-    final Number parseNumber(String text, final ParsePosition position) {
+    final Number parseNumber(final String text, final ParsePosition position) {
         final int base = position.getIndex();
         Number number = numberFormat.parse(text, position);
         if (number != null && exponentSymbol != null) {
             /*
              * HACK: DecimalFormat.parse(…) does not understand lower case 'e' for scientific notation.
              *       It understands upper case 'E' only, so we may need to perform a replacement here.
+             *       We copy only the number to parse instead than the whole text, because copying
+             *       the whole text for each number would be costly on long WKT strings.
              */
-            int i = position.getIndex();
+            final int i = position.getIndex();
             if (text.regionMatches(true, i, exponentSymbol, 0, exponentSymbol.length())) {
-                text = new StringBuilder(text).replace(i, i + exponentSymbol.length(), exponentSymbol).toString();
-                position.setIndex(base);
-                number = numberFormat.parse(text, position);
+                final int start = i + exponentSymbol.length();
+                int end = start;
+                while (end < text.length()) {
+                    final char c = text.charAt(end);
+                    if (!Character.isDigit(c) && c != '-' && c != '+') break;
+                    end++;
+                }
+                final String token = text.substring(base, i) + exponentSymbol + text.substring(start, end);
+                final ParsePosition p = new ParsePosition(0);
+                number = numberFormat.parse(token, p);
+                position.setIndex(base + p.getIndex());         // Token has the same length than the text region.
+                if (number == null) {
+                    position.setErrorIndex(base + p.getErrorIndex());
+                }
             }
         }
         return number;
@@ -676,7 +676,7 @@ class GeodeticObjectParser extends MathTransformParser implements Comparator<Coo
                         new Object[] {verify}, element.offset).initCause(e);
             }
         }
-        return unit;
+        return unique(unit);
     }
 
     /**
@@ -1181,7 +1181,7 @@ class GeodeticObjectParser extends MathTransformParser implements Comparator<Coo
             throw parent.missingComponent(WKTKeywords.AngleUnit);
         }
         try {
-            return datumFactory.createPrimeMeridian(parseMetadataAndClose(element, name, null), longitude, angularUnit);
+            return unique(datumFactory.createPrimeMeridian(parseMetadataAndClose(element, name, null), longitude, angularUnit));
         } catch (FactoryException exception) {
             throw element.parseFailed(exception);
         }
@@ -1249,9 +1249,9 @@ class GeodeticObjectParser extends MathTransformParser implements Comparator<Coo
         final Map<String,?> properties = parseMetadataAndClose(element, name, null);
         try {
             if (inverseFlattening == 0) {                           // OGC convention for a sphere.
-                return datumFactory.createEllipsoid(properties, semiMajorAxis, semiMajorAxis, unit);
+                return unique(datumFactory.createEllipsoid(properties, semiMajorAxis, semiMajorAxis, unit));
             } else {
-                return datumFactory.createFlattenedSphere(properties, semiMajorAxis, inverseFlattening, unit);
+                return unique(datumFactory.createFlattenedSphere(properties, semiMajorAxis, inverseFlattening, unit));
             }
         } catch (FactoryException exception) {
             throw element.parseFailed(exception);
@@ -1417,7 +1417,7 @@ class GeodeticObjectParser extends MathTransformParser implements Comparator<Coo
             properties.put(ReferencingServices.BURSA_WOLF_KEY, toWGS84);
         }
         try {
-            return datumFactory.createGeodeticDatum(properties, ellipsoid, meridian);
+            return unique(datumFactory.createGeodeticDatum(properties, ellipsoid, meridian));
         } catch (FactoryException exception) {
             throw element.parseFailed(exception);
         }
@@ -1458,7 +1458,7 @@ class GeodeticObjectParser extends MathTransformParser implements Comparator<Coo
             type = VerticalDatumTypes.guess(name, null, null);
         }
         try {
-            return datumFactory.createVerticalDatum(parseAnchorAndClose(element, name), type);
+            return unique(datumFactory.createVerticalDatum(parseAnchorAndClose(element, name), type));
         } catch (FactoryException exception) {
             throw element.parseFailed(exception);
         }
@@ -1486,7 +1486,7 @@ class GeodeticObjectParser extends MathTransformParser implements Comparator<Coo
         final Date    epoch  = origin .pullDate("origin");
         origin.close(ignoredElements);
         try {
-            return datumFactory.createTemporalDatum(parseAnchorAndClose(element, name), epoch);
+            return unique(datumFactory.createTemporalDatum(parseAnchorAndClose(element, name), epoch));
         } catch (FactoryException exception) {
             throw element.parseFailed(exception);
         }
@@ -1511,7 +1511,7 @@ class GeodeticObjectParser extends MathTransformParser implements Comparator<Coo
         }
         final String name = element.pullString("name");
         try {
-            return referencing.createParametricDatum(parseAnchorAndClose(element, name), datumFactory);
+            return unique(referencing.createParametricDatum(parseAnchorAndClose(element, name), datumFactory));
         } catch (FactoryException exception) {
             throw element.parseFailed(exception);
         }
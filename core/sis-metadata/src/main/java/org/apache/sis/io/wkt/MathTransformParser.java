@@ -276,7 +276,7 @@ class MathTransformParser extends AbstractParser {
             if (index < CONVERSION_FACTORS.length) {
                 factor = completeUnitFactor(CONVERSION_FACTORS[index], factor);
             }
-            return BASE_UNITS[index].multiply(factor);
+            return unique(BASE_UNITS[index].multiply(factor));
         }
         // If we can not infer the base type, we have to rely on the name.
         try {
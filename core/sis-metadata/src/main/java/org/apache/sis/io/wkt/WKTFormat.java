@@ -17,23 +17,31 @@
 package org.apache.sis.io.wkt;
 
 import java.util.Date;
+import java.util.List;
+import java.util.Arrays;
 import java.util.Locale;
 import java.util.TimeZone;
 import java.util.Set;
 import java.util.Map;
 import java.util.HashMap;
 import java.util.TreeMap;
+import java.util.WeakHashMap;
+import java.io.Writer;
 import java.io.IOException;
 import java.text.Format;
 import java.text.NumberFormat;
 import java.text.DateFormat;
 import java.text.ParsePosition;
 import java.text.ParseException;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.stream.IntStream;
 import javax.measure.Unit;
 import org.opengis.util.Factory;
 import org.opengis.util.InternationalString;
 import org.opengis.metadata.citation.Citation;
 import org.opengis.referencing.IdentifiedObject;
+import org.opengis.referencing.ReferenceIdentifier;
 import org.opengis.referencing.cs.CSFactory;
 import org.opengis.referencing.crs.CRSFactory;
 import org.opengis.referencing.datum.DatumFactory;
@@ -46,6 +54,8 @@ import org.apache.sis.util.ArgumentChecks;
 import org.apache.sis.util.resources.Errors;
 import org.apache.sis.internal.util.Constants;
 import org.apache.sis.internal.util.StandardDateFormat;
+import org.apache.sis.internal.system.Loggers;
+import org.apache.sis.util.logging.Logging;
 
 
 /**
@@ -98,7 +108,8 @@ import org.apache.sis.internal.util.StandardDateFormat;
  *       {@link org.opengis.referencing.crs.GeneralDerivedCRS#getConversionFromBase()} for instance).</li>
  *   <li>Instances of this class are not synchronized for multi-threading.
  *       It is recommended to create separated format instances for each thread.
- *       If multiple threads access a {@code WKTFormat} concurrently, it must be synchronized externally.</li>
+ *       If multiple threads access a {@code WKTFormat} concurrently, it must be synchronized externally.
+ *       Reusing the same instance in a thread avoids the creation of a new formatter and buffer for each object.</li>
  *   <li>Serialized objects of this class are not guaranteed to be compatible with future Apache SIS releases.
  *       Serialization support is appropriate for short term storage or RMI between applications running the
  *       same version of Apache SIS.</li>
@@ -221,6 +232,31 @@ public class WKTFormat extends CompoundFormat<Object> {
      */
     private transient Map<Class<?>,Factory> factories;
 
+    /**
+     * The buffer where to format the WKT when the destination given to {@link #format(Object, Appendable)}
+     * is not a {@link StringBuffer}. Reused for all formatting operations for avoiding the allocation of
+     * a new buffer for each object.
+     */
+    private transient StringBuffer buffer;
+
+    /**
+     * Maximal capacity of the {@link #buffer} to keep for the next formatting operation.
+     * Larger buffers are discarded after use for avoiding to retain an unusually large amount of memory.
+     */
+    private static final int MAX_BUFFER_CAPACITY = 0x10000;
+
+    /**
+     * The WKT of EPSG objects formatted with default settings, except for convention and indentation.
+     * Values are maps where keys are computed by {@link #cacheKey()}. This cache is shared by all
+     * {@code WKTFormat} instances and all accesses to it shall be synchronized on {@code CACHE}.
+     *
+     * <p>Only {@link FormattableObject} instances are stored, which are assumed immutable.
+     * Entries are removed when the formatted objects are garbage-collected.</p>
+     *
+     * @see #cached(Object)
+     */
+    private static final WeakHashMap<Object, Map<Integer,String>> CACHE = new WeakHashMap<>();
+
     /**
      * The warning produced by the last parsing or formatting operation, or {@code null} if none.
      *
@@ -724,6 +760,63 @@ public class WKTFormat extends CompoundFormat<Object> {
         }
     }
 
+    /**
+     * Creates objects from all the given character sequences. This method is more efficient than invoking
+     * {@link #parse(CharSequence, ParsePosition)} in a loop when there is many texts to parse, because the
+     * work is distributed over many threads, each thread using its own clone of this {@code WKTFormat}.
+     * Each character sequence shall contain exactly one WKT element, without trailing characters.
+     *
+     * <p>Since this method parses many texts, the {@linkplain #getWarnings() warnings} are not retained.
+     * Instead, warnings emitted during the parsing of each text are logged.</p>
+     *
+     * @param  texts  the character sequences to parse.
+     * @return the parsed objects, in the same order than the given texts.
+     * @throws ParseException if an error occurred while parsing a text. If many texts can not be parsed,
+     *         then the exception is the one for the first text in iteration order.
+     *
+     * @since 1.0
+     */
+    public List<Object> parseAll(final List<? extends CharSequence> texts) throws ParseException {
+        ArgumentChecks.ensureNonNull("texts", texts);
+        warnings = null;
+        final CharSequence[] wkt = texts.toArray(new CharSequence[texts.size()]);
+        final Object[] results = new Object[wkt.length];
+        final int n = Math.max(1, Math.min(Runtime.getRuntime().availableProcessors(), wkt.length / 16));
+        final WKTFormat[] workers = new WKTFormat[n];
+        for (int i=0; i<n; i++) {
+            workers[i] = clone();
+        }
+        final ParseException[] failures = new ParseException[n];
+        IntStream.range(0, n).parallel().forEach((t) -> {
+            final WKTFormat format = workers[t];
+            for (int i = t * wkt.length / n, end = (t+1) * wkt.length / n; i < end; i++) {
+                final CharSequence text = wkt[i];
+                final ParsePosition pos = new ParsePosition(0);
+                try {
+                    results[i] = format.parse(text, pos);
+                    final int index = CharSequences.skipLeadingWhitespaces(text, pos.getIndex(), text.length());
+                    if (index < text.length()) {
+                        throw new UnparsableObjectException(format.getLocale(), Errors.Keys.UnexpectedCharactersAfter_2,
+                                new Object[] {CharSequences.token(text, 0), CharSequences.token(text, index)}, index);
+                    }
+                } catch (ParseException e) {
+                    failures[t] = e;                    // Stop this thread, other threads continue.
+                    return;
+                }
+                final Warnings w = format.getWarnings();
+                if (w != null) {
+                    final LogRecord record = new LogRecord(Level.WARNING, w.toString());
+                    record.setLoggerName(Loggers.WKT);
+                    Logging.log(WKTFormat.class, "parseAll", record);
+                }
+            }
+        });
+        for (final ParseException e : failures) {
+            if (e != null) throw e;
+        }
+        return Arrays.asList(results);
+    }
+
     /**
      * Returns the parser, created when first needed.
      */
@@ -780,17 +873,39 @@ public class WKTFormat extends CompoundFormat<Object> {
         ArgumentChecks.ensureNonNull("object",     object);
         ArgumentChecks.ensureNonNull("toAppendTo", toAppendTo);
         /*
-         * If the given Appendable is not a StringBuffer, creates a temporary StringBuffer.
+         * If the object is an EPSG object already formatted with the same convention and indentation,
+         * copy the previous result. Objects formatted with warnings are not cached, so there is no
+         * warnings to report in this case.
+         */
+        final Map<Integer,String> cached = cached(object);
+        if (cached != null) {
+            final String wkt;
+            synchronized (CACHE) {
+                wkt = cached.get(cacheKey());
+            }
+            if (wkt != null) {
+                toAppendTo.append(wkt);
+                return;
+            }
+        }
+        /*
+         * If the given Appendable is not a StringBuffer, uses a temporary StringBuffer.
          * We can not write directly in an arbitrary Appendable because Formatter needs the
          * ability to go backward ("append only" is not sufficient), and because it passes
          * the buffer to other java.text.Format instances which work only with StringBuffer.
+         * The temporary buffer is reused by all formatting operations with this WKTFormat.
          */
-        final StringBuffer buffer;
+        StringBuffer buffer;
         if (toAppendTo instanceof StringBuffer) {
             buffer = (StringBuffer) toAppendTo;
         } else {
-            buffer = new StringBuffer(500);
+            buffer = this.buffer;
+            if (buffer == null) {
+                this.buffer = buffer = new StringBuffer(500);
+            }
+            buffer.setLength(0);
         }
+        final int start = buffer.length();
         /*
          * Creates the Formatter when first needed.
          */
@@ -819,9 +934,68 @@ public class WKTFormat extends CompoundFormat<Object> {
             throw new ClassCastException(Errors.getResources(getLocale()).getString(
                     Errors.Keys.IllegalArgumentClass_2, "object", object.getClass()));
         }
+        if (cached != null && warnings == null) {
+            final String wkt = buffer.substring(start);
+            synchronized (CACHE) {
+                cached.put(cacheKey(), wkt);
+            }
+        }
         if (buffer != toAppendTo) {
-            toAppendTo.append(buffer);
+            if (toAppendTo instanceof Writer) {
+                /*
+                 * Writer.append(CharSequence) would create a temporary String.
+                 * Copy the characters by chunks instead.
+                 */
+                final int length = buffer.length();
+                final char[] chunk = new char[Math.min(length, 8192)];
+                for (int i=0; i<length; i += chunk.length) {
+                    final int end = Math.min(i + chunk.length, length);
+                    buffer.getChars(i, end, chunk, 0);
+                    ((Writer) toAppendTo).write(chunk, 0, end - i);
+                }
+            } else {
+                toAppendTo.append(buffer);
+            }
+            if (buffer.capacity() > MAX_BUFFER_CAPACITY) {
+                this.buffer = null;
+            } else {
+                buffer.setLength(0);
+            }
+        }
+    }
+
+    /**
+     * Returns the cache of formatted WKT for the given object, or {@code null} if the WKT of that object
+     * shall not be cached. The WKT is cached only for immutable objects having an EPSG identifier, and
+     * only if all properties of this {@code WKTFormat} other than the convention and the indentation
+     * have their default values.
+     *
+     * @param  object  the object to format.
+     * @return the cache of formatted WKT for the given object, or {@code null} if none.
+     */
+    private Map<Integer,String> cached(final Object object) {
+        if (object instanceof FormattableObject && object instanceof IdentifiedObject && getClass() == WKTFormat.class
+                && colors == null && authority == null && transliterator == null
+                && keywordCase == KeywordCase.DEFAULT && keywordStyle == KeywordStyle.DEFAULT
+                && symbols.equals(Symbols.getDefault()) && Locale.ROOT.equals(getLocale())
+                && StandardDateFormat.UTC.equals(getTimeZone().getID()))
+        {
+            for (final ReferenceIdentifier id : ((IdentifiedObject) object).getIdentifiers()) {
+                if (Constants.EPSG.equalsIgnoreCase(id.getCodeSpace())) {
+                    synchronized (CACHE) {
+                        return CACHE.computeIfAbsent(object, (k) -> new HashMap<>(4));
+                    }
+                }
+            }
         }
+        return null;
+    }
+
+    /**
+     * Returns the key of the WKT in the maps of {@link #CACHE} for the current convention and indentation.
+     */
+    private Integer cacheKey() {
+        return (convention.ordinal() << Byte.SIZE) | (indentation & 0xFF);
     }
 
     /**
@@ -875,6 +1049,7 @@ public class WKTFormat extends CompoundFormat<Object> {
         final WKTFormat clone = (WKTFormat) super.clone();
         clone.formatter = null;                                 // Do not share the formatter.
         clone.parser    = null;
+        clone.buffer    = null;
         clone.warnings  = null;
         return clone;
     }
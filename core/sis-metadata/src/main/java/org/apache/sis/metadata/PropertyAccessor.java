@@ -24,6 +24,9 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Collection;
 import java.lang.reflect.Method;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
 import java.lang.reflect.InvocationTargetException;
 import org.opengis.annotation.UML;
 import org.opengis.metadata.citation.Citation;
@@ -174,6 +177,30 @@ class PropertyAccessor {
      */
     private final Method[] setters;
 
+    /**
+     * The {@link #getters} as method handles of type {@code (Object)Object}, or {@code null} elements for
+     * methods that can not be accessed that way. Invoking a method handle avoids the argument array and
+     * the access checks of {@link Method#invoke(Object, Object...)}, which is significant in traversals
+     * of large metadata trees such as copies and comparisons.
+     *
+     * @see #getValue(int, Object)
+     */
+    private final MethodHandle[] getterHandles;
+
+    /**
+     * The {@link #setters} as method handles of type {@code (Object,Object)void}, or {@code null} if none.
+     * Elements are {@code null} if there is no setter or if the setter can not be accessed that way.
+     *
+     * @see #setValue(int, Object, Object[])
+     */
+    private final MethodHandle[] setterHandles;
+
+    /**
+     * The type of {@link #getterHandles} and {@link #setterHandles} elements.
+     */
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class),
+                                    SETTER_TYPE = MethodType.methodType(Void.TYPE, Object.class, Object.class);
+
     /**
      * The JavaBeans property names. They are computed at construction time, {@linkplain String#intern() interned}
      * then cached. Those names are often the same than field names (at least in SIS implementation), so it is
@@ -362,6 +389,38 @@ class PropertyAccessor {
             elementTypes[i] = Numbers.primitiveToWrapper(elementType);
         }
         this.setters = setters;
+        /*
+         * Create the method handles for faster invocations. If a handle can not be created,
+         * the methods invoked by reflection will be used as a fallback.
+         */
+        final MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+        getterHandles = new MethodHandle[allCount];
+        for (int i=0; i<allCount; i++) {
+            getterHandles[i] = handle(lookup, getters[i], GETTER_TYPE);
+        }
+        if (setters != null) {
+            setterHandles = new MethodHandle[allCount];
+            for (int i=0; i<allCount; i++) {
+                final Method setter = setters[i];
+                if (setter != null) {
+                    setterHandles[i] = handle(lookup, setter, SETTER_TYPE);
+                }
+            }
+        } else {
+            setterHandles = null;
+        }
+    }
+
+    /**
+     * Returns a method handle for the given method adapted to the given type,
+     * or {@code null} if the method is not accessible as a method handle.
+     */
+    private static MethodHandle handle(final MethodHandles.Lookup lookup, final Method method, final MethodType type) {
+        try {
+            return lookup.unreflect(method).asType(type);
+        } catch (IllegalAccessException e) {
+            return null;
+        }
     }
 
     /**
@@ -701,7 +760,38 @@ class PropertyAccessor {
      * @throws BackingStoreException if the implementation threw a checked exception.
      */
     Object get(final int index, final Object metadata) throws BackingStoreException {
-        return (index >= 0 && index < allCount) ? get(getters[index], metadata) : null;
+        return (index >= 0 && index < allCount) ? getValue(index, metadata) : null;
+    }
+
+    /**
+     * Gets the value of the property at the given index, using the method handle if available.
+     * The exceptions are handled in the same way than {@link #get(Method, Object)}.
+     *
+     * @param  index     the index of the property for which to get a value. Must be valid.
+     * @param  metadata  the metadata object to query.
+     * @throws BackingStoreException if the implementation threw a checked exception.
+     */
+    private Object getValue(final int index, final Object metadata) throws BackingStoreException {
+        final MethodHandle handle = getterHandles[index];
+        if (handle == null) {
+            return get(getters[index], metadata);
+        }
+        try {
+            return (Object) handle.invokeExact(metadata);
+        } catch (ClassCastException e) {
+            /*
+             * May happen if the getter method is defined only in the implementation class.
+             * See the comment about IllegalArgumentException in get(Method, Object).
+             */
+            if (!getters[index].getDeclaringClass().isInstance(metadata)) {
+                return null;
+            }
+            throw e;
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new BackingStoreException(e);
+        }
     }
 
     /**
@@ -715,6 +805,7 @@ class PropertyAccessor {
      * @throws BackingStoreException if the implementation threw a checked exception.
      *
      * @see #set(Method, Object, Object[])
+     * @see #getValue(int, Object)
      */
     private static Object get(final Method method, final Object metadata) throws BackingStoreException {
         assert (method.getReturnType() != Void.TYPE) : method;
@@ -813,12 +904,12 @@ class PropertyAccessor {
                         break;
                     }
                     case APPEND: {
-                        oldValue = get(getter, metadata);
+                        oldValue = getValue(index, metadata);
                         snapshot = null;
                         break;
                     }
                     case RETURN_PREVIOUS: {
-                        oldValue = get(getter, metadata);
+                        oldValue = getValue(index, metadata);
                         if (oldValue instanceof Collection<?>) {
                             if (oldValue instanceof List<?>) {
                                 snapshot = snapshot((List<?>) oldValue);
@@ -855,7 +946,7 @@ class PropertyAccessor {
                     }
                 }
                 if (changed) {
-                    set(setter, metadata, newValues);
+                    setValue(index, metadata, newValues);
                 }
                 return (mode == APPEND) ? changed : snapshot;
             }
@@ -904,6 +995,46 @@ class PropertyAccessor {
         }
     }
 
+    /**
+     * Sets the value of the property at the given index, using the method handle if available.
+     * The exceptions are handled in the same way than {@link #set(Method, Object, Object[])}.
+     *
+     * @param  index      the index of the property to set. Must be valid and have a setter.
+     * @param  metadata   the metadata object on which to set the value.
+     * @param  newValues  the argument to give to the setter, as an array of length 1.
+     * @throws BackingStoreException if the implementation threw a checked exception.
+     */
+    private void setValue(final int index, final Object metadata, final Object[] newValues) throws BackingStoreException {
+        final MethodHandle handle = setterHandles[index];
+        if (handle == null) {
+            set(setters[index], metadata, newValues);
+            return;
+        }
+        try {
+            handle.invokeExact(metadata, newValues[0]);
+        } catch (ClassCastException e) {
+            /*
+             * Method.invoke(…) reports arguments of the wrong type by IllegalArgumentException.
+             * Keep the same behavior, but let the ClassCastExceptions thrown by the setter propagate.
+             */
+            final Method setter = setters[index];
+            final Object value = newValues[0];
+            if (!setter.getDeclaringClass().isInstance(metadata)) {
+                throw new IllegalArgumentException(Errors.format(Errors.Keys.IllegalArgumentClass_2,
+                        "metadata", Classes.getClass(metadata)), e);
+            }
+            if (value != null && !Numbers.primitiveToWrapper(setter.getParameterTypes()[0]).isInstance(value)) {
+                throw new IllegalArgumentException(Errors.format(Errors.Keys.IllegalArgumentClass_2,
+                        names[index], value.getClass()), e);
+            }
+            throw e;
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new BackingStoreException(e);
+        }
+    }
+
     /**
      * Converts a value to the type required by a setter method.
      * The values are converted in-place in the {@code newValues} array. We use an array instead
@@ -1119,7 +1250,7 @@ class PropertyAccessor {
         int count = 0;
         // Use 'standardCount' instead of 'allCount' for ignoring deprecated methods.
         for (int i=0; i<standardCount; i++) {
-            final Object value = get(getters[i], metadata);
+            final Object value = getValue(i, metadata);
             if (!valuePolicy.isSkipped(value)) {
                 switch (mode) {
                     case COUNT_FIRST:{
@@ -1163,9 +1294,8 @@ class PropertyAccessor {
         assert type.isInstance(metadata1) : metadata1;
         assert type.isInstance(metadata2) : metadata2;
         for (int i=0; i<standardCount; i++) {
-            final Method method = getters[i];
-            final Object value1 = get(method, metadata1);
-            final Object value2 = get(method, metadata2);
+            final Object value1 = getValue(i, metadata1);
+            final Object value2 = getValue(i, metadata2);
             if (isNullOrEmpty(value1) && isNullOrEmpty(value2)) {
                 /*
                  * Consider empty collections/arrays as equal to null.
@@ -1212,7 +1342,7 @@ class PropertyAccessor {
         assert type.isInstance(metadata) : metadata;
         for (int i=0; i<standardCount; i++) {
             visitor.setCurrentProperty(names[i]);
-            final Object value = get(getters[i], metadata);
+            final Object value = getValue(i, metadata);
             if (value != null) {
                 final Object result = visitor.visit(elementTypes[i], value);
                 if (result != value) {
@@ -1259,12 +1389,12 @@ class PropertyAccessor {
                      */
                     continue;
                 }
-                final Object value = get(getters[i], source);
+                final Object value = getValue(i, source);
                 final Object result = visitor.visit(elementTypes[i], value);
                 if (source == target ? (result != value) : !isNullOrEmpty(result)) {    // See "constraint" in Javadoc
                     if (result == MetadataVisitor.SKIP_SIBLINGS) break;
                     arguments[0] = result;
-                    set(setter, target, arguments);
+                    setValue(i, target, arguments);
                     /*
                      * We invoke the set(…) method variant that do not perform type conversion
                      * because we do not want it to replace the immutable collections created
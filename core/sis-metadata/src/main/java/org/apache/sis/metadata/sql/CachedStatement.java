@@ -16,6 +16,9 @@
  */
 package org.apache.sis.metadata.sql;
 
+import java.util.Map;
+import java.util.Set;
+import java.util.HashMap;
 import java.util.Locale;
 import java.util.logging.Level;
 import java.util.logging.LogRecord;
@@ -28,10 +31,11 @@ import org.apache.sis.internal.system.Loggers;
 
 
 /**
- * The result of a query for metadata attributes. This object {@linkplain PreparedStatement prepares a statement}
+ * The query for metadata attributes. This object {@linkplain PreparedStatement prepares a statement}
  * only once for a given table, until a certain period of inactivity is elapsed. When a particular record in the
- * table is fetched, the {@link ResultSet} is automatically constructed. If many attributes are fetched consecutively
- * for the same record, then the same {@link ResultSet} is reused.
+ * table is fetched, the values of all columns are read and the {@link ResultSet} is closed immediately.
+ * The values are cached by {@link MetadataSource}, so other attributes of the same record can be obtained
+ * without new query.
  *
  * <div class="section"><b>Synchronization</b>:
  * This class is <strong>not</strong> thread-safe. Callers must perform their own synchronization in such a way
@@ -44,7 +48,7 @@ import org.apache.sis.internal.system.Loggers;
  * the {@code CachedStatement} instance. This object is closed by a background thread of {@link MetadataSource}.</div>
  *
  * @author  Martin Desruisseaux (IRD, Geomatys)
- * @version 0.8
+ * @version 1.0
  * @since   0.8
  * @module
  */
@@ -54,25 +58,12 @@ final class CachedStatement implements AutoCloseable {
      */
     final Class<?> type;
 
-    /**
-     * The identifier (usually the primary key) for current results. If the record to fetch does not
-     * have the same identifier, then the {@link #results} will need to be closed and reconstructed.
-     */
-    private String identifier;
-
     /**
      * The statement associated with this entry. The SQL query depends on the {@link #type},
-     * which can not be changed, and the {@link #identifier}, which can be changed at any time.
-     * The first parameter of the statement shall be the identifier.
+     * which can not be changed. The first parameter of the statement shall be the identifier.
      */
     private final PreparedStatement statement;
 
-    /**
-     * The results of last call to {@link PreparedStatement#executeQuery()},
-     * or {@code null} if not yet determined.
-     */
-    private ResultSet results;
-
     /**
      * The expiration time of this result, in nanoseconds as given by {@link System#nanoTime()}.
      * This is read and updated by {@link MetadataSource} only.
@@ -100,49 +91,41 @@ final class CachedStatement implements AutoCloseable {
     }
 
     /**
-     * Returns the attribute value in the given column for the given record.
+     * Returns the values of all given columns for the given record. SQL arrays are converted to Java arrays.
+     * Before to close the result set, we make an opportunist check for duplicated values in the table.
+     * If a duplicate is found, a warning is logged. The log message pretends to be emitted by the
+     * interface constructor, which does not exist. But this is the closest we can get from a public API.
      *
-     * @param  id         the object identifier, usually the primary key value.
-     * @param  attribute  the column name of the attribute to fetch.
-     * @return the value of the requested attribute for the row identified by the given key.
+     * @param  id       the object identifier, usually the primary key value.
+     * @param  columns  the columns to fetch. Shall be columns existing in the table.
+     * @return the values in the given columns for the row identified by the given key. Null values are omitted.
      * @throws SQLException if an SQL operation failed.
      * @throws MetadataStoreException if no record has been found for the given key.
      */
-    final Object getValue(final String id, final String attribute) throws SQLException, MetadataStoreException {
-        if (!id.equals(identifier)) {
-            closeResultSet();
-        }
-        ResultSet r = results;
-        if (r == null) {
-            statement.setString(1, id);
-            r = statement.executeQuery();
+    final Map<String,Object> getRow(final String id, final Set<String> columns) throws SQLException, MetadataStoreException {
+        statement.setString(1, id);
+        try (ResultSet r = statement.executeQuery()) {
             if (!r.next()) {
                 final String table = r.getMetaData().getTableName(1);
-                r.close();
                 throw new MetadataStoreException(Errors.format(Errors.Keys.RecordNotFound_2, table, id));
             }
-            results = r;
-            identifier = id;
-        }
-        return r.getObject(attribute);
-    }
-
-    /**
-     * Closes the current {@link ResultSet}. Before doing so, we make an opportunist check for duplicated values
-     * in the table. If a duplicate is found, a warning is logged. The log message pretends to be emitted by the
-     * interface constructor, which does not exist. But this is the closest we can get from a public API.
-     */
-    private void closeResultSet() throws SQLException {
-        final ResultSet r = results;
-        results = null;               // Make sure that this field is cleared even if an exception occurs below.
-        if (r != null) {
-            final boolean hasNext = r.next();
-            r.close();
-            if (hasNext) {
+            final Map<String,Object> row = new HashMap<>();
+            for (final String column : columns) {
+                Object value = r.getObject(column);
+                if (value instanceof java.sql.Array) {
+                    final java.sql.Array array = (java.sql.Array) value;
+                    value = array.getArray();
+                    array.free();
+                }
+                if (value != null) {
+                    row.put(column, value);
+                }
+            }
+            if (r.next()) {
                 warning(type, "<init>", Errors.getResources((Locale) null).getLogRecord(
-                        Level.WARNING, Errors.Keys.DuplicatedIdentifier_1, identifier));
+                        Level.WARNING, Errors.Keys.DuplicatedIdentifier_1, id));
             }
-            identifier = null;
+            return row;
         }
     }
 
@@ -157,7 +140,6 @@ final class CachedStatement implements AutoCloseable {
      */
     @Override
     public void close() throws SQLException {
-        closeResultSet();
         statement.close();
     }
 
@@ -62,6 +62,7 @@ import org.apache.sis.internal.util.CollectionsExt;
 import org.apache.sis.internal.util.UnmodifiableArrayList;
 import org.apache.sis.util.collection.Containers;
 import org.apache.sis.util.collection.CodeListSet;
+import org.apache.sis.util.collection.Cache;
 import org.apache.sis.util.collection.WeakValueHashMap;
 import org.apache.sis.util.logging.WarningListeners;
 import org.apache.sis.util.logging.WarningListener;
@@ -102,10 +103,19 @@ import org.apache.sis.internal.geoapi.evolution.Interim;
  *   <tr><td>{@code "catalog"}</td>       <td>{@link String}</td>      <td>The database catalog where the metadata schema is stored.</td></tr>
  *   <tr><td>{@code "classloader"}</td>   <td>{@link ClassLoader}</td> <td>The class loader to use for creating {@link Proxy} instances.</td></tr>
  *   <tr><td>{@code "maxStatements"}</td> <td>{@link Integer}</td>     <td>Maximal number of {@link PreparedStatement}s that can be kept simultaneously open.</td></tr>
+ *   <tr><td>{@code "maxCachedRows"}</td> <td>{@link Integer}</td>     <td>Number of records for which all column values are kept by strong references.</td></tr>
  * </table>
  *
+ * <div class="section">Caching</div>
+ * When a property of a metadata instance is requested for the first time, all columns of the corresponding
+ * record are fetched in a single query and cached. Other properties of the same record are then obtained
+ * without database access. The cache is shared by all metadata instances created by the same source
+ * (including sources created by {@link #MetadataSource(MetadataSource)}); the most recently used records
+ * are retained by strong references and the other records by soft references.
+ *
  * <div class="section">Concurrency</div>
- * {@code MetadataSource} is thread-safe but is not concurrent. If concurrency is desired,
+ * {@code MetadataSource} is thread-safe. Values found in the cache are returned without locking, but database
+ * queries are serialized since a JDBC connection can not be assumed thread-safe. If concurrent queries are desired,
  * multiple instances of {@code MetadataSource} can be created for the same {@link DataSource}.
  * The {@link #MetadataSource(MetadataSource)} convenience constructor can be used for this purpose.
  *
@@ -171,8 +181,8 @@ public class MetadataSource implements AutoCloseable {
      *
      * <div class="note"><b>Note:</b>
      * this array duplicates the work done by statement pools in modern JDBC drivers. Nevertheless
-     * it still useful in our case since we retain some additional JDBC resources together with the
-     * {@link PreparedStatement}, for example the {@link ResultSet} created from that statement.</div>
+     * it still useful in our case since we retain some additional information together with the
+     * {@link PreparedStatement}, for example the expiration time.</div>
      *
      * Every access to this array <strong>must</strong> be synchronized on {@code MetadataSource.this}.
      * Execution of a prepared statement may also need to be done inside the synchronized block,
@@ -189,7 +199,7 @@ public class MetadataSource implements AutoCloseable {
      *         }
      *         // Use the statement and give it back to the pool once we are done.
      *         // We do not put it back in case of SQLException.
-     *         Object value = statement.getValue(…);
+     *         Map<String,Object> row = statement.getRow(…);
      *         preferredIndex = recycle(statement, preferredIndex);
      *     }
      * }
@@ -256,6 +266,14 @@ public class MetadataSource implements AutoCloseable {
      */
     private final WeakValueHashMap<CacheKey,Object> pool;
 
+    /**
+     * The values of all columns of records fetched up to date, for the table and primary key given by the map key.
+     * Columns having null value are omitted. Accesses to this cache do not need to be synchronized.
+     *
+     * @see #getRow(Class, String, String, Dispatcher)
+     */
+    private final Cache<CacheKey, Map<String,Object>> rows;
+
     /**
      * Some information about last used objects. Cached on assumption that the same information
      * will be used more than once before to move to another metadata object.
@@ -367,11 +385,12 @@ public class MetadataSource implements AutoCloseable {
         ArgumentChecks.ensureNonNull("standard",   standard);
         ArgumentChecks.ensureNonNull("dataSource", dataSource);
         ClassLoader classloader;
-        Integer maxStatements;
+        Integer maxStatements, maxCachedRows;
 
         catalog       = Containers.property(properties, "catalog",       String.class);
         classloader   = Containers.property(properties, "classloader",   ClassLoader.class);
         maxStatements = Containers.property(properties, "maxStatements", Integer.class);
+        maxCachedRows = Containers.property(properties, "maxCachedRows", Integer.class);
         if (classloader == null) {
             classloader = getClass().getClassLoader();
         }
@@ -380,6 +399,11 @@ public class MetadataSource implements AutoCloseable {
         } else {
             ArgumentChecks.ensureBetween("maxStatements", 2, 0xFF, maxStatements);   // Unsigned byte range.
         }
+        if (maxCachedRows == null) {
+            maxCachedRows = 1000;             // Default value, may change in any future Apache SIS version.
+        } else {
+            ArgumentChecks.ensurePositive("maxCachedRows", maxCachedRows);
+        }
         this.standard     = standard;
         this.dataSource   = dataSource;
         this.schema       = schema;
@@ -388,6 +412,7 @@ public class MetadataSource implements AutoCloseable {
         this.statements   = new CachedStatement[maxStatements - 1];
         this.tableColumns = new HashMap<>();
         this.pool         = new WeakValueHashMap<>(CacheKey.class);
+        this.rows         = new Cache<>(Math.min(maxCachedRows, 100), maxCachedRows, true);
         this.listeners    = new WarningListeners<>(this);
         this.lastUsed     = ThreadLocal.withInitial(LookupInfo::new);
     }
@@ -415,6 +440,7 @@ public class MetadataSource implements AutoCloseable {
         tableColumns = new HashMap<>();
         classloader  = source.classloader;
         pool         = source.pool;
+        rows         = source.rows;
         lastUsed     = source.lastUsed;
         listeners    = new WarningListeners<>(this, source.listeners);
     }
@@ -430,6 +456,7 @@ public class MetadataSource implements AutoCloseable {
         tableColumns = null;
         classloader  = getClass().getClassLoader();
         pool         = null;
+        rows         = null;
         lastUsed     = null;
         listeners    = null;
     }
@@ -917,38 +944,9 @@ public class MetadataSource implements AutoCloseable {
         final boolean  wantCollection = Collection.class.isAssignableFrom(returnType);
         final Class<?> elementType    = wantCollection ? Classes.boundOfParameterizedProperty(method) : returnType;
         final boolean  isMetadata     = standard.isMetadata(elementType);
-        final String   tableName      = getTableName(type);
         final String   columnName     = info.asNameMap(standard).get(method.getName());
-        final boolean  isArray;
-        Object value;
-        synchronized (this) {
-            if (!getExistingColumns(tableName).contains(columnName)) {
-                value   = null;
-                isArray = false;
-            } else {
-                /*
-                 * Prepares the statement and executes the SQL query in this synchronized block.
-                 * Note that the usage of 'result' must stay inside this synchronized block
-                 * because we can not assume that JDBC connections are thread-safe.
-                 */
-                CachedStatement result = take(type, Byte.toUnsignedInt(toSearch.preferredIndex));
-                if (result == null) {
-                    final SQLBuilder helper = helper();
-                    final String query = helper.clear().append("SELECT * FROM ")
-                            .appendIdentifier(schema, tableName).append(" WHERE ")
-                            .appendIdentifier(ID_COLUMN).append("=?").toString();
-                    result = new CachedStatement(type, connection().prepareStatement(query), listeners);
-                }
-                value = result.getValue(toSearch.identifier, columnName);
-                isArray = (value instanceof java.sql.Array);
-                if (isArray) {
-                    final java.sql.Array array = (java.sql.Array) value;
-                    value = array.getArray();
-                    array.free();
-                }
-                toSearch.preferredIndex = (byte) recycle(result, Byte.toUnsignedInt(toSearch.preferredIndex));
-            }
-        }
+        Object value = getRow(type, getTableName(type), columnName, toSearch).get(columnName);
+        final boolean isArray = (value != null) && value.getClass().isArray();      // SQL arrays converted by getRow(…).
         /*
          * If the value is an array and the return type is anything except an array of primitive type, ensure
          * that the value is converted in an array of type Object[]. In this process, resolve foreigner keys.
@@ -999,6 +997,50 @@ public class MetadataSource implements AutoCloseable {
         return value;
     }
 
+    /**
+     * Returns the values of all columns in the record identified by the given dispatcher. If that record is not
+     * in the cache, then all its columns are fetched in a single query. Only the database query is synchronized,
+     * because we can not assume that JDBC connections are thread-safe. If the table does not contain the given
+     * column, then this method returns an empty map without querying the database.
+     *
+     * @param  type        the interface class, mapped to the table name in the database.
+     * @param  tableName   the name of the table where to search for the record.
+     * @param  columnName  the column of the value that the caller will read in the row.
+     * @param  toSearch    contains the identifier and preferred index of the record to search.
+     * @return the column values of the requested record, with null values omitted.
+     * @throws SQLException if the SQL query failed.
+     * @throws MetadataStoreException if no record has been found for the given identifier.
+     */
+    private Map<String,Object> getRow(final Class<?> type, final String tableName, final String columnName,
+            final Dispatcher toSearch) throws SQLException, MetadataStoreException
+    {
+        final CacheKey key = new CacheKey(type, toSearch.identifier);
+        Map<String,Object> row = rows.peek(key);
+        if (row == null) {
+            synchronized (this) {
+                row = rows.peek(key);               // Check again in case another thread fetched the row.
+                if (row == null) {
+                    final Set<String> columns = getExistingColumns(tableName);
+                    if (!columns.contains(columnName)) {
+                        return Collections.emptyMap();
+                    }
+                    CachedStatement result = take(type, Byte.toUnsignedInt(toSearch.preferredIndex));
+                    if (result == null) {
+                        final SQLBuilder helper = helper();
+                        final String query = helper.clear().append("SELECT * FROM ")
+                                .appendIdentifier(schema, tableName).append(" WHERE ")
+                                .appendIdentifier(ID_COLUMN).append("=?").toString();
+                        result = new CachedStatement(type, connection().prepareStatement(query), listeners);
+                    }
+                    row = result.getRow(toSearch.identifier, columns);
+                    toSearch.preferredIndex = (byte) recycle(result, Byte.toUnsignedInt(toSearch.preferredIndex));
+                    rows.put(key, row);
+                }
+            }
+        }
+        return row;
+    }
+
     /**
      * Returns the code of the given type and name. This method is defined for avoiding the compiler warning
      * message when the actual class is unknown (it must have been checked dynamically by the caller however).
@@ -1222,6 +1264,7 @@ public class MetadataSource implements AutoCloseable {
                 connection = null;
             }
             helper = null;
+            rows.clear();
         } catch (SQLException e) {
             throw new MetadataStoreException(e.getLocalizedMessage(), Exceptions.unwrap(e));
         }
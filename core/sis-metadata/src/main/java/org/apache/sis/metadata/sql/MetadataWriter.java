@@ -18,14 +18,19 @@ package org.apache.sis.metadata.sql;
 
 import java.util.Map;
 import java.util.Set;
+import java.util.List;
 import java.util.Iterator;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.IdentityHashMap;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.StringTokenizer;
 import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.concurrent.TimeUnit;
 import java.sql.Statement;
 import java.sql.Connection;
 import java.sql.ResultSet;
@@ -45,6 +50,8 @@ import org.apache.sis.util.resources.Messages;
 import org.apache.sis.util.iso.DefaultNameSpace;
 import org.apache.sis.util.iso.Types;
 import org.apache.sis.util.collection.Containers;
+import org.apache.sis.util.logging.Logging;
+import org.apache.sis.util.logging.PerformanceLevel;
 import org.apache.sis.metadata.MetadataStandard;
 import org.apache.sis.metadata.KeyNamePolicy;
 import org.apache.sis.metadata.TypeValuePolicy;
@@ -53,6 +60,8 @@ import org.apache.sis.metadata.TitleProperty;
 import org.apache.sis.metadata.iso.citation.Citations;
 import org.apache.sis.internal.metadata.sql.SQLBuilder;
 import org.apache.sis.internal.metadata.sql.Reflection;
+import org.apache.sis.internal.system.Loggers;
+import org.apache.sis.internal.util.StandardDateFormat;
 import org.apache.sis.xml.IdentifiedObject;
 
 // Branch-dependent imports
@@ -61,8 +70,8 @@ import org.opengis.referencing.ReferenceIdentifier;
 
 /**
  * A connection to a metadata database with write capabilities. The database must have a schema of the given name,
- * which can be initially empty. Tables and columns are created as needed when the {@link #add(Object)} method is
- * invoked.
+ * which can be initially empty. Tables and columns are created as needed when the {@link #add(Object)} or
+ * {@link #addAll(Iterable, int)} method is invoked.
  *
  * <p>No more than one instance of {@code MetadataWriter} should be used for the same database.
  * However multiple instances of {@code MetadataSource} can be used concurrently with a single
@@ -93,6 +102,10 @@ import org.opengis.referencing.ReferenceIdentifier;
  *     <td>{@link Integer}</td>
  *     <td>Maximal number of {@link java.sql.PreparedStatement}s that can be kept simultaneously open.</td>
  *   </tr><tr>
+ *     <td>{@code "maxCachedRows"}</td>
+ *     <td>{@link Integer}</td>
+ *     <td>Number of records for which all column values are kept by strong references.</td>
+ *   </tr><tr>
  *     <td>{@code "maximumIdentifierLength"}</td>
  *     <td>{@link Integer}</td>
  *     <td>The maximal number of characters allowed for primary keys.
@@ -195,11 +208,7 @@ public class MetadataWriter extends MetadataSource {
                 boolean success = false;
                 try {
                     try (Statement stmt = connection.createStatement()) {
-                        if (metadata instanceof CodeList<?>) {
-                            identifier = addCode(stmt, (CodeList<?>) metadata);
-                        } else {
-                            identifier = add(stmt, metadata, new IdentityHashMap<>(), null);
-                        }
+                        identifier = add(stmt, metadata, null);
                     }
                     success = true;
                 } finally {
@@ -226,6 +235,114 @@ public class MetadataWriter extends MetadataSource {
         return identifier;
     }
 
+    /**
+     * Adds all the given metadata objects to the database, if they do not already exist. This method is
+     * equivalent to invoking {@link #add(Object)} for each element, but is more efficient for large amount
+     * of metadata: the {@code INSERT} statements are sent to the database in JDBC batches, and identical
+     * dependencies (citations, responsible parties, contacts, <i>etc.</i>) found in the same chunk are
+     * searched in the database and written only once.
+     *
+     * <p>Metadata are written by chunks of {@code chunkSize} elements, each chunk in its own transaction.
+     * If an exception occurs, the chunk being written is rolled back but the chunks already committed are
+     * kept in the database. After each chunk, the number of metadata written so far and the elapsed time
+     * are logged in the {@code "org.apache.sis.sql"} logger.</p>
+     *
+     * @param  metadata   the metadata objects to add.
+     * @param  chunkSize  maximal number of metadata objects to write in a single transaction.
+     * @return the identifiers (primary keys) of the metadata just added or of the existing metadata,
+     *         in iteration order.
+     * @throws MetadataStoreException if a metadata object does not implement a metadata interface
+     *         of the expected package, if an exception occurred while reading or writing the database.
+     *
+     * @since 1.0
+     */
+    public List<String> addAll(final Iterable<?> metadata, final int chunkSize) throws MetadataStoreException {
+        ArgumentChecks.ensureNonNull("metadata", metadata);
+        ArgumentChecks.ensureStrictlyPositive("chunkSize", chunkSize);
+        final List<String> identifiers = new ArrayList<>();
+        final long startTime = System.nanoTime();
+        Object current = null;
+        try {
+            synchronized (this) {
+                final Connection connection = connection();
+                connection.setAutoCommit(false);
+                try (Statement stmt = connection.createStatement(); Batch batch = new Batch(connection)) {
+                    final Iterator<?> it = metadata.iterator();
+                    while (it.hasNext()) {
+                        final long chunkTime = System.nanoTime();
+                        boolean success = false;
+                        try {
+                            int n = 0;
+                            do {
+                                current = it.next();
+                                String identifier = proxy(current);
+                                if (identifier == null) {
+                                    identifier = add(stmt, current, batch);
+                                }
+                                identifiers.add(identifier);
+                            } while (++n < chunkSize && it.hasNext());
+                            batch.flush();
+                            success = true;
+                        } finally {
+                            if (success) {
+                                connection.commit();
+                            } else {
+                                connection.rollback();
+                            }
+                        }
+                        logInsertions(identifiers.size(), startTime, System.nanoTime() - chunkTime);
+                    }
+                } finally {
+                    connection.setAutoCommit(true);
+                }
+            }
+        } catch (ClassCastException e) {
+            throw new MetadataStoreException(Errors.format(
+                    Errors.Keys.IllegalArgumentClass_2, "metadata", current.getClass()));
+        } catch (SQLException e) {
+            throw new MetadataStoreException(e.getLocalizedMessage(), Exceptions.unwrap(e));
+        } catch (FactoryException e) {
+            throw new MetadataStoreException(e.getLocalizedMessage(), e);
+        }
+        return identifiers;
+    }
+
+    /**
+     * Logs the progress of {@link #addAll(Iterable, int)}. The logging level is determined
+     * from the time elapsed for writing the last chunk.
+     *
+     * @param  count      number of metadata objects written so far.
+     * @param  startTime  value of {@link System#nanoTime()} when the operation started.
+     * @param  chunkTime  time elapsed for writing the last chunk, in nanoseconds.
+     */
+    private static void logInsertions(final int count, final long startTime, final long chunkTime) {
+        final double elapsed = (System.nanoTime() - startTime) / (double) StandardDateFormat.NANOS_PER_SECOND;
+        final LogRecord record = Messages.getResources(null).getLogRecord(
+                PerformanceLevel.forDuration(chunkTime, TimeUnit.NANOSECONDS),
+                Messages.Keys.InsertDuration_2, count, (float) elapsed);
+        record.setLoggerName(Loggers.SQL);
+        Logging.log(MetadataWriter.class, "addAll", record);
+    }
+
+    /**
+     * Adds the given metadata object or code list, which is assumed not already a {@linkplain #proxy(Object) proxy}.
+     * The caller is responsible for managing the transaction.
+     *
+     * @param  stmt      the statement to use for inserting data.
+     * @param  metadata  the metadata object or code list to add.
+     * @param  batch     the pending insertions if {@link #addAll(Iterable, int)} is in progress, or {@code null}.
+     * @return the identifier (primary key) of the metadata just added.
+     */
+    private String add(final Statement stmt, final Object metadata, final Batch batch)
+            throws ClassCastException, SQLException, FactoryException
+    {
+        if (metadata instanceof CodeList<?>) {
+            return addCode(stmt, (CodeList<?>) metadata, batch);
+        } else {
+            return add(stmt, metadata, new IdentityHashMap<>(), null, batch);
+        }
+    }
+
     /**
      * Implementation of the {@link #add(Object)} method. This method invokes itself recursively,
      * and maintains a map of metadata inserted up to date in order to avoid infinite recursivity.
@@ -235,14 +352,28 @@ public class MetadataWriter extends MetadataSource {
      * @param  done      the metadata objects already added, mapped to their primary keys.
      * @param  parent    the primary key of the parent, or {@code null} if there is no parent.
      *                   This identifier shall not contain {@linkplain #isReservedChar(int) reserved characters}.
+     * @param  batch     the pending insertions if {@link #addAll(Iterable, int)} is in progress, or {@code null}.
      * @return the identifier (primary key) of the metadata just added.
      * @throws SQLException if an exception occurred while reading or writing the database.
      * @throws ClassCastException if the metadata object does not implement a metadata interface
      *         of the expected package.
      */
     private String add(final Statement stmt, final Object metadata, final Map<Object,String> done,
-            final String parent) throws ClassCastException, SQLException, FactoryException
+            final String parent, final Batch batch) throws ClassCastException, SQLException, FactoryException
     {
+        /*
+         * In batch mode, a metadata equals to the given one may have been written previously in the same chunk.
+         * Its row may be still pending, in which case it would not be found by the search in the database.
+         */
+        if (batch != null) {
+            final String identifier = batch.written.get(metadata);
+            if (identifier != null) {
+                if (done.put(metadata, identifier) != null) {
+                    throw new AssertionError(metadata);
+                }
+                return identifier;
+            }
+        }
         final SQLBuilder helper = helper();
         /*
          * Take a snapshot of the metadata content. We do that in order to protect ourself against
@@ -266,6 +397,9 @@ public class MetadataWriter extends MetadataSource {
             if (done.put(metadata, identifier) != null) {
                 throw new AssertionError(metadata);
             }
+            if (batch != null) {
+                batch.written.put(metadata, identifier);
+            }
             return identifier;
         }
         /*
@@ -397,10 +531,16 @@ public class MetadataWriter extends MetadataSource {
                     break;
                 }
             }
+            if (batch != null) {
+                identifier = batch.reserve(table, identifier, idCheck);
+            }
         }
         if (done.put(metadata, identifier) != null) {
             throw new AssertionError(metadata);
         }
+        if (batch != null) {
+            batch.written.put(metadata, identifier);
+        }
         /*
          * Process all dependencies now. This block may invoke this method recursively.
          * Once a dependency has been added to the database, the corresponding value in
@@ -411,7 +551,7 @@ public class MetadataWriter extends MetadataSource {
             Object value = entry.getValue();
             final Class<?> type = value.getClass();
             if (CodeList.class.isAssignableFrom(type)) {
-                value = addCode(stmt, (CodeList<?>) value);
+                value = addCode(stmt, (CodeList<?>) value, batch);
             } else if (type.isEnum()) {
                 value = ((Enum<?>) value).name();
             } else if (standard.isMetadata(type)) {
@@ -419,7 +559,7 @@ public class MetadataWriter extends MetadataSource {
                 if (dependency == null) {
                     dependency = done.get(value);
                     if (dependency == null) {
-                        dependency = add(stmt, value, done, identifier);
+                        dependency = add(stmt, value, done, identifier, batch);
                         assert done.get(value) == dependency;                       // Really identity comparison.
                         if (!helper.dialect.isIndexInheritanceSupported) {
                             /*
@@ -524,12 +664,114 @@ public class MetadataWriter extends MetadataSource {
             helper.append(", ").appendValue(value);
         }
         final String sql = helper.append(')').toString();
-        if (stmt.executeUpdate(sql) != 1) {
+        if (batch != null) {
+            batch.insert(table, identifier, sql);
+        } else if (stmt.executeUpdate(sql) != 1) {
             throw new SQLException(Errors.format(Errors.Keys.DatabaseUpdateFailure_3, 0, table, identifier));
         }
         return identifier;
     }
 
+    /**
+     * Insertions pending during a call to {@link MetadataWriter#addAll(Iterable, int)}. The {@code INSERT}
+     * statements are accumulated in a JDBC batch which is executed at the end of each chunk. Since pending
+     * rows are not visible to database queries before that time, this class keeps in memory the metadata
+     * written in the current chunk and the identifiers reserved for pending rows.
+     */
+    private static final class Batch implements AutoCloseable {
+        /**
+         * The statement where to accumulate the {@code INSERT} statements.
+         */
+        private final Statement inserts;
+
+        /**
+         * Metadata or code lists written in the current chunk, mapped to their identifiers.
+         * Keys are compared with {@link Object#equals(Object)}, which allows to write only
+         * once the identical dependencies found in different metadata objects.
+         */
+        final Map<Object,String> written;
+
+        /**
+         * Identifiers of pending rows, for each table where insertions are pending.
+         */
+        private final Map<String,Set<String>> reserved;
+
+        /**
+         * Table names and identifiers of pending rows, in insertion order.
+         * Used only for formatting an error message if an insertion failed.
+         */
+        private final List<String> tables, identifiers;
+
+        /**
+         * Creates an initially empty batch.
+         */
+        Batch(final Connection connection) throws SQLException {
+            inserts     = connection.createStatement();
+            written     = new HashMap<>();
+            reserved    = new HashMap<>();
+            tables      = new ArrayList<>();
+            identifiers = new ArrayList<>();
+        }
+
+        /**
+         * Ensures that the given identifier is not used by a pending row in the given table.
+         * If the identifier is already reserved, then a new identifier is built in the same
+         * way than {@link IdentifierGenerator} and verified against the database.
+         *
+         * @param  table       the table where the row will be inserted.
+         * @param  identifier  the identifier proposed by {@link IdentifierGenerator}.
+         * @param  idCheck     the generator to use for verifying new identifiers.
+         * @return an identifier which is neither in the database or in the pending rows.
+         */
+        String reserve(final String table, final String identifier, final IdentifierGenerator idCheck)
+                throws SQLException
+        {
+            final Set<String> ids = reserved.computeIfAbsent(table, (k) -> new HashSet<>());
+            String candidate = identifier;
+            for (int n=1; !ids.add(candidate); n++) {
+                candidate = idCheck.identifier(identifier + IdentifierGenerator.SEPARATOR + n);
+            }
+            return candidate;
+        }
+
+        /**
+         * Adds the given {@code INSERT} statement to the batch.
+         */
+        void insert(final String table, final String identifier, final String sql) throws SQLException {
+            inserts.addBatch(sql);
+            tables.add(table);
+            identifiers.add(identifier);
+        }
+
+        /**
+         * Executes all pending insertions and clears the memory of the current chunk.
+         */
+        void flush() throws SQLException {
+            if (!tables.isEmpty()) {
+                final int[] counts = inserts.executeBatch();
+                for (int i=0; i<counts.length; i++) {
+                    final int n = counts[i];
+                    if (n != 1 && n != Statement.SUCCESS_NO_INFO) {
+                        throw new SQLException(Errors.format(Errors.Keys.DatabaseUpdateFailure_3,
+                                0, tables.get(i), identifiers.get(i)));
+                    }
+                }
+                tables.clear();
+                identifiers.clear();
+            }
+            reserved.clear();
+            written.clear();
+        }
+
+        /**
+         * Releases the statement used for the batch.
+         */
+        @Override
+        public void close() throws SQLException {
+            inserts.close();
+        }
+    }
+
     /**
      * Information about the source and the target of a foreigner key. This class stores only the table names
      * (indirectly in the case of {@link #tableType}, since the name is derived from the type).
@@ -649,9 +891,19 @@ public class MetadataWriter extends MetadataSource {
      * Adds a code list if it is not already present. This is used only in order to enforce
      * foreigner key constraints in the database. The value of CodeList tables are not used
      * at parsing time.
+     *
+     * @param  batch  the pending insertions if {@link #addAll(Iterable, int)} is in progress, or {@code null}.
      */
-    private String addCode(final Statement stmt, final CodeList<?> code) throws SQLException, FactoryException {
+    private String addCode(final Statement stmt, final CodeList<?> code, final Batch batch)
+            throws SQLException, FactoryException
+    {
         assert Thread.holdsLock(this);
+        if (batch != null) {
+            final String identifier = batch.written.get(code);
+            if (identifier != null) {
+                return identifier;
+            }
+        }
         final String table = getTableName(code.getClass());
         final Set<String> columns = getExistingColumns(table);
         if (columns.isEmpty()) {
@@ -670,10 +922,15 @@ public class MetadataWriter extends MetadataSource {
             final String sql = helper().clear().append("INSERT INTO ").appendIdentifier(schema(), table)
                     .append(" (").appendIdentifier(CODE_COLUMN).append(") VALUES (").appendValue(identifier)
                     .append(')').toString();
-            if (stmt.executeUpdate(sql) != 1) {
+            if (batch != null) {
+                batch.insert(table, identifier, sql);
+            } else if (stmt.executeUpdate(sql) != 1) {
                 throw new SQLException(Errors.format(Errors.Keys.DatabaseUpdateFailure_3, 0, table, identifier));
             }
         }
+        if (batch != null) {
+            batch.written.put(code, identifier);
+        }
         return identifier;
     }
 
@@ -21,6 +21,7 @@ import java.util.Deque;
 import java.util.ServiceLoader;
 import java.util.concurrent.ConcurrentLinkedDeque;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBException;
 import javax.xml.bind.Marshaller;
@@ -56,10 +57,11 @@ import org.apache.sis.util.CharSequences;
  * <div class="section">Thread safety</div>
  * The same {@code MarshallerPool} instance can be safely used by many threads without synchronization
  * on the part of the caller. Subclasses should make sure that any overridden methods remain safe to call
- * from multiple threads.
+ * from multiple threads. A (un)marshaller recycled by a thread is preferably given back to the same thread
+ * on the next acquisition, which reduces contention when many threads use the pool concurrently.
  *
  * @author  Martin Desruisseaux (Geomatys)
- * @version 0.8
+ * @version 1.0
  *
  * @see XML
  * @see <a href="http://jaxb.java.net/guide/Performance_and_thread_safety.html">JAXB Performance and thread-safety</a>
@@ -138,6 +140,22 @@ public class MarshallerPool {
      */
     private final Deque<Unmarshaller> unmarshallers;
 
+    /**
+     * Marshallers recycled by the threads whose identifiers map to the array index. A thread acquiring
+     * a marshaller looks first in its slot before to look in the {@link #marshallers} queue, and a
+     * recycled marshaller goes in the slot of the recycling thread if that slot is empty. This gives
+     * some thread affinity without the memory retention issues of {@link ThreadLocal}.
+     *
+     * @see #slot(AtomicReferenceArray)
+     */
+    private final AtomicReferenceArray<Marshaller> marshallerSlots;
+
+    /**
+     * Unmarshallers recycled by the threads whose identifiers map to the array index.
+     * This is the same strategy than {@link #marshallerSlots}.
+     */
+    private final AtomicReferenceArray<Unmarshaller> unmarshallerSlots;
+
     /**
      * {@code true} if a task has been scheduled for removing expired (un)marshallers,
      * or {@code false} if no removal task is currently scheduled.
@@ -211,6 +229,17 @@ public class MarshallerPool {
         marshallers        = new ConcurrentLinkedDeque<>();
         unmarshallers      = new ConcurrentLinkedDeque<>();
         isRemovalScheduled = new AtomicBoolean();
+        final int n        = Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 2 - 1);
+        marshallerSlots    = new AtomicReferenceArray<>(n);
+        unmarshallerSlots  = new AtomicReferenceArray<>(n);
+    }
+
+    /**
+     * Returns the index in the given array of the slot reserved to the current thread.
+     * Many threads may share the same slot.
+     */
+    private static int slot(final AtomicReferenceArray<?> slots) {
+        return ((int) Thread.currentThread().getId()) & (slots.length() - 1);
     }
 
     /**
@@ -219,11 +248,12 @@ public class MarshallerPool {
      *
      * <ul>
      *   <li>{@link Pooled#reset(Pooled) Resets} the (un)marshaller to its initial state.</li>
-     *   <li>{@linkplain Deque#push(Object) Pushes} the (un)marshaller in the given queue.</li>
+     *   <li>Stores the (un)marshaller in the slot of the current thread if that slot is empty,
+     *       or {@linkplain Deque#push(Object) pushes} it in the given queue otherwise.</li>
      *   <li>Registers a delayed task for disposing expired (un)marshallers after the timeout.</li>
      * </ul>
      */
-    private <T> void recycle(final Deque<T> queue, final T marshaller) {
+    private <T> void recycle(final AtomicReferenceArray<T> slots, final Deque<T> queue, final T marshaller) {
         try {
             ((Pooled) marshaller).reset(template);
         } catch (JAXBException exception) {
@@ -234,7 +264,9 @@ public class MarshallerPool {
             Logging.unexpectedException(Logging.getLogger(Loggers.XML), MarshallerPool.class, "recycle", exception);
             return;
         }
-        queue.push(marshaller);
+        if (!slots.compareAndSet(slot(slots), null, marshaller)) {
+            queue.push(marshaller);
+        }
         scheduleRemoval();
     }
 
@@ -263,7 +295,9 @@ public class MarshallerPool {
         isRemovalScheduled.set(false);
         final long now = System.nanoTime();
         if (!removeExpired(marshallers, now) |                      // Really |, not ||
-            !removeExpired(unmarshallers, now))
+            !removeExpired(unmarshallers, now) |
+            !removeExpired(marshallerSlots, now) |
+            !removeExpired(unmarshallerSlots, now))
         {
             scheduleRemoval();
         }
@@ -304,6 +338,25 @@ public class MarshallerPool {
         return true;
     }
 
+    /**
+     * Removes expired (un)marshallers from the given slots.
+     *
+     * @param  <T>    either {@code Marshaller} or {@code Unmarshaller} type.
+     * @param  slots  the slots from which to remove expired (un)marshallers.
+     * @param  now    current value of {@link System#nanoTime()}.
+     * @return {@code true} if all slots are empty after this method call.
+     */
+    private static <T> boolean removeExpired(final AtomicReferenceArray<T> slots, final long now) {
+        boolean empty = true;
+        for (int i=slots.length(); --i >= 0;) {
+            final T next = slots.get(i);
+            if (next != null && (now - ((Pooled) next).resetTime < TIMEOUT || !slots.compareAndSet(i, next, null))) {
+                empty = false;
+            }
+        }
+        return empty;
+    }
+
     /**
      * Returns a JAXB marshaller from the pool. If there is no marshaller currently available
      * in the pool, then this method will {@linkplain #createMarshaller() create} a new one.
@@ -323,7 +376,10 @@ public class MarshallerPool {
      * @throws JAXBException if an error occurred while creating and configuring a marshaller.
      */
     public Marshaller acquireMarshaller() throws JAXBException {
-        Marshaller marshaller = marshallers.poll();
+        Marshaller marshaller = marshallerSlots.getAndSet(slot(marshallerSlots), null);
+        if (marshaller == null) {
+            marshaller = marshallers.poll();
+        }
         if (marshaller == null) {
             marshaller = new PooledMarshaller(createMarshaller(), template);
         }
@@ -349,7 +405,10 @@ public class MarshallerPool {
      * @throws JAXBException if an error occurred while creating and configuring the unmarshaller.
      */
     public Unmarshaller acquireUnmarshaller() throws JAXBException {
-        Unmarshaller unmarshaller = unmarshallers.poll();
+        Unmarshaller unmarshaller = unmarshallerSlots.getAndSet(slot(unmarshallerSlots), null);
+        if (unmarshaller == null) {
+            unmarshaller = unmarshallers.poll();
+        }
         if (unmarshaller == null) {
             unmarshaller = new PooledUnmarshaller(createUnmarshaller(), template);
         }
@@ -390,7 +449,7 @@ public class MarshallerPool {
      * @param  marshaller  the marshaller to return to the pool.
      */
     public void recycle(final Marshaller marshaller) {
-        recycle(marshallers, marshaller);
+        recycle(marshallerSlots, marshallers, marshaller);
     }
 
     /**
@@ -414,7 +473,7 @@ public class MarshallerPool {
      * @param  unmarshaller  the unmarshaller to return to the pool.
      */
     public void recycle(final Unmarshaller unmarshaller) {
-        recycle(unmarshallers, unmarshaller);
+        recycle(unmarshallerSlots, unmarshallers, unmarshaller);
     }
 
     /**
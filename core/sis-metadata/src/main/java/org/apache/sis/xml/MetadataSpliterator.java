@@ -0,0 +1,504 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sis.xml;
+
+import java.util.Map;
+import java.util.List;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import javax.xml.bind.JAXBElement;
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Unmarshaller;
+import javax.xml.stream.XMLEventFactory;
+import javax.xml.stream.XMLEventReader;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.events.Namespace;
+import javax.xml.stream.events.EntityDeclaration;
+import javax.xml.stream.events.EntityReference;
+import javax.xml.stream.events.StartElement;
+import javax.xml.stream.events.XMLEvent;
+import org.opengis.metadata.Metadata;
+import org.apache.sis.util.Classes;
+import org.apache.sis.util.resources.Errors;
+import org.apache.sis.util.collection.BackingStoreException;
+
+import static javax.xml.stream.XMLStreamConstants.*;
+
+
+/**
+ * Unmarshals metadata records one at a time from a XML document containing an arbitrary amount of records.
+ * The document is read with a StAX reader. Each {@code MD_Metadata} or {@code MI_Metadata} element found
+ * in the document is extracted as a list of XML events, then unmarshalled by an unmarshaller from the pool.
+ * Consequently the memory usage is bounded by the size of the largest record, not by the document size.
+ *
+ * <p>When used in a parallel stream, {@link #trySplit()} extracts a batch of records from the document
+ * and gives them to another spliterator which unmarshals them in the worker thread. The reading of XML
+ * events is sequential, but the unmarshalling (which is the most costly part) is parallelized.
+ * The number of batches extracted but not yet fully consumed is limited to the number of processors;
+ * when that limit is reached, {@code trySplit()} blocks until a batch has been consumed. Consequently
+ * the memory usage stays bounded by a multiple of the size of the largest record in parallel streams too,
+ * while all the document is unmarshalled in parallel. Returning {@code null} instead of blocking would
+ * cause the stream framework to consume all remaining records sequentially.</p>
+ *
+ * <p>The wait is bounded by a timeout because a short-circuiting stream operation (e.g. {@code findAny()})
+ * may abandon batches which will never be consumed. If no batch is consumed before the timeout expires,
+ * {@code trySplit()} extracts a new batch anyway.</p>
+ *
+ * <p>Checked exceptions are wrapped in {@link BackingStoreException}.</p>
+ *
+ * @author  agent
+ * @version 1.0
+ *
+ * @see XML#unmarshalMetadata(java.io.InputStream, Map)
+ *
+ * @since 1.0
+ * @module
+ */
+final class MetadataSpliterator implements Spliterator<Metadata> {
+    /**
+     * Maximal number of records to extract in a single call to {@link #trySplit()}.
+     */
+    static final int BATCH_SIZE = 64;
+
+    /**
+     * The reader of the XML document containing the records.
+     */
+    private final XMLEventReader reader;
+
+    /**
+     * The pool of unmarshallers to use for unmarshalling each record.
+     */
+    private final MarshallerPool pool;
+
+    /**
+     * The properties to give to the unmarshallers, or {@code null} if none.
+     */
+    private final Map<String,?> properties;
+
+    /**
+     * The factory to use for creating the start element of a record with all inherited namespaces.
+     */
+    private final XMLEventFactory factory;
+
+    /**
+     * Namespace declarations of the elements enclosing the current position in the document.
+     * Those declarations are copied in the start element of each record, for allowing the
+     * unmarshaller to resolve prefixes used in attribute values such as {@code xsi:type}.
+     */
+    private final List<List<Namespace>> enclosing;
+
+    /**
+     * Maximal number of batches which can be extracted by {@link #trySplit()} and not yet fully consumed.
+     */
+    final int maxPendingBatches;
+
+    /**
+     * Number of batches which can still be extracted by {@link #trySplit()} before to wait.
+     * A permit is released by the {@link Batch} instances when their last record is unmarshalled.
+     */
+    private final Semaphore permits;
+
+    /**
+     * Maximal time (in nanoseconds) to wait for a batch to be consumed before to extract a new batch anyway.
+     * This field should be modified for testing purpose only.
+     */
+    long maxWait = TimeUnit.SECONDS.toNanos(1);
+
+    /**
+     * Creates a new spliterator for the records in the given document.
+     *
+     * @param reader      the reader of the XML document containing the records.
+     * @param pool        the pool of unmarshallers to use for unmarshalling each record.
+     * @param properties  the properties to give to the unmarshallers, or {@code null} if none.
+     */
+    MetadataSpliterator(final XMLEventReader reader, final MarshallerPool pool, final Map<String,?> properties) {
+        this.reader     = reader;
+        this.pool       = pool;
+        this.properties = properties;
+        this.factory    = XMLEventFactory.newInstance();
+        this.enclosing  = new ArrayList<>();
+        maxPendingBatches = Runtime.getRuntime().availableProcessors();
+        permits           = new Semaphore(maxPendingBatches);
+    }
+
+    /**
+     * Returns {@code true} if the given element is the root of a metadata record.
+     */
+    private static boolean isRecord(final StartElement element) {
+        final String name = element.getName().getLocalPart();
+        return name.equals("MD_Metadata") || name.equals("MI_Metadata");
+    }
+
+    /**
+     * Reads the XML events of the next record in the document.
+     *
+     * @return the events of the next record, or {@code null} if there is no more record.
+     */
+    private List<XMLEvent> nextRecord() throws XMLStreamException {
+        while (reader.hasNext()) {
+            final XMLEvent event = reader.nextEvent();
+            switch (event.getEventType()) {
+                case START_ELEMENT: {
+                    final StartElement element = event.asStartElement();
+                    if (isRecord(element)) {
+                        return readRecord(element);
+                    }
+                    final List<Namespace> declared = new ArrayList<>();
+                    for (final Iterator<?> it = element.getNamespaces(); it.hasNext();) {
+                        declared.add((Namespace) it.next());
+                    }
+                    enclosing.add(declared);
+                    break;
+                }
+                case END_ELEMENT: {
+                    if (!enclosing.isEmpty()) {
+                        enclosing.remove(enclosing.size() - 1);
+                    }
+                    break;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Reads all events from the given start element to the corresponding end element inclusive.
+     * The start element is replaced by a new element declaring also the namespaces inherited
+     * from the enclosing elements.
+     */
+    private List<XMLEvent> readRecord(StartElement element) throws XMLStreamException {
+        if (!enclosing.isEmpty()) {
+            final Map<String,Namespace> namespaces = new LinkedHashMap<>();
+            for (final List<Namespace> declared : enclosing) {
+                for (final Namespace ns : declared) {
+                    namespaces.put(ns.getPrefix(), ns);
+                }
+            }
+            for (final Iterator<?> it = element.getNamespaces(); it.hasNext();) {
+                final Namespace ns = (Namespace) it.next();
+                namespaces.put(ns.getPrefix(), ns);
+            }
+            element = factory.createStartElement(element.getName(), element.getAttributes(), namespaces.values().iterator());
+        }
+        final List<XMLEvent> events = new ArrayList<>();
+        events.add(element);
+        int depth = 1;
+        do {
+            final XMLEvent event = reader.nextEvent();
+            switch (event.getEventType()) {
+                case START_ELEMENT: depth++; break;
+                case END_ELEMENT:   depth--; break;
+            }
+            events.add(event);
+        } while (depth != 0);
+        return events;
+    }
+
+    /**
+     * Unmarshals the given record.
+     */
+    private static Metadata unmarshal(final MarshallerPool pool, final Map<String,?> properties,
+            final List<XMLEvent> record) throws JAXBException
+    {
+        final Unmarshaller unmarshaller = pool.acquireUnmarshaller(properties);
+        Object object = unmarshaller.unmarshal(new Record(record));
+        pool.recycle(unmarshaller);
+        if (object instanceof JAXBElement<?>) {
+            object = ((JAXBElement<?>) object).getValue();
+        }
+        if (object instanceof Metadata) {
+            return (Metadata) object;
+        }
+        throw new JAXBException(Errors.format(Errors.Keys.UnexpectedTypeForReference_3,
+                record.get(0).asStartElement().getName(), Metadata.class, Classes.getClass(object)));
+    }
+
+    /**
+     * Unmarshals the next record and gives it to the given action.
+     *
+     * @param  action  the action to execute on the next record.
+     * @return {@code false} if there is no more record.
+     */
+    @Override
+    public boolean tryAdvance(final Consumer<? super Metadata> action) {
+        final List<XMLEvent> record;
+        try {
+            record = nextRecord();
+            if (record == null) {
+                return false;
+            }
+            action.accept(unmarshal(pool, properties, record));
+        } catch (XMLStreamException | JAXBException e) {
+            throw new BackingStoreException(e);
+        }
+        return true;
+    }
+
+    /**
+     * Reads a batch of records and returns a spliterator which will unmarshal them.
+     * If the maximal number of pending batches has been reached, then this method
+     * waits for a batch to be consumed before to read the next records.
+     *
+     * @return a spliterator over the next records, or {@code null} if there is no more record.
+     */
+    @Override
+    public Spliterator<Metadata> trySplit() {
+        final Permit permit = new Permit();
+        try {
+            ForkJoinPool.managedBlock(permit);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();         // Continue without permit.
+        }
+        final Semaphore release = permit.acquired ? permits : null;
+        final List<List<XMLEvent>> records = new ArrayList<>(BATCH_SIZE);
+        try {
+            List<XMLEvent> record;
+            while (records.size() < BATCH_SIZE && (record = nextRecord()) != null) {
+                records.add(record);
+            }
+        } catch (XMLStreamException e) {
+            if (release != null) release.release();
+            throw new BackingStoreException(e);
+        }
+        if (records.isEmpty()) {
+            if (release != null) release.release();
+            return null;
+        }
+        return new Batch(pool, properties, records, release);
+    }
+
+    /**
+     * Waits for a permit to extract a new batch. The use of {@link ForkJoinPool#managedBlock ManagedBlocker}
+     * allows the fork-join pool to activate a spare thread while the current worker thread is blocked,
+     * so the pending batches can be consumed even if the pool has few threads.
+     */
+    private final class Permit implements ForkJoinPool.ManagedBlocker {
+        /** Whether a permit has been acquired. */
+        boolean acquired;
+
+        /** Tries to acquire a permit without blocking. */
+        @Override
+        public boolean isReleasable() {
+            return acquired || (acquired = permits.tryAcquire());
+        }
+
+        /** Waits for a permit, but not longer than the timeout. */
+        @Override
+        public boolean block() throws InterruptedException {
+            if (!acquired) {
+                acquired = permits.tryAcquire(maxWait, TimeUnit.NANOSECONDS);
+            }
+            return true;            // Stop waiting after the timeout even if no permit has been acquired.
+        }
+    }
+
+    /**
+     * Returns an estimation of the number of records, which is unknown.
+     */
+    @Override
+    public long estimateSize() {
+        return Long.MAX_VALUE;
+    }
+
+    /**
+     * Records are returned in document order and are never null.
+     */
+    @Override
+    public int characteristics() {
+        return ORDERED | NONNULL;
+    }
+
+    /**
+     * Closes the XML reader. This method does not close the underlying input stream.
+     */
+    final void close() {
+        try {
+            reader.close();
+        } catch (XMLStreamException e) {
+            throw new BackingStoreException(e);
+        }
+    }
+
+    /**
+     * A spliterator over records already extracted from the document, to be unmarshalled in the worker thread.
+     */
+    private static final class Batch implements Spliterator<Metadata> {
+        /** The pool of unmarshallers to use for unmarshalling each record. */
+        private final MarshallerPool pool;
+
+        /** The properties to give to the unmarshallers, or {@code null} if none. */
+        private final Map<String,?> properties;
+
+        /** The records extracted from the document. Elements are set to {@code null} after use. */
+        private final List<List<XMLEvent>> records;
+
+        /** Permits of the parent spliterator, to release after the last record, or {@code null} if none. */
+        private final Semaphore permits;
+
+        /** Index of the next record to unmarshal. */
+        private int index;
+
+        /** Creates a new spliterator for the given records. */
+        Batch(final MarshallerPool pool, final Map<String,?> properties, final List<List<XMLEvent>> records,
+              final Semaphore permits)
+        {
+            this.pool       = pool;
+            this.properties = properties;
+            this.records    = records;
+            this.permits    = permits;
+        }
+
+        /** Unmarshals the next record and gives it to the given action. */
+        @Override
+        public boolean tryAdvance(final Consumer<? super Metadata> action) {
+            if (index >= records.size()) {
+                return false;
+            }
+            final List<XMLEvent> record = records.set(index++, null);
+            if (index == records.size() && permits != null) {
+                permits.release();
+            }
+            try {
+                action.accept(unmarshal(pool, properties, record));
+            } catch (JAXBException e) {
+                throw new BackingStoreException(e);
+            }
+            return true;
+        }
+
+        /** Records in a batch are not splitted further. */
+        @Override public Spliterator<Metadata> trySplit() {return null;}
+        @Override public long estimateSize()              {return records.size() - index;}
+        @Override public int  characteristics()           {return ORDERED | NONNULL | SIZED | SUBSIZED;}
+    }
+
+    /**
+     * A reader over the XML events of a single record.
+     */
+    static final class Record implements XMLEventReader {
+        /** The XML events of the record, starting with a start element. */
+        private final List<XMLEvent> events;
+
+        /** Index of the next event to return. */
+        private int index;
+
+        /** Creates a new reader over the given events. */
+        Record(final List<XMLEvent> events) {
+            this.events = events;
+        }
+
+        /** Returns {@code true} if there is more events. */
+        @Override
+        public boolean hasNext() {
+            return index < events.size();
+        }
+
+        /** Returns the next event without removing it from the stream, or {@code null} if none. */
+        @Override
+        public XMLEvent peek() {
+            return hasNext() ? events.get(index) : null;
+        }
+
+        /** Returns the next event. */
+        @Override
+        public XMLEvent nextEvent() throws XMLStreamException {
+            if (hasNext()) {
+                return events.get(index++);
+            }
+            throw new NoSuchElementException();
+        }
+
+        /** Returns the next event. Use {@link #nextEvent()} instead. */
+        @Override
+        public Object next() {
+            try {
+                return nextEvent();
+            } catch (XMLStreamException e) {
+                throw new BackingStoreException(e);
+            }
+        }
+
+        /** Reads the content of a text-only element. The current event must be a start element. */
+        @Override
+        public String getElementText() throws XMLStreamException {
+            final StringBuilder buffer = new StringBuilder();
+            XMLEvent event;
+            while (!(event = nextEvent()).isEndElement()) {
+                switch (event.getEventType()) {
+                    case CHARACTERS:
+                    case CDATA:
+                    case SPACE:                  buffer.append(event.asCharacters().getData()); break;
+                    case ENTITY_REFERENCE: {
+                        final EntityDeclaration declaration = ((EntityReference) event).getDeclaration();
+                        final String text = (declaration != null) ? declaration.getReplacementText() : null;
+                        if (text == null) throw unexpected(event);
+                        buffer.append(text);
+                        break;
+                    }
+                    case PROCESSING_INSTRUCTION:
+                    case COMMENT:                break;
+                    default: throw unexpected(event);
+                }
+            }
+            return buffer.toString();
+        }
+
+        /** Skips white spaces, comments and processing instructions until a start or end element. */
+        @Override
+        public XMLEvent nextTag() throws XMLStreamException {
+            for (;;) {
+                final XMLEvent event = nextEvent();
+                switch (event.getEventType()) {
+                    case START_ELEMENT:
+                    case END_ELEMENT:            return event;
+                    case PROCESSING_INSTRUCTION:
+                    case COMMENT:
+                    case SPACE:                  continue;
+                    case CHARACTERS: {
+                        if (event.asCharacters().isWhiteSpace()) continue;
+                        break;
+                    }
+                }
+                throw unexpected(event);
+            }
+        }
+
+        /** Returns the exception to throw for an unexpected event in this record. */
+        private XMLStreamException unexpected(final XMLEvent event) {
+            return new XMLStreamException(Errors.format(Errors.Keys.UnexpectedValueInElement_2,
+                    events.get(0).asStartElement().getName().getLocalPart(), event), event.getLocation());
+        }
+
+        /** No property is supported. */
+        @Override
+        public Object getProperty(final String name) {
+            throw new IllegalArgumentException(name);
+        }
+
+        /** Nothing to close. */
+        @Override
+        public void close() {
+        }
+    }
+}
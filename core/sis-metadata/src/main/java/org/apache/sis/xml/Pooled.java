@@ -154,6 +154,12 @@ abstract class Pooled {
      */
     private WarningListener<?> warningListener;
 
+    /**
+     * Whether a SIS property may have been modified since the last call to {@link #reset(Pooled)}.
+     * If {@code false} and {@link #initialProperties} is empty, then the reset can be skipped.
+     */
+    private boolean modified;
+
     /**
      * The {@link System#nanoTime()} value of the last call to {@link #reset(Pooled)}.
      * This is used for disposing (un)marshallers that have not been used for a while,
@@ -182,6 +188,7 @@ abstract class Pooled {
     Pooled(final Pooled template) {
         initialProperties = new LinkedHashMap<>();
         internal = template.internal;
+        modified = true;
     }
 
     /**
@@ -202,7 +209,8 @@ abstract class Pooled {
     /**
      * Releases resources and resets the (un)marshaller to its initial state.
      * This method is invoked by {@link MarshallerPool} just before to push a
-     * (un)marshaller in the pool after its usage.
+     * (un)marshaller in the pool after its usage. Properties are restored only
+     * if they have been modified since the last reset.
      *
      * @param  template  the {@link PooledTemplate} from which to get the initial values.
      * @throws JAXBException if an error occurred while restoring a property.
@@ -212,20 +220,23 @@ abstract class Pooled {
             reset(entry.getKey(), entry.getValue());
         }
         initialProperties.clear();
-        bitMasks         = template.bitMasks;
-        locale           = template.locale;
-        timezone         = template.timezone;
-        schemas          = template.schemas;
-        versionGML       = template.versionGML;
-        versionMetadata  = template.versionMetadata;
-        resolver         = template.resolver;
-        converter        = template.converter;
-        rootAdapters     = template.rootAdapters;
-        warningListener  = template.warningListener;
-        resetTime        = System.nanoTime();
-        if (this instanceof Marshaller) {
-            bitMasks |= Context.MARSHALLING;
+        if (modified) {
+            bitMasks         = template.bitMasks;
+            locale           = template.locale;
+            timezone         = template.timezone;
+            schemas          = template.schemas;
+            versionGML       = template.versionGML;
+            versionMetadata  = template.versionMetadata;
+            resolver         = template.resolver;
+            converter        = template.converter;
+            rootAdapters     = template.rootAdapters;
+            warningListener  = template.warningListener;
+            if (this instanceof Marshaller) {
+                bitMasks |= Context.MARSHALLING;
+            }
+            modified = false;
         }
+        resetTime = System.nanoTime();
     }
 
     /**
@@ -303,6 +314,7 @@ abstract class Pooled {
      * need to complete the work.
      */
     public final void setProperty(String name, final Object value) throws PropertyException {
+        modified = true;
         try {
             switch (name) {
                 case XML.LOCALE: {
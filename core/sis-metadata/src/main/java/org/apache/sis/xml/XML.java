@@ -31,6 +31,8 @@ import java.io.StringWriter;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 import javax.xml.bind.Marshaller;
 import javax.xml.bind.Unmarshaller;
 import javax.xml.bind.JAXBElement;
@@ -41,6 +43,8 @@ import javax.xml.transform.stax.StAXSource;
 import javax.xml.transform.stax.StAXResult;
 import javax.xml.stream.XMLStreamReader;
 import javax.xml.stream.XMLStreamWriter;
+import javax.xml.stream.XMLStreamException;
+import org.opengis.metadata.Metadata;
 import org.apache.sis.util.Static;
 import org.apache.sis.util.Version;
 import org.apache.sis.util.Workaround;
@@ -414,7 +418,7 @@ public final class XML extends Static {
      * class initialization would be a little bit too rigid.</div>
      */
     @SuppressWarnings("DoubleCheckedLocking")
-    private static MarshallerPool getPool() throws JAXBException {
+    static MarshallerPool getPool() throws JAXBException {
         MarshallerPool pool = POOL;
         if (pool == null) {
             synchronized (XML.class) {
@@ -628,6 +632,41 @@ public final class XML extends Static {
         return object;
     }
 
+    /**
+     * Unmarshal the metadata records found in the given stream, one record at a time.
+     * This method is designed for large documents such as catalogue dumps, where a container element
+     * contains an arbitrary amount of {@code MD_Metadata} or {@code MI_Metadata} elements. Each record
+     * is read and unmarshalled only when requested by the stream, so memory usage is bounded by the size
+     * of the largest record instead than by the size of the document.
+     *
+     * <p>The returned stream is sequential. Invoking {@link Stream#parallel()} on it allows records to be
+     * unmarshalled concurrently by different unmarshallers; the XML document is still read sequentially.
+     * The stream should be closed after use for releasing the XML reader, but closing the stream does
+     * <strong>not</strong> close the given input stream.</p>
+     *
+     * <p>Errors that occur while the stream is consumed are wrapped in
+     * {@link org.apache.sis.util.collection.BackingStoreException}.</p>
+     *
+     * @param  input       the stream from which to read a XML document containing metadata records.
+     * @param  properties  an optional map of properties to give to the unmarshallers, or {@code null} if none.
+     * @return the metadata records, in document order.
+     * @throws JAXBException if an error occurred while creating the XML reader.
+     *
+     * @since 1.0
+     */
+    public static Stream<Metadata> unmarshalMetadata(final InputStream input, final Map<String,?> properties)
+            throws JAXBException
+    {
+        ensureNonNull("input", input);
+        final MetadataSpliterator records;
+        try {
+            records = new MetadataSpliterator(InputFactory.createXMLEventReader(input), getPool(), properties);
+        } catch (XMLStreamException e) {
+            throw new JAXBException(e);
+        }
+        return StreamSupport.stream(records, false).onClose(records::close);
+    }
+
     /**
      * Unmarshal an object from the given stream, DOM or other sources.
      * Together with the {@linkplain #unmarshal(Source, Class, Map) Unmarshal by Declared Type} variant,
@@ -0,0 +1,110 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sis.metadata;
+
+import java.util.Date;
+import java.util.Collections;
+import org.opengis.metadata.citation.DateType;
+import org.opengis.metadata.identification.TopicCategory;
+import org.apache.sis.metadata.iso.DefaultMetadata;
+import org.apache.sis.metadata.iso.citation.DefaultCitation;
+import org.apache.sis.metadata.iso.citation.DefaultCitationDate;
+import org.apache.sis.metadata.iso.extent.DefaultExtent;
+import org.apache.sis.metadata.iso.extent.DefaultGeographicBoundingBox;
+import org.apache.sis.metadata.iso.identification.DefaultDataIdentification;
+import org.apache.sis.metadata.iso.identification.DefaultKeywords;
+import org.apache.sis.internal.util.StandardDateFormat;
+import org.apache.sis.util.iso.SimpleInternationalString;
+
+
+/**
+ * Measures the performance of metadata operations implemented with {@link PropertyAccessor},
+ * namely {@link MetadataCopier#copy(Object)} and {@link AbstractMetadata#equals(Object)}.
+ *
+ * <p><b>Usage:</b> run the {@code main} method, optionally with the number of records in argument.
+ * The time for copying and comparing all records is printed.</p>
+ *
+ * @author  agent
+ * @version 1.0
+ * @since   1.0
+ * @module
+ */
+@SuppressWarnings("UseOfSystemOutOrSystemErr")
+public final class PropertyAccessorBenchmark {
+    /**
+     * Number of times to repeat the measurements.
+     */
+    private static final int REPEAT = 10;
+
+    /**
+     * Runs the benchmark and prints the time result to the standard output.
+     *
+     * @param  args  optionally the number of records to copy and compare.
+     */
+    public static void main(final String[] args) {
+        final int count = (args.length != 0) ? Integer.parseInt(args[0]) : 20000;
+        final DefaultMetadata[] records = new DefaultMetadata[count];
+        for (int i=0; i<count; i++) {
+            records[i] = createRecord(i);
+        }
+        System.out.printf("%d records.%n", count);
+        for (int r=0; r<REPEAT; r++) {
+            long time = System.nanoTime();
+            final MetadataCopier copier = new MetadataCopier(MetadataStandard.ISO_19115);
+            final Object[] copies = new Object[count];
+            for (int i=0; i<count; i++) {
+                copies[i] = copier.copy(records[i]);
+            }
+            final double copy = seconds(time);
+            time = System.nanoTime();
+            int n = 0;
+            for (int i=0; i<count; i++) {
+                if (records[i].equals(copies[i])) n++;
+            }
+            if (n != count) {
+                throw new AssertionError(n);
+            }
+            System.out.printf("copy: %6.3f s    equals: %6.3f s%n", copy, seconds(time));
+        }
+    }
+
+    /**
+     * Creates a metadata record with a few properties filled.
+     */
+    private static DefaultMetadata createRecord(final int i) {
+        final DefaultCitation citation = new DefaultCitation("Record " + i);
+        citation.getAlternateTitles().add(new SimpleInternationalString("Alternate title " + i));
+        citation.getDates().add(new DefaultCitationDate(new Date(1500000000000L + i), DateType.CREATION));
+        citation.setEdition(new SimpleInternationalString("Edition " + (i % 10)));
+        final DefaultDataIdentification identification = new DefaultDataIdentification(
+                citation, "Abstract of record " + i, null, TopicCategory.OCEANS);
+        identification.getDescriptiveKeywords().add(new DefaultKeywords("ocean", "temperature"));
+        identification.getExtents().add(new DefaultExtent("Somewhere",
+                new DefaultGeographicBoundingBox(-10 - i % 100, 10, -20, 20), null, null));
+        final DefaultMetadata metadata = new DefaultMetadata();
+        metadata.getIdentificationInfo().add(identification);
+        metadata.setMetadataStandards(Collections.singleton(new DefaultCitation("ISO 19115")));
+        return metadata;
+    }
+
+    /**
+     * Returns the number of seconds elapsed since the given time.
+     */
+    private static double seconds(final long start) {
+        return (System.nanoTime() - start) / (double) StandardDateFormat.NANOS_PER_SECOND;
+    }
+}
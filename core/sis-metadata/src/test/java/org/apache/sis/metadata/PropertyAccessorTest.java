@@ -331,6 +331,33 @@ public final strictfp class PropertyAccessorTest extends TestCase {
         assertSame("ISBN", newValue, instance.getISBN());
     }
 
+    /**
+     * Tests setting a value of the wrong type through {@link PropertyAccessor#walkWritable(MetadataVisitor, Object, Object)},
+     * which invokes the setter without conversion. The error shall be reported by an {@link IllegalArgumentException},
+     * as {@link java.lang.reflect.Method#invoke(Object, Object...)} does, not by a {@link ClassCastException}.
+     */
+    @Test
+    @DependsOnMethod("testSet")
+    public void testSetWrongType() {
+        final DefaultCitation instance = new DefaultCitation("Some title");
+        final MetadataVisitor<Void> visitor = new MetadataVisitor<Void>() {
+            @Override Filter preVisit(final PropertyAccessor accessor) {
+                return Filter.WRITABLE;
+            }
+
+            @Override Object visit(final Class<?> type, final Object value) {
+                return (type == InternationalString.class) ? Boolean.TRUE : value;
+            }
+        };
+        try {
+            visitor.walk(MetadataStandard.ISO_19115, Citation.class, instance, true);
+            fail("Setting a value of the wrong type shall not be allowed.");
+        } catch (MetadataVisitorException e) {
+            assertInstanceOf("cause", IllegalArgumentException.class, e.getCause());
+            assertTrue(e.getCause().getMessage(), e.getCause().getMessage().contains("Boolean"));
+        }
+    }
+
     /**
      * Tests the {@link PropertyAccessor#set(int, Object, Object, int)} method with a {@code null} value.
      * Setting a property to {@code null} is equivalent to removing that property value.
@@ -16,8 +16,14 @@
  */
 package org.apache.sis.metadata.sql;
 
+import java.util.List;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import org.opengis.util.InternationalString;
 import org.opengis.metadata.citation.Citation;
 import org.opengis.metadata.distribution.Format;
@@ -79,6 +85,7 @@ public final strictfp class MetadataSourceTest extends TestCase {
             verifyFormats(source);
             testSearch(source);
             ensureReadOnly(source);
+            testConcurrentLookups(source);
 
             // Opportunistic verification using the database we have at hand.
             MetadataFallbackVerifier.compare(source);
@@ -151,4 +158,32 @@ public final strictfp class MetadataSourceTest extends TestCase {
             // This is the expected exception.
         }
     }
+
+    /**
+     * Verifies that metadata can be read concurrently from many threads, including from a source sharing
+     * the cache of the given source. Some records have already been read by previous steps, in which case
+     * their values are taken from the cache.
+     *
+     * @param  source  the instance to test.
+     * @throws Exception if an error occurred while querying the database.
+     */
+    @TestStep
+    public static void testConcurrentLookups(final MetadataSource source) throws Exception {
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try (MetadataSource copy = new MetadataSource(source)) {
+            final List<Callable<Object>> tasks = new ArrayList<>();
+            for (int i=0; i<8; i++) {
+                final MetadataSource s = (i & 1) == 0 ? source : copy;
+                tasks.add(() -> {
+                    verifyFormats(s);
+                    return s.lookup(Citation.class, "SIS").getTitle();
+                });
+            }
+            for (final Future<Object> f : executor.invokeAll(tasks)) {
+                assertEquals("Apache Spatial Information System", String.valueOf(f.get()));
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
 }
@@ -16,6 +16,7 @@
  */
 package org.apache.sis.metadata.sql;
 
+import java.util.Arrays;
 import java.util.Collections;
 import org.opengis.metadata.citation.Citation;
 import org.opengis.metadata.citation.PresentationForm;
@@ -25,7 +26,10 @@ import org.opengis.metadata.citation.Role;
 import org.opengis.metadata.citation.Telephone;
 import org.apache.sis.test.sql.TestDatabase;
 import org.apache.sis.metadata.iso.citation.HardCodedCitations;
+import org.apache.sis.metadata.iso.citation.DefaultCitation;
+import org.apache.sis.metadata.iso.citation.DefaultResponsibleParty;
 import org.apache.sis.metadata.iso.citation.DefaultTelephone;
+import org.apache.sis.util.iso.SimpleInternationalString;
 import org.apache.sis.metadata.MetadataStandard;
 import org.apache.sis.test.TestUtilities;
 import org.apache.sis.test.TestCase;
@@ -67,6 +71,7 @@ public final strictfp class MetadataWriterTest extends TestCase {
             source = new MetadataWriter(MetadataStandard.ISO_19115, db.source, null, null);
             try {
                 write();
+                addAll();
                 search();
                 read();
                 readWriteDeprecated();
@@ -89,6 +94,7 @@ public final strictfp class MetadataWriterTest extends TestCase {
             source = new MetadataWriter(MetadataStandard.ISO_19115, db.source, "MetadataWriter", null);
             try {
                 write();
+                addAll();
                 search();
                 read();
                 readWriteDeprecated();
@@ -204,4 +210,29 @@ public final strictfp class MetadataWriterTest extends TestCase {
         final Telephone check = source.lookup(Telephone.class, "01.02.03.04");
         assertEquals("01.02.03.04", TestUtilities.getSingleton(check.getVoices()));
     }
+
+    /**
+     * Writes metadata in batch mode. The two first citations are written in the same chunk with the same
+     * suggested identifier, which shall be made unique even if the first citation is not yet in the database.
+     * The responsible parties are equal but distinct instances. The third citation is equal to the first one
+     * and the last citation was already in the database before this method call.
+     *
+     * @throws MetadataStoreException if an error occurred while writing or reading the database.
+     */
+    private void addAll() throws MetadataStoreException {
+        final DefaultCitation c1 = new DefaultCitation("Batch");
+        final DefaultCitation c2 = new DefaultCitation("Batch");
+        final DefaultCitation c3 = new DefaultCitation("Batch");
+        c1.getCitedResponsibleParties().add(new DefaultResponsibleParty(Role.AUTHOR));
+        c2.getCitedResponsibleParties().add(new DefaultResponsibleParty(Role.AUTHOR));
+        c3.getCitedResponsibleParties().add(new DefaultResponsibleParty(Role.AUTHOR));
+        c2.setEdition(new SimpleInternationalString("Second"));
+        assertEquals(Arrays.asList("Batch", "Batch-1", "Batch", "EPSG"),
+                source.addAll(Arrays.asList(c1, c2, c3, HardCodedCitations.EPSG), 2));
+
+        final Citation c = source.lookup(Citation.class, "Batch-1");
+        assertEquals("Batch",  c.getTitle().toString());
+        assertEquals("Second", c.getEdition().toString());
+        assertEquals(Role.AUTHOR, TestUtilities.getSingleton(c.getCitedResponsibleParties()).getRole());
+    }
 }
@@ -86,6 +86,7 @@ import org.junit.BeforeClass;
     org.apache.sis.xml.CharSequenceSubstitutionTest.class,
     org.apache.sis.xml.UUIDMarshallingTest.class,
     org.apache.sis.xml.XLinkMarshallingTest.class,
+    org.apache.sis.xml.MetadataSpliteratorTest.class,
 
     // GeoAPI most basic types.
     org.apache.sis.internal.simple.SimpleIdentifierTest.class,
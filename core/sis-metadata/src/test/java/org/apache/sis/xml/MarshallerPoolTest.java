@@ -16,7 +16,9 @@
  */
 package org.apache.sis.xml;
 
+import java.util.Locale;
 import javax.xml.bind.Marshaller;
+import javax.xml.bind.Unmarshaller;
 import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBException;
 import org.apache.sis.test.DependsOn;
@@ -30,7 +32,7 @@ import static org.junit.Assert.*;
  * Tests the {@link MarshallerPool}.
  *
  * @author  Martin Desruisseaux (Geomatys)
- * @version 0.3
+ * @version 1.0
  * @since   0.3
  * @module
  */
@@ -67,4 +69,26 @@ public final strictfp class MarshallerPoolTest extends TestCase {
         assertEquals("", marshaller.getProperty("com.sun.xml.bind.xmlHeaders"));
         pool.recycle(marshaller);
     }
+
+    /**
+     * Tests that the SIS-specific properties are reset when an unmarshaller is recycled,
+     * and that an unmodified unmarshaller is returned unchanged by the same thread.
+     *
+     * @throws JAXBException if (un)marhaller construction failed.
+     */
+    @Test
+    public void testResetSIS() throws JAXBException {
+        final MarshallerPool pool = new MarshallerPool(JAXBContext.newInstance(new Class<?>[0]), null);
+        final Unmarshaller unmarshaller = pool.acquireUnmarshaller();
+        assertNull(unmarshaller.getProperty(XML.LOCALE));
+        unmarshaller.setProperty(XML.LOCALE, Locale.FRENCH);
+        assertEquals(Locale.FRENCH, unmarshaller.getProperty(XML.LOCALE));
+        pool.recycle(unmarshaller);
+        assertSame(unmarshaller, pool.acquireUnmarshaller());
+        assertNull(unmarshaller.getProperty(XML.LOCALE));
+        pool.recycle(unmarshaller);
+        assertSame(unmarshaller, pool.acquireUnmarshaller());
+        assertNull(unmarshaller.getProperty(XML.LOCALE));
+        pool.recycle(unmarshaller);
+    }
 }
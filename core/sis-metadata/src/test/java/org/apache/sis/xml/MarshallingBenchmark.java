@@ -0,0 +1,110 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sis.xml;
+
+import java.util.Collections;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.apache.sis.metadata.iso.DefaultMetadata;
+import org.apache.sis.metadata.iso.citation.DefaultCitation;
+import org.apache.sis.metadata.iso.extent.DefaultExtent;
+import org.apache.sis.metadata.iso.extent.DefaultGeographicBoundingBox;
+import org.apache.sis.metadata.iso.identification.DefaultDataIdentification;
+import org.apache.sis.internal.util.StandardDateFormat;
+import org.apache.sis.util.iso.SimpleInternationalString;
+
+
+/**
+ * Measures the throughput of {@link XML#marshal(Object)} and {@link XML#unmarshal(String)}
+ * on a small metadata record, using a configurable number of threads.
+ *
+ * <p><b>Usage:</b> run the {@code main} method, optionally with the number of threads and the number
+ * of records to (un)marshal in each thread. The number of records processed per second is printed.</p>
+ *
+ * @author  agent
+ * @version 1.0
+ * @since   1.0
+ * @module
+ */
+@SuppressWarnings("UseOfSystemOutOrSystemErr")
+public final class MarshallingBenchmark {
+    /**
+     * Number of times to repeat the measurements.
+     */
+    private static final int REPEAT = 10;
+
+    /**
+     * Runs the benchmark and prints the time result to the standard output.
+     *
+     * @param  args  optionally the number of threads, followed by the number of records per thread.
+     * @throws Exception if an error occurred while marshalling or unmarshalling a record.
+     */
+    public static void main(final String[] args) throws Exception {
+        final int numThreads = (args.length >= 1) ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+        final int count      = (args.length >= 2) ? Integer.parseInt(args[1]) : 1000;
+        final DefaultMetadata metadata = createRecord();
+        final String xml = XML.marshal(metadata);
+        final ExecutorService executor = Executors.newFixedThreadPool(numThreads);
+        try {
+            System.out.printf("%d threads, %d records per thread.%n", numThreads, count);
+            for (int i=0; i<REPEAT; i++) {
+                final double marshal = run(executor, numThreads, () -> {
+                    for (int j=0; j<count; j++) XML.marshal(metadata);
+                    return null;
+                });
+                final double unmarshal = run(executor, numThreads, () -> {
+                    for (int j=0; j<count; j++) XML.unmarshal(xml);
+                    return null;
+                });
+                final double total = numThreads * (double) count;
+                System.out.printf("marshal: %8.0f records/s    unmarshal: %8.0f records/s%n", total / marshal, total / unmarshal);
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Runs the given task in the given number of threads and returns the elapsed time in seconds.
+     */
+    private static double run(final ExecutorService executor, final int numThreads, final Callable<Void> task)
+            throws Exception
+    {
+        final long time = System.nanoTime();
+        for (final Future<Void> f : executor.invokeAll(Collections.nCopies(numThreads, task))) {
+            f.get();
+        }
+        return (System.nanoTime() - time) / (double) StandardDateFormat.NANOS_PER_SECOND;
+    }
+
+    /**
+     * Creates the metadata record to (un)marshal.
+     */
+    private static DefaultMetadata createRecord() {
+        final DefaultCitation citation = new DefaultCitation("Sea surface temperature");
+        final DefaultDataIdentification identification = new DefaultDataIdentification(
+                citation, "Monthly averages of sea surface temperature.", null, null);
+        identification.getExtents().add(new DefaultExtent(null,
+                new DefaultGeographicBoundingBox(-180, +180, -90, +90), null, null));
+        identification.setPurpose(new SimpleInternationalString("Benchmark of XML marshalling."));
+        final DefaultMetadata metadata = new DefaultMetadata();
+        metadata.getIdentificationInfo().add(identification);
+        return metadata;
+    }
+}
@@ -0,0 +1,222 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sis.xml;
+
+import java.util.List;
+import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+import java.util.stream.Collectors;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import javax.xml.bind.JAXBException;
+import javax.xml.stream.XMLEventReader;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.events.XMLEvent;
+import org.opengis.metadata.Metadata;
+import org.apache.sis.metadata.iso.DefaultMetadata;
+import org.apache.sis.internal.xml.LegacyNamespaces;
+import org.apache.sis.test.DependsOn;
+import org.apache.sis.test.DependsOnMethod;
+import org.apache.sis.test.TestCase;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+
+/**
+ * Tests {@link MetadataSpliterator}, indirectly through {@link XML#unmarshalMetadata(java.io.InputStream, java.util.Map)}.
+ *
+ * @author  agent
+ * @version 1.0
+ * @since   1.0
+ * @module
+ */
+@DependsOn(MarshallerPoolTest.class)
+public final strictfp class MetadataSpliteratorTest extends TestCase {
+    /**
+     * Number of records in the document created by {@link #createDocument()}.
+     * Shall be greater than {@link MetadataSpliterator#BATCH_SIZE} for testing
+     * the parallel mode with more than one batch.
+     */
+    private static final int NUM_RECORDS = 100;
+
+    /**
+     * Creates a document containing {@value #NUM_RECORDS} metadata records in legacy ISO 19139 format.
+     */
+    private static byte[] createDocument() {
+        return createDocument(NUM_RECORDS);
+    }
+
+    /**
+     * Creates a document containing the given amount of metadata records in legacy ISO 19139 format.
+     * Namespaces are declared on the container element instead than on each record.
+     */
+    private static byte[] createDocument(final int numRecords) {
+        final StringBuilder xml = new StringBuilder(
+                "<results xmlns:gmd=\"" + LegacyNamespaces.GMD + '"' +
+                        " xmlns:gco=\"" + LegacyNamespaces.GCO + "\">\n");
+        for (int i=0; i<numRecords; i++) {
+            xml.append("  <gmd:MD_Metadata>\n")
+               .append("    <gmd:fileIdentifier>\n")
+               .append("      <gco:CharacterString>record-").append(i).append("</gco:CharacterString>\n")
+               .append("    </gmd:fileIdentifier>\n")
+               .append("  </gmd:MD_Metadata>\n");
+        }
+        return xml.append("</results>\n").toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Returns the file identifiers of all records in the given stream.
+     */
+    @SuppressWarnings("deprecation")
+    private static List<String> identifiers(final Stream<Metadata> records) {
+        try (Stream<Metadata> s = records) {
+            return s.map((m) -> ((DefaultMetadata) m).getFileIdentifier()).collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * Returns the file identifiers expected from the document created by {@link #createDocument()}.
+     */
+    private static List<String> expected() {
+        final String[] ids = new String[NUM_RECORDS];
+        for (int i=0; i<NUM_RECORDS; i++) {
+            ids[i] = "record-" + i;
+        }
+        return Arrays.asList(ids);
+    }
+
+    /**
+     * Tests sequential unmarshalling of records.
+     *
+     * @throws JAXBException if an error occurred while creating the reader.
+     */
+    @Test
+    public void testSequential() throws JAXBException {
+        final List<String> ids = identifiers(XML.unmarshalMetadata(new ByteArrayInputStream(createDocument()), null));
+        assertEquals(expected(), ids);
+    }
+
+    /**
+     * Tests parallel unmarshalling of records. The records shall be returned in document order.
+     *
+     * @throws JAXBException if an error occurred while creating the reader.
+     */
+    @Test
+    public void testParallel() throws JAXBException {
+        final List<String> ids = identifiers(XML.unmarshalMetadata(new ByteArrayInputStream(createDocument()), null).parallel());
+        assertEquals(expected(), ids);
+    }
+
+    /**
+     * Verifies that {@link MetadataSpliterator#trySplit()} waits before extracting records from the document
+     * when the maximal number of pending batches is reached, and resumes after a batch has been consumed.
+     *
+     * @throws Exception if an error occurred while reading or unmarshalling the records.
+     */
+    @Test
+    public void testPendingBatchesLimit() throws Exception {
+        final int maxPendingBatches = Runtime.getRuntime().availableProcessors();
+        final byte[] document = createDocument(MetadataSpliterator.BATCH_SIZE * (maxPendingBatches + 1));
+        final MetadataSpliterator records = new MetadataSpliterator(
+                InputFactory.createXMLEventReader(new ByteArrayInputStream(document)), XML.getPool(), null);
+        assertEquals("maxPendingBatches", maxPendingBatches, records.maxPendingBatches);
+        records.maxWait = TimeUnit.MINUTES.toNanos(1);
+        final List<Spliterator<Metadata>> batches = new ArrayList<>();
+        for (int i=0; i<maxPendingBatches; i++) {
+            batches.add(records.trySplit());
+        }
+        final FutureTask<Spliterator<Metadata>> split = new FutureTask<>(records::trySplit);
+        final Thread thread = new Thread(split, "trySplit");
+        thread.start();
+        Thread.sleep(100);
+        assertFalse("Expected a wait above the limit.", split.isDone());
+        final Spliterator<Metadata> batch = batches.get(0);
+        assertEquals("estimateSize", MetadataSpliterator.BATCH_SIZE, batch.estimateSize());
+        batch.forEachRemaining((m) -> assertNotNull(m));
+        assertNotNull("Expected a split after a batch has been consumed.", split.get(10, TimeUnit.SECONDS));
+        records.close();
+    }
+
+    /**
+     * Tests parallel unmarshalling of a document containing many more records than the number of records
+     * that can be pending. Verifies that the records after that point are still unmarshalled by many threads
+     * instead than sequentially.
+     *
+     * @throws Exception if an error occurred while reading or unmarshalling the records.
+     */
+    @Test
+    @DependsOnMethod({"testParallel", "testPendingBatchesLimit"})
+    public void testParallelLargeDocument() throws Exception {
+        final int limit = Runtime.getRuntime().availableProcessors() * MetadataSpliterator.BATCH_SIZE;
+        final int numRecords = limit * 8;
+        final Set<Thread> threads = ConcurrentHashMap.newKeySet();
+        final ForkJoinPool executor = new ForkJoinPool(4);
+        try {
+            final Stream<Metadata> records = XML.unmarshalMetadata(new ByteArrayInputStream(createDocument(numRecords)), null);
+            final long count = executor.submit(() -> {
+                try (Stream<Metadata> s = records.parallel()) {
+                    return s.filter((m) -> {
+                        @SuppressWarnings("deprecation")
+                        final String id = ((DefaultMetadata) m).getFileIdentifier();
+                        if (Integer.parseInt(id.substring(id.indexOf('-') + 1)) >= 2*limit) {
+                            threads.add(Thread.currentThread());
+                        }
+                        return true;
+                    }).count();
+                }
+            }).get();
+            assertEquals("count", numRecords, count);
+        } finally {
+            executor.shutdown();
+        }
+        assertTrue("Expected records to be unmarshalled by more than one thread.", threads.size() > 1);
+    }
+
+    /**
+     * Tests {@link MetadataSpliterator.Record#getElementText()} on an element containing an entity reference.
+     *
+     * @throws XMLStreamException if an error occurred while reading the XML events.
+     */
+    @Test
+    public void testEntityReference() throws XMLStreamException {
+        final XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.IS_REPLACING_ENTITY_REFERENCES, Boolean.FALSE);
+        final XMLEventReader reader = factory.createXMLEventReader(new ByteArrayInputStream((
+                "<!DOCTYPE title [<!ENTITY project \"Apache SIS\">]>\n" +
+                "<title>About &project; library</title>").getBytes(StandardCharsets.UTF_8)));
+        final List<XMLEvent> events = new ArrayList<>();
+        while (reader.hasNext()) {
+            final XMLEvent event = reader.nextEvent();
+            if (event.isStartElement() || !events.isEmpty()) {
+                events.add(event);
+            }
+        }
+        reader.close();
+        final MetadataSpliterator.Record record = new MetadataSpliterator.Record(events);
+        record.nextEvent();
+        assertEquals("About Apache SIS library", record.getElementText());
+    }
+}
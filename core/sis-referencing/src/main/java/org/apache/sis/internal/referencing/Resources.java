@@ -143,6 +143,11 @@ public final class Resources extends IndexedResourceBundle {
          */
         public static final short CoordinateOperationNotFound_2 = 13;
 
+        /**
+         * Saved {0} EPSG objects in “{1}” in {2} seconds.
+         */
+        public static final short CreatedEPSGSnapshot_3 = 82;
+
         /**
          * Origin of temporal datum shall be a date.
          */
@@ -153,6 +158,11 @@ public final class Resources extends IndexedResourceBundle {
          */
         public static final short DeprecatedCode_3 = 15;
 
+        /**
+         * The “{0}” EPSG snapshot has been deleted. Reason is: {1}
+         */
+        public static final short DiscardedEPSGSnapshot_2 = 84;
+
         /**
          * Name or alias for parameter “{0}” at index {1} conflict with name “{2}” at index {3}.
          */
@@ -426,6 +436,12 @@ public final class Resources extends IndexedResourceBundle {
          */
         public static final short NotFormalProjectionParameter_1 = 60;
 
+        /**
+         * The snapshot has been created with Apache SIS {0} and EPSG dataset {1}, while current
+         * versions are {2} and {3}.
+         */
+        public static final short ObsoleteEPSGSnapshot_4 = 85;
+
         /**
          * No parameter named “{1}” has been found in “{0}”.
          */
@@ -480,6 +496,12 @@ public final class Resources extends IndexedResourceBundle {
          * Parameter values have not been specified.
          */
         public static final short UnspecifiedParameterValues = 70;
+
+        /**
+         * Referencing services warmed up in {0} seconds (factories: {1} s, objects: {2} s, operations:
+         * {3} s).
+         */
+        public static final short WarmedUp_4 = 83;
     }
 
     /**
@@ -53,7 +53,7 @@ import org.apache.sis.internal.util.Utilities;
  * The main concrete subclass is {@link DatumShiftGridFile.Float}.
  *
  * @author  Martin Desruisseaux (Geomatys)
- * @version 0.8
+ * @version 1.0
  *
  * @param <C>  dimension of the coordinate unit (usually {@link javax.measure.quantity.Angle}).
  * @param <T>  dimension of the translation unit (usually {@link javax.measure.quantity.Angle}
@@ -84,6 +84,9 @@ public abstract class DatumShiftGridFile<C extends Quantity<C>, T extends Quanti
             return p;
         }
     };
+    static {
+        CACHE.enableStatistics("DatumShiftGridFile");
+    }
 
     /**
      * The parameter descriptor of the provider that created this grid.
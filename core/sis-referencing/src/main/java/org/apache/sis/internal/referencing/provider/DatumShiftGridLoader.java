@@ -28,6 +28,7 @@ import org.opengis.util.FactoryException;
 import org.apache.sis.util.resources.Errors;
 import org.apache.sis.util.logging.Logging;
 import org.apache.sis.internal.system.Loggers;
+import org.apache.sis.internal.system.OperationStatistics;
 import org.apache.sis.internal.referencing.Resources;
 import org.apache.sis.referencing.factory.FactoryDataException;
 import org.apache.sis.referencing.factory.MissingFactoryResourceException;
@@ -37,7 +38,7 @@ import org.apache.sis.referencing.factory.MissingFactoryResourceException;
  * Base class of datum shift grid loaders.
  *
  * @author  Martin Desruisseaux (Geomatys)
- * @version 0.7
+ * @version 1.0
  * @since   0.7
  * @module
  */
@@ -64,6 +65,11 @@ class DatumShiftGridLoader {
      */
     static final double SECOND_PRECISION = 1E-4;
 
+    /**
+     * Execution times of the loading of datum shift grids.
+     */
+    private static final OperationStatistics LOAD = OperationStatistics.forName("Load datum shift grid");
+
     /**
      * The file to load, used only if we have errors to report.
      */
@@ -149,6 +155,17 @@ class DatumShiftGridLoader {
         Logging.log(caller, "createMathTransform", record);
     }
 
+    /**
+     * Records the time elapsed since the given start time for loading a datum shift grid,
+     * and logs that time if it exceeds the {@link org.apache.sis.util.logging.PerformanceLevel} thresholds.
+     *
+     * @param  caller     the provider to report as the source of the log record.
+     * @param  startTime  value of {@link System#nanoTime()} when the loading started.
+     */
+    static void loaded(final Class<?> caller, final long startTime) {
+        LOAD.record(startTime, Loggers.COORDINATE_OPERATION, caller, "createMathTransform");
+    }
+
     /**
      * Creates the exception to thrown when the provider failed to load the grid file.
      *
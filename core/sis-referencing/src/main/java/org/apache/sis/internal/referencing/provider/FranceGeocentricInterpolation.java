@@ -81,7 +81,7 @@ import static java.lang.Float.parseFloat;
  *
  * @author  Simon Reynard (Geomatys)
  * @author  Martin Desruisseaux (Geomatys)
- * @version 0.8
+ * @version 1.0
  * @since   0.7
  * @module
  */
@@ -329,6 +329,7 @@ public class FranceGeocentricInterpolation extends GeodeticOperation {
             try {
                 grid = handler.peek();
                 if (grid == null) {
+                    final long startTime = System.nanoTime();
                     try (BufferedReader in = Files.newBufferedReader(resolved)) {
                         DatumShiftGridLoader.log(FranceGeocentricInterpolation.class, file);
                         final DatumShiftGridFile.Float<Angle,Length> g = load(in, file);
@@ -338,6 +339,7 @@ public class FranceGeocentricInterpolation extends GeodeticOperation {
                         throw DatumShiftGridLoader.canNotLoad(HEADER, file, e);
                     }
                     grid = grid.useSharedData();
+                    DatumShiftGridLoader.loaded(FranceGeocentricInterpolation.class, startTime);
                 }
             } finally {
                 handler.putAndUnlock(grid);
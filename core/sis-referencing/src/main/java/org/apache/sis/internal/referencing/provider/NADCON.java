@@ -56,7 +56,7 @@ import org.apache.sis.measure.Units;
  *
  * @author  Martin Desruisseaux (Geomatys)
  * @author  Rueben Schulz (UBC)
- * @version 0.8
+ * @version 1.0
  *
  * @see <a href="http://www.ngs.noaa.gov/cgi-bin/nadcon.prl">NADCON on-line computation</a>
  *
@@ -157,6 +157,7 @@ public final class NADCON extends AbstractProvider {
             try {
                 grid = handler.peek();
                 if (grid == null) {
+                    final long startTime = System.nanoTime();
                     final Loader loader;
                     Path file = latitudeShifts;
                     try {
@@ -179,6 +180,7 @@ public final class NADCON extends AbstractProvider {
                     }
                     grid = DatumShiftGridCompressed.compress(loader.grid, null, loader.grid.accuracy);
                     grid = grid.useSharedData();
+                    DatumShiftGridLoader.loaded(NADCON.class, startTime);
                 }
             } finally {
                 handler.putAndUnlock(grid);
@@ -143,6 +143,7 @@ public final class NTv2 extends AbstractProvider {
             try {
                 grid = handler.peek();
                 if (grid == null) {
+                    final long startTime = System.nanoTime();
                     try (ReadableByteChannel in = Files.newByteChannel(resolved)) {
                         DatumShiftGridLoader.log(NTv2.class, file);
                         final Loader loader = new Loader(in, file);
@@ -152,6 +153,7 @@ public final class NTv2 extends AbstractProvider {
                         throw DatumShiftGridLoader.canNotLoad("NTv2", file, e);
                     }
                     grid = grid.useSharedData();
+                    DatumShiftGridLoader.loaded(NTv2.class, startTime);
                 }
             } finally {
                 handler.putAndUnlock(grid);
@@ -25,7 +25,12 @@ import org.opengis.util.FactoryException;
 import org.opengis.referencing.AuthorityFactory;
 import org.opengis.referencing.cs.CSAuthorityFactory;
 import org.opengis.referencing.crs.CRSAuthorityFactory;
+import org.opengis.referencing.datum.Datum;
+import org.opengis.referencing.datum.Ellipsoid;
+import org.opengis.referencing.datum.GeodeticDatum;
 import org.opengis.referencing.datum.DatumAuthorityFactory;
+import org.opengis.referencing.operation.OperationMethod;
+import org.opengis.referencing.operation.CoordinateOperation;
 import org.opengis.referencing.operation.CoordinateOperationAuthorityFactory;
 import org.apache.sis.internal.referencing.LazySet;
 import org.apache.sis.internal.system.Loggers;
@@ -46,7 +51,7 @@ import org.apache.sis.util.logging.Logging;
  * future SIS version (this may require more help from {@link ServiceLoader}).
  *
  * @author  Martin Desruisseaux (Geomatys)
- * @version 0.8
+ * @version 1.0
  * @since   0.7
  * @module
  */
@@ -76,8 +81,43 @@ final class AuthorityFactories<T extends AuthorityFactory> extends LazySet<T> {
         @Override
         public void reload() {
             EPSG(null);
+            EPSGSnapshot.reset();
             super.reload();
         }
+
+        /*
+         * Objects stored in the EPSG snapshot in addition to the CRS (which are handled by CRS.forCode).
+         * Simple "EPSG:nnnn" codes are searched in the snapshot before to query the EPSG database.
+         */
+        @Override
+        public Datum createDatum(final String code) throws FactoryException {
+            final Datum datum = EPSGSnapshot.forCode(Datum.class, code);
+            return (datum != null) ? datum : super.createDatum(code);
+        }
+
+        @Override
+        public GeodeticDatum createGeodeticDatum(final String code) throws FactoryException {
+            final GeodeticDatum datum = EPSGSnapshot.forCode(GeodeticDatum.class, code);
+            return (datum != null) ? datum : super.createGeodeticDatum(code);
+        }
+
+        @Override
+        public Ellipsoid createEllipsoid(final String code) throws FactoryException {
+            final Ellipsoid ellipsoid = EPSGSnapshot.forCode(Ellipsoid.class, code);
+            return (ellipsoid != null) ? ellipsoid : super.createEllipsoid(code);
+        }
+
+        @Override
+        public OperationMethod createOperationMethod(final String code) throws FactoryException {
+            final OperationMethod method = EPSGSnapshot.forCode(OperationMethod.class, code);
+            return (method != null) ? method : super.createOperationMethod(code);
+        }
+
+        @Override
+        public CoordinateOperation createCoordinateOperation(final String code) throws FactoryException {
+            final CoordinateOperation operation = EPSGSnapshot.forCode(CoordinateOperation.class, code);
+            return (operation != null) ? operation : super.createCoordinateOperation(code);
+        }
     };
 
     /**
@@ -120,6 +160,7 @@ final class AuthorityFactories<T extends AuthorityFactory> extends LazySet<T> {
             if (factory == null) {
                 try {
                     factory = new EPSGFactory(null);
+                    EPSGSnapshot.createInBackground(factory);
                 } catch (FactoryException e) {
                     log(e, false);
                     factory = EPSGFactoryFallback.INSTANCE;
@@ -213,6 +213,14 @@ public final class CRS extends Static {
      * More codes may also be supported depending on which extension modules are available.
      * See for example the {@linkplain org.apache.sis.storage.gdal bindings to Proj.4 library}.
      *
+     * <div class="section">Performance note</div>
+     * Simple codes of the form {@code "EPSG:4326"} are first searched in a snapshot of the most frequently
+     * used EPSG objects stored in the {@code $SIS_DATA/Databases} directory, if present. That snapshot is
+     * created in a background thread the first time the EPSG database is used, and avoids the creation of
+     * those objects from the database in subsequent executions of the application. The snapshot is ignored
+     * if the EPSG factory is not the default one, and is deleted if it is corrupted or has been created with
+     * another version of Apache SIS or of the EPSG dataset.
+     *
      * @param  code  the authority code.
      * @return the Coordinate Reference System for the given authority code.
      * @throws NoSuchAuthorityCodeException if there is no known CRS associated to the given code.
@@ -228,6 +236,10 @@ public final class CRS extends Static {
             throws NoSuchAuthorityCodeException, FactoryException
     {
         ArgumentChecks.ensureNonNull("code", code);
+        final CoordinateReferenceSystem crs = EPSGSnapshot.forCode(CoordinateReferenceSystem.class, code);
+        if (crs != null) {
+            return crs;
+        }
         try {
             return AuthorityFactories.ALL.createCoordinateReferenceSystem(code);
         } catch (UnavailableFactoryException e) {
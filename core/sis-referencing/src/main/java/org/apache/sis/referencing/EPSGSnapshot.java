@@ -0,0 +1,839 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sis.referencing;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import org.opengis.metadata.citation.Citation;
+import org.opengis.util.FactoryException;
+import org.opengis.util.InternationalString;
+import org.opengis.metadata.Identifier;
+import org.opengis.referencing.IdentifiedObject;
+import org.opengis.referencing.NoSuchAuthorityCodeException;
+import org.opengis.referencing.crs.CRSAuthorityFactory;
+import org.opengis.referencing.crs.CompoundCRS;
+import org.opengis.referencing.crs.CoordinateReferenceSystem;
+import org.opengis.referencing.crs.GeneralDerivedCRS;
+import org.opengis.referencing.crs.GeographicCRS;
+import org.opengis.referencing.crs.SingleCRS;
+import org.opengis.referencing.datum.Datum;
+import org.opengis.referencing.datum.Ellipsoid;
+import org.opengis.referencing.datum.GeodeticDatum;
+import org.opengis.referencing.operation.Conversion;
+import org.opengis.referencing.operation.CoordinateOperation;
+import org.opengis.referencing.operation.OperationMethod;
+import org.opengis.referencing.operation.SingleOperation;
+import org.apache.sis.referencing.factory.GeodeticAuthorityFactory;
+import org.apache.sis.referencing.factory.IdentifiedObjectSet;
+import org.apache.sis.metadata.iso.citation.Citations;
+import org.apache.sis.referencing.factory.NoSuchAuthorityFactoryException;
+import org.apache.sis.internal.system.DataDirectory;
+import org.apache.sis.internal.system.Loggers;
+import org.apache.sis.internal.util.Constants;
+import org.apache.sis.internal.util.StandardDateFormat;
+import org.apache.sis.internal.referencing.Resources;
+import org.apache.sis.util.CharSequences;
+import org.apache.sis.util.Version;
+import org.apache.sis.util.collection.Cache;
+import org.apache.sis.util.iso.DefaultNameSpace;
+import org.apache.sis.util.logging.Logging;
+import org.apache.sis.util.resources.Errors;
+
+
+/**
+ * A read-only snapshot of the most frequently used EPSG objects, for avoiding database queries at startup.
+ * The snapshot contains coordinate reference systems together with their datums, ellipsoids and operation
+ * methods, and the transformations from the snapshot geographic CRS to WGS 84. The snapshot is a binary file
+ * containing a header, a table of (type, EPSG code) entries sorted in increasing order and the serialized form
+ * of each object. The file is memory-mapped and objects are deserialized only when first requested.
+ *
+ * <p>The default snapshot is the {@value #FILENAME} file in the {@code $SIS_DATA/Databases} directory.
+ * That file is created in a background thread the first time that the EPSG database is used,
+ * if the file does not already exist. The header contains the Apache SIS version, the EPSG dataset
+ * version and the class of the factory which created the objects. The snapshot is used only if the
+ * active EPSG factory is of that class and if the Apache SIS version match. Those verifications do not
+ * require a database connection. The EPSG dataset version is verified only after the snapshot answered
+ * a first request, in a background thread. Obsolete or corrupted snapshots are deleted, and will be
+ * recreated next time that the EPSG factory is created.</p>
+ *
+ * <p>Instances of this class are thread-safe.</p>
+ *
+ * @author  agent
+ * @version 1.0
+ * @since   1.0
+ * @module
+ */
+final class EPSGSnapshot {
+    /**
+     * Name of the default snapshot file in the {@code $SIS_DATA/Databases} directory.
+     */
+    static final String FILENAME = "EPSG.snapshot";
+
+    /**
+     * Value written at the beginning of the snapshot file for identifying its format.
+     */
+    private static final int MAGIC_NUMBER = 0x45505347;          // "EPSG" in ASCII.
+
+    /**
+     * Version of the binary format written by {@link #write(Path, GeodeticAuthorityFactory, int[])}.
+     */
+    private static final int VERSION = 3;
+
+    /**
+     * Number of bytes in each entry of the table of codes: the type, the code and the position and length
+     * of the serialized object.
+     */
+    static final int ENTRY_SIZE = 2*Integer.BYTES + Long.BYTES + Integer.BYTES;
+
+    /**
+     * The types of objects stored in the snapshot. The index in this array is the type stored in each entry.
+     * Types shall be assignable to {@link IdentifiedObject}.
+     *
+     * @see #typeOf(Class)
+     */
+    private static final Class<?>[] TYPES = {
+        CoordinateReferenceSystem.class, Datum.class, Ellipsoid.class, OperationMethod.class, CoordinateOperation.class
+    };
+
+    /**
+     * Indices in the {@link #TYPES} array.
+     */
+    private static final int TYPE_CRS = 0, TYPE_DATUM = 1, TYPE_ELLIPSOID = 2, TYPE_METHOD = 3, TYPE_OPERATION = 4;
+
+    /**
+     * Code of the target CRS of the transformations stored in the snapshot (WGS 84).
+     */
+    private static final String TARGET_CRS = "4326";
+
+    /**
+     * EPSG codes of the coordinate reference systems to store in the default snapshot.
+     * Codes that do not exist in the EPSG database are ignored. Ranges are given by negative values:
+     * a code <var>c</var> followed by -<var>n</var> means all codes from <var>c</var> to <var>n</var> inclusive.
+     */
+    static final int[] DEFAULT_CODES = {
+        4326, 4979, 4978, 4269, 4258, 4230, 4267, 4617, 4283, 4167, 4612, 6668, 4674, 4490, 4148, 4322, 4277,
+        3857, 3395, 3035, 3034, 2154, 27700, 28992, 31370, 2056, 21781, 3067, 5070, 3413, 3031, 3976, 3995,
+        25828, -25838, 32601, -32660, 32701, -32760, 26901, -26923, 23028, -23038, 5714, 5703, 3855
+    };
+
+    /**
+     * The file to use instead of the default one, or {@code null} for the default file.
+     * This is used for testing purpose only.
+     */
+    static Path file;
+
+    /**
+     * The default snapshot, or {@code null} if none or not yet loaded.
+     *
+     * @see #getDefault()
+     */
+    private static EPSGSnapshot instance;
+
+    /**
+     * Whether {@link #instance} has been initialized (including to {@code null}).
+     */
+    private static boolean initialized;
+
+    /**
+     * Incremented on each call to {@link #reset()}, for detecting if a reset occurred while a snapshot was opened.
+     */
+    private static int generation;
+
+    /**
+     * Whether a thread is currently creating the default snapshot.
+     *
+     * @see #createInBackground(GeodeticAuthorityFactory)
+     */
+    private static boolean creating;
+
+    /**
+     * The snapshot file.
+     */
+    private final Path source;
+
+    /**
+     * The content of the snapshot file, memory-mapped.
+     */
+    private final ByteBuffer buffer;
+
+    /**
+     * Position of the table of codes in the buffer.
+     */
+    private final int tableStart;
+
+    /**
+     * Number of entries in the table of codes.
+     */
+    private final int count;
+
+    /**
+     * Version of Apache SIS which created this snapshot.
+     */
+    final String sisVersion;
+
+    /**
+     * Version of the EPSG dataset used for creating this snapshot, or an empty string if unknown.
+     */
+    final String epsgVersion;
+
+    /**
+     * Name of the class of the factory used for creating the objects in this snapshot.
+     */
+    final String factoryClass;
+
+    /**
+     * Whether the verification of the EPSG dataset version has been started.
+     *
+     * @see #verifyEdition()
+     */
+    private final AtomicBoolean editionVerified;
+
+    /**
+     * Objects already deserialized, indexed by their types and EPSG codes as computed by {@link #key(int, int)}.
+     */
+    private final Cache<Long,IdentifiedObject> cache;
+
+    /**
+     * Opens the snapshot in the given file. This constructor verifies the file format,
+     * but does not verify if the snapshot is compatible with the current EPSG factory.
+     *
+     * @param  file  the snapshot file.
+     * @throws IOException if an error occurred while reading the file, or if the file format is invalid.
+     */
+    EPSGSnapshot(final Path file) throws IOException {
+        source = file;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        try {
+            final ByteBuffer header = buffer.duplicate();
+            if (header.getInt() != MAGIC_NUMBER) {
+                throw invalidFormat();
+            }
+            final int version = header.getInt();
+            if (version != VERSION) {
+                throw new IOException(Errors.format(Errors.Keys.UnsupportedFormatVersion_2, "EPSG snapshot", version));
+            }
+            sisVersion   = readString(header);
+            epsgVersion  = readString(header);
+            factoryClass = readString(header);
+            count        = header.getInt();
+            tableStart   = header.position();
+            final long tableEnd = tableStart + (long) count * ENTRY_SIZE;
+            if (count < 0 || tableEnd > buffer.limit()) {
+                throw invalidFormat();
+            }
+            for (int i=0; i<count; i++) {
+                final int  p        = tableStart + i*ENTRY_SIZE;
+                final int  type     = buffer.getInt (p);
+                final long position = buffer.getLong(p + 2*Integer.BYTES);
+                final int  length   = buffer.getInt (p + 2*Integer.BYTES + Long.BYTES);
+                if (type < 0 || type >= TYPES.length || position < tableEnd || length < 0 || position + length > buffer.limit()) {
+                    throw invalidFormat();
+                }
+            }
+        } catch (RuntimeException e) {          // BufferUnderflowException if the file is truncated.
+            throw (IOException) invalidFormat().initCause(e);
+        }
+        cache = new Cache<>();
+        editionVerified = new AtomicBoolean();
+    }
+
+    /**
+     * Returns the exception to throw if the snapshot file is not valid.
+     */
+    private IOException invalidFormat() {
+        return new IOException(Errors.format(Errors.Keys.UnexpectedFileFormat_2, "EPSG snapshot", source));
+    }
+
+    /**
+     * Reads a character string stored as a length followed by UTF-8 bytes.
+     */
+    private static String readString(final ByteBuffer header) {
+        final byte[] bytes = new byte[Short.toUnsignedInt(header.getShort())];
+        header.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Returns the object of the given type for the given code if it is available in the default snapshot,
+     * or {@code null} otherwise. Any failure to use the snapshot is logged and handled as a cache miss,
+     * in which case the caller shall fallback on the authority factories.
+     *
+     * @param  <T>   the compile-time value of {@code type}.
+     * @param  type  the type of object to get, for example {@code GeodeticDatum.class}.
+     * @param  code  the authority code, for example {@code "EPSG:4326"}.
+     * @return the object for the given code, or {@code null} if not in the default snapshot.
+     */
+    static <T extends IdentifiedObject> T forCode(final Class<T> type, final String code) {
+        final int epsg = parseCode(code);
+        if (epsg >= 0) {
+            final EPSGSnapshot snapshot = getDefault();
+            if (snapshot != null) try {
+                final T object = snapshot.get(type, epsg);
+                if (object != null) {
+                    snapshot.verifyEdition();
+                }
+                return object;
+            } catch (Exception e) {
+                snapshot.discard(e);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the default snapshot, or {@code null} if none or if it can not be used with the current EPSG factory.
+     * The snapshot is opened outside synchronized blocks because {@link #reset()} may be invoked while
+     * {@link AuthorityFactories} holds its own lock.
+     *
+     * @return the default snapshot, or {@code null}.
+     */
+    static EPSGSnapshot getDefault() {
+        final int stamp;
+        synchronized (EPSGSnapshot.class) {
+            if (initialized) {
+                return instance;
+            }
+            stamp = generation;
+        }
+        final EPSGSnapshot snapshot = open();
+        synchronized (EPSGSnapshot.class) {
+            if (stamp != generation) {
+                return null;                // Factories have been reloaded while we were opening the snapshot.
+            }
+            if (!initialized) {
+                initialized = true;
+                instance = snapshot;
+            }
+            return instance;
+        }
+    }
+
+    /**
+     * Opens the default snapshot if it exists and can be used with the active EPSG factory.
+     * If the snapshot is corrupted or obsolete, then the file is deleted. This method does not
+     * verify the EPSG dataset version, because it would require a connection to the database;
+     * that verification is deferred to {@link #verifyEdition()}.
+     */
+    private static EPSGSnapshot open() {
+        final Path file = defaultFile();
+        if (file == null || !Files.isRegularFile(file)) {
+            return null;
+        }
+        /*
+         * The snapshot is used only if the factory that CRS.forCode(…) would use for EPSG codes is the factory
+         * managed by AuthorityFactories, and of the same class than the factory which created the snapshot.
+         * Otherwise the user configured another EPSG factory, which we shall not bypass.
+         */
+        final GeodeticAuthorityFactory factory = AuthorityFactories.EPSG();
+        try {
+            if (AuthorityFactories.ALL.getAuthorityFactory(CRSAuthorityFactory.class, Constants.EPSG, null) != factory) {
+                return null;
+            }
+        } catch (NoSuchAuthorityFactoryException e) {
+            return null;
+        }
+        final EPSGSnapshot snapshot;
+        try {
+            snapshot = new EPSGSnapshot(file);
+        } catch (IOException e) {
+            discard(file, e, e.getLocalizedMessage(), Level.WARNING);
+            return null;
+        }
+        if (!snapshot.factoryClass.equals(factory.getClass().getName())) {
+            return null;
+        }
+        final String version = Version.SIS.toString();
+        if (!version.equals(snapshot.sisVersion)) {
+            snapshot.obsolete(version, snapshot.epsgVersion);
+            return null;
+        }
+        return snapshot;
+    }
+
+    /**
+     * Verifies in a background thread if the EPSG dataset version is the one used for creating this snapshot.
+     * This method is invoked after this snapshot answered a request, so the database connection required for
+     * fetching the dataset version does not delay the answer. Only the first invocation has an effect.
+     * If the versions differ, this snapshot is discarded and subsequent requests will use the database.
+     */
+    private void verifyEdition() {
+        if (!editionVerified.getAndSet(true)) {
+            startDaemon("EPSG snapshot verifier", () -> {
+                final GeodeticAuthorityFactory factory = AuthorityFactories.EPSG();
+                if (factory.getClass().getName().equals(factoryClass)) {
+                    final String edition = edition(factory);
+                    // Null edition if the database is unreachable, in which case the snapshot is kept.
+                    if (edition != null && !edition.equals(epsgVersion)) {
+                        synchronized (EPSGSnapshot.class) {
+                            if (instance == this) {
+                                instance = null;
+                            }
+                        }
+                        obsolete(sisVersion, edition);
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * Deletes this snapshot file because it has been created with other versions than the given ones.
+     *
+     * @param  version  the current Apache SIS version.
+     * @param  edition  the current EPSG dataset version.
+     */
+    private void obsolete(final String version, final String edition) {
+        discard(source, null, Resources.format(Resources.Keys.ObsoleteEPSGSnapshot_4,
+                sisVersion, epsgVersion, version, edition), Level.CONFIG);
+    }
+
+    /**
+     * Returns the version of the EPSG dataset used by the given factory, or {@code null} if unknown.
+     * An empty string is returned if the authority is known but does not specify an edition.
+     */
+    private static String edition(final GeodeticAuthorityFactory factory) {
+        final Citation authority = factory.getAuthority();
+        if (authority == null) {
+            return null;
+        }
+        final InternationalString edition = authority.getEdition();
+        return (edition != null) ? edition.toString() : "";
+    }
+
+    /**
+     * Discards this snapshot after a failure to read an object.
+     * The file is deleted and this snapshot will not be used anymore.
+     */
+    private void discard(final Exception cause) {
+        synchronized (EPSGSnapshot.class) {
+            if (instance == this) {
+                instance = null;
+            }
+        }
+        discard(source, cause, cause.getLocalizedMessage(), Level.WARNING);
+    }
+
+    /**
+     * Deletes the given snapshot file and logs the reason.
+     */
+    private static void discard(final Path file, final Exception cause, final String reason, final Level level) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            if (cause != null) cause.addSuppressed(e);
+        }
+        final LogRecord record = Resources.forLocale(null).getLogRecord(level,
+                Resources.Keys.DiscardedEPSGSnapshot_2, file, reason);
+        record.setLoggerName(Loggers.CRS_FACTORY);
+        record.setThrown(cause);
+        Logging.log(CRS.class, "forCode", record);
+    }
+
+    /**
+     * Discards the default snapshot, so it will be reloaded when next needed.
+     * This method is invoked when the authority factories are reloaded.
+     */
+    static synchronized void reset() {
+        instance = null;
+        initialized = false;
+        generation++;
+    }
+
+    /**
+     * Returns the path to the default snapshot file, or {@code null} if the SIS data directory is not specified.
+     */
+    private static Path defaultFile() {
+        if (file != null) {
+            return file;
+        }
+        final Path dir = DataDirectory.DATABASES.getDirectory();
+        return (dir != null) ? dir.resolve(FILENAME) : null;
+    }
+
+    /**
+     * Parses the given code if it is a plain EPSG code like {@code "EPSG:4326"}, or returns -1 otherwise.
+     * More complex codes (URN, URL, codes with a version number) are left to the authority factories.
+     */
+    static int parseCode(final String code) {
+        final int s = code.indexOf(DefaultNameSpace.DEFAULT_SEPARATOR);
+        if (s >= 0 && CharSequences.trimWhitespaces(code, 0, s).toString().equalsIgnoreCase(Constants.EPSG)) {
+            final String n = CharSequences.trimWhitespaces(code, s+1, code.length()).toString();
+            final int length = n.length();
+            if (length != 0 && length <= 8) {
+                int value = 0;
+                for (int i=0; i<length; i++) {
+                    final char c = n.charAt(i);
+                    if (c < '0' || c > '9') return -1;
+                    value = value * 10 + (c - '0');
+                }
+                return value;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the object of the given type for the given EPSG code, or {@code null} if not in this snapshot.
+     * If the snapshot contains an object for the given code but of another type (for example a vertical datum
+     * when a geodetic datum was requested), then this method returns {@code null}; the authority factory will
+     * produce the appropriate error message.
+     *
+     * @param  <T>   the compile-time value of {@code type}.
+     * @param  type  the type of object to get, for example {@code CoordinateReferenceSystem.class}.
+     * @param  code  the EPSG code.
+     * @return the object for the given code, or {@code null} if none.
+     * @throws Exception if the object can not be deserialized.
+     */
+    <T extends IdentifiedObject> T get(final Class<T> type, final int code) throws Exception {
+        final int t = typeOf(type);
+        if (t >= 0) {
+            final int entry = search(t, code);
+            if (entry >= 0) {
+                final IdentifiedObject object = cache.getOrCreate(key(t, code), () -> deserialize(entry));
+                if (type.isInstance(object)) {
+                    return type.cast(object);
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the index in the {@link #TYPES} array of the type of objects which may be instances of the given type,
+     * or -1 if objects of the given type are not stored in snapshots.
+     */
+    private static int typeOf(final Class<?> type) {
+        for (int i=0; i<TYPES.length; i++) {
+            if (TYPES[i].isAssignableFrom(type)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the key of an object of the given type and code. Entries in the snapshot are sorted by increasing key values.
+     */
+    private static long key(final int type, final int code) {
+        return (((long) type) << Integer.SIZE) | Integer.toUnsignedLong(code);
+    }
+
+    /**
+     * Returns the position in the buffer of the entry for the given type and code, or -1 if none.
+     * Entries are sorted by type, then by code.
+     */
+    private int search(final int type, final int code) {
+        final long key = key(type, code);
+        int low  = 0;
+        int high = count - 1;
+        while (low <= high) {
+            final int mid = (low + high) >>> 1;
+            final int p = tableStart + mid * ENTRY_SIZE;
+            final int c = Long.compare(key(buffer.getInt(p), buffer.getInt(p + Integer.BYTES)), key);
+            if (c == 0) return p;
+            if (c < 0) low  = mid + 1;
+            else       high = mid - 1;
+        }
+        return -1;
+    }
+
+    /**
+     * Deserializes the object described by the entry at the given position.
+     */
+    private IdentifiedObject deserialize(final int entry) throws IOException, ClassNotFoundException {
+        final long position = buffer.getLong(entry + 2*Integer.BYTES);
+        final int  length   = buffer.getInt (entry + 2*Integer.BYTES + Long.BYTES);
+        final byte[] bytes = new byte[length];
+        final ByteBuffer view = buffer.duplicate();
+        view.position(Math.toIntExact(position));
+        view.get(bytes);
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+            return (IdentifiedObject) in.readObject();
+        }
+    }
+
+    /**
+     * Creates a snapshot of the coordinate reference systems for the given codes. Codes that do not exist
+     * in the given factory are ignored. The datums, ellipsoids and operation methods of those CRS are also
+     * stored, together with the transformations from the geographic CRS to WGS 84 and their methods.
+     * Transformations that can not be created (for example because a datum shift grid is missing) are ignored.
+     * The file is first written under a temporary name, then renamed. This is for avoiding partially written
+     * snapshots if the virtual machine exits during this operation.
+     *
+     * @param  file     the file to write.
+     * @param  factory  the factory to use for creating the objects.
+     * @param  codes    the codes of objects to create, in the format of {@link #DEFAULT_CODES}.
+     * @return number of objects written.
+     * @throws IOException if an error occurred while writing the file.
+     * @throws FactoryException if an error other than a missing code occurred while creating an object.
+     */
+    static int write(final Path file, final GeodeticAuthorityFactory factory, final int[] codes)
+            throws IOException, FactoryException
+    {
+        return write(file, factory, codes, null);
+    }
+
+    /**
+     * Creates a snapshot as documented in {@link #write(Path, GeodeticAuthorityFactory, int[])},
+     * but recording the given EPSG dataset version instead of the factory edition.
+     * This is used for testing purpose only.
+     *
+     * @param  edition  the EPSG dataset version to record, or {@code null} for the factory edition.
+     */
+    static int write(final Path file, final GeodeticAuthorityFactory factory, final int[] codes, String edition)
+            throws IOException, FactoryException
+    {
+        final Map<Long,byte[]> objects = new TreeMap<>();
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final List<String> geographic = new ArrayList<>();
+        for (int i=0; i<codes.length; i++) {
+            final int first = codes[i];
+            final int last  = (i+1 < codes.length && codes[i+1] < 0) ? -codes[++i] : first;
+            for (int code = first; code <= last; code++) {
+                final CoordinateReferenceSystem crs;
+                try {
+                    crs = factory.createCoordinateReferenceSystem(Constants.EPSG + DefaultNameSpace.DEFAULT_SEPARATOR + code);
+                } catch (NoSuchAuthorityCodeException e) {
+                    continue;
+                }
+                objects.put(key(TYPE_CRS, code), serialize(crs, bytes));
+                addComponents(objects, crs, bytes);
+                if (crs instanceof GeographicCRS) {
+                    final String c = Integer.toString(code);
+                    if (!c.equals(TARGET_CRS)) geographic.add(c);
+                }
+            }
+        }
+        /*
+         * Transformations from the geographic CRS to WGS 84. We fetch the codes without creating the operations,
+         * then create the operations one by one for skipping the ones that can not be created.
+         */
+        for (final String source : geographic) {
+            final Set<CoordinateOperation> operations = factory.createFromCoordinateReferenceSystemCodes(source, TARGET_CRS);
+            if (operations instanceof IdentifiedObjectSet<?>) {
+                for (final String code : ((IdentifiedObjectSet<?>) operations).getAuthorityCodes()) {
+                    final CoordinateOperation operation;
+                    try {
+                        operation = factory.createCoordinateOperation(code);
+                    } catch (FactoryException e) {
+                        continue;                   // Left to the authority factory when requested.
+                    }
+                    addOperation(objects, operation, bytes);
+                }
+            } else {
+                for (final CoordinateOperation operation : operations) {
+                    addOperation(objects, operation, bytes);
+                }
+            }
+        }
+        /*
+         * Header content, followed by the table of codes sorted in increasing order thanks to the TreeMap.
+         */
+        if (edition == null) {
+            edition = edition(factory);
+            if (edition == null) edition = "";
+        }
+        final byte[][] strings = {
+            Version.SIS.toString().getBytes(StandardCharsets.UTF_8),
+            edition.getBytes(StandardCharsets.UTF_8),
+            factory.getClass().getName().getBytes(StandardCharsets.UTF_8)
+        };
+        long position = 3L*Integer.BYTES + (long) objects.size() * ENTRY_SIZE;
+        for (final byte[] s : strings) {
+            position += Short.BYTES + s.length;
+        }
+        final ByteBuffer header = ByteBuffer.allocate(Math.toIntExact(position));
+        header.putInt(MAGIC_NUMBER).putInt(VERSION);
+        for (final byte[] s : strings) {
+            header.putShort((short) s.length).put(s);
+        }
+        header.putInt(objects.size());
+        for (final Map.Entry<Long,byte[]> e : objects.entrySet()) {
+            final long key = e.getKey();
+            final int length = e.getValue().length;
+            header.putInt((int) (key >>> Integer.SIZE)).putInt((int) key).putLong(position).putInt(length);
+            position += length;
+        }
+        header.flip();
+        final Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE))
+        {
+            writeFully(channel, header);
+            for (final byte[] b : objects.values()) {
+                writeFully(channel, ByteBuffer.wrap(b));
+            }
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+        return objects.size();
+    }
+
+    /**
+     * Adds the datums, ellipsoids and operation methods of the given CRS, if not already present.
+     * Objects without EPSG code are ignored.
+     */
+    private static void addComponents(final Map<Long,byte[]> objects, final CoordinateReferenceSystem crs,
+            final ByteArrayOutputStream bytes) throws IOException
+    {
+        if (crs instanceof CompoundCRS) {
+            for (final CoordinateReferenceSystem component : ((CompoundCRS) crs).getComponents()) {
+                addComponents(objects, component, bytes);
+            }
+        } else if (crs instanceof SingleCRS) {
+            final Datum datum = ((SingleCRS) crs).getDatum();
+            add(objects, TYPE_DATUM, datum, bytes);
+            if (datum instanceof GeodeticDatum) {
+                add(objects, TYPE_ELLIPSOID, ((GeodeticDatum) datum).getEllipsoid(), bytes);
+            }
+            if (crs instanceof GeneralDerivedCRS) {
+                final Conversion conversion = ((GeneralDerivedCRS) crs).getConversionFromBase();
+                if (conversion != null) {
+                    add(objects, TYPE_METHOD, conversion.getMethod(), bytes);
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds the given coordinate operation and its method, if not already present.
+     */
+    private static void addOperation(final Map<Long,byte[]> objects, final CoordinateOperation operation,
+            final ByteArrayOutputStream bytes) throws IOException
+    {
+        add(objects, TYPE_OPERATION, operation, bytes);
+        if (operation instanceof SingleOperation) {
+            add(objects, TYPE_METHOD, ((SingleOperation) operation).getMethod(), bytes);
+        }
+    }
+
+    /**
+     * Adds the given object under its EPSG code, unless the object is null, has no EPSG code or is already present.
+     */
+    private static void add(final Map<Long,byte[]> objects, final int type, final IdentifiedObject object,
+            final ByteArrayOutputStream bytes) throws IOException
+    {
+        if (object != null) {
+            final Identifier id = IdentifiedObjects.getIdentifier(object, Citations.EPSG);
+            if (id != null) {
+                final int code;
+                try {
+                    code = Integer.parseInt(id.getCode());
+                } catch (NumberFormatException e) {
+                    return;
+                }
+                final Long key = key(type, code);
+                if (code >= 0 && !objects.containsKey(key)) {
+                    objects.put(key, serialize(object, bytes));
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the serialized form of the given object, using the given buffer as a temporary storage.
+     */
+    private static byte[] serialize(final IdentifiedObject object, final ByteArrayOutputStream bytes) throws IOException {
+        bytes.reset();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(object);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Writes all remaining bytes of the given buffer.
+     */
+    private static void writeFully(final FileChannel channel, final ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    /**
+     * Creates the default snapshot in a background thread if that snapshot does not exist.
+     * This method is invoked when the EPSG factory is created. The creation may take a few seconds,
+     * so it is not executed by {@link org.apache.sis.internal.system.DelayedExecutor} (which is reserved
+     * to short tasks) but by a low-priority daemon thread created for this purpose.
+     *
+     * @param  factory  the EPSG factory to use for creating the objects.
+     */
+    static void createInBackground(final GeodeticAuthorityFactory factory) {
+        final Path file = defaultFile();
+        if (file != null && Files.notExists(file)) {
+            synchronized (EPSGSnapshot.class) {
+                if (creating) return;
+                creating = true;
+            }
+            startDaemon("EPSG snapshot writer", () -> {
+                try {
+                    final long time = System.nanoTime();
+                    final int count;
+                    try {
+                        count = write(file, factory, DEFAULT_CODES);
+                    } catch (IOException | FactoryException e) {
+                        // May happen if the EPSG database is not installed. This is not a problem.
+                        Logging.recoverableException(Logging.getLogger(Loggers.CRS_FACTORY), EPSGSnapshot.class, "createInBackground", e);
+                        return;
+                    }
+                    final LogRecord record = Resources.forLocale(null).getLogRecord(Level.CONFIG,
+                            Resources.Keys.CreatedEPSGSnapshot_3, count, file,
+                            (System.nanoTime() - time) / (double) StandardDateFormat.NANOS_PER_SECOND);
+                    record.setLoggerName(Loggers.CRS_FACTORY);
+                    Logging.log(EPSGSnapshot.class, "createInBackground", record);
+                } finally {
+                    synchronized (EPSGSnapshot.class) {
+                        creating = false;
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * Executes the given task in a new low-priority daemon thread. The thread does not prevent
+     * the virtual machine to exit; an interrupted snapshot creation leaves only a temporary file.
+     *
+     * @param  name  name of the thread to create.
+     * @param  task  the task to execute in the new thread.
+     */
+    private static void startDaemon(final String name, final Runnable task) {
+        final Thread thread = new Thread(task, name);
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        thread.start();
+    }
+}
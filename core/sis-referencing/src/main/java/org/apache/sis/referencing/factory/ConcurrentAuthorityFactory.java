@@ -57,6 +57,7 @@ import org.apache.sis.internal.system.DelayedExecutor;
 import org.apache.sis.internal.system.DelayedRunnable;
 import org.apache.sis.internal.system.Shutdown;
 import org.apache.sis.internal.system.Loggers;
+import org.apache.sis.internal.system.OperationStatistics;
 import org.apache.sis.internal.util.CollectionsExt;
 import org.apache.sis.internal.util.StandardDateFormat;
 import org.apache.sis.util.logging.PerformanceLevel;
@@ -95,7 +96,7 @@ import org.apache.sis.util.resources.Messages;
  * Subclasses should select the interfaces that they choose to implement.
  *
  * @author  Martin Desruisseaux (IRD, Geomatys)
- * @version 0.8
+ * @version 1.0
  *
  * @param <DAO>  the type of factory used as Data Access Object (DAO).
  *
@@ -112,6 +113,12 @@ public abstract class ConcurrentAuthorityFactory<DAO extends GeodeticAuthorityFa
      */
     private static final long DURATION_FOR_LOGGING = 10_000_000L;       // 10 milliseconds.
 
+    /**
+     * Execution times of the object creations which needed a Data Access Object,
+     * for example the queries in the EPSG database.
+     */
+    private static final OperationStatistics QUERY = OperationStatistics.forName("Create from authority code");
+
     /**
      * Sentinel value when {@link #authority} can not be determined because the data access object
      * can not be constructed.
@@ -304,6 +311,7 @@ public abstract class ConcurrentAuthorityFactory<DAO extends GeodeticAuthorityFa
         remainingDAOs = maxConcurrentQueries;
         cache = new Cache<>(20, maxStrongReferences, false);
         cache.setKeyCollisionAllowed(true);
+        cache.enableStatistics(Classes.getShortClassName(this));
         /*
          * The shutdown hook serves two purposes:
          *
@@ -448,6 +456,7 @@ public abstract class ConcurrentAuthorityFactory<DAO extends GeodeticAuthorityFa
                 availableDAOs.notify();     // We released only one data access, so awake only one thread - not all of them.
                 time = usage.timestamp - time;
             }
+            QUERY.record(time);
             /*
              * Log only events that take longer than the threshold (e.g. 10 milliseconds).
              */
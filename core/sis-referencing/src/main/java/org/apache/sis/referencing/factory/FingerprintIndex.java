@@ -0,0 +1,443 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sis.referencing.factory;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.List;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.WeakHashMap;
+import java.util.LinkedHashSet;
+import javax.measure.Unit;
+import javax.measure.quantity.Length;
+import org.opengis.util.FactoryException;
+import org.opengis.referencing.IdentifiedObject;
+import org.opengis.referencing.AuthorityFactory;
+import org.opengis.referencing.cs.CoordinateSystem;
+import org.opengis.referencing.crs.CompoundCRS;
+import org.opengis.referencing.crs.GeneralDerivedCRS;
+import org.opengis.referencing.crs.SingleCRS;
+import org.opengis.referencing.datum.Datum;
+import org.opengis.referencing.datum.Ellipsoid;
+import org.opengis.referencing.datum.GeodeticDatum;
+import org.opengis.referencing.datum.PrimeMeridian;
+import org.opengis.referencing.operation.MathTransform;
+import org.opengis.referencing.operation.TransformException;
+import org.apache.sis.internal.referencing.Formulas;
+import org.apache.sis.internal.referencing.ReferencingUtilities;
+import org.apache.sis.referencing.crs.AbstractCRS;
+import org.apache.sis.referencing.cs.AxesConvention;
+import org.apache.sis.measure.Units;
+
+
+/**
+ * An in-memory index from a fingerprint of identified objects to the authority codes of those objects.
+ * This index is used by the default {@link IdentifiedObjectFinder#getCodeCandidates(IdentifiedObject)}
+ * implementation for avoiding the creation of all objects known to the factory at every search.
+ * The index is built once per factory and per type of object, at the first search which needs it.
+ * If many threads search concurrently before the index is built, only one of them builds the index
+ * and the other threads wait for its completion.
+ *
+ * <p>The fingerprint is made of a few properties that {@link IdentifiedObjectFinder} compares in
+ * all its modes (including when ignoring axes):</p>
+ * <ul>
+ *   <li>the number of dimensions of coordinate systems,</li>
+ *   <li>the semi-axis lengths of the ellipsoid and the Greenwich longitude of the prime meridian,</li>
+ *   <li>for derived and projected CRS, the position of the base CRS origin in the normalized derived CRS.</li>
+ * </ul>
+ *
+ * Numerical values are rounded to a resolution much coarser than the comparison tolerance.
+ * Values close to a rounding boundary are looked up in the neighbor cell too, so the candidates
+ * returned by this index are always a superset of the objects approximately equal to the searched one.
+ *
+ * <div class="section">Limitation</div>
+ * The index does not track changes in the factory content, except for changes in the set of authority codes.
+ * Factories having dynamic content should override {@link IdentifiedObjectFinder#getCodeCandidates(IdentifiedObject)}.
+ *
+ * @author  agent
+ * @version 1.0
+ * @since   1.0
+ * @module
+ */
+final class FingerprintIndex {
+    /**
+     * The indexes built for each factory, with one index per type of objects.
+     * All accesses to this map must be synchronized on the map.
+     */
+    private static final Map<AuthorityFactory, Map<Class<?>,FingerprintIndex>> INDEXES = new WeakHashMap<>();
+
+    /**
+     * All authority codes known to the factory for the indexed type, in iteration order.
+     */
+    private final String[] codes;
+
+    /**
+     * Indices in the {@link #codes} array of the objects having a given fingerprint.
+     * The values in each array are in increasing order. This field is {@code null}
+     * until {@link #build(AuthorityFactory, AuthorityFactoryProxy)} has been invoked.
+     *
+     * <p>This field shall be read or written only in a block synchronized on {@code this},
+     * and shall not be modified after it has been initialized.</p>
+     */
+    private Map<String,int[]> cells;
+
+    /**
+     * Indices in the {@link #codes} array of the objects for which no fingerprint could be computed,
+     * for example because the object creation failed. Those codes are candidates for all searches.
+     * This field is initialized together with {@link #cells}.
+     */
+    private int[] unindexed;
+
+    /**
+     * Creates a new index for all codes in the given set. The index is initially empty;
+     * the {@link #build(AuthorityFactory, AuthorityFactoryProxy)} method must be invoked
+     * before the index can be used.
+     *
+     * @param  all  the authority codes of all objects to index.
+     */
+    private FingerprintIndex(final Set<String> all) {
+        codes = all.toArray(new String[all.size()]);
+    }
+
+    /**
+     * Returns {@code true} if this index has been created for the given codes, in the same iteration order.
+     */
+    private boolean isFor(final Set<String> all) {
+        if (all.size() != codes.length) {
+            return false;
+        }
+        int i = 0;
+        for (final String code : all) {
+            if (i >= codes.length || !code.equals(codes[i++])) {
+                return false;
+            }
+        }
+        return i == codes.length;
+    }
+
+    /**
+     * Creates all objects and computes their fingerprints, if not already done.
+     * This method may be invoked concurrently by many threads; only the first one
+     * builds the index and the other threads wait for its completion.
+     *
+     * @param  factory  the factory to use for creating the objects to index.
+     * @param  proxy    the proxy to use for creating objects of the indexed type.
+     */
+    private synchronized void build(final AuthorityFactory factory, final AuthorityFactoryProxy<?> proxy) {
+        if (cells != null) {
+            return;
+        }
+        final Map<String,List<Integer>> byKey = new HashMap<>();
+        final List<Integer> other = new ArrayList<>();
+        final Fingerprint fingerprint = new Fingerprint();
+        for (int i=0; i<codes.length; i++) {
+            final String key;
+            try {
+                fingerprint.clear();
+                key = fingerprint.add(proxy.createFromAPI(factory, codes[i])) ? fingerprint.key() : null;
+            } catch (FactoryException | RuntimeException e) {
+                // Will be reported again by IdentifiedObjectFinder if this code is a candidate.
+                other.add(i);
+                continue;
+            }
+            (key != null ? byKey.computeIfAbsent(key, (k) -> new ArrayList<>()) : other).add(i);
+        }
+        final Map<String,int[]> cells = new HashMap<>(Math.max(16, byKey.size() * 4 / 3 + 1));
+        for (final Map.Entry<String,List<Integer>> entry : byKey.entrySet()) {
+            cells.put(entry.getKey(), toArray(entry.getValue()));
+        }
+        unindexed  = toArray(other);
+        this.cells = cells;
+    }
+
+    /**
+     * Returns the indices in the {@link #codes} array of the objects which may have one of the given keys.
+     * The {@link #build(AuthorityFactory, AuthorityFactoryProxy)} method must have been invoked before.
+     */
+    private synchronized int[] select(final List<String> keys) {
+        int[] selected = unindexed;
+        for (final String key : keys) {
+            final int[] cell = cells.get(key);
+            if (cell != null) {
+                selected = merge(selected, cell);
+            }
+        }
+        return selected;
+    }
+
+    /**
+     * Returns the given list of indices as an array of primitive type.
+     */
+    private static int[] toArray(final List<Integer> indices) {
+        final int[] array = new int[indices.size()];
+        for (int i=0; i<array.length; i++) {
+            array[i] = indices.get(i);
+        }
+        return array;
+    }
+
+    /**
+     * Returns the codes of the objects that may be approximately equal to the given object.
+     * If the given object can not be fingerprinted, then this method returns {@code all} unchanged.
+     *
+     * @param  owner    the factory which will own the index. Should be the factory wrapping
+     *                  {@code factory} if there is one, since the later may be short-lived.
+     * @param  factory  the factory to use for creating the objects to index if the index does not exist yet.
+     * @param  proxy    the proxy to use for creating objects of the indexed type.
+     * @param  all      the authority codes of all objects of the indexed type.
+     * @param  object   the object to search.
+     * @return the subset of {@code all} which may be approximately equal to {@code object}, in iteration order.
+     */
+    static Set<String> candidates(final AuthorityFactory owner, final AuthorityFactory factory,
+            final AuthorityFactoryProxy<?> proxy, final Set<String> all, final IdentifiedObject object)
+    {
+        final Fingerprint fingerprint = new Fingerprint();
+        final List<String> keys;
+        try {
+            if (!fingerprint.add(object)) {
+                return all;
+            }
+            keys = fingerprint.keys();
+        } catch (RuntimeException e) {
+            return all;                     // For example an ellipsoid with unexpected units.
+        }
+        /*
+         * Get or create the index under the global lock, but build its content outside that lock
+         * since it may be a long process. The index own lock prevents concurrent builds.
+         */
+        FingerprintIndex index;
+        synchronized (INDEXES) {
+            final Map<Class<?>,FingerprintIndex> indexes = INDEXES.computeIfAbsent(owner, (k) -> new HashMap<>());
+            index = indexes.get(proxy.type);
+            if (index == null || !index.isFor(all)) {
+                index = new FingerprintIndex(all);
+                indexes.put(proxy.type, index);
+            }
+        }
+        index.build(factory, proxy);
+        final int[] selected = index.select(keys);
+        final Set<String> result = new LinkedHashSet<>(Math.max(16, selected.length * 4 / 3 + 1));
+        for (final int i : selected) {
+            result.add(index.codes[i]);
+        }
+        return result;
+    }
+
+    /**
+     * Merges two sorted arrays of distinct indices, preserving the order.
+     */
+    private static int[] merge(final int[] a, final int[] b) {
+        if (a.length == 0) return b;
+        final int[] m = new int[a.length + b.length];
+        int i=0, j=0, n=0;
+        while (i < a.length && j < b.length) {
+            m[n++] = (a[i] <= b[j]) ? a[i++] : b[j++];
+        }
+        while (i < a.length) m[n++] = a[i++];
+        while (j < b.length) m[n++] = b[j++];
+        return m;
+    }
+
+    /**
+     * The properties of an identified object which are used for building the index keys.
+     * Numerical values are stored together with the resolution of the index cells and the
+     * margin below which a value is considered close to a cell boundary.
+     */
+    private static final class Fingerprint {
+        /**
+         * Properties compared with exact equality, for example the number of dimensions.
+         */
+        private final StringBuilder category = new StringBuilder();
+
+        /**
+         * Numerical properties, followed by the cell resolutions and the margins.
+         * Only the first {@link #count} elements of each array are valid.
+         */
+        private double[] values = new double[6], resolutions = new double[6], margins = new double[6];
+
+        /**
+         * Number of valid elements in {@link #values}, {@link #resolutions} and {@link #margins}.
+         */
+        private int count;
+
+        /**
+         * Creates an initially empty fingerprint.
+         */
+        Fingerprint() {
+        }
+
+        /**
+         * Resets this fingerprint to its initial state.
+         */
+        void clear() {
+            category.setLength(0);
+            count = 0;
+        }
+
+        /**
+         * Adds a numerical value with the given cell resolution and margin.
+         */
+        private void add(final double value, final double resolution, final double margin) {
+            if (count == values.length) {
+                values      = Arrays.copyOf(values,      count * 2);
+                resolutions = Arrays.copyOf(resolutions, count * 2);
+                margins     = Arrays.copyOf(margins,     count * 2);
+            }
+            values     [count] = value;
+            resolutions[count] = resolution;
+            margins    [count] = margin;
+            count++;
+        }
+
+        /**
+         * Adds a length in metres. A 1 metre resolution is a large margin compared to the
+         * relative tolerance applied by ellipsoid comparisons on planetary semi-axis lengths.
+         */
+        private void addLength(final double value, final Unit<Length> unit) {
+            add(unit.getConverterTo(Units.METRE).convert(value), 1, Formulas.LINEAR_TOLERANCE);
+        }
+
+        /**
+         * Adds the properties of the given object in this fingerprint.
+         *
+         * @param  object  the object for which to compute a fingerprint.
+         * @return {@code false} if the given object is of a type not supported by this fingerprint.
+         */
+        boolean add(final Object object) {
+            if (object instanceof Ellipsoid) {
+                final Ellipsoid e = (Ellipsoid) object;
+                addLength(e.getSemiMajorAxis(), e.getAxisUnit());
+                addLength(e.getSemiMinorAxis(), e.getAxisUnit());
+            } else if (object instanceof PrimeMeridian) {
+                add(ReferencingUtilities.getGreenwichLongitude((PrimeMeridian) object, Units.DEGREE),
+                        1E-3, Formulas.ANGULAR_TOLERANCE * 10);
+            } else if (object instanceof GeodeticDatum) {
+                final GeodeticDatum datum = (GeodeticDatum) object;
+                return add(datum.getEllipsoid()) && add(datum.getPrimeMeridian());
+            } else if (object instanceof Datum) {
+                // No property compared in all modes, except the datum type.
+            } else if (object instanceof CoordinateSystem) {
+                category.append(((CoordinateSystem) object).getDimension()).append(' ');
+            } else if (object instanceof SingleCRS) {
+                final SingleCRS crs = (SingleCRS) object;
+                if (!add(crs.getDatum()) || !add(crs.getCoordinateSystem())) {
+                    return false;
+                }
+                if (crs instanceof GeneralDerivedCRS) {
+                    addOrigin((GeneralDerivedCRS) crs);
+                }
+            } else if (object instanceof CompoundCRS) {
+                for (final Object component : ((CompoundCRS) object).getComponents()) {
+                    if (!add(component)) {
+                        return false;
+                    }
+                }
+            } else {
+                return false;
+            }
+            return true;
+        }
+
+        /**
+         * Adds the position of the base CRS origin in the derived CRS normalized to (east, north) axes in metres.
+         * The transform is made from normalized axes in order to get the same value regardless axis order and units.
+         * The 1 kilometre resolution is far coarser than the errors caused by approximately equal map projections.
+         */
+        private void addOrigin(final GeneralDerivedCRS crs) {
+            final double[] position;
+            try {
+                final MathTransform mt = ((GeneralDerivedCRS) AbstractCRS.castOrCopy(crs)
+                        .forConvention(AxesConvention.NORMALIZED)).getConversionFromBase().getMathTransform();
+                position = new double[Math.max(mt.getSourceDimensions(), mt.getTargetDimensions())];
+                mt.transform(position, 0, position, 0, 1);
+            } catch (TransformException | RuntimeException e) {
+                category.append("NaN ");
+                return;
+            }
+            for (int i=Math.min(position.length, 2); --i >= 0;) {
+                add(position[i], 1000, 1);
+            }
+        }
+
+        /**
+         * Returns the key of the index cell where the object is stored.
+         */
+        String key() {
+            final StringBuilder key = new StringBuilder(category);
+            for (int i=0; i<count; i++) {
+                appendCell(key, values[i], resolutions[i]);
+            }
+            return key.toString();
+        }
+
+        /**
+         * Appends the cell index of the given value.
+         * Non-finite values are all stored in the same cell.
+         */
+        private static void appendCell(final StringBuilder key, final double value, final double resolution) {
+            if (Double.isFinite(value)) {
+                key.append((long) Math.floor(value / resolution));
+            } else {
+                key.append("NaN");
+            }
+            key.append(' ');
+        }
+
+        /**
+         * Returns the keys of all index cells where an object approximately equal to this fingerprint may be stored.
+         * This is the cell of this fingerprint, together with neighbor cells for values close to a cell boundary.
+         */
+        List<String> keys() {
+            final List<StringBuilder> keys = new ArrayList<>(2);
+            keys.add(new StringBuilder(category));
+            for (int i=0; i<count; i++) {
+                final double value = values[i];
+                final double resolution = resolutions[i];
+                final double margin = margins[i];
+                final int n = keys.size();
+                if (Double.isFinite(value)) {
+                    final double cell = Math.floor(value / resolution);
+                    final double shift;
+                    if (value - cell * resolution <= margin) {
+                        shift = -resolution;
+                    } else if ((cell + 1) * resolution - value <= margin) {
+                        shift = +resolution;
+                    } else {
+                        shift = 0;
+                    }
+                    if (shift != 0) {
+                        for (int j=0; j<n; j++) {
+                            final StringBuilder key = new StringBuilder(keys.get(j));
+                            appendCell(key, value + shift, resolution);
+                            keys.add(key);
+                        }
+                    }
+                }
+                for (int j=0; j<n; j++) {
+                    appendCell(keys.get(j), value, resolution);
+                }
+            }
+            final List<String> result = new ArrayList<>(keys.size());
+            for (final StringBuilder key : keys) {
+                result.add(key.toString());
+            }
+            return result;
+        }
+    }
+}
@@ -58,7 +58,7 @@ import org.apache.sis.util.Utilities;
  * is thread-safe. If concurrent searches are desired, then a new instance should be created for each thread.
  *
  * @author  Martin Desruisseaux (IRD, Geomatys)
- * @version 0.8
+ * @version 1.0
  *
  * @see GeodeticAuthorityFactory#newIdentifiedObjectFinder()
  * @see IdentifiedObjects#newFinder(String)
@@ -546,9 +546,11 @@ public class IdentifiedObjectFinder {
      * to the specified one, then the {@code find(…)} method selects the first one in iteration order).</p>
      *
      * <div class="section">Default implementation</div>
-     * The default implementation returns the same set than
+     * The default implementation returns the subset of
      * <code>{@linkplain GeodeticAuthorityFactory#getAuthorityCodes(Class) getAuthorityCodes}(type)</code>
-     * where {@code type} is the interface specified at construction type.
+     * (where {@code type} is the interface specified at construction type) having the same fingerprint than
+     * the given object. The fingerprint is computed from a few properties like ellipsoid axis lengths and the
+     * number of dimensions, and the index from fingerprints to codes is built only once per factory.
      * Subclasses should override this method in order to return a smaller set, if they can.
      *
      * @param  object  the object looked up.
@@ -556,7 +558,9 @@ public class IdentifiedObjectFinder {
      * @throws FactoryException if an error occurred while fetching the set of code candidates.
      */
     protected Set<String> getCodeCandidates(final IdentifiedObject object) throws FactoryException {
-        return factory.getAuthorityCodes(proxy.type.asSubclass(IdentifiedObject.class));
+        final Set<String> codes = factory.getAuthorityCodes(proxy.type.asSubclass(IdentifiedObject.class));
+        final AuthorityFactory owner = (wrapper != null) ? wrapper.factory : factory;
+        return FingerprintIndex.candidates(owner, factory, proxy, codes, object);
     }
 
     /**
@@ -41,6 +41,8 @@ import org.apache.sis.internal.referencing.MergedProperties;
 import org.apache.sis.internal.referencing.SpecializedOperationFactory;
 import org.apache.sis.internal.metadata.ReferencingServices;
 import org.apache.sis.internal.system.DefaultFactories;
+import org.apache.sis.internal.system.Loggers;
+import org.apache.sis.internal.system.OperationStatistics;
 import org.apache.sis.internal.util.CollectionsExt;
 import org.apache.sis.internal.util.Constants;
 import org.apache.sis.internal.referencing.LazySet;
@@ -96,6 +98,12 @@ public class DefaultCoordinateOperationFactory extends AbstractFactory implement
      */
     static final boolean USE_EPSG_FACTORY = true;
 
+    /**
+     * Execution times of the searches for coordinate operations between two CRS.
+     * Operations found in the cache are not counted.
+     */
+    private static final OperationStatistics FIND = OperationStatistics.forName("Find coordinate operation");
+
     /**
      * The default properties, or an empty map if none. This map shall not change after construction in
      * order to allow usage without synchronization in multi-thread context. But we do not need to wrap
@@ -200,6 +208,7 @@ public class DefaultCoordinateOperationFactory extends AbstractFactory implement
         }
         pool = new WeakHashSet<>(IdentifiedObject.class);
         cache = new Cache<>(12, 50, true);
+        cache.enableStatistics(Classes.getShortClassName(this));
     }
 
     /**
@@ -807,9 +816,11 @@ next:   for (int i=components.size(); --i >= 0;) {
         }
         try {
             if (handler == null || (op = handler.peek()) == null) {
+                final long startTime = System.nanoTime();
                 final AuthorityFactory registry = USE_EPSG_FACTORY ? CRS.getAuthorityFactory(Constants.EPSG) : null;
                 op = createOperationFinder((registry instanceof CoordinateOperationAuthorityFactory) ?
                         (CoordinateOperationAuthorityFactory) registry : null, context).createOperation(sourceCRS, targetCRS);
+                FIND.record(startTime, Loggers.COORDINATE_OPERATION, CoordinateOperationFactory.class, "createOperation");
             }
         } finally {
             if (handler != null) {
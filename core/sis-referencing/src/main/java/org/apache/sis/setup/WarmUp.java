@@ -0,0 +1,307 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sis.setup;
+
+import java.util.Set;
+import java.util.List;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import org.opengis.util.FactoryException;
+import org.opengis.referencing.crs.CoordinateReferenceSystem;
+import org.opengis.referencing.operation.CoordinateOperation;
+import org.opengis.referencing.operation.MathTransform;
+import org.opengis.referencing.operation.MathTransformFactory;
+import org.opengis.referencing.operation.NoninvertibleTransformException;
+import org.opengis.referencing.operation.OperationMethod;
+import org.opengis.referencing.operation.SingleOperation;
+import org.apache.sis.referencing.CRS;
+import org.apache.sis.internal.referencing.Resources;
+import org.apache.sis.internal.system.DefaultFactories;
+import org.apache.sis.internal.system.Loggers;
+import org.apache.sis.internal.util.StandardDateFormat;
+import org.apache.sis.util.logging.Logging;
+import org.apache.sis.util.ArgumentChecks;
+
+
+/**
+ * Eagerly initializes the referencing services for avoiding latency on the first requests.
+ * The first coordinate transformation requested in a new JVM pays for the discovery of factories
+ * and map projection providers, the connection to the EPSG database, the creation of the requested
+ * CRS and coordinate operations, and the loading of the classes implementing them.
+ * This class allows applications to pay those costs in advance, for example at container start:
+ *
+ * {@preformat java
+ *     WarmUp warmUp = new WarmUp();
+ *     warmUp.addCodes("EPSG:4326", "EPSG:3857", "EPSG:32631");
+ *     warmUp.addOperation("EPSG:4326", "EPSG:3857");
+ *     warmUp.start();
+ * }
+ *
+ * The work is separated in the {@linkplain Phase phases} listed below. The time spent in each phase
+ * is logged at the end of the warm-up and can be obtained by {@link #getElapsedTime(Phase)}.
+ * The number of objects successfully created in each phase can be obtained by {@link #getCount(Phase)}.
+ * The objects in the second and third phases are created in parallel.
+ *
+ * <ol>
+ *   <li>{@link Phase#FACTORIES}: authority factories and map projection providers.</li>
+ *   <li>{@link Phase#OBJECTS}: the CRS for all codes given to {@link #addCodes(String...)}.</li>
+ *   <li>{@link Phase#OPERATIONS}: the operations and transforms for all pairs given to
+ *       {@link #addOperation(String, String)}.</li>
+ * </ol>
+ *
+ * Created objects are retained by the caches of Apache SIS factories, so subsequent calls to
+ * {@link CRS#forCode(String)} or {@link CRS#findOperation CRS.findOperation(…)} for the same
+ * arguments should be fast. Failures (for example an unknown code) are logged and do not stop the warm-up.
+ *
+ * <div class="section">Thread safety</div>
+ * This class is thread-safe, but configuration shall be completed before the warm-up is started.
+ *
+ * @author  agent
+ * @version 1.0
+ * @since   1.0
+ * @module
+ */
+public class WarmUp implements Runnable {
+    /**
+     * The steps of the warm-up, in execution order.
+     *
+     * @see #getElapsedTime(Phase)
+     */
+    public enum Phase {
+        /**
+         * Discovery of authority factories and map projection providers.
+         */
+        FACTORIES,
+
+        /**
+         * Creation of coordinate reference systems from authority codes.
+         */
+        OBJECTS,
+
+        /**
+         * Creation of coordinate operations and their math transforms.
+         */
+        OPERATIONS
+    }
+
+    /**
+     * The authority codes of the CRS to create.
+     */
+    private final Set<String> codes;
+
+    /**
+     * Pairs of authority codes for the source and target CRS of coordinate operations to create.
+     */
+    private final Set<List<String>> operations;
+
+    /**
+     * Time spent in each phase, in nanoseconds. Missing values are phases not yet executed.
+     */
+    private final EnumMap<Phase,Long> elapsedTimes;
+
+    /**
+     * Number of objects successfully created in each phase, indexed by {@link Phase#ordinal()}.
+     */
+    private final int[] counts;
+
+    /**
+     * Creates a new warm-up initially configured for the {@link Phase#FACTORIES} phase only.
+     */
+    public WarmUp() {
+        codes        = new LinkedHashSet<>();
+        operations   = new LinkedHashSet<>();
+        elapsedTimes = new EnumMap<>(Phase.class);
+        counts       = new int[Phase.values().length];
+    }
+
+    /**
+     * Adds authority codes of coordinate reference systems to create during the warm-up.
+     * Codes can be any values accepted by {@link CRS#forCode(String)}.
+     *
+     * @param  crs  authority codes of the CRS to create.
+     * @return {@code this}, for method calls chaining.
+     */
+    public synchronized WarmUp addCodes(final String... crs) {
+        ArgumentChecks.ensureNonNull("crs", crs);
+        for (int i=0; i<crs.length; i++) {
+            ArgumentChecks.ensureNonNullElement("crs", i, crs[i]);
+        }
+        codes.addAll(Arrays.asList(crs));
+        return this;
+    }
+
+    /**
+     * Adds a coordinate operation to create during the warm-up. The source and target CRS are
+     * also added to the set of CRS to create.
+     *
+     * @param  sourceCRS  authority code of the source CRS.
+     * @param  targetCRS  authority code of the target CRS.
+     * @return {@code this}, for method calls chaining.
+     */
+    public synchronized WarmUp addOperation(final String sourceCRS, final String targetCRS) {
+        ArgumentChecks.ensureNonNull("sourceCRS", sourceCRS);
+        ArgumentChecks.ensureNonNull("targetCRS", targetCRS);
+        codes.add(sourceCRS);
+        codes.add(targetCRS);
+        operations.add(Arrays.asList(sourceCRS, targetCRS));
+        return this;
+    }
+
+    /**
+     * Starts the warm-up in a background daemon thread and returns immediately.
+     * Callers can wait for completion by invoking {@link Thread#join()} on the returned thread.
+     *
+     * @return the thread executing the warm-up.
+     */
+    public Thread start() {
+        final Thread thread = new Thread(this, "Referencing warm-up");
+        thread.setDaemon(true);
+        thread.start();
+        return thread;
+    }
+
+    /**
+     * Executes all warm-up phases in the current thread, except the parallel parts.
+     * This method returns when the warm-up is completed, then logs the time spent in each phase.
+     */
+    @Override
+    public void run() {
+        final String[] crs;
+        final List<List<String>> pairs;
+        synchronized (this) {
+            crs   = codes.toArray(new String[codes.size()]);
+            pairs = new ArrayList<>(operations);
+            Arrays.fill(counts, 0);
+        }
+        long time = System.nanoTime();
+        final long start = time;
+        try {
+            CRS.getAuthorityFactory(null);
+            CRS.getAuthorityFactory("EPSG");
+        } catch (FactoryException e) {
+            warning(e);
+        }
+        for (final OperationMethod method : DefaultFactories.forBuildin(MathTransformFactory.class)
+                .getAvailableMethods(SingleOperation.class))
+        {
+            method.getParameters();
+            created(Phase.FACTORIES);
+        }
+        time = record(Phase.FACTORIES, time);
+        Arrays.stream(crs).parallel().forEach((code) -> {
+            try {
+                CRS.forCode(code);
+                created(Phase.OBJECTS);
+            } catch (FactoryException e) {
+                warning(e);
+            }
+        });
+        time = record(Phase.OBJECTS, time);
+        pairs.parallelStream().forEach((pair) -> {
+            try {
+                final CoordinateReferenceSystem source = CRS.forCode(pair.get(0));
+                final CoordinateReferenceSystem target = CRS.forCode(pair.get(1));
+                final CoordinateOperation op = CRS.findOperation(source, target, null);
+                final MathTransform mt = op.getMathTransform();
+                created(Phase.OPERATIONS);
+                if (mt != null) {
+                    mt.inverse();
+                }
+            } catch (NoninvertibleTransformException e) {
+                // Not a problem since the forward transform has been created.
+            } catch (FactoryException e) {
+                warning(e);
+            }
+        });
+        time = record(Phase.OPERATIONS, time);
+        final LogRecord record = Resources.forLocale(null).getLogRecord(Level.CONFIG, Resources.Keys.WarmedUp_4,
+                seconds(time - start), seconds(getNanos(Phase.FACTORIES)),
+                seconds(getNanos(Phase.OBJECTS)), seconds(getNanos(Phase.OPERATIONS)));
+        record.setLoggerName(Loggers.CRS_FACTORY);
+        Logging.log(WarmUp.class, "run", record);
+    }
+
+    /**
+     * Records the time elapsed since the given time for the given phase.
+     *
+     * @return the current time.
+     */
+    private synchronized long record(final Phase phase, final long time) {
+        final long now = System.nanoTime();
+        elapsedTimes.put(phase, now - time);
+        return now;
+    }
+
+    /**
+     * Increments the number of objects successfully created in the given phase.
+     */
+    private synchronized void created(final Phase phase) {
+        counts[phase.ordinal()]++;
+    }
+
+    /**
+     * Returns the time spent in the given phase in nanoseconds, or 0 if the phase has not been executed.
+     */
+    private synchronized long getNanos(final Phase phase) {
+        final Long t = elapsedTimes.get(phase);
+        return (t != null) ? t : 0;
+    }
+
+    /**
+     * Converts the given duration from nanoseconds to seconds.
+     */
+    private static double seconds(final long nanos) {
+        return nanos / (double) StandardDateFormat.NANOS_PER_SECOND;
+    }
+
+    /**
+     * Returns the time spent in the given phase of the last warm-up, in seconds.
+     *
+     * @param  phase  the phase for which to get the elapsed time.
+     * @return time spent in the given phase, or {@link Double#NaN} if that phase has not been executed.
+     */
+    public synchronized double getElapsedTime(final Phase phase) {
+        ArgumentChecks.ensureNonNull("phase", phase);
+        final Long t = elapsedTimes.get(phase);
+        return (t != null) ? seconds(t) : Double.NaN;
+    }
+
+    /**
+     * Returns the number of objects successfully created in the given phase of the last warm-up.
+     * For the {@link Phase#FACTORIES} phase, this is the number of map projection providers found.
+     * For the other phases, this is the number of CRS or coordinate operations created.
+     * Objects that could not be created (for example because of an unknown code) are not counted.
+     *
+     * @param  phase  the phase for which to get the number of created objects.
+     * @return number of objects created in the given phase, or 0 if that phase has not been executed.
+     */
+    public synchronized int getCount(final Phase phase) {
+        ArgumentChecks.ensureNonNull("phase", phase);
+        return counts[phase.ordinal()];
+    }
+
+    /**
+     * Logs the given exception as a recoverable one.
+     */
+    private static void warning(final Exception e) {
+        Logging.recoverableException(Logging.getLogger(Loggers.CRS_FACTORY), WarmUp.class, "run", e);
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sis.io.wkt;
+
+import java.util.List;
+import java.util.Arrays;
+import java.util.ArrayList;
+import org.opengis.util.FactoryException;
+import org.opengis.referencing.crs.CRSAuthorityFactory;
+import org.opengis.referencing.crs.CoordinateReferenceSystem;
+import org.opengis.referencing.crs.GeographicCRS;
+import org.opengis.referencing.crs.ProjectedCRS;
+import org.apache.sis.referencing.CRS;
+import org.apache.sis.internal.util.StandardDateFormat;
+
+
+/**
+ * Measures the performance of WKT parsing on a corpus of WKT strings formatted from EPSG definitions.
+ * The corpus contains the geographic and projected CRS known to the EPSG factory, formatted in the
+ * WKT 1 convention used by {@code *.prj} files. If the EPSG database is not installed, the corpus
+ * is limited to the few CRS known to the fallback factory.
+ *
+ * <p><b>Usage:</b> run the {@code main} method, optionally with the maximal number of CRS in argument.
+ * The time for parsing the corpus in a loop and with {@link WKTFormat#parseAll(List)} is printed.</p>
+ *
+ * @author  agent
+ * @version 1.0
+ * @since   1.0
+ * @module
+ */
+@SuppressWarnings("UseOfSystemOutOrSystemErr")
+public final class ParserBenchmark {
+    /**
+     * Number of times to repeat the measurements.
+     */
+    private static final int REPEAT = 10;
+
+    /**
+     * Runs the benchmark and prints the time result to the standard output.
+     *
+     * @param  args  optionally the maximal number of CRS to put in the corpus.
+     * @throws Exception if an error occurred while creating the corpus or parsing the WKT.
+     */
+    public static void main(final String[] args) throws Exception {
+        final int limit = (args.length != 0) ? Integer.parseInt(args[0]) : 5000;
+        final List<String> corpus = corpus(limit);
+        System.out.printf("Corpus of %d WKT strings.%n", corpus.size());
+        for (int i=0; i<REPEAT; i++) {
+            long time = System.nanoTime();
+            final WKTFormat format = new WKTFormat(null, null);
+            for (final String wkt : corpus) {
+                format.parseObject(wkt);
+            }
+            final double loop = seconds(time);
+            time = System.nanoTime();
+            new WKTFormat(null, null).parseAll(corpus);
+            System.out.printf("Loop: %6.3f s    parseAll: %6.3f s%n", loop, seconds(time));
+        }
+    }
+
+    /**
+     * Formats geographic and projected CRS from the EPSG factory, up to the given limit.
+     */
+    private static List<String> corpus(final int limit) throws FactoryException {
+        final CRSAuthorityFactory factory = CRS.getAuthorityFactory("EPSG");
+        final WKTFormat format = new WKTFormat(null, null);
+        format.setConvention(Convention.WKT1);
+        final List<String> corpus = new ArrayList<>();
+        final List<Class<? extends CoordinateReferenceSystem>> types = Arrays.asList(GeographicCRS.class, ProjectedCRS.class);
+        for (final Class<? extends CoordinateReferenceSystem> type : types) {
+            for (final String code : factory.getAuthorityCodes(type)) {
+                if (corpus.size() >= limit) {
+                    return corpus;
+                }
+                final CoordinateReferenceSystem crs;
+                try {
+                    crs = factory.createCoordinateReferenceSystem(code);
+                } catch (FactoryException e) {
+                    continue;                               // Unsupported CRS, ignore.
+                }
+                final String wkt = format.format(crs);
+                if (format.getWarnings() == null) {
+                    corpus.add(wkt);
+                }
+            }
+        }
+        return corpus;
+    }
+
+    /**
+     * Returns the number of seconds elapsed since the given time.
+     */
+    private static double seconds(final long start) {
+        return (System.nanoTime() - start) / (double) StandardDateFormat.NANOS_PER_SECOND;
+    }
+}
@@ -16,13 +16,20 @@
  */
 package org.apache.sis.io.wkt;
 
+import java.util.List;
+import java.util.Arrays;
 import java.util.Collections;
+import java.io.IOException;
+import java.io.StringWriter;
 import java.text.ParseException;
 import org.opengis.referencing.crs.VerticalCRS;
+import org.opengis.referencing.crs.GeographicCRS;
 import org.apache.sis.measure.Units;
 import org.apache.sis.metadata.iso.citation.Citations;
+import org.apache.sis.referencing.CommonCRS;
 import org.apache.sis.referencing.crs.DefaultProjectedCRS;
 import org.apache.sis.referencing.datum.DefaultPrimeMeridian;
+import org.apache.sis.internal.util.Constants;
 import org.apache.sis.test.DependsOnMethod;
 import org.apache.sis.test.DependsOn;
 import org.apache.sis.test.TestCase;
@@ -35,7 +42,7 @@ import static org.apache.sis.test.Assert.*;
  * Tests {@link WKTFormat}.
  *
  * @author  Martin Desruisseaux (Geomatys)
- * @version 0.8
+ * @version 1.0
  * @since   0.5
  * @module
  */
@@ -431,4 +438,69 @@ public final strictfp class WKTFormatTest extends TestCase {
                 "    AXIS[\"Longitude (L)\", east, ORDER[2]],\n" +
                 "    ANGLEUNIT[\"degree\", 0.017453292519943295]]", wkt);
     }
+
+    /**
+     * Tests {@link WKTFormat#parseAll(List)}. The two CRS differ only by their axis order and by the way
+     * the ellipsoid semi-major axis length is written (with a lower case exponent in the second CRS).
+     * Since the datum is the same, the parsed CRS are expected to share the same datum instance.
+     *
+     * @throws ParseException if the parsing failed.
+     */
+    @Test
+    @DependsOnMethod("testParse")
+    public void testParseAll() throws ParseException {
+        format = new WKTFormat(null, null);
+        final List<Object> crs = format.parseAll(Arrays.asList(
+                "GEOGCS[“Tokyo”, DATUM[“Tokyo”, SPHEROID[“Bessel 1841”, 6377397.155, 299.1528128]],"
+                        + " UNIT[“degree”, 0.0174532925199433], AXIS[“Lat”, NORTH], AXIS[“Long”, EAST]]",
+                "GEOGCS[“Tokyo”, DATUM[“Tokyo”, SPHEROID[“Bessel 1841”, 6.377397155e6, 299.1528128]],"
+                        + " UNIT[“degree”, 0.0174532925199433], AXIS[“Long”, EAST], AXIS[“Lat”, NORTH]]"));
+        assertEquals(2, crs.size());
+        final GeographicCRS crs1 = (GeographicCRS) crs.get(0);
+        final GeographicCRS crs2 = (GeographicCRS) crs.get(1);
+        assertNotSame(crs1, crs2);
+        assertEquals(6377397.155, crs2.getDatum().getEllipsoid().getSemiMajorAxis(), STRICT);
+        assertSame(crs1.getDatum(), crs2.getDatum());
+        try {
+            format.parseAll(Collections.singletonList("GEOGCS[“Tokyo”, DATUM[“Tokyo”]"));
+            fail("Should not parse an incomplete WKT.");
+        } catch (ParseException e) {
+            assertNotNull(e.getMessage());
+        }
+    }
+
+    /**
+     * Tests {@link WKTFormat#format(Object, Appendable)} with a {@link java.io.Writer} destination,
+     * and verifies that the WKT cached for EPSG objects depends on the convention and indentation.
+     *
+     * @throws IOException should never happen since we write in a {@link StringWriter}.
+     */
+    @Test
+    public void testFormatToWriter() throws IOException {
+        final GeographicCRS crs = CommonCRS.WGS84.geographic();
+        format = new WKTFormat(null, null);
+        final String expected = format.format(crs);
+        final StringWriter out = new StringWriter();
+        format.format(crs, out);
+        assertEquals("First formatting to Writer.", expected, out.toString());
+        out.getBuffer().setLength(0);
+        format.format(crs, out);
+        assertEquals("Cached WKT.", expected, out.toString());
+        assertNull(format.getWarnings());
+
+        format.setConvention(Convention.WKT1);
+        final String wkt1 = format.format(crs);
+        assertNotEquals(expected, wkt1);
+        assertTrue(wkt1, wkt1.startsWith("GEOGCS["));
+
+        format.setIndentation(WKTFormat.SINGLE_LINE);
+        final String singleLine = format.format(crs);
+        assertNotEquals(wkt1, singleLine);
+        assertFalse(singleLine, singleLine.contains("\n"));
+        assertEquals(singleLine, format.format(crs));
+
+        format.setConvention(Convention.WKT2);
+        format.setIndentation(Constants.DEFAULT_INDENTATION);
+        assertEquals("Cached WKT.", expected, format.format(crs));
+    }
 }
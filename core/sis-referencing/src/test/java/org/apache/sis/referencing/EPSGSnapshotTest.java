@@ -0,0 +1,259 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sis.referencing;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import org.opengis.util.FactoryException;
+import org.opengis.referencing.crs.CoordinateReferenceSystem;
+import org.opengis.referencing.datum.Ellipsoid;
+import org.opengis.referencing.datum.GeodeticDatum;
+import org.opengis.referencing.datum.VerticalDatum;
+import org.opengis.referencing.operation.OperationMethod;
+import org.apache.sis.referencing.factory.GeodeticAuthorityFactory;
+import org.apache.sis.internal.system.Loggers;
+import org.apache.sis.util.Version;
+
+// Test dependencies
+import org.apache.sis.test.LoggingWatcher;
+import org.apache.sis.test.DependsOnMethod;
+import org.apache.sis.test.DependsOn;
+import org.apache.sis.test.TestCase;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+
+import static org.apache.sis.test.Assert.*;
+
+
+/**
+ * Tests the {@link EPSGSnapshot} class.
+ *
+ * @author  agent
+ * @version 1.0
+ * @since   1.0
+ * @module
+ */
+@DependsOn(EPSGFactoryFallbackTest.class)
+public final strictfp class EPSGSnapshotTest extends TestCase {
+    /**
+     * A JUnit {@link Rule} for listening to log events. This field is public because JUnit requires us to
+     * do so, but should be considered as an implementation details (it should have been a private field).
+     */
+    @Rule
+    public final LoggingWatcher loggings = new LoggingWatcher(Loggers.CRS_FACTORY);
+
+    /**
+     * Verifies that no unexpected warning has been emitted in any test defined in this class.
+     */
+    @After
+    public void assertNoUnexpectedLog() {
+        loggings.assertNoUnexpectedLog();
+    }
+
+    /**
+     * Tests {@link EPSGSnapshot#parseCode(String)}.
+     */
+    @Test
+    public void testParseCode() {
+        assertEquals(4326, EPSGSnapshot.parseCode("EPSG:4326"));
+        assertEquals(4326, EPSGSnapshot.parseCode("epsg : 4326 "));
+        assertEquals(-1,   EPSGSnapshot.parseCode("CRS:84"));
+        assertEquals(-1,   EPSGSnapshot.parseCode("EPSG:8.9:4326"));
+        assertEquals(-1,   EPSGSnapshot.parseCode("urn:ogc:def:crs:EPSG::4326"));
+        assertEquals(-1,   EPSGSnapshot.parseCode("EPSG:"));
+    }
+
+    /**
+     * Writes a snapshot using the fallback factory, then reads it back.
+     *
+     * @throws Exception if an error occurred while writing or reading the temporary file.
+     */
+    @Test
+    @DependsOnMethod("testParseCode")
+    public void testWriteAndRead() throws Exception {
+        final EPSGFactoryFallback factory = EPSGFactoryFallback.INSTANCE;
+        final Path file = Files.createTempFile("EPSG", ".snapshot");
+        try {
+            final int count = EPSGSnapshot.write(file, factory, new int[] {
+                4326, 4979, 32631, -32633, 9999             // 9999 does not exist and shall be ignored.
+            });
+            final EPSGSnapshot snapshot = new EPSGSnapshot(file);
+            assertEquals("sisVersion", Version.SIS.toString(), snapshot.sisVersion);
+            assertEquals("factoryClass", EPSGFactoryFallback.class.getName(), snapshot.factoryClass);
+            for (final String code : new String[] {"EPSG:4326", "EPSG:4979", "EPSG:32631", "EPSG:32632", "EPSG:32633"}) {
+                final CoordinateReferenceSystem crs = snapshot.get(CoordinateReferenceSystem.class, EPSGSnapshot.parseCode(code));
+                assertEqualsIgnoreMetadata(factory.createCoordinateReferenceSystem(code), crs);
+                assertEquals(code, IdentifiedObjects.toString(IdentifiedObjects.getIdentifier(crs, null)));
+            }
+            /*
+             * Components of above CRS: the WGS 84 datum and ellipsoid, and the Transverse Mercator method.
+             */
+            final GeodeticDatum datum = snapshot.get(GeodeticDatum.class, 6326);
+            assertEqualsIgnoreMetadata(factory.createGeodeticDatum("EPSG:6326"), datum);
+            assertEquals("ellipsoid", datum.getEllipsoid(), snapshot.get(Ellipsoid.class, 7030));
+            assertEquals("Transverse Mercator", snapshot.get(OperationMethod.class, 9807).getName().getCode());
+            assertEquals("count", 8, count);
+            assertSame("Expected cached instance.", snapshot.get(CoordinateReferenceSystem.class, 4326),
+                                                    snapshot.get(CoordinateReferenceSystem.class, 4326));
+            assertNull(snapshot.get(CoordinateReferenceSystem.class, 9999));
+            assertNull("Datum code requested as a CRS.", snapshot.get(CoordinateReferenceSystem.class, 6326));
+            assertNull("Geodetic datum requested as a vertical datum.", snapshot.get(VerticalDatum.class, 6326));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    /**
+     * Verifies that {@link CRS#forCode(String)} still succeeds when the snapshot is corrupted or obsolete,
+     * and that the snapshot file is deleted in such case.
+     *
+     * @throws IOException if an error occurred while writing or modifying the temporary file.
+     * @throws FactoryException if an error occurred while creating a CRS.
+     */
+    @Test
+    @DependsOnMethod("testWriteAndRead")
+    public void testInvalidSnapshot() throws IOException, FactoryException {
+        final CoordinateReferenceSystem expected = CRS.forCode("EPSG:4326");
+        loggings.clear();               // Ignore the warning emitted if the EPSG database is not available.
+        final GeodeticAuthorityFactory factory = AuthorityFactories.EPSG();
+        final Path file = Files.createTempFile("EPSG", ".snapshot");
+        EPSGSnapshot.file = file;
+        try {
+            /*
+             * Valid header, but the serialized object is replaced by garbage.
+             * The failure is detected only when the object is deserialized.
+             */
+            final int count = EPSGSnapshot.write(file, factory, new int[] {4326});
+            final EPSGSnapshot snapshot = new EPSGSnapshot(file);
+            int objectStart = 3*Integer.BYTES + count*EPSGSnapshot.ENTRY_SIZE;      // The CRS is the first object.
+            for (final String s : new String[] {snapshot.sisVersion, snapshot.epsgVersion, snapshot.factoryClass}) {
+                objectStart += Short.BYTES + s.getBytes(StandardCharsets.UTF_8).length;
+            }
+            overwrite(file, objectStart, new byte[] {1, 2, 3, 4, 5, 6, 7, 8});
+            assertFallback(file, expected);
+            loggings.assertNextLogContains(file.toString());
+            /*
+             * Truncated file. The failure is detected when the file is opened.
+             */
+            EPSGSnapshot.write(file, factory, new int[] {4326});
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                channel.truncate(20);
+            }
+            assertFallback(file, expected);
+            loggings.assertNextLogContains(file.toString());
+            /*
+             * Snapshot created by another Apache SIS version.
+             * The first digit of the version number is replaced by another digit.
+             */
+            EPSGSnapshot.write(file, factory, new int[] {4326});
+            overwrite(file, 2*Integer.BYTES + Short.BYTES, new byte[] {'0'});
+            assertFallback(file, expected);
+        } finally {
+            EPSGSnapshot.file = null;
+            EPSGSnapshot.reset();
+            Files.deleteIfExists(file);
+        }
+    }
+
+    /**
+     * Verifies that the datum and ellipsoid lookups of the system-wide authority factory use the snapshot.
+     *
+     * @throws Exception if an error occurred while writing the temporary file or creating an object.
+     */
+    @Test
+    @DependsOnMethod("testInvalidSnapshot")
+    public void testComponentLookups() throws Exception {
+        CRS.forCode("EPSG:4326");
+        loggings.clear();               // Ignore the warning emitted if the EPSG database is not available.
+        final GeodeticAuthorityFactory factory = AuthorityFactories.EPSG();
+        final Path file = Files.createTempFile("EPSG", ".snapshot");
+        EPSGSnapshot.file = file;
+        try {
+            EPSGSnapshot.write(file, factory, new int[] {4326});
+            EPSGSnapshot.reset();
+            final EPSGSnapshot snapshot = EPSGSnapshot.getDefault();
+            assertNotNull(snapshot);
+            assertSame(snapshot.get(GeodeticDatum.class, 6326), AuthorityFactories.ALL.createGeodeticDatum("EPSG:6326"));
+            assertSame(snapshot.get(GeodeticDatum.class, 6326), AuthorityFactories.ALL.createDatum("EPSG:6326"));
+            assertSame(snapshot.get(Ellipsoid.class, 7030), AuthorityFactories.ALL.createEllipsoid("EPSG:7030"));
+        } finally {
+            EPSGSnapshot.file = null;
+            EPSGSnapshot.reset();
+            Files.deleteIfExists(file);
+        }
+    }
+
+    /**
+     * Verifies that a snapshot created from another EPSG dataset version is used for answering the first
+     * request without database connection, then discarded after the background verification of the version.
+     *
+     * @throws Exception if an error occurred while writing the temporary file or creating a CRS.
+     */
+    @Test
+    @DependsOnMethod("testInvalidSnapshot")
+    public void testObsoleteEdition() throws Exception {
+        final CoordinateReferenceSystem expected = CRS.forCode("EPSG:4326");
+        loggings.clear();               // Ignore the warning emitted if the EPSG database is not available.
+        final GeodeticAuthorityFactory factory = AuthorityFactories.EPSG();
+        final Path file = Files.createTempFile("EPSG", ".snapshot");
+        EPSGSnapshot.file = file;
+        try {
+            EPSGSnapshot.write(file, factory, new int[] {4326}, "0.0");
+            EPSGSnapshot.reset();
+            final EPSGSnapshot snapshot = EPSGSnapshot.getDefault();
+            assertNotNull("Snapshot shall be used before verification of the EPSG version.", snapshot);
+            assertEquals("epsgVersion", "0.0", snapshot.epsgVersion);
+            assertSame("Expected the object from the snapshot.",
+                    snapshot.get(CoordinateReferenceSystem.class, 4326), CRS.forCode("EPSG:4326"));
+            for (int i=0; Files.exists(file); i++) {
+                assertTrue("Obsolete snapshot has not been deleted.", i < 1000);
+                Thread.sleep(10);
+            }
+            assertNull(EPSGSnapshot.getDefault());
+            assertEqualsIgnoreMetadata(expected, CRS.forCode("EPSG:4326"));
+        } finally {
+            EPSGSnapshot.file = null;
+            EPSGSnapshot.reset();
+            Files.deleteIfExists(file);
+        }
+    }
+
+    /**
+     * Writes the given bytes in the given file at the given position.
+     */
+    private static void overwrite(final Path file, final long position, final byte[] bytes) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(bytes), position);
+        }
+    }
+
+    /**
+     * Verifies that {@link CRS#forCode(String)} creates the CRS without the snapshot, and that the snapshot is deleted.
+     */
+    private static void assertFallback(final Path file, final CoordinateReferenceSystem expected) throws FactoryException {
+        EPSGSnapshot.reset();
+        assertEqualsIgnoreMetadata(expected, CRS.forCode("EPSG:4326"));
+        assertFalse("Invalid snapshot shall be deleted.", Files.exists(file));
+        assertNull(EPSGSnapshot.getDefault());
+    }
+}
@@ -16,7 +16,11 @@
  */
 package org.apache.sis.referencing.factory;
 
+import java.util.Set;
 import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import org.opengis.util.FactoryException;
 import org.opengis.referencing.IdentifiedObject;
 import org.opengis.referencing.crs.CRSAuthorityFactory;
@@ -38,7 +42,7 @@ import static org.apache.sis.test.Assert.*;
  * This test uses {@link CommonAuthorityFactory} as a simple factory implementation.
  *
  * @author  Martin Desruisseaux (Geomatys)
- * @version 0.7
+ * @version 1.0
  * @since   0.7
  * @module
  */
@@ -93,6 +97,83 @@ public final strictfp class IdentifiedObjectFinderTest extends TestCase {
                    CRS84, finder.findSingleton(search));
     }
 
+    /**
+     * Tests the candidates selected by {@link FingerprintIndex}. Among the geographic CRS known to
+     * {@link CommonAuthorityFactory}, "CRS:27" is the only one using the Clarke 1866 ellipsoid.
+     * The WGS84 and GRS80 ellipsoids used by "CRS:84" and "CRS:83" differ by less than a millimetre,
+     * so the index is expected to retain both codes as candidates for each of those CRS.
+     *
+     * @throws FactoryException if the creation of a CRS failed.
+     */
+    @Test
+    public void testFingerprintIndex() throws FactoryException {
+        final Set<String> all = factory.getAuthorityCodes(GeographicCRS.class);
+        assertTrue("Expected more than two geographic CRS.", all.size() > 2);
+        final GeographicCRS CRS27 = factory.createGeographicCRS("CRS:27");
+        final Set<String> nad27 = FingerprintIndex.candidates(factory, factory,
+                AuthorityFactoryProxy.GEOGRAPHIC_CRS, all, CRS27);
+        assertEquals(1, nad27.size());
+        assertSame(CRS27, factory.createGeographicCRS(nad27.iterator().next()));
+        final Set<String> wgs84 = FingerprintIndex.candidates(factory, factory,
+                AuthorityFactoryProxy.GEOGRAPHIC_CRS, all, factory.createGeographicCRS("CRS:84"));
+        assertEquals(2, wgs84.size());
+        assertFalse(wgs84.containsAll(nad27));
+    }
+
+    /**
+     * Verifies that {@link FingerprintIndex} creates the indexed objects only once when many threads search
+     * concurrently before the index is built, and that the index is rebuilt only if the set of codes changed.
+     *
+     * @throws Exception if the creation of a CRS failed or a thread has been interrupted.
+     */
+    @Test
+    @DependsOnMethod("testFingerprintIndex")
+    public void testFingerprintIndexBuiltOnce() throws Exception {
+        final AtomicInteger creations = new AtomicInteger();
+        final CommonAuthorityFactory counting = new CommonAuthorityFactory() {
+            @Override public GeographicCRS createGeographicCRS(final String code) throws FactoryException {
+                creations.incrementAndGet();
+                try {
+                    Thread.sleep(5);                    // Give time to other threads to start their search.
+                } catch (InterruptedException e) {
+                    throw new AssertionError(e);
+                }
+                return super.createGeographicCRS(code);
+            }
+        };
+        final Set<String> all = factory.getAuthorityCodes(GeographicCRS.class);
+        final GeographicCRS CRS27 = factory.createGeographicCRS("CRS:27");
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        final Thread[] threads = new Thread[4];
+        for (int i=0; i<threads.length; i++) {
+            threads[i] = new Thread(() -> {
+                try {
+                    assertEquals(1, FingerprintIndex.candidates(counting, counting,
+                            AuthorityFactoryProxy.GEOGRAPHIC_CRS, all, CRS27).size());
+                } catch (Throwable e) {
+                    failure.set(e);
+                }
+            });
+        }
+        for (final Thread t : threads) t.start();
+        for (final Thread t : threads) t.join();
+        if (failure.get() != null) {
+            throw new AssertionError(failure.get());
+        }
+        assertEquals("Objects shall be created only once.", all.size(), creations.get());
+        /*
+         * Same codes in a different set instance: the index shall be reused.
+         * Different codes in a set of the same size: the index shall be rebuilt.
+         */
+        FingerprintIndex.candidates(counting, counting, AuthorityFactoryProxy.GEOGRAPHIC_CRS, new LinkedHashSet<>(all), CRS27);
+        assertEquals("Index shall be reused for the same codes.", all.size(), creations.get());
+        final Set<String> other = new LinkedHashSet<>(all);
+        other.remove("CRS:84");
+        other.add("CRS:9999");
+        FingerprintIndex.candidates(counting, counting, AuthorityFactoryProxy.GEOGRAPHIC_CRS, other, CRS27);
+        assertEquals("Index shall be rebuilt for other codes.", 2*all.size(), creations.get());
+    }
+
     /**
      * Tests the {@link IdentifiedObjectFinder#findSingleton(IdentifiedObject)} method through the finder
      * provided by {@link ConcurrentAuthorityFactory}. The objects found are expected to be cached.
@@ -0,0 +1,58 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sis.setup;
+
+import org.apache.sis.referencing.operation.DefaultCoordinateOperationFactoryTest;
+import org.apache.sis.test.DependsOn;
+import org.apache.sis.test.TestCase;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+
+/**
+ * Tests {@link WarmUp}.
+ *
+ * @author  agent
+ * @version 1.0
+ * @since   1.0
+ * @module
+ */
+@DependsOn(DefaultCoordinateOperationFactoryTest.class)
+public final strictfp class WarmUpTest extends TestCase {
+    /**
+     * Tests a warm-up with a few codes known to the EPSG fallback factory, and one unknown code.
+     * The unknown code shall not stop the warm-up, but shall not be counted as a created object.
+     *
+     * @throws InterruptedException if the test has been interrupted while waiting for the warm-up.
+     */
+    @Test
+    public void testRun() throws InterruptedException {
+        final WarmUp warmUp = new WarmUp().addCodes("CRS:84", "EPSG:9999").addOperation("EPSG:4326", "EPSG:32631");
+        for (final WarmUp.Phase phase : WarmUp.Phase.values()) {
+            assertTrue(phase.name(), Double.isNaN(warmUp.getElapsedTime(phase)));
+            assertEquals(phase.name(), 0, warmUp.getCount(phase));
+        }
+        warmUp.start().join();
+        for (final WarmUp.Phase phase : WarmUp.Phase.values()) {
+            assertFalse(phase.name(), Double.isNaN(warmUp.getElapsedTime(phase)));
+        }
+        assertTrue ("Map projection providers",  warmUp.getCount(WarmUp.Phase.FACTORIES) > 0);
+        assertEquals("CRS:84, EPSG:4326, EPSG:32631", 3, warmUp.getCount(WarmUp.Phase.OBJECTS));
+        assertEquals("EPSG:4326 → EPSG:32631",        1, warmUp.getCount(WarmUp.Phase.OPERATIONS));
+    }
+}
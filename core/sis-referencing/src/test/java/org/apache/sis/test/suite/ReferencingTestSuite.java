@@ -205,6 +205,7 @@ import org.junit.BeforeClass;
     org.apache.sis.referencing.factory.sql.EPSGInstallerTest.class,
     org.apache.sis.referencing.factory.sql.epsg.DataScriptFormatterTest.class,
     org.apache.sis.referencing.EPSGFactoryFallbackTest.class,
+    org.apache.sis.referencing.EPSGSnapshotTest.class,
     org.apache.sis.referencing.AuthorityFactoriesTest.class,
     org.apache.sis.referencing.cs.CodesTest.class,
     org.apache.sis.referencing.CRSTest.class,
@@ -215,6 +216,7 @@ import org.junit.BeforeClass;
     org.apache.sis.referencing.operation.CoordinateOperationRegistryTest.class,
     org.apache.sis.referencing.operation.CoordinateOperationFinderTest.class,
     org.apache.sis.referencing.operation.DefaultCoordinateOperationFactoryTest.class,
+    org.apache.sis.setup.WarmUpTest.class,
     org.apache.sis.referencing.operation.builder.ResidualGridTest.class,
     org.apache.sis.referencing.operation.builder.LinearTransformBuilderTest.class,
     org.apache.sis.referencing.operation.builder.LocalizationGridBuilderTest.class,
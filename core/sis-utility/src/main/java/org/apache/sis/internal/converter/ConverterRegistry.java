@@ -18,6 +18,7 @@ package org.apache.sis.internal.converter;
 
 import java.util.Map;
 import java.util.LinkedHashMap;
+import java.util.concurrent.ConcurrentHashMap;
 import org.apache.sis.util.Classes;
 import org.apache.sis.util.Numbers;
 import org.apache.sis.util.ArgumentChecks;
@@ -48,7 +49,7 @@ import org.apache.sis.util.resources.Errors;
  * from multiple threads.
  *
  * @author  Martin Desruisseaux (Geomatys)
- * @version 0.8
+ * @version 1.0
  * @since   0.3
  * @module
  */
@@ -68,10 +69,24 @@ public class ConverterRegistry {
      * Synchronization if performed by {@code synchronized(converters)} statements. We tried
      * {@code ReadWriteLock}, but this is not very convenient because read operations may be
      * followed by write operations at any time if the requested converter is not in the cache.
-     * Furthermore profiling has not identified this class as a noticeable contention point.
+     * Lookups of converters already found by a previous call to {@link #find(Class, Class)}
+     * do not need synchronization since they are served by the {@link #cache} map.
      */
     private final Map<ClassPair<?,?>, ObjectConverter<?,?>> converters;
 
+    /**
+     * The converters returned by previous calls to {@link #find(Class, Class)}. This map is read without
+     * synchronization, which allow frequent lookups (for example when converting every values read from
+     * a file) to proceed without contention. Entries are added by {@code find(…)} while holding the lock
+     * on {@link #converters}, and all entries are discarded when {@link #register(ObjectConverter)} or
+     * {@link #clear()} is invoked since the result of {@code find(…)} may change after those calls.
+     * For any key of type {@code ClassPair<S,T>}, the value shall be of type
+     * {@code ObjectConverter<? super S, ? extends T>}.
+     *
+     * @see #cache(ClassPair, ObjectConverter)
+     */
+    private final Map<ClassPair<?,?>, ObjectConverter<?,?>> cache;
+
     /**
      * {@code true} if this {@code ConverterRegistry} has been initialized.
      *
@@ -84,6 +99,7 @@ public class ConverterRegistry {
      */
     public ConverterRegistry() {
         converters = new LinkedHashMap<>();
+        cache = new ConcurrentHashMap<>();
     }
 
     /**
@@ -114,6 +130,7 @@ public class ConverterRegistry {
     public void clear() {
         synchronized (converters) {
             converters.clear();
+            cache.clear();
             isInitialized = false;
         }
     }
@@ -150,6 +167,19 @@ public class ConverterRegistry {
         converters.put(key, converter);
     }
 
+    /**
+     * Remembers the value returned by {@link #find(Class, Class)} for the given key,
+     * then returns that value. This method shall be invoked while holding the lock
+     * on {@link #converters}.
+     */
+    private <S,T> ObjectConverter<? super S, ? extends T> cache(final ClassPair<S,T> key,
+            final ObjectConverter<? super S, ? extends T> converter)
+    {
+        assert Thread.holdsLock(converters);
+        cache.put(key, converter);
+        return converter;
+    }
+
     /**
      * If {@code existing} or one of its children is equals to the given {@code converter},
      * returns it. Otherwise returns {@code null}.
@@ -271,6 +301,7 @@ public class ConverterRegistry {
                 isInitialized = true;           // Before 'initialize()' for preventing infinite recursivity.
                 initialize();
             }
+            cache.clear();
             for (Class<? super T> i=targetClass; i!=null && i!=stopAt; i=i.getSuperclass()) {
                 register(new ClassPair<>(sourceClass, i), converter);
             }
@@ -438,10 +469,14 @@ public class ConverterRegistry {
             throws UnconvertibleObjectException
     {
         final ClassPair<S,T> key = new ClassPair<>(sourceClass, targetClass);
+        ObjectConverter<? super S, ? extends T> converter = key.cast(cache.get(key));
+        if (converter != null) {
+            return converter;
+        }
         synchronized (converters) {
-            ObjectConverter<? super S, ? extends T> converter = get(key);
+            converter = get(key);
             if (converter != null) {
-                return converter;
+                return cache(key, converter);
             }
             /*
              * If the user is invoking this method for the firt time, regiter the converers
@@ -453,7 +488,7 @@ public class ConverterRegistry {
                 initialize();
                 converter = get(key);
                 if (converter != null) {
-                    return converter;
+                    return cache(key, converter);
                 }
             }
             /*
@@ -468,7 +503,7 @@ public class ConverterRegistry {
                 converter = get(candidate);
                 if (converter != null) {
                     put(key, converter);
-                    return converter;
+                    return cache(key, converter);
                 }
             }
             /*
@@ -496,7 +531,7 @@ public class ConverterRegistry {
                 }
                 if (converter != null) {
                     put(key, converter);
-                    return converter;
+                    return cache(key, converter);
                 }
             }
             /*
@@ -507,7 +542,7 @@ public class ConverterRegistry {
             converter = createConverter(sourceClass, targetClass);
             if (converter != null) {
                 put(key, converter);
-                return converter;
+                return cache(key, converter);
             }
             /*
              * Still no converter found. If the source and target classes are array classes,
@@ -521,7 +556,7 @@ public class ConverterRegistry {
                             Numbers.primitiveToWrapper(sourceComponent),
                             Numbers.primitiveToWrapper(targetComponent)));
                     put(key, converter);
-                    return converter;
+                    return cache(key, converter);
                 }
             }
         }
@@ -23,6 +23,7 @@ import java.nio.charset.UnsupportedCharsetException;
 import java.net.URISyntaxException;
 import java.net.MalformedURLException;
 import java.nio.file.InvalidPathException;
+import java.time.format.DateTimeParseException;
 import javax.measure.format.ParserException;
 import org.apache.sis.math.FunctionProperty;
 import org.apache.sis.util.Locales;
@@ -65,7 +66,7 @@ import org.apache.sis.measure.Units;
  * This base class and all inner classes are immutable, and thus inherently thread-safe.
  *
  * @author  Martin Desruisseaux (Geomatys)
- * @version 0.5
+ * @version 1.0
  * @since   0.3
  * @module
  */
@@ -321,6 +322,15 @@ abstract class StringConverter<T> extends SystemConverter<String, T> {
         }
     }
 
+    public static final class Instant extends StringConverter<java.time.Instant> {
+        private static final long serialVersionUID = 2389416454815384284L;
+        public Instant() {super(java.time.Instant.class);}                          // Instantiated by ServiceLoader.
+
+        @Override java.time.Instant doConvert(String source) throws DateTimeParseException {
+            return java.time.Instant.parse(source);
+        }
+    }
+
     public static final class InternationalString extends StringConverter<org.opengis.util.InternationalString> {
         private static final long serialVersionUID = -7386778914761469877L;
         public InternationalString() {super(org.opengis.util.InternationalString.class);} // Instantiated by ServiceLoader.
@@ -0,0 +1,332 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sis.internal.system;
+
+import java.util.Map;
+import java.util.List;
+import java.util.Iterator;
+import java.util.ArrayList;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import org.apache.sis.internal.util.StandardDateFormat;
+
+
+/**
+ * Hits, misses, load time and evictions recorded by the {@link org.apache.sis.util.collection.Cache}s
+ * for which statistics have been enabled. Instances are registered by name in a static map, and all caches
+ * enabling statistics under the same name share the same instance. The statistics are published as JMX beans
+ * by the {@link Supervisor} (if JMX is enabled) when first updated, not when the caches are created.
+ * This class keeps only weak references to the cost of each cache, so registering statistics
+ * does not prevent the caches from being garbage-collected.
+ *
+ * <p>This class is thread-safe. Counters are updated with {@link LongAdder} for reducing contention
+ * when the cache is used concurrently by many threads.</p>
+ *
+ * @author  agent
+ * @version 1.0
+ * @since   1.0
+ * @module
+ */
+public final class CacheStatistics implements CacheStatisticsMBean {
+    /**
+     * All statistics registered so far, by name.
+     */
+    private static final Map<String,CacheStatistics> REGISTRY = new ConcurrentHashMap<>();
+
+    /**
+     * The name under which the cache has been registered.
+     */
+    private final String name;
+
+    /**
+     * The cost of values in each cache sharing these statistics.
+     * All accesses to this list shall be synchronized on {@code this}.
+     */
+    private final List<WeakReference<Share>> shares;
+
+    /**
+     * Whether these statistics have been given to the {@link Supervisor} for publication as a JMX bean.
+     */
+    private final AtomicBoolean published;
+
+    /**
+     * Number of cache hits and misses.
+     */
+    private final LongAdder hits, misses;
+
+    /**
+     * Number of values computed and total time spent in their computation, in nanoseconds.
+     */
+    private final LongAdder loads, loadTime;
+
+    /**
+     * Number of values moved out of the set of strong references.
+     */
+    private final LongAdder evictions;
+
+    /**
+     * The cost of values hold by strong references in a single cache.
+     * Each cache sharing the same {@link CacheStatistics} has its own instance.
+     */
+    public static final class Share {
+        /**
+         * The maximal cost allowed by the cache.
+         */
+        final long costLimit;
+
+        /**
+         * Sum of the cost of values hold by strong references.
+         * Updated by the cache while it holds its own lock.
+         */
+        private volatile long cost;
+
+        /**
+         * Creates a new share for a cache having the given cost limit.
+         */
+        Share(final long costLimit) {
+            this.costLimit = costLimit;
+        }
+
+        /**
+         * Invoked when the total cost of values hold by strong references changed.
+         *
+         * @param  total  the new total cost.
+         */
+        public void cost(final long total) {
+            cost = total;
+        }
+    }
+
+    /**
+     * Creates new statistics for caches of the given name.
+     */
+    private CacheStatistics(final String name) {
+        this.name = name;
+        shares    = new ArrayList<>();
+        published = new AtomicBoolean();
+        hits      = new LongAdder();
+        misses    = new LongAdder();
+        loads     = new LongAdder();
+        loadTime  = new LongAdder();
+        evictions = new LongAdder();
+    }
+
+    /**
+     * Returns the statistics for caches of the given name, creating them if needed.
+     * The JMX bean is not registered by this method; it will be registered when the
+     * statistics are first updated.
+     *
+     * @param  name  the name of the caches.
+     * @return the statistics to be updated by the caches.
+     */
+    public static CacheStatistics register(final String name) {
+        return REGISTRY.computeIfAbsent(name, CacheStatistics::new);
+    }
+
+    /**
+     * Adds a cache to the caches sharing these statistics.
+     * The returned object shall be updated by the cache when its cost changed.
+     *
+     * @param  costLimit  the maximal cost allowed by the cache.
+     * @return the object to update when the cost of the cache changed.
+     */
+    public synchronized Share join(final long costLimit) {
+        final Share share = new Share(costLimit);
+        shares.removeIf((ref) -> ref.get() == null);
+        shares.add(new WeakReference<>(share));
+        return share;
+    }
+
+    /**
+     * Gives these statistics to the supervisor for publication as a JMX bean, if not already done.
+     * This is done on the first update instead of at cache creation time in order to avoid
+     * registering beans from the constructors of the objects using the caches.
+     */
+    private void publish() {
+        if (published.compareAndSet(false, true) && Supervisor.ENABLED) {
+            Supervisor.register(this);
+        }
+    }
+
+    /**
+     * Returns the statistics registered under the given name.
+     *
+     * @param  name  the name of the cache.
+     * @return statistics for the cache of the given name, or {@code null} if none.
+     */
+    public static CacheStatistics forName(final String name) {
+        return REGISTRY.get(name);
+    }
+
+    /**
+     * Returns all statistics registered so far.
+     *
+     * @return all registered statistics.
+     */
+    static CacheStatistics[] all() {
+        return REGISTRY.values().toArray(new CacheStatistics[REGISTRY.size()]);
+    }
+
+    /**
+     * Invoked when a value has been found in the cache.
+     */
+    public void hit() {
+        if (!published.get()) publish();
+        hits.increment();
+    }
+
+    /**
+     * Invoked when a value has not been found in the cache.
+     */
+    public void miss() {
+        if (!published.get()) publish();
+        misses.increment();
+    }
+
+    /**
+     * Invoked when a value has been computed.
+     *
+     * @param  nanos  time elapsed in the computation, in nanoseconds.
+     */
+    public void loaded(final long nanos) {
+        loads.increment();
+        loadTime.add(nanos);
+    }
+
+    /**
+     * Invoked when a value has been removed from the set of strong references.
+     */
+    public void evicted() {
+        evictions.increment();
+    }
+
+    /**
+     * Returns the name under which the cache has been registered.
+     */
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the number of requests for which a value was already in the cache.
+     */
+    @Override
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * Returns the number of requests for which no value was in the cache.
+     */
+    @Override
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * Returns the ratio of hits over the total number of requests.
+     */
+    @Override
+    public double getHitRatio() {
+        final long h = hits.sum();
+        return h / (double) (h + misses.sum());
+    }
+
+    /**
+     * Returns the total time spent in computing the values to cache, in milliseconds.
+     */
+    @Override
+    public double getTotalLoadTime() {
+        return loadTime.sum() / (double) StandardDateFormat.NANOS_PER_MILLISECOND;
+    }
+
+    /**
+     * Returns the average time spent in computing a value to cache, in milliseconds.
+     */
+    @Override
+    public double getAverageLoadTime() {
+        return getTotalLoadTime() / loads.sum();
+    }
+
+    /**
+     * Returns the number of values removed from the set of strong references.
+     */
+    @Override
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    /**
+     * Returns the sum of the cost of all values hold by strong references in all caches.
+     */
+    @Override
+    public long getCost() {
+        long sum = 0;
+        for (final Share share : shares()) sum += share.cost;
+        return sum;
+    }
+
+    /**
+     * Returns the sum of the maximal cost allowed by each cache before to evict the eldest values.
+     */
+    @Override
+    public long getCostLimit() {
+        long sum = 0;
+        for (final Share share : shares()) sum += share.costLimit;
+        return sum;
+    }
+
+    /**
+     * Returns the shares of all caches that have not been garbage-collected.
+     */
+    private synchronized List<Share> shares() {
+        final List<Share> live = new ArrayList<>(shares.size());
+        for (final Iterator<WeakReference<Share>> it = shares.iterator(); it.hasNext();) {
+            final Share share = it.next().get();
+            if (share != null) {
+                live.add(share);
+            } else {
+                it.remove();
+            }
+        }
+        return live;
+    }
+
+    /**
+     * Resets all counters to zero.
+     */
+    @Override
+    public void reset() {
+        hits.reset();
+        misses.reset();
+        loads.reset();
+        loadTime.reset();
+        evictions.reset();
+    }
+
+    /**
+     * Returns a string representation of those statistics for debugging purpose.
+     */
+    @Override
+    public String toString() {
+        return name + ": hits=" + hits + ", misses=" + misses + ", evictions=" + evictions
+                + ", cost=" + getCost() + '/' + getCostLimit();
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sis.internal.system;
+
+
+/**
+ * Statistics about a {@link org.apache.sis.util.collection.Cache} instance, as seen by JMX clients.
+ * Those statistics can help to choose the <cite>cost limit</cite> given at cache construction time.
+ *
+ * @author  agent
+ * @version 1.0
+ * @since   1.0
+ * @module
+ */
+public interface CacheStatisticsMBean {
+    /**
+     * Returns the name under which the cache has been registered.
+     *
+     * @return the cache name.
+     */
+    String getName();
+
+    /**
+     * Returns the number of requests for which a value was already in the cache.
+     *
+     * @return number of cache hits.
+     */
+    long getHitCount();
+
+    /**
+     * Returns the number of requests for which no value was in the cache.
+     *
+     * @return number of cache misses.
+     */
+    long getMissCount();
+
+    /**
+     * Returns the ratio of hits over the total number of requests, or NaN if there is no request yet.
+     *
+     * @return number of hits divided by the number of requests.
+     */
+    double getHitRatio();
+
+    /**
+     * Returns the total time spent in computing the values to cache, in milliseconds.
+     *
+     * @return total computation time in milliseconds.
+     */
+    double getTotalLoadTime();
+
+    /**
+     * Returns the average time spent in computing a value to cache, in milliseconds.
+     *
+     * @return average computation time in milliseconds, or NaN if no value has been computed yet.
+     */
+    double getAverageLoadTime();
+
+    /**
+     * Returns the number of values that have been removed from the set of strong references
+     * because the cost limit has been exceeded.
+     *
+     * @return number of evictions.
+     */
+    long getEvictionCount();
+
+    /**
+     * Returns the sum of the cost of all values hold by strong references in all caches sharing those statistics.
+     *
+     * @return the current total cost.
+     */
+    long getCost();
+
+    /**
+     * Returns the sum of the maximal costs allowed by each cache before to evict the eldest values.
+     *
+     * @return the cost limit.
+     */
+    long getCostLimit();
+
+    /**
+     * Resets all counters to zero. The cost is not modified.
+     */
+    void reset();
+}
@@ -19,6 +19,10 @@ package org.apache.sis.internal.system;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.DelayQueue;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.sis.util.Configuration;
 import org.apache.sis.util.logging.Logging;
 
 
@@ -50,8 +54,15 @@ import org.apache.sis.util.logging.Logging;
  * a more lightweight solution seems acceptable here. Pseudo-benchmarking using the
  * {@code CacheTest.stress()} tests suggests that the lightweight solution is faster.
  *
+ * <p>Nevertheless applications with heavy cache churn may find that the single thread falls behind.
+ * For those cases, an {@linkplain #setExecutor(ScheduledExecutorService) executor can be specified}
+ * (for example a small pool), and the number of {@linkplain #backlog() pending tasks} can be monitored.
+ * Those two methods are internal API like the rest of this class: they are not part of the public API
+ * of Apache SIS (they are not exposed in the {@link org.apache.sis.setup} package) and may change or be
+ * removed in any future version without notice.</p>
+ *
  * @author  Martin Desruisseaux (Geomatys)
- * @version 0.7
+ * @version 1.0
  *
  * @see <a href="https://issues.apache.org/jira/browse/SIS-76">SIS-76</a>
  *
@@ -68,14 +79,85 @@ public final class DelayedExecutor extends DaemonThread {
      * @param  task  the task to schedule for later execution.
      */
     public static void schedule(final DelayedRunnable task) {
+        final ScheduledExecutorService ex = executor;
+        if (ex != null) {
+            PENDING.incrementAndGet();
+            try {
+                ex.schedule(() -> execute(task), task.getDelay(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS);
+                return;
+            } catch (RejectedExecutionException e) {
+                // The executor has been shutdown. Fallback on the daemon thread.
+                PENDING.decrementAndGet();
+            }
+        }
         QUEUE.add(task);
     }
 
     /**
-     * List of delayed tasks to execute.
+     * Executes the given task in the thread of the user-specified executor.
+     * Exceptions are logged instead than propagated, since the executor would otherwise
+     * silently store them in a {@link java.util.concurrent.Future} that nobody reads.
+     */
+    private static void execute(final DelayedRunnable task) {
+        try {
+            task.run();
+        } catch (Throwable exception) {
+            Logging.unexpectedException(Logging.getLogger(Loggers.SYSTEM), DelayedExecutor.class, "run", exception);
+        } finally {
+            PENDING.decrementAndGet();
+        }
+    }
+
+    /**
+     * Sets the executor to use for running the tasks submitted after this method call,
+     * or {@code null} for using the default daemon thread. The executor may use a pool
+     * of threads or any other strategy. In such case, tasks may be executed concurrently
+     * and not necessarily in the order they were submitted; tasks scheduled by SIS are
+     * designed for allowing that.
+     *
+     * <p>Tasks already submitted before this method call are executed in the previous executor.
+     * SIS does not shutdown the given executor; this is caller's responsibility. If the executor
+     * rejects a task (for example because it has been shutdown), then the task is executed by the
+     * default daemon thread.</p>
+     *
+     * <p><b>This method is for internal use only</b> (e.g. by SIS modules, tests or environments embedding
+     * SIS which need to control thread creation). It is not committed API; see class javadoc.</p>
+     *
+     * @param  ex  the executor to use, or {@code null} for the default daemon thread.
+     */
+    @Configuration
+    public static void setExecutor(final ScheduledExecutorService ex) {
+        executor = ex;
+    }
+
+    /**
+     * Returns the number of tasks waiting for execution or currently executing.
+     * This include the tasks waiting for their delay to elapse. A large value
+     * may be a sign that the executor does not keep pace with task submissions.
+     *
+     * @return number of tasks submitted but not yet completed.
+     */
+    public static int backlog() {
+        return QUEUE.size() + PENDING.get();
+    }
+
+    /**
+     * List of delayed tasks to execute by the daemon thread.
      */
     private static final BlockingQueue<DelayedRunnable> QUEUE = new DelayQueue<>();
 
+    /**
+     * The user-specified executor, or {@code null} for using the daemon thread.
+     *
+     * @see #setExecutor(ScheduledExecutorService)
+     */
+    private static volatile ScheduledExecutorService executor;
+
+    /**
+     * Number of tasks submitted to the user-specified {@link #executor} but not yet completed.
+     */
+    private static final AtomicInteger PENDING = new AtomicInteger();
+
     /**
      * Creates the singleton instance of the {@code DelayedExecutor} thread.
      */
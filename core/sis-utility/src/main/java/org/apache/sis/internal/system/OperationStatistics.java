@@ -0,0 +1,230 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sis.internal.system;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+import java.util.logging.LogRecord;
+import org.apache.sis.math.Statistics;
+import org.apache.sis.util.logging.Logging;
+import org.apache.sis.util.logging.PerformanceLevel;
+import org.apache.sis.util.resources.Messages;
+import org.apache.sis.internal.util.StandardDateFormat;
+
+
+/**
+ * Execution times recorded for an operation such as opening a data store or searching a coordinate operation.
+ * Instances are registered by name in a static map, and also as JMX beans by the {@link Supervisor} if JMX is
+ * enabled. Each execution time can also be logged at a {@link PerformanceLevel} which depends on the duration.
+ * Usage example:
+ *
+ * {@preformat java
+ *     private static final OperationStatistics OPEN = OperationStatistics.forName("Open data store");
+ *
+ *     public DataStore open(Object storage) {
+ *         final long startTime = System.nanoTime();
+ *         DataStore store = ...;
+ *         OPEN.record(startTime, Loggers.STORAGE, DataStores.class, "open");
+ *         return store;
+ *     }
+ * }
+ *
+ * Execution times are counted in a histogram of their logarithm, which allows to approximate the median
+ * and the 99th percentile with a relative accuracy of about 2% over a range from microseconds to days.
+ *
+ * <p>This class is thread-safe.</p>
+ *
+ * @author  agent
+ * @version 1.0
+ * @since   1.0
+ * @module
+ */
+public final class OperationStatistics implements OperationStatisticsMBean {
+    /**
+     * All statistics registered so far, by name.
+     */
+    private static final Map<String,OperationStatistics> REGISTRY = new ConcurrentHashMap<>();
+
+    /**
+     * Range of the histogram, as base 10 logarithms of durations in milliseconds.
+     * The current range is from 1 microsecond to about 11 days.
+     */
+    private static final int LOG_MIN = -3, LOG_MAX = 9;
+
+    /**
+     * Number of histogram bins for each power of 10.
+     */
+    private static final int BINS_PER_DECADE = 100;
+
+    /**
+     * The name under which the operation has been registered.
+     */
+    private final String name;
+
+    /**
+     * Statistics about the base 10 logarithms of execution times in milliseconds, including their histogram.
+     * Every access to this object shall be synchronized on {@code this}.
+     */
+    private final Statistics logTimes;
+
+    /**
+     * Sum of all execution times, in nanoseconds.
+     * Every access to this field shall be synchronized on {@code this}.
+     */
+    private long totalTime;
+
+    /**
+     * Creates new statistics for an operation of the given name.
+     */
+    private OperationStatistics(final String name) {
+        this.name = name;
+        logTimes = Statistics.withHistogram(name, LOG_MIN, LOG_MAX, (LOG_MAX - LOG_MIN) * BINS_PER_DECADE);
+    }
+
+    /**
+     * Returns the statistics for the operation of the given name, creating and registering them if needed.
+     *
+     * @param  name  the name of the operation.
+     * @return statistics to be updated when the operation is executed.
+     */
+    public static OperationStatistics forName(final String name) {
+        OperationStatistics stats = REGISTRY.get(name);
+        if (stats == null) {
+            final OperationStatistics created = new OperationStatistics(name);
+            stats = REGISTRY.putIfAbsent(name, created);
+            if (stats == null) {
+                stats = created;
+                if (Supervisor.ENABLED) {
+                    Supervisor.register(stats);
+                }
+            }
+        }
+        return stats;
+    }
+
+    /**
+     * Returns all statistics registered so far.
+     *
+     * @return all registered statistics.
+     */
+    static OperationStatistics[] all() {
+        return REGISTRY.values().toArray(new OperationStatistics[REGISTRY.size()]);
+    }
+
+    /**
+     * Records the execution time of an operation, in nanoseconds.
+     *
+     * @param  nanos  the execution time in nanoseconds.
+     */
+    public void record(final long nanos) {
+        final double log = Math.log10(Math.max(nanos, 1) / (double) StandardDateFormat.NANOS_PER_MILLISECOND);
+        synchronized (this) {
+            logTimes.accept(log);
+            totalTime += nanos;
+        }
+    }
+
+    /**
+     * Records the time elapsed since the given start time, and logs it at a level determined by
+     * {@link PerformanceLevel#forDuration(long, TimeUnit)} if the given logger accepts that level.
+     *
+     * @param  startTime     value of {@link System#nanoTime()} when the operation started.
+     * @param  logger        name of the logger where to log the execution time.
+     * @param  sourceClass   the class to report as the source of the log record.
+     * @param  sourceMethod  the method to report as the source of the log record.
+     * @return the execution time in nanoseconds.
+     */
+    public long record(final long startTime, final String logger, final Class<?> sourceClass, final String sourceMethod) {
+        final long nanos = System.nanoTime() - startTime;
+        record(nanos);
+        final PerformanceLevel level = PerformanceLevel.forDuration(nanos, TimeUnit.NANOSECONDS);
+        final Logger log = Logging.getLogger(logger);
+        if (log.isLoggable(level)) {
+            final LogRecord record = Messages.getResources(null).getLogRecord(level, Messages.Keys.OperationDuration_2,
+                    name, nanos / (double) StandardDateFormat.NANOS_PER_SECOND);
+            record.setLoggerName(logger);
+            Logging.log(sourceClass, sourceMethod, record);
+        }
+        return nanos;
+    }
+
+    /**
+     * Returns the name under which the operation has been registered.
+     */
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the number of times that the operation has been executed.
+     */
+    @Override
+    public synchronized long getCount() {
+        return logTimes.count();
+    }
+
+    /**
+     * Returns the average execution time, in milliseconds.
+     */
+    @Override
+    public synchronized double getAverageTime() {
+        return totalTime / (logTimes.count() * (double) StandardDateFormat.NANOS_PER_MILLISECOND);
+    }
+
+    /**
+     * Returns an approximation of the median execution time, in milliseconds.
+     */
+    @Override
+    public double getMedianTime() {
+        return percentile(0.5);
+    }
+
+    /**
+     * Returns an approximation of the 99th percentile of execution time, in milliseconds.
+     */
+    @Override
+    public double getPercentile99Time() {
+        return percentile(0.99);
+    }
+
+    /**
+     * Returns an approximation of the execution time below which the given fraction of executions fall.
+     */
+    private synchronized double percentile(final double p) {
+        return Math.pow(10, logTimes.quantile(p));
+    }
+
+    /**
+     * Returns the longest execution time, in milliseconds.
+     */
+    @Override
+    public synchronized double getMaximumTime() {
+        return Math.pow(10, logTimes.maximum());
+    }
+
+    /**
+     * Resets all statistics to zero.
+     */
+    @Override
+    public synchronized void reset() {
+        logTimes.reset();
+        totalTime = 0;
+    }
+}
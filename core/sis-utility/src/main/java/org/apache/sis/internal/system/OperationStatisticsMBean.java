@@ -0,0 +1,77 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sis.internal.system;
+
+
+/**
+ * Statistics about the execution time of an operation, as seen by JMX clients.
+ * Those statistics can help to identify which operations dominate the execution time in production.
+ * All times are in milliseconds. Percentiles are approximations computed from a histogram.
+ *
+ * @author  agent
+ * @version 1.0
+ * @since   1.0
+ * @module
+ */
+public interface OperationStatisticsMBean {
+    /**
+     * Returns the name under which the operation has been registered.
+     *
+     * @return the operation name.
+     */
+    String getName();
+
+    /**
+     * Returns the number of times that the operation has been executed.
+     *
+     * @return number of executions.
+     */
+    long getCount();
+
+    /**
+     * Returns the average execution time, in milliseconds.
+     *
+     * @return average execution time, or NaN if the operation has not been executed yet.
+     */
+    double getAverageTime();
+
+    /**
+     * Returns an approximation of the median execution time, in milliseconds.
+     *
+     * @return median execution time, or NaN if the operation has not been executed yet.
+     */
+    double getMedianTime();
+
+    /**
+     * Returns an approximation of the execution time below which 99% of executions fall, in milliseconds.
+     *
+     * @return 99th percentile of execution time, or NaN if the operation has not been executed yet.
+     */
+    double getPercentile99Time();
+
+    /**
+     * Returns the longest execution time, in milliseconds.
+     *
+     * @return longest execution time, or NaN if the operation has not been executed yet.
+     */
+    double getMaximumTime();
+
+    /**
+     * Resets all statistics to zero.
+     */
+    void reset();
+}
@@ -18,6 +18,8 @@ package org.apache.sis.internal.system;
 
 import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
+import java.util.HashSet;
 import java.util.Locale;
 import java.util.TimeZone;
 import java.util.ResourceBundle;
@@ -51,7 +53,7 @@ import org.apache.sis.util.collection.TreeTable;
  * eventually perform some operations like clearing a cache.
  *
  * @author  Martin Desruisseaux (Geomatys)
- * @version 0.7
+ * @version 1.0
  * @since   0.3
  * @module
  */
@@ -75,6 +77,12 @@ public final class Supervisor extends StandardMBean implements SupervisorMBean {
      */
     private static volatile ObjectName name;
 
+    /**
+     * The JMX object names of {@link CacheStatistics} and {@link OperationStatistics} registered by
+     * the {@code register(…)} methods. Those beans are unregistered together with the supervisor.
+     */
+    private static final Set<ObjectName> statistics = new HashSet<>();
+
     /**
      * Registers the {@code Supervisor} instance, if not already done.
      * If the supervisor has already been registered but has not yet been
@@ -108,15 +116,63 @@ public final class Supervisor extends StandardMBean implements SupervisorMBean {
         }
     }
 
+    /**
+     * Registers the given cache statistics under the {@code "org.apache.sis:type=Cache"} domain.
+     * If statistics were already registered for a cache of the same name, they are replaced.
+     * Failures are logged but not propagated, for the same reasons than {@link #register()}.
+     *
+     * @param  stats  the cache statistics to register.
+     */
+    static void register(final CacheStatistics stats) {
+        register(stats, "Cache", stats.getName());
+    }
+
+    /**
+     * Registers the given operation statistics under the {@code "org.apache.sis:type=Operation"} domain.
+     * Failures are logged but not propagated, for the same reasons than {@link #register()}.
+     *
+     * @param  stats  the operation statistics to register.
+     */
+    static void register(final OperationStatistics stats) {
+        register(stats, "Operation", stats.getName());
+    }
+
+    /**
+     * Registers the given statistics bean under the given type and name.
+     * If a bean was already registered under the same type and name, it is replaced.
+     */
+    private static synchronized void register(final Object bean, final String type, final String beanName) {
+        try {
+            final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            final ObjectName n = new ObjectName("org.apache.sis:type=" + type + ",name=" + ObjectName.quote(beanName));
+            if (server.isRegistered(n)) {
+                server.unregisterMBean(n);
+            }
+            server.registerMBean(bean, n);
+            statistics.add(n);
+        } catch (JMException | SecurityException e) {
+            final LogRecord record = new LogRecord(Level.CONFIG, e.toString());
+            record.setLoggerName(Loggers.SYSTEM);
+            Logging.log(Supervisor.class, "register", record);
+        }
+    }
+
     /**
      * Unregister the {@code Supervisor} instance. This method does nothing if the supervisor
      * has not been previously successfully {@linkplain #register() registered}, or if it has
-     * already been unregistered.
+     * already been unregistered. Cache and operation statistics are unregistered as well.
      *
      * @throws JMException if an error occurred during unregistration.
      */
     @Configuration
     static synchronized void unregister() throws JMException {
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        for (final ObjectName c : statistics) {
+            if (server.isRegistered(c)) {
+                server.unregisterMBean(c);
+            }
+        }
+        statistics.clear();
         final ObjectName n = name;
         if (n != null) {
             name = null; // Clear even if the next line fail.
@@ -234,4 +290,12 @@ public final class Supervisor extends StandardMBean implements SupervisorMBean {
         }
         return warnings;
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getPendingTasks() {
+        return DelayedExecutor.backlog();
+    }
 }
@@ -27,7 +27,7 @@ import org.apache.sis.util.collection.TreeTable;
  * Provides information about the state of a running Apache SIS instance.
  *
  * @author  Martin Desruisseaux (Geomatys)
- * @version 0.7
+ * @version 1.0
  * @since   0.3
  * @module
  */
@@ -54,4 +54,12 @@ public interface SupervisorMBean {
      * @return a description of a problems in the library, or {@code null} if none.
      */
     String[] warnings(Locale locale);
+
+    /**
+     * Returns the number of house-keeping tasks (cache maintenance, closing of unused resources, <i>etc.</i>)
+     * submitted but not yet completed. A value that keeps growing means that the executor does not keep pace.
+     *
+     * @return number of pending house-keeping tasks.
+     */
+    int getPendingTasks();
 }
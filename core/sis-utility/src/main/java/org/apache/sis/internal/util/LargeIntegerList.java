@@ -0,0 +1,393 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sis.internal.util;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import org.apache.sis.util.ArgumentChecks;
+import org.apache.sis.util.resources.Errors;
+
+
+/**
+ * A fixed-size list of unsigned integer values packed in {@link LongBuffer}s.
+ * This is a variant of {@link org.apache.sis.util.collection.IntegerList} for very large tables
+ * such as record offsets in feature files: values can use up to 63 bits, the list can contain
+ * more than 2<sup>31</sup> elements, and the values can be stored outside the Java heap in
+ * direct or memory-mapped buffers.
+ *
+ * <p>Values are stored in a sequence of buffers named "chunks". Each chunk except the last one shall have
+ * a capacity of at least {@value #CHUNK_LENGTH} {@code long} values ({@value #CHUNK_BYTES} bytes);
+ * only the first {@value #CHUNK_LENGTH} values of those chunks are used. This is because a single
+ * buffer can not hold more than 2<sup>31</sup> bytes. The number of bytes needed for a list of a
+ * given size is given by {@link #byteCount(long, long)}.</p>
+ *
+ * <p>This class does not implement {@link java.util.List} because the number of elements may exceed
+ * the {@code int} range. This class is not thread-safe, but concurrent reads are safe if no thread
+ * writes values.</p>
+ *
+ * @author  agent
+ * @version 1.0
+ * @since   1.0
+ * @module
+ */
+public final class LargeIntegerList {
+    /**
+     * Number of bits in each element of the buffers.
+     */
+    private static final int VALUE_SIZE = Long.SIZE;
+
+    /**
+     * The shift to apply on a bit index in order to get the index of the {@code long} containing that bit.
+     * The following relation must hold: {@code (1 <<< BASE_SHIFT) == VALUE_SIZE}.
+     */
+    private static final int BASE_SHIFT = 6;
+
+    /**
+     * The mask to apply on a bit index in order to get the bit position inside a {@code long}.
+     */
+    private static final int OFFSET_MASK = VALUE_SIZE - 1;
+
+    /**
+     * Default {@link #chunkShift} value. Chunks of 2<sup>27</sup> {@code long} values are 1 Gb large.
+     */
+    private static final int CHUNK_SHIFT = 27;
+
+    /**
+     * Number of {@code long} values used in each chunk except the last one.
+     */
+    public static final int CHUNK_LENGTH = 1 << CHUNK_SHIFT;
+
+    /**
+     * Number of bytes used in each chunk except the last one.
+     */
+    public static final int CHUNK_BYTES = CHUNK_LENGTH * Long.BYTES;
+
+    /**
+     * The packed values, stored in chunks of 2<sup>{@link #chunkShift}</sup> {@code long} values.
+     */
+    private final LongBuffer[] chunks;
+
+    /**
+     * The shift to apply on the index of a {@code long} value in order to get the chunk index.
+     * This is {@value #CHUNK_SHIFT} except in tests.
+     */
+    private final int chunkShift;
+
+    /**
+     * The mask to apply on the index of a {@code long} value in order to get the position in its chunk.
+     */
+    private final int chunkMask;
+
+    /**
+     * The bit count for values.
+     */
+    private final int bitCount;
+
+    /**
+     * The mask computed as {@code (1L << bitCount) - 1}.
+     */
+    private final long mask;
+
+    /**
+     * The number of values in this list.
+     */
+    private final long size;
+
+    /**
+     * Creates a list of the given size backed by the given buffers. The buffers may be views over
+     * direct or memory-mapped byte buffers, for example {@code channel.map(…).asLongBuffer()}.
+     * Values are accessed with absolute get and put operations starting at index 0 of each buffer,
+     * ignoring buffer positions and limits. Current content of the buffers is used as-is.
+     *
+     * @param  chunks        the buffers where to read and write the packed values.
+     * @param  size          number of values in the list.
+     * @param  maximalValue  the maximal value to be allowed, inclusive.
+     * @throws IllegalArgumentException if the given buffers are not large enough for the given size.
+     */
+    public LargeIntegerList(final LongBuffer[] chunks, final long size, final long maximalValue) {
+        this(chunks, size, maximalValue, CHUNK_SHIFT);
+    }
+
+    /**
+     * Creates a list backed by chunks of the given length. Used for testing with small chunks.
+     */
+    LargeIntegerList(final LongBuffer[] chunks, final long size, final long maximalValue, final int chunkShift) {
+        ArgumentChecks.ensureNonNull("chunks", chunks);
+        ArgumentChecks.ensurePositive("size", size);
+        this.chunkShift = chunkShift;
+        this.chunkMask  = (1 << chunkShift) - 1;
+        this.bitCount   = bitCount(maximalValue);
+        this.mask       = (1L << bitCount) - 1;
+        this.size       = size;
+        this.chunks     = chunks.clone();
+        long remaining  = length(size, bitCount);
+        final long n    = numChunks(remaining, chunkShift);
+        if (n > chunks.length) {
+            throw new IllegalArgumentException(Errors.format(Errors.Keys.InsufficientArgumentSize_3, "chunks", n, chunks.length));
+        }
+        for (int i=0; i<n; i++) {
+            final LongBuffer c = this.chunks[i];
+            ArgumentChecks.ensureNonNullElement("chunks", i, c);
+            final long required = Math.min(remaining, 1L << chunkShift);
+            if (c.capacity() < required) {
+                throw new IllegalArgumentException(Errors.format(Errors.Keys.InsufficientArgumentSize_3,
+                        "chunks[" + i + ']', required, c.capacity()));
+            }
+            remaining -= required;
+        }
+    }
+
+    /**
+     * Creates a list of the given size with all values initialized to 0.
+     * If {@code direct} is {@code true}, then the values are stored outside the Java heap
+     * using the native byte order.
+     *
+     * @param  size          number of values in the list.
+     * @param  maximalValue  the maximal value to be allowed, inclusive.
+     * @param  direct        {@code true} for allocating direct buffers, or {@code false} for heap buffers.
+     * @return a list of the given size with all values set to 0.
+     */
+    public static LargeIntegerList allocate(final long size, final long maximalValue, final boolean direct) {
+        ArgumentChecks.ensurePositive("size", size);
+        long remaining = length(size, bitCount(maximalValue));
+        final LongBuffer[] chunks = new LongBuffer[Math.toIntExact(numChunks(remaining, CHUNK_SHIFT))];
+        for (int i=0; i<chunks.length; i++) {
+            final int n = (int) Math.min(remaining, CHUNK_LENGTH);
+            chunks[i] = direct ? ByteBuffer.allocateDirect(n * Long.BYTES).order(ByteOrder.nativeOrder()).asLongBuffer()
+                               : LongBuffer.allocate(n);
+            remaining -= n;
+        }
+        return new LargeIntegerList(chunks, size, maximalValue);
+    }
+
+    /**
+     * Returns the number of bytes required for storing a list of the given size.
+     * This is the sum of the capacities of all chunks, in bytes.
+     *
+     * @param  size          number of values in the list.
+     * @param  maximalValue  the maximal value to be allowed, inclusive.
+     * @return number of bytes required for storing the packed values.
+     */
+    public static long byteCount(final long size, final long maximalValue) {
+        ArgumentChecks.ensurePositive("size", size);
+        return length(size, bitCount(maximalValue)) * Long.BYTES;
+    }
+
+    /**
+     * Returns the number of bits required for storing values up to the given maximal value.
+     */
+    private static int bitCount(final long maximalValue) {
+        ArgumentChecks.ensureStrictlyPositive("maximalValue", maximalValue);
+        return Long.SIZE - Long.numberOfLeadingZeros(maximalValue);
+    }
+
+    /**
+     * Returns the number of {@code long} values required for holding a list of the given size.
+     */
+    private static long length(final long size, final int bitCount) {
+        final long bits = Math.multiplyExact(size, bitCount);
+        long length = bits >>> BASE_SHIFT;
+        if ((bits & OFFSET_MASK) != 0) {
+            length++;
+        }
+        return length;
+    }
+
+    /**
+     * Returns the number of chunks required for holding the given number of {@code long} values.
+     */
+    private static long numChunks(final long length, final int chunkShift) {
+        return (length + ((1L << chunkShift) - 1)) >>> chunkShift;
+    }
+
+    /**
+     * Returns the maximal value that can be stored in this list.
+     * May be slightly higher than the value given to the constructor.
+     *
+     * @return the maximal value, inclusive.
+     */
+    public long maximalValue() {
+        return mask;
+    }
+
+    /**
+     * Returns the number of values in this list.
+     *
+     * @return the number of values.
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Returns the packed {@code long} value at the given index, counting from the beginning of the first chunk.
+     */
+    private long word(final long i) {
+        return chunks[(int) (i >>> chunkShift)].get(((int) i) & chunkMask);
+    }
+
+    /**
+     * Sets the packed {@code long} value at the given index, counting from the beginning of the first chunk.
+     */
+    private void word(final long i, final long value) {
+        chunks[(int) (i >>> chunkShift)].put(((int) i) & chunkMask, value);
+    }
+
+    /**
+     * Returns the element at the given index.
+     *
+     * @param  index  the element index.
+     * @return the value at the given index.
+     * @throws IndexOutOfBoundsException if the given index is out of bounds.
+     */
+    public long getLong(final long index) throws IndexOutOfBoundsException {
+        ensureValidRange(index, 1);
+        final long bit = index * bitCount;
+        long base  = bit >>> BASE_SHIFT;
+        int offset = (int) (bit & OFFSET_MASK);
+        long value = word(base) >>> offset;
+        offset = VALUE_SIZE - offset;
+        if (offset < bitCount) {
+            value |= word(++base) << offset;
+        }
+        return value & mask;
+    }
+
+    /**
+     * Sets the element at the given index.
+     *
+     * @param  index  the element index.
+     * @param  value  the value at the given index.
+     * @throws IndexOutOfBoundsException if the given index is out of bounds.
+     * @throws IllegalArgumentException if the given value is out of bounds.
+     */
+    public void setLong(final long index, final long value) throws IndexOutOfBoundsException {
+        ensureValidRange(index, 1);
+        ArgumentChecks.ensureBetween("value", 0, mask, value);
+        final long bit = index * bitCount;
+        long base  = bit >>> BASE_SHIFT;
+        int offset = (int) (bit & OFFSET_MASK);
+        word(base, (word(base) & ~(mask << offset)) | (value << offset));
+        offset = VALUE_SIZE - offset;
+        if (offset < bitCount) {
+            base++;
+            word(base, (word(base) & ~(mask >>> offset)) | (value >>> offset));
+        }
+    }
+
+    /**
+     * Copies a range of values from this list into the given array.
+     * This method is more efficient than invoking {@link #getLong(long)} in a loop
+     * since each packed {@code long} value is read only once.
+     *
+     * @param  index   index of the first value to copy.
+     * @param  dest    the array where to copy the values.
+     * @param  offset  index in {@code dest} where to copy the first value.
+     * @param  length  number of values to copy.
+     * @throws IndexOutOfBoundsException if the given ranges are out of bounds.
+     */
+    public void getLongs(final long index, final long[] dest, int offset, int length) throws IndexOutOfBoundsException {
+        ensureValidRange(index, length);
+        ArgumentChecks.ensureValidIndexRange(dest.length, offset, offset + length);
+        if (length == 0) {
+            return;
+        }
+        final long bit = index * bitCount;
+        long base  = bit >>> BASE_SHIFT;
+        int  shift = (int) (bit & OFFSET_MASK);
+        long word  = word(base);
+        for (;;) {
+            long value = word >>> shift;
+            shift += bitCount;
+            if (shift >= VALUE_SIZE) {
+                shift -= VALUE_SIZE;
+                if (shift != 0) {
+                    word = word(++base);
+                    value |= word << (bitCount - shift);
+                } else if (length > 1) {
+                    word = word(++base);
+                }
+            }
+            dest[offset++] = value & mask;
+            if (--length == 0) break;
+        }
+    }
+
+    /**
+     * Copies a range of values from the given array into this list.
+     * This method is more efficient than invoking {@link #setLong(long, long)} in a loop
+     * since each packed {@code long} value is read and written only once.
+     * All values are verified before any value is written.
+     *
+     * @param  index   index of the first value to set in this list.
+     * @param  src     the array from which to copy the values.
+     * @param  offset  index in {@code src} of the first value to copy.
+     * @param  length  number of values to copy.
+     * @throws IndexOutOfBoundsException if the given ranges are out of bounds.
+     * @throws IllegalArgumentException if a value is out of bounds.
+     */
+    public void setLongs(final long index, final long[] src, int offset, int length) throws IndexOutOfBoundsException {
+        ensureValidRange(index, length);
+        ArgumentChecks.ensureValidIndexRange(src.length, offset, offset + length);
+        for (int i=0; i<length; i++) {
+            final long value = src[offset + i];
+            if ((value & ~mask) != 0) {
+                throw new IllegalArgumentException(Errors.format(Errors.Keys.ValueOutOfRange_4,
+                        "src[" + (offset + i) + ']', 0, mask, value));
+            }
+        }
+        if (length == 0) {
+            return;
+        }
+        final long bit = index * bitCount;
+        long base  = bit >>> BASE_SHIFT;
+        int  shift = (int) (bit & OFFSET_MASK);
+        long word  = word(base);
+        for (;;) {
+            final long value = src[offset++];
+            word = (word & ~(mask << shift)) | (value << shift);
+            shift += bitCount;
+            if (shift >= VALUE_SIZE) {
+                word(base, word);
+                shift -= VALUE_SIZE;
+                if (shift == 0 && length == 1) {
+                    return;                             // Last value ended exactly on a word boundary.
+                }
+                word = word(++base);
+                if (shift != 0) {
+                    final int low = bitCount - shift;   // Number of bits written in the previous word.
+                    word = (word & ~(mask >>> low)) | (value >>> low);
+                }
+            }
+            if (--length == 0) break;
+        }
+        word(base, word);
+    }
+
+    /**
+     * Ensures that the given range of elements is inside this list.
+     */
+    private void ensureValidRange(final long index, final int length) {
+        if (length < 0) {
+            throw new IllegalArgumentException(Errors.format(Errors.Keys.NegativeArgument_2, "length", length));
+        }
+        if (index < 0 || index > size - length) {
+            throw new IndexOutOfBoundsException(Errors.format(Errors.Keys.IndexOutOfBounds_1, (index < 0) ? index : index + length - 1));
+        }
+    }
+}
@@ -30,7 +30,7 @@ import org.apache.sis.measure.NumberRange;
  * so changes in the underlying array is reflected in this vector and vis-versa.
  *
  * @author  Martin Desruisseaux (MPO, Geomatys)
- * @version 0.8
+ * @version 1.0
  * @since   0.8
  * @module
  */
@@ -260,6 +260,12 @@ abstract class ArrayVector<E extends Number> extends Vector implements CheckedCo
             return array.clone();
         }
 
+        /** Copies a range of values in the given array. */
+        @Override public void doubleValues(final int from, final double[] dest, final int offset, final int length) {
+            ensureValidRange(from, dest.length, offset, length);
+            System.arraycopy(array, from, dest, offset, length);
+        }
+
         /** Returns a copy of current data as a floating point array. */
         @Override public float[] floatValues() {
             return Numerics.copyAsFloats(array);
@@ -342,6 +348,20 @@ abstract class ArrayVector<E extends Number> extends Vector implements CheckedCo
         @Override public final float[] floatValues() {
             return array.clone();
         }
+
+        /** Copies a range of values in the given array. */
+        @Override public void doubleValues(final int from, final double[] dest, final int offset, final int length) {
+            ensureValidRange(from, dest.length, offset, length);
+            for (int i=0; i<length; i++) {
+                dest[offset + i] = array[from + i];
+            }
+        }
+
+        /** Copies a range of values in the given array. */
+        @Override public final void floatValues(final int from, final float[] dest, final int offset, final int length) {
+            ensureValidRange(from, dest.length, offset, length);
+            System.arraycopy(array, from, dest, offset, length);
+        }
     }
 
     /**
@@ -373,6 +393,14 @@ abstract class ArrayVector<E extends Number> extends Vector implements CheckedCo
             return NumberRange.create(DecimalFunctions.floatToDouble(min), true,
                                       DecimalFunctions.floatToDouble(max), true);
         }
+
+        /** Copies a range of values in the given array. */
+        @Override public void doubleValues(final int from, final double[] dest, final int offset, final int length) {
+            ensureValidRange(from, dest.length, offset, length);
+            for (int i=0; i<length; i++) {
+                dest[offset + i] = DecimalFunctions.floatToDouble(super.floatValue(from + i));
+            }
+        }
     }
 
     /**
@@ -431,6 +459,22 @@ abstract class ArrayVector<E extends Number> extends Vector implements CheckedCo
             return NumberRange.create(min, true, max, true);
         }
 
+        /** Copies a range of values in the given array. */
+        @Override public void doubleValues(final int from, final double[] dest, final int offset, final int length) {
+            ensureValidRange(from, dest.length, offset, length);
+            for (int i=0; i<length; i++) {
+                dest[offset + i] = array[from + i];
+            }
+        }
+
+        /** Copies a range of values in the given array. */
+        @Override public void floatValues(final int from, final float[] dest, final int offset, final int length) {
+            ensureValidRange(from, dest.length, offset, length);
+            for (int i=0; i<length; i++) {
+                dest[offset + i] = array[from + i];
+            }
+        }
+
         /**
          * Returns the increment between values if this increment is constant, or {@code null} otherwise.
          * Addition or subtraction of unsigned integers are bitwise identical to the same operations on
@@ -518,6 +562,22 @@ abstract class ArrayVector<E extends Number> extends Vector implements CheckedCo
             return NumberRange.create(min, true, max, true);
         }
 
+        /** Copies a range of values in the given array. */
+        @Override public void doubleValues(final int from, final double[] dest, final int offset, final int length) {
+            ensureValidRange(from, dest.length, offset, length);
+            for (int i=0; i<length; i++) {
+                dest[offset + i] = array[from + i];
+            }
+        }
+
+        /** Copies a range of values in the given array. */
+        @Override public void floatValues(final int from, final float[] dest, final int offset, final int length) {
+            ensureValidRange(from, dest.length, offset, length);
+            for (int i=0; i<length; i++) {
+                dest[offset + i] = array[from + i];
+            }
+        }
+
         /**
          * Returns the increment between values if this increment is constant, or {@code null} otherwise.
          * Addition or subtraction of unsigned integers are bitwise identical to the same operations on
@@ -609,6 +669,22 @@ abstract class ArrayVector<E extends Number> extends Vector implements CheckedCo
             return NumberRange.create(min, true, max, true);
         }
 
+        /** Copies a range of values in the given array. */
+        @Override public void doubleValues(final int from, final double[] dest, final int offset, final int length) {
+            ensureValidRange(from, dest.length, offset, length);
+            for (int i=0; i<length; i++) {
+                dest[offset + i] = array[from + i];
+            }
+        }
+
+        /** Copies a range of values in the given array. */
+        @Override public void floatValues(final int from, final float[] dest, final int offset, final int length) {
+            ensureValidRange(from, dest.length, offset, length);
+            for (int i=0; i<length; i++) {
+                dest[offset + i] = array[from + i];
+            }
+        }
+
         /*
          * Not worth to override 'increment(double)' because the array can not be long anyway
          * (except if the increment is zero) and the implicit conversion of 'short' to 'int'
@@ -675,6 +751,22 @@ abstract class ArrayVector<E extends Number> extends Vector implements CheckedCo
             return NumberRange.create(min, true, max, true);
         }
 
+        /** Copies a range of values in the given array. */
+        @Override public void doubleValues(final int from, final double[] dest, final int offset, final int length) {
+            ensureValidRange(from, dest.length, offset, length);
+            for (int i=0; i<length; i++) {
+                dest[offset + i] = array[from + i];
+            }
+        }
+
+        /** Copies a range of values in the given array. */
+        @Override public void floatValues(final int from, final float[] dest, final int offset, final int length) {
+            ensureValidRange(from, dest.length, offset, length);
+            for (int i=0; i<length; i++) {
+                dest[offset + i] = array[from + i];
+            }
+        }
+
         /*
          * Not worth to override 'increment(double)' because the array can not be long anyway
          * (except if the increment is zero) and the implicit conversion of 'byte' to 'int'
@@ -730,6 +822,22 @@ abstract class ArrayVector<E extends Number> extends Vector implements CheckedCo
             }
             return NumberRange.create(min, true, max, true);
         }
+
+        /** Copies a range of values in the given array. */
+        @Override public void doubleValues(final int from, final double[] dest, final int offset, final int length) {
+            ensureValidRange(from, dest.length, offset, length);
+            for (int i=0; i<length; i++) {
+                dest[offset + i] = Numerics.toUnsignedDouble(super.longValue(from + i));
+            }
+        }
+
+        /** Copies a range of values in the given array. */
+        @Override public void floatValues(final int from, final float[] dest, final int offset, final int length) {
+            ensureValidRange(from, dest.length, offset, length);
+            for (int i=0; i<length; i++) {
+                dest[offset + i] = Numerics.toUnsignedFloat(super.longValue(from + i));
+            }
+        }
     }
 
     /**
@@ -771,6 +879,22 @@ abstract class ArrayVector<E extends Number> extends Vector implements CheckedCo
             }
             return NumberRange.create(min, true, max, true);
         }
+
+        /** Copies a range of values in the given array. */
+        @Override public void doubleValues(final int from, final double[] dest, final int offset, final int length) {
+            ensureValidRange(from, dest.length, offset, length);
+            for (int i=0; i<length; i++) {
+                dest[offset + i] = Integer.toUnsignedLong(super.intValue(from + i));
+            }
+        }
+
+        /** Copies a range of values in the given array. */
+        @Override public void floatValues(final int from, final float[] dest, final int offset, final int length) {
+            ensureValidRange(from, dest.length, offset, length);
+            for (int i=0; i<length; i++) {
+                dest[offset + i] = Integer.toUnsignedLong(super.intValue(from + i));
+            }
+        }
     }
 
     /**
@@ -813,6 +937,22 @@ abstract class ArrayVector<E extends Number> extends Vector implements CheckedCo
             }
             return NumberRange.create(min, true, max, true);
         }
+
+        /** Copies a range of values in the given array. */
+        @Override public void doubleValues(final int from, final double[] dest, final int offset, final int length) {
+            ensureValidRange(from, dest.length, offset, length);
+            for (int i=0; i<length; i++) {
+                dest[offset + i] = Short.toUnsignedInt(super.shortValue(from + i));
+            }
+        }
+
+        /** Copies a range of values in the given array. */
+        @Override public void floatValues(final int from, final float[] dest, final int offset, final int length) {
+            ensureValidRange(from, dest.length, offset, length);
+            for (int i=0; i<length; i++) {
+                dest[offset + i] = Short.toUnsignedInt(super.shortValue(from + i));
+            }
+        }
     }
 
     /**
@@ -856,6 +996,22 @@ abstract class ArrayVector<E extends Number> extends Vector implements CheckedCo
             }
             return NumberRange.create(min, true, max, true);
         }
+
+        /** Copies a range of values in the given array. */
+        @Override public void doubleValues(final int from, final double[] dest, final int offset, final int length) {
+            ensureValidRange(from, dest.length, offset, length);
+            for (int i=0; i<length; i++) {
+                dest[offset + i] = Byte.toUnsignedInt(super.byteValue(from + i));
+            }
+        }
+
+        /** Copies a range of values in the given array. */
+        @Override public void floatValues(final int from, final float[] dest, final int offset, final int length) {
+            ensureValidRange(from, dest.length, offset, length);
+            for (int i=0; i<length; i++) {
+                dest[offset + i] = Byte.toUnsignedInt(super.byteValue(from + i));
+            }
+        }
     }
 
     /**
@@ -0,0 +1,318 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sis.math;
+
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ShortBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.FloatBuffer;
+import java.nio.DoubleBuffer;
+import org.apache.sis.util.Numbers;
+import org.apache.sis.util.resources.Errors;
+import org.apache.sis.internal.util.Numerics;
+
+
+/**
+ * A vector backed by a NIO buffer. This class does not copy the buffer content,
+ * so changes in the underlying buffer are reflected in this vector and vis-versa.
+ * The vector contains the elements from the buffer position to the buffer limit
+ * at the time this vector has been created; subsequent changes of buffer position
+ * or limit do not change the vector.
+ *
+ * <p>This is useful for wrapping data read by file formats like netCDF without copying them
+ * in a Java array, for example when the buffer is a direct buffer or a memory-mapped file.</p>
+ *
+ * @author  agent
+ * @version 1.0
+ * @since   1.0
+ * @module
+ */
+abstract class BufferVector extends Vector {
+    /**
+     * Whether integer values should be interpreted as unsigned values.
+     * Ignored for floating point types.
+     */
+    final boolean isUnsigned;
+
+    /**
+     * For sub-classes constructor.
+     */
+    BufferVector(final boolean isUnsigned) {
+        this.isUnsigned = isUnsigned;
+    }
+
+    /**
+     * Creates a new vector for the remaining elements of the given buffer.
+     *
+     * @throws IllegalArgumentException if the type of the given buffer is not recognized by the method.
+     */
+    static Vector newInstance(final Buffer buffer, final boolean isUnsigned) throws IllegalArgumentException {
+        if (buffer instanceof DoubleBuffer) return new Doubles (((DoubleBuffer) buffer).slice());
+        if (buffer instanceof FloatBuffer)  return new Floats  (((FloatBuffer)  buffer).slice());
+        if (buffer instanceof LongBuffer)   return new Longs   (((LongBuffer)   buffer).slice(), isUnsigned);
+        if (buffer instanceof IntBuffer)    return new Integers(((IntBuffer)    buffer).slice(), isUnsigned);
+        if (buffer instanceof ShortBuffer)  return new Shorts  (((ShortBuffer)  buffer).slice(), isUnsigned);
+        if (buffer instanceof ByteBuffer)   return new Bytes   (((ByteBuffer)   buffer).slice(), isUnsigned);
+        throw new IllegalArgumentException(Errors.format(Errors.Keys.IllegalArgumentClass_2, "buffer", buffer.getClass()));
+    }
+
+    /**
+     * Returns whether integer values are interpreted as unsigned values.
+     */
+    @Override
+    public final boolean isUnsigned() {
+        return isUnsigned;
+    }
+
+    /**
+     * Default implementation for the convenience of wrapper of integer types.
+     */
+    @Override
+    public boolean isNaN(final int index) {
+        return false;
+    }
+
+    /**
+     * Verifies that a value of the given type can be stored in this vector.
+     * The expected type must be one of the {@link Numbers} constants.
+     */
+    final void verifyType(final Number value, final byte expected) {
+        final byte t = Numbers.getEnumConstant(value.getClass());
+        if (t < Numbers.BYTE || t > expected) {
+            throw new ClassCastException(Errors.format(Errors.Keys.CanNotConvertFromType_2,
+                    value.getClass(), Numbers.wrapperToPrimitive(getElementType())));
+        }
+    }
+
+    /**
+     * A vector backed by a {@link DoubleBuffer}.
+     */
+    private static final class Doubles extends BufferVector {
+        /** The backing buffer. */
+        private final DoubleBuffer buffer;
+
+        /** Creates a new vector for the given buffer. */
+        Doubles(final DoubleBuffer buffer) {
+            super(false);
+            this.buffer = buffer;
+        }
+
+        @Override public Class<Double> getElementType()  {return Double.class;}
+        @Override public int     size()                  {return buffer.limit();}
+        @Override public boolean isNaN      (int index)  {return Double.isNaN(buffer.get(index));}
+        @Override public String  stringValue(int index)  {return Double.toString(buffer.get(index));}
+        @Override public double  doubleValue(int index)  {return buffer.get(index);}
+        @Override public float   floatValue (int index)  {return (float) buffer.get(index);}
+        @Override public Number  get        (int index)  {return buffer.get(index);}
+        @Override public Number  set(final int index, final Number value) {
+            final double old = buffer.get(index);
+            buffer.put(index, value.doubleValue());
+            modCount++;
+            return old;
+        }
+
+        /** Copies values from the buffer in a single bulk operation. */
+        @Override public void doubleValues(final int from, final double[] dest, final int offset, final int length) {
+            ensureValidRange(from, dest.length, offset, length);
+            final DoubleBuffer b = buffer.duplicate();
+            b.position(from);
+            b.get(dest, offset, length);
+        }
+    }
+
+    /**
+     * A vector backed by a {@link FloatBuffer}.
+     */
+    private static final class Floats extends BufferVector {
+        /** The backing buffer. */
+        private final FloatBuffer buffer;
+
+        /** Creates a new vector for the given buffer. */
+        Floats(final FloatBuffer buffer) {
+            super(false);
+            this.buffer = buffer;
+        }
+
+        @Override public Class<Float> getElementType()   {return Float.class;}
+        @Override public int     size()                  {return buffer.limit();}
+        @Override public boolean isNaN      (int index)  {return Float.isNaN(buffer.get(index));}
+        @Override public String  stringValue(int index)  {return Float.toString(buffer.get(index));}
+        @Override public double  doubleValue(int index)  {return buffer.get(index);}
+        @Override public float   floatValue (int index)  {return buffer.get(index);}
+        @Override public Number  get        (int index)  {return buffer.get(index);}
+        @Override public Number  set(final int index, final Number value) {
+            final float old = buffer.get(index);
+            buffer.put(index, value.floatValue());
+            modCount++;
+            return old;
+        }
+
+        /** Copies values from the buffer in a single bulk operation. */
+        @Override public void floatValues(final int from, final float[] dest, final int offset, final int length) {
+            ensureValidRange(from, dest.length, offset, length);
+            final FloatBuffer b = buffer.duplicate();
+            b.position(from);
+            b.get(dest, offset, length);
+        }
+    }
+
+    /**
+     * A vector backed by a {@link LongBuffer}.
+     */
+    private static final class Longs extends BufferVector {
+        /** The backing buffer. */
+        private final LongBuffer buffer;
+
+        /** Creates a new vector for the given buffer. */
+        Longs(final LongBuffer buffer, final boolean isUnsigned) {
+            super(isUnsigned);
+            this.buffer = buffer;
+        }
+
+        @Override public Class<Long> getElementType()    {return Long.class;}
+        @Override public boolean isInteger()             {return true;}
+        @Override public int     size()                  {return buffer.limit();}
+        @Override public Number  get        (int index)  {return longValue(index);}
+        @Override public long    longValue  (int index)  {
+            final long value = buffer.get(index);
+            if (value >= 0 || !isUnsigned) return value;
+            throw new ArithmeticException();
+        }
+        @Override public double  doubleValue(int index)  {
+            final long value = buffer.get(index);
+            return isUnsigned ? Numerics.toUnsignedDouble(value) : value;
+        }
+        @Override public float   floatValue (int index)  {
+            final long value = buffer.get(index);
+            return isUnsigned ? Numerics.toUnsignedFloat(value) : value;
+        }
+        @Override public String  stringValue(int index)  {
+            final long value = buffer.get(index);
+            return isUnsigned ? Long.toUnsignedString(value) : Long.toString(value);
+        }
+        @Override public Number  set(final int index, final Number value) {
+            verifyType(value, Numbers.LONG);
+            final Number old = get(index);
+            buffer.put(index, value.longValue());
+            modCount++;
+            return old;
+        }
+    }
+
+    /**
+     * A vector backed by an {@link IntBuffer}.
+     */
+    private static final class Integers extends BufferVector {
+        /** The backing buffer. */
+        private final IntBuffer buffer;
+
+        /** Creates a new vector for the given buffer. */
+        Integers(final IntBuffer buffer, final boolean isUnsigned) {
+            super(isUnsigned);
+            this.buffer = buffer;
+        }
+
+        @Override public Class<Integer> getElementType() {return Integer.class;}
+        @Override public boolean isInteger()             {return true;}
+        @Override public int     size()                  {return buffer.limit();}
+        @Override public long    longValue  (int index)  {
+            final int value = buffer.get(index);
+            return isUnsigned ? Integer.toUnsignedLong(value) : value;
+        }
+        @Override public double  doubleValue(int index)  {return longValue(index);}
+        @Override public float   floatValue (int index)  {return longValue(index);}
+        @Override public String  stringValue(int index)  {return Long.toString(longValue(index));}
+        @Override public Number  get        (int index)  {return intValue(index);}
+        @Override public Number  set(final int index, final Number value) {
+            verifyType(value, Numbers.INTEGER);
+            final Number old = get(index);
+            buffer.put(index, value.intValue());
+            modCount++;
+            return old;
+        }
+    }
+
+    /**
+     * A vector backed by a {@link ShortBuffer}.
+     */
+    private static final class Shorts extends BufferVector {
+        /** The backing buffer. */
+        private final ShortBuffer buffer;
+
+        /** Creates a new vector for the given buffer. */
+        Shorts(final ShortBuffer buffer, final boolean isUnsigned) {
+            super(isUnsigned);
+            this.buffer = buffer;
+        }
+
+        @Override public Class<Short> getElementType()   {return Short.class;}
+        @Override public boolean isInteger()             {return true;}
+        @Override public int     size()                  {return buffer.limit();}
+        @Override public int     intValue   (int index)  {
+            final short value = buffer.get(index);
+            return isUnsigned ? Short.toUnsignedInt(value) : value;
+        }
+        @Override public long    longValue  (int index)  {return intValue(index);}
+        @Override public double  doubleValue(int index)  {return intValue(index);}
+        @Override public float   floatValue (int index)  {return intValue(index);}
+        @Override public String  stringValue(int index)  {return Integer.toString(intValue(index));}
+        @Override public Number  get        (int index)  {return shortValue(index);}
+        @Override public Number  set(final int index, final Number value) {
+            verifyType(value, Numbers.SHORT);
+            final Number old = get(index);
+            buffer.put(index, value.shortValue());
+            modCount++;
+            return old;
+        }
+    }
+
+    /**
+     * A vector backed by a {@link ByteBuffer}.
+     */
+    private static final class Bytes extends BufferVector {
+        /** The backing buffer. */
+        private final ByteBuffer buffer;
+
+        /** Creates a new vector for the given buffer. */
+        Bytes(final ByteBuffer buffer, final boolean isUnsigned) {
+            super(isUnsigned);
+            this.buffer = buffer;
+        }
+
+        @Override public Class<Byte> getElementType()    {return Byte.class;}
+        @Override public boolean isInteger()             {return true;}
+        @Override public int     size()                  {return buffer.limit();}
+        @Override public int     intValue   (int index)  {
+            final byte value = buffer.get(index);
+            return isUnsigned ? Byte.toUnsignedInt(value) : value;
+        }
+        @Override public long    longValue  (int index)  {return intValue(index);}
+        @Override public double  doubleValue(int index)  {return intValue(index);}
+        @Override public float   floatValue (int index)  {return intValue(index);}
+        @Override public String  stringValue(int index)  {return Integer.toString(intValue(index));}
+        @Override public Number  get        (int index)  {return shortValue(index);}
+        @Override public Number  set(final int index, final Number value) {
+            verifyType(value, Numbers.BYTE);
+            final Number old = get(index);
+            buffer.put(index, value.byteValue());
+            modCount++;
+            return old;
+        }
+    }
+}
@@ -16,7 +16,9 @@
  */
 package org.apache.sis.math;
 
+import java.util.function.IntSupplier;
 import org.apache.sis.util.Numbers;
+import org.apache.sis.measure.NumberRange;
 import org.apache.sis.util.collection.IntegerList;
 import org.apache.sis.util.resources.Errors;
 
@@ -26,7 +28,7 @@ import org.apache.sis.util.resources.Errors;
  * This offers a compressed storage using only the minimal amount of bits per value.
  *
  * @author  Martin Desruisseaux (Geomatys)
- * @version 0.8
+ * @version 1.0
  * @since   0.8
  * @module
  */
@@ -195,6 +197,73 @@ final class PackedVector extends ArrayVector<Long> {
         return longValue(index);
     }
 
+    /**
+     * Copies a range of values in the given array.
+     */
+    @Override
+    public void doubleValues(final int from, final double[] dest, final int offset, final int length) {
+        ensureValidRange(from, dest.length, offset, length);
+        for (int i=0; i<length; i++) {
+            dest[offset + i] = data.getInt(from + i) * increment + this.offset;
+        }
+    }
+
+    /**
+     * Copies a range of values in the given array.
+     */
+    @Override
+    public void floatValues(final int from, final float[] dest, final int offset, final int length) {
+        ensureValidRange(from, dest.length, offset, length);
+        for (int i=0; i<length; i++) {
+            dest[offset + i] = data.getInt(from + i) * increment + this.offset;
+        }
+    }
+
+    /**
+     * Finds the minimum and maximum values in the list or in a subset of the list.
+     * Since the {@linkplain #increment} is positive, the extremums are found on the
+     * packed integers before to convert them to the values to return.
+     */
+    @Override
+    NumberRange<?> range(final IntSupplier indices, int n) {
+        int min = Integer.MAX_VALUE;
+        int max = Integer.MIN_VALUE;
+        while (--n >= 0) {
+            final int value = data.getInt((indices != null) ? indices.getAsInt() : n);
+            if (value < min) min = value;
+            if (value > max) max = value;
+        }
+        if (min > max) {
+            return NumberRange.create(Long.MAX_VALUE, true, Long.MIN_VALUE, true);      // Same empty range than ArrayVector.
+        }
+        return NumberRange.create(min * increment + offset, true, max * increment + offset, true);
+    }
+
+    /**
+     * Returns the increment between values if this increment is constant, or {@code null} otherwise.
+     * The differences are computed on the packed integers, then multiplied by the {@linkplain #increment}.
+     * The result can not overflow since the difference between any two values is at most the difference
+     * between the maximal and minimal values, which has been verified at construction time.
+     */
+    @Override
+    public Number increment(final double tolerance) {
+        if (!(tolerance >= 0 && tolerance < 1)) {                       // Use '!' for catching NaN.
+            return super.increment(tolerance);
+        }
+        int i = data.size();
+        if (i >= 2) {
+            int p;
+            final int inc = data.getInt(--i) - (p = data.getInt(--i));
+            while (i != 0) {
+                if (p - (p = data.getInt(--i)) != inc) {
+                    return null;
+                }
+            }
+            return inc * increment;
+        }
+        return null;
+    }
+
     /**
      * Sets the value at the given index at returns the previous value.
      */
@@ -16,13 +16,17 @@
  */
 package org.apache.sis.math;
 
+import java.util.Arrays;
 import java.util.Objects;
 import java.io.Serializable;
+import java.util.function.Supplier;
 import java.util.function.LongConsumer;
 import java.util.function.DoubleConsumer;
+import java.util.stream.Collector;
 import org.opengis.util.InternationalString;
 import org.apache.sis.util.iso.SimpleInternationalString;
 import org.apache.sis.util.ArgumentChecks;
+import org.apache.sis.util.resources.Errors;
 
 import static java.lang.Math.*;
 import static java.lang.Double.NaN;
@@ -83,6 +87,26 @@ import static java.lang.Double.doubleToLongBits;
  *     System.out.println(stats);
  * }
  *
+ * <div class="section">Parallel computation</div>
+ * {@code Statistics} instances are not thread-safe, but statistics computed on different subsets of
+ * sample values can be merged by {@link #combine(Statistics)}. This allows computation in parallel streams
+ * where each thread accumulates values in its own instance, for example:
+ *
+ * {@preformat java
+ *     Statistics stats = doubleStream.parallel().collect(() -> new Statistics("y"), Statistics::accept, Statistics::combine);
+ * }
+ *
+ * or, for a stream of {@link Number} instances:
+ *
+ * {@preformat java
+ *     Statistics stats = numberStream.parallel().collect(Statistics.collector(() -> new Statistics("y")));
+ * }
+ *
+ * <div class="section">Quantiles</div>
+ * Instances created by {@link #withHistogram withHistogram(…)} also count the sample values in bins of
+ * equal width, from which approximate {@linkplain #quantile(double) quantiles} can be computed without
+ * storing the sample values. The histograms are merged by {@link #combine(Statistics)} like other statistics.
+ *
  * @author  Martin Desruisseaux (MPO, IRD, Geomatys)
  * @version 1.0
  * @since   0.3
@@ -146,6 +170,26 @@ public class Statistics implements DoubleConsumer, LongConsumer, Cloneable, Seri
      */
     private int countNaN;
 
+    /**
+     * Number of samples in each bin of the histogram, or {@code null} if no histogram is computed.
+     * The first bin starts at {@link #binLower} and all bins have a width of {@link #binWidth}.
+     * Values outside the histogram range are counted in the first or last bin.
+     *
+     * @see #withHistogram(CharSequence, double, double, int)
+     * @see #histogram()
+     */
+    private long[] bins;
+
+    /**
+     * Lower value of the first histogram bin. Ignored if {@link #bins} is null.
+     */
+    private double binLower;
+
+    /**
+     * Width of each histogram bin. Ignored if {@link #bins} is null.
+     */
+    private double binWidth;
+
     /**
      * Constructs an initially empty set of statistics.
      * The {@linkplain #count()} and the {@link #sum()} are initialized to zero
@@ -215,6 +259,70 @@ public class Statistics implements DoubleConsumer, LongConsumer, Cloneable, Seri
         return stats;
     }
 
+    /**
+     * Constructs a new {@code Statistics} object which will also count sample values in a histogram.
+     * The histogram range is divided in {@code numBins} bins of equal width. Sample values outside
+     * the given range are counted in the first or last bin, so the {@linkplain #quantile(double) quantiles}
+     * are more accurate if the range contains all sample values (for example the range of valid pixel
+     * values in a raster band).
+     *
+     * @param  name     the phenomenon for which this object is collecting statistics, or {@code null} if none.
+     * @param  lower    the lower value of the histogram range, inclusive.
+     * @param  upper    the upper value of the histogram range, exclusive.
+     * @param  numBins  the number of bins in the histogram.
+     * @return the newly constructed, initially empty, set of statistics.
+     *
+     * @see #quantile(double)
+     * @see #histogram()
+     *
+     * @since 1.0
+     */
+    public static Statistics withHistogram(final CharSequence name, final double lower, final double upper, final int numBins) {
+        ArgumentChecks.ensureFinite("lower", lower);
+        ArgumentChecks.ensureFinite("upper", upper);
+        ArgumentChecks.ensureStrictlyPositive("numBins", numBins);
+        if (!(upper > lower)) {
+            throw new IllegalArgumentException(Errors.format(Errors.Keys.IllegalRange_2, lower, upper));
+        }
+        final Statistics stats = new Statistics(name);
+        stats.bins     = new long[numBins];
+        stats.binLower = lower;
+        stats.binWidth = (upper - lower) / numBins;
+        return stats;
+    }
+
+    /**
+     * Returns a collector accumulating numbers in {@code Statistics} objects created by the given supplier.
+     * Each thread of a parallel stream accumulates values in its own instance, and the partial results are
+     * merged by {@link #combine(Statistics)}. {@link Long}, {@link Integer}, {@link Short} and {@link Byte}
+     * values are given to {@link #accept(long)}; all other numbers are given to {@link #accept(double)}.
+     *
+     * <p>The supplier should not create statistics {@linkplain #forSeries on series}, because the differences
+     * between consecutive sample values can not be computed across the boundaries of the subsets processed
+     * by different threads.</p>
+     *
+     * @param  supplier  the supplier of initially empty statistics, for example {@code () -> new Statistics("y")}.
+     * @return a collector of statistics on numbers.
+     *
+     * @since 1.0
+     */
+    public static Collector<Number, Statistics, Statistics> collector(final Supplier<? extends Statistics> supplier) {
+        ArgumentChecks.ensureNonNull("supplier", supplier);
+        return Collector.of(supplier::get, Statistics::accept, (s1, s2) -> {s1.combine(s2); return s1;},
+                            Collector.Characteristics.IDENTITY_FINISH);
+    }
+
+    /**
+     * Updates statistics for the given number. Used by {@link #collector(Supplier)}.
+     */
+    private void accept(final Number sample) {
+        if (sample instanceof Long || sample instanceof Integer || sample instanceof Short || sample instanceof Byte) {
+            accept(sample.longValue());
+        } else {
+            accept(sample.doubleValue());
+        }
+    }
+
     /**
      * Returns the name of the phenomenon for which this object is collecting statistics.
      * If non-null, then this name will be shown as column header in the table formatted
@@ -240,6 +348,9 @@ public class Statistics implements DoubleConsumer, LongConsumer, Cloneable, Seri
         squareLowBits = 0;
         count         = 0;
         countNaN      = 0;
+        if (bins != null) {
+            Arrays.fill(bins, 0);
+        }
     }
 
     /**
@@ -271,6 +382,9 @@ public class Statistics implements DoubleConsumer, LongConsumer, Cloneable, Seri
          */
         if (!(minimum <= sample)) minimum = sample;
         if (!(maximum >= sample)) maximum = sample;
+        if (bins != null) {
+            bins[max(0, min(bins.length - 1, (int) floor((sample - binLower) / binWidth)))]++;
+        }
         /*
          * According algebraic laws, 'lowBits' should always been zero. But it is
          * not when using floating points with limited precision. Do not simplify!
@@ -305,10 +419,26 @@ public class Statistics implements DoubleConsumer, LongConsumer, Cloneable, Seri
      * Invoking this method is equivalent (except for rounding errors) to invoking
      * {@link #accept(double) accept(…)} for all samples that were added to {@code stats}.
      *
+     * <p>If this {@code Statistics} object computes a {@linkplain #histogram() histogram}, then the given
+     * statistics shall compute a histogram with the same range and number of bins. If only the given
+     * statistics computes a histogram, that histogram is ignored.</p>
+     *
      * @param  stats  the statistics to be added to {@code this}.
+     * @throws IllegalArgumentException if this object computes a histogram incompatible with the given statistics.
      */
     public void combine(final Statistics stats) {
         ArgumentChecks.ensureNonNull("stats", stats);
+        if (bins != null) {
+            if (stats.bins == null || stats.bins.length != bins.length
+                    || doubleToLongBits(stats.binLower) != doubleToLongBits(binLower)
+                    || doubleToLongBits(stats.binWidth) != doubleToLongBits(binWidth))
+            {
+                throw new IllegalArgumentException(Errors.format(Errors.Keys.IncompatiblePropertyValue_1, "histogram"));
+            }
+            for (int i=0; i<bins.length; i++) {
+                bins[i] += stats.bins[i];
+            }
+        }
 
         // "if (a < b)" is equivalent to "if (!isNaN(a) && a < b)".
         if (isNaN(minimum) || stats.minimum < minimum) minimum = stats.minimum;
@@ -340,8 +470,25 @@ public class Statistics implements DoubleConsumer, LongConsumer, Cloneable, Seri
         ArgumentChecks.ensureFinite("factor", factor);
         minimum       *= factor;
         maximum       *= factor;
+        if (factor < 0) {
+            final double t = minimum;
+            minimum = maximum;
+            maximum = t;
+        }
         sum           *= factor;
         lowBits       *= factor;
+        if (bins != null) {
+            if (factor < 0) {
+                binLower += binWidth * bins.length;                 // Upper value, which become the lower one.
+                for (int i=0, j=bins.length; i < --j; i++) {
+                    final long t = bins[i];
+                    bins[i] = bins[j];
+                    bins[j] = t;
+                }
+            }
+            binLower *= factor;
+            binWidth *= abs(factor);
+        }
         factor        *= factor;
         squareSum     *= factor;
         squareLowBits *= factor;
@@ -459,6 +606,58 @@ public class Statistics implements DoubleConsumer, LongConsumer, Cloneable, Seri
         return sqrt((squareSum - sum*sum/count) / (allPopulation ? count : count-1));
     }
 
+    /**
+     * Returns an approximation of the value below which the given fraction of sample values fall.
+     * For example {@code quantile(0.5)} returns an approximation of the median. The approximation is
+     * computed by linear interpolation inside the histogram bin containing the quantile, and clamped
+     * to the {@linkplain #minimum() minimum} and {@linkplain #maximum() maximum} values.
+     *
+     * <p>This method requires a {@code Statistics} instance created by {@link #withHistogram withHistogram(…)}.
+     * Its accuracy depends on the bin width and on whether sample values are inside the histogram range.</p>
+     *
+     * @param  p  the fraction of sample values, between 0 and 1 inclusive.
+     * @return the approximate quantile, or NaN if none or if this object does not compute a histogram.
+     *
+     * @since 1.0
+     */
+    public double quantile(final double p) {
+        ArgumentChecks.ensureBetween("p", 0, 1, p);
+        if (bins == null || count == 0) {
+            return NaN;
+        }
+        final double target = p * count;
+        long cumulated = 0;
+        for (int i=0; i<bins.length; i++) {
+            final long n = bins[i];
+            if (n != 0 && cumulated + n >= target) {
+                final double q = binLower + binWidth * (i + (target - cumulated) / n);
+                return max(minimum, min(maximum, q));
+            }
+            cumulated += n;
+        }
+        return maximum;
+    }
+
+    /**
+     * Returns the number of sample values in each histogram bin, or {@code null} if none.
+     * This method returns a non-null value only if this {@code Statistics} instance has been
+     * created by a call to the {@link #withHistogram withHistogram(…)} method.
+     *
+     * @return a copy of the histogram, or {@code null} if not calculated by this object.
+     *
+     * @since 1.0
+     */
+    public long[] histogram() {
+        return (bins != null) ? bins.clone() : null;
+    }
+
+    /**
+     * Returns {@code true} if this object computes a histogram. Used by {@link StatisticsFormat}.
+     */
+    final boolean hasHistogram() {
+        return bins != null;
+    }
+
     /**
      * Returns the statistics on the differences between sample values, or {@code null} if none.
      * For example if the sample values given to the {@code accept(…)} methods were <var>y₀</var>,
@@ -521,7 +720,11 @@ public class Statistics implements DoubleConsumer, LongConsumer, Cloneable, Seri
     @Override
     public Statistics clone() {
         try {
-            return (Statistics) super.clone();
+            final Statistics clone = (Statistics) super.clone();
+            if (bins != null) {
+                clone.bins = bins.clone();
+            }
+            return clone;
         } catch (CloneNotSupportedException exception) {
             // Should not happen since we are cloneable
             throw new AssertionError(exception);
@@ -555,6 +758,9 @@ public class Statistics implements DoubleConsumer, LongConsumer, Cloneable, Seri
                     && doubleToLongBits(maximum)   == doubleToLongBits(cast.maximum)
                     && doubleToLongBits(sum)       == doubleToLongBits(cast.sum)
                     && doubleToLongBits(squareSum) == doubleToLongBits(cast.squareSum)
+                    && doubleToLongBits(binLower)  == doubleToLongBits(cast.binLower)
+                    && doubleToLongBits(binWidth)  == doubleToLongBits(cast.binWidth)
+                    && Arrays.equals(bins, cast.bins)
                     && Objects.equals(name, cast.name);
         }
         return false;
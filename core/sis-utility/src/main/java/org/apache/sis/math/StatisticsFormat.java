@@ -300,9 +300,11 @@ public class StatisticsFormat extends TabularFormat<Statistics> {
         final String[] headers = new String[stats.length];
         boolean showHeaders  = false;
         boolean showNaNCount = false;
+        boolean showMedian   = false;
         for (int i=0; i<stats.length; i++) {
             final Statistics s = stats[i];
             showNaNCount |= (s.countNaN() != 0);
+            showMedian   |= s.hasHistogram();
             final InternationalString header = s.name();
             if (header != null) {
                 headers[i] = header.toString(headerLocale);
@@ -349,7 +351,7 @@ public class StatisticsFormat extends TabularFormat<Statistics> {
             formats[i] = configure(valueFormat, stats[i], i != 0);
         }
         for (int line=0; line < KEYS.length; line++) {
-            if (line == 1 & !showNaNCount) {
+            if ((line == 1 & !showNaNCount) || (line == 5 & !showMedian)) {
                 continue;
             }
             table.setCellAlignment(TableAppender.ALIGN_LEFT);
@@ -363,8 +365,9 @@ public class StatisticsFormat extends TabularFormat<Statistics> {
                     case 2:  value = s.minimum();  break;
                     case 3:  value = s.maximum();  break;
                     case 4:  value = s.mean();     break;
-                    case 5:  value = s.rms();      break;
-                    case 6:  value = s.standardDeviation(allPopulation); break;
+                    case 5:  value = s.quantile(0.5); break;
+                    case 6:  value = s.rms();      break;
+                    case 7:  value = s.standardDeviation(allPopulation); break;
                     default: throw new AssertionError(line);
                 }
                 table.append(beforeFill);
@@ -394,6 +397,7 @@ public class StatisticsFormat extends TabularFormat<Statistics> {
         Vocabulary.Keys.MinimumValue,
         Vocabulary.Keys.MaximumValue,
         Vocabulary.Keys.MeanValue,
+        Vocabulary.Keys.Median,
         Vocabulary.Keys.RootMeanSquare,
         Vocabulary.Keys.StandardDeviation
     };
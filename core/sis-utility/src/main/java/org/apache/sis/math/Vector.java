@@ -17,6 +17,7 @@
 package org.apache.sis.math;
 
 import java.io.Serializable;
+import java.nio.Buffer;
 import java.util.Arrays;
 import java.util.AbstractList;
 import java.util.RandomAccess;
@@ -84,7 +85,7 @@ import static org.apache.sis.util.ArgumentChecks.ensureValidIndex;
  * without concern about whether the data were really stored as {@code double} or as {@code float} values.</div>
  *
  * @author  Martin Desruisseaux (MPO, Geomatys)
- * @version 0.8
+ * @version 1.0
  *
  * @see org.apache.sis.util.collection.IntegerList
  *
@@ -99,12 +100,14 @@ public abstract class Vector extends AbstractList<Number> implements RandomAcces
      *   <li>An array of a primitive type, like {@code float[]}.</li>
      *   <li>A {@code Number[]} array.</li>
      *   <li>A {@code String[]} array (not recommended, but happen with some file formats).</li>
+     *   <li>A NIO buffer of a primitive type, like {@link java.nio.FloatBuffer}. The vector contains the values
+     *       from the buffer position to the buffer limit at the time this method is invoked.</li>
      *   <li>A {@code Vector}, in which case it is returned unchanged.</li>
      *   <li>The {@code null} value, in which case {@code null} is returned.</li>
      * </ul>
      *
      * The given argument is not cloned.
-     * Consequently changes in the underlying array are reflected in this vector, and vis-versa.
+     * Consequently changes in the underlying array or buffer are reflected in this vector, and vis-versa.
      *
      * <div class="section">Unsigned integers</div>
      * Java has no primitive support for unsigned integers. But some file formats use unsigned integers,
@@ -112,7 +115,7 @@ public abstract class Vector extends AbstractList<Number> implements RandomAcces
      * This {@code Vector} class applies automatically those masks (unless otherwise noticed in method Javadoc)
      * if the {@code isUnsigned} argument is {@code true}.
      * That argument applies only to {@code byte[]}, {@code short[]}, {@code int[]} or {@code long[]} arrays
-     * and is ignored for all other kind of arrays.
+     * (or the buffers of those types) and is ignored for all other kind of arrays.
      *
      * @param  array       the object to wrap in a vector, or {@code null}.
      * @param  isUnsigned  {@code true} if integer types should be interpreted as unsigned integers.
@@ -129,6 +132,9 @@ public abstract class Vector extends AbstractList<Number> implements RandomAcces
         if (array instanceof Vector) {
             return (Vector) array;
         }
+        if (array instanceof Buffer) {
+            return BufferVector.newInstance((Buffer) array, isUnsigned);
+        }
         throw new IllegalArgumentException(Errors.format(Errors.Keys.IllegalArgumentClass_2, "array", array.getClass()));
     }
 
@@ -1057,12 +1063,45 @@ public abstract class Vector extends AbstractList<Number> implements RandomAcces
      */
     public double[] doubleValues() {
         final double[] array = new double[size()];
-        for (int i=0; i<array.length; i++) {
-            array[i] = doubleValue(i);
-        }
+        doubleValues(0, array, 0, array.length);
         return array;
     }
 
+    /**
+     * Copies a range of values in the given array of double precision floating point numbers.
+     * This method is more efficient than invoking {@link #doubleValue(int)} in a loop when this
+     * vector is backed by an array or a buffer, since the copy is done in a single loop
+     * (or a single bulk operation) over the backing storage.
+     *
+     * <p>The default implementation invokes {@link #doubleValue(int)} for all indices from {@code from}
+     * inclusive to {@code from + length} exclusive. Subclasses may override with more efficient implementation.</p>
+     *
+     * @param  from    index of the first value to copy from this vector.
+     * @param  dest    the array where to copy the values.
+     * @param  offset  index in the destination array where to write the first value.
+     * @param  length  number of values to copy.
+     * @throws IndexOutOfBoundsException if a range of indices is out of bounds.
+     *
+     * @see #doubleValue(int)
+     * @see #doubleValues()
+     *
+     * @since 1.0
+     */
+    public void doubleValues(final int from, final double[] dest, final int offset, final int length) {
+        ensureValidRange(from, dest.length, offset, length);
+        for (int i=0; i<length; i++) {
+            dest[offset + i] = doubleValue(from + i);
+        }
+    }
+
+    /**
+     * Verifies the arguments given to the bulk {@code doubleValues(…)} or {@code floatValues(…)} methods.
+     */
+    final void ensureValidRange(final int from, final int destLength, final int offset, final int length) {
+        ArgumentChecks.ensureValidIndexRange(size(), from, from + length);
+        ArgumentChecks.ensureValidIndexRange(destLength, offset, offset + length);
+    }
+
     /**
      * Copies all values in an array of single precision floating point numbers.
      * This method is for inter-operability with APIs requiring an array of primitive type.
@@ -1076,12 +1115,37 @@ public abstract class Vector extends AbstractList<Number> implements RandomAcces
      */
     public float[] floatValues() {
         final float[] array = new float[size()];
-        for (int i=0; i<array.length; i++) {
-            array[i] = floatValue(i);
-        }
+        floatValues(0, array, 0, array.length);
         return array;
     }
 
+    /**
+     * Copies a range of values in the given array of single precision floating point numbers.
+     * This method is more efficient than invoking {@link #floatValue(int)} in a loop when this
+     * vector is backed by an array or a buffer, since the copy is done in a single loop
+     * (or a single bulk operation) over the backing storage.
+     *
+     * <p>The default implementation invokes {@link #floatValue(int)} for all indices from {@code from}
+     * inclusive to {@code from + length} exclusive. Subclasses may override with more efficient implementation.</p>
+     *
+     * @param  from    index of the first value to copy from this vector.
+     * @param  dest    the array where to copy the values.
+     * @param  offset  index in the destination array where to write the first value.
+     * @param  length  number of values to copy.
+     * @throws IndexOutOfBoundsException if a range of indices is out of bounds.
+     *
+     * @see #floatValue(int)
+     * @see #floatValues()
+     *
+     * @since 1.0
+     */
+    public void floatValues(final int from, final float[] dest, final int offset, final int length) {
+        ensureValidRange(from, dest.length, offset, length);
+        for (int i=0; i<length; i++) {
+            dest[offset + i] = floatValue(from + i);
+        }
+    }
+
     /**
      * Returns a string representation of this vector.
      *
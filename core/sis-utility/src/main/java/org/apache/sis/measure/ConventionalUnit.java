@@ -58,6 +58,32 @@ final class ConventionalUnit<Q extends Quantity<Q>> extends AbstractUnit<Q> {
      */
     final UnitConverter toTarget;
 
+    /**
+     * The last converter computed by {@link #getConverterTo(Unit)} or {@link #getConverterToAny(Unit)}
+     * for a unit other than the {@linkplain #target}, or {@code null} if none. This is a cache for
+     * avoiding to build a new chain of converters when the same conversion is requested many times,
+     * which is a common pattern when converting the values of many variables to the same unit.
+     */
+    private transient volatile Conversion lastConversion;
+
+    /**
+     * A converter from the enclosing unit to a given unit.
+     * Instances of this class are immutable.
+     */
+    private static final class Conversion {
+        /** The unit to which the {@linkplain #converter} converts values. */
+        final Unit<?> unit;
+
+        /** The converter from the enclosing unit to the {@linkplain #unit}. */
+        final UnitConverter converter;
+
+        /** Creates a new entry for the given unit and converter. */
+        Conversion(final Unit<?> unit, final UnitConverter converter) {
+            this.unit      = unit;
+            this.converter = converter;
+        }
+    }
+
     /**
      * Creates a new unit having the given symbol and EPSG code.
      *
@@ -315,6 +341,10 @@ final class ConventionalUnit<Q extends Quantity<Q>> extends AbstractUnit<Q> {
         ArgumentChecks.ensureNonNull("that", that);
         UnitConverter c = toTarget;
         if (target != that) {                           // Optimization for a common case.
+            final Conversion last = lastConversion;
+            if (last != null && last.unit == that) {
+                return last.converter;
+            }
             final Unit<Q> step = that.getSystemUnit();
             if (target != step && !target.isCompatible(step)) {
                 // Should never occur unless parameterized type has been compromised.
@@ -322,6 +352,7 @@ final class ConventionalUnit<Q extends Quantity<Q>> extends AbstractUnit<Q> {
             }
             c = target.getConverterTo(step).concatenate(c);         // Usually leave 'c' unchanged.
             c =   step.getConverterTo(that).concatenate(c);
+            lastConversion = new Conversion(that, c);
         }
         return c;
     }
@@ -345,12 +376,17 @@ final class ConventionalUnit<Q extends Quantity<Q>> extends AbstractUnit<Q> {
         ArgumentChecks.ensureNonNull("that", that);
         UnitConverter c = toTarget;
         if (target != that) {                           // Optimization for a common case.
+            final Conversion last = lastConversion;
+            if (last != null && last.unit == that) {
+                return last.converter;
+            }
             final Unit<?> step = that.getSystemUnit();
             if (target != step && !target.isCompatible(step)) {
                 throw new IncommensurableException(incompatible(that));
             }
             c = target.getConverterToAny(step).concatenate(c);      // Usually leave 'c' unchanged.
             c =   step.getConverterToAny(that).concatenate(c);
+            lastConversion = new Conversion(that, c);
         }
         return c;
     }
@@ -27,6 +27,7 @@ import org.opengis.geometry.DirectPosition;         // For javadoc
 import org.opengis.referencing.cs.AxisDirection;    // For javadoc
 
 import org.apache.sis.util.Static;
+import org.apache.sis.util.collection.Cache;
 import org.apache.sis.util.resources.Errors;
 import org.apache.sis.internal.util.Constants;
 
@@ -74,7 +75,7 @@ import static org.apache.sis.measure.UnitRegistry.PREFIXABLE;
  * </table>
  *
  * @author  Martin Desruisseaux (IRD, Geomatys)
- * @version 0.8
+ * @version 1.0
  * @since   0.3
  * @module
  */
@@ -1602,9 +1603,16 @@ public final class Units extends Static {
      * @see UnitFormat#parse(CharSequence)
      */
     public static Unit<?> valueOf(String uom) throws ParserException {
-        return (uom != null) ? UnitFormat.INSTANCE.parse(uom) : null;
+        return (uom != null) ? PARSED.computeIfAbsent(uom, UnitFormat.INSTANCE::parse) : null;
     }
 
+    /**
+     * The units parsed by {@link #valueOf(String)}, for avoiding to parse the same symbols again.
+     * The same unit symbols are typically repeated for many variables in a netCDF file, or for
+     * many columns in a CSV file. Only successfully parsed units are cached.
+     */
+    private static final Cache<String, Unit<?>> PARSED = new Cache<>(32, 100, true);
+
     /**
      * Returns a hard-coded unit from an EPSG code. The {@code code} argument given to this method shall
      * be a code identifying a record in the {@code "Unit of Measure"} table of the EPSG geodetic dataset.
@@ -19,6 +19,7 @@ package org.apache.sis.util.collection;
 import java.util.Map;
 import java.util.Set;
 import java.util.Iterator;
+import java.util.Queue;
 import java.util.AbstractMap;
 import java.util.LinkedHashMap;
 import java.util.function.Supplier;
@@ -27,6 +28,8 @@ import java.util.function.BiFunction;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.ReentrantLock;
 import java.lang.ref.Reference;
 import java.lang.ref.WeakReference;
@@ -34,6 +37,7 @@ import java.lang.ref.SoftReference;
 import org.apache.sis.util.Disposable;
 import org.apache.sis.util.ArgumentChecks;
 import org.apache.sis.util.resources.Errors;
+import org.apache.sis.internal.system.CacheStatistics;
 import org.apache.sis.internal.system.DelayedRunnable;
 import org.apache.sis.internal.system.DelayedExecutor;
 import org.apache.sis.internal.system.ReferenceQueueConsumer;
@@ -118,6 +122,13 @@ import org.apache.sis.internal.system.ReferenceQueueConsumer;
  *
  * The total cost is given at construction time. If the {@link #cost} method has not been
  * overridden, then the total cost is the maximal amount of values to keep by strong references.
+ * If the cache is {@linkplain #setBounded(boolean) bounded}, the eldest values are removed from
+ * the cache instead of being replaced by weak or soft references.
+ *
+ *
+ * <div class="section">Statistics</div>
+ * Hits, misses, computation time and evictions can be recorded after a call to {@link #enableStatistics(String)}.
+ * Those statistics are published under the given name as a JMX bean, which can help to choose the cost limit.
  *
  *
  * <div class="section">Circular dependencies</div>
@@ -186,6 +197,46 @@ public class Cache<K,V> extends AbstractMap<K,V> implements ConcurrentMap<K,V> {
      */
     private transient volatile Set<Entry<K,V>> entries;
 
+    /**
+     * The hits, misses, load time and evictions recorded for this cache,
+     * or {@code null} if statistics are not enabled.
+     *
+     * @see #enableStatistics(String)
+     */
+    private volatile CacheStatistics statistics;
+
+    /**
+     * The cost of this cache in the {@linkplain #statistics}, or {@code null} if statistics are not enabled.
+     * All accesses to this field shall be synchronized on {@link #costs}.
+     */
+    private CacheStatistics.Share statisticsShare;
+
+    /**
+     * {@code true} if the eldest values should be removed from the cache when the cost limit is exceeded,
+     * instead of being retained by weak or soft references.
+     *
+     * @see #isBounded()
+     */
+    private volatile boolean bounded;
+
+    /**
+     * Keys of values found in the cache since the last time that the {@link #costs} map has been updated.
+     * Used only if {@link #bounded} is {@code true}, for approximating a least-recently-used policy.
+     */
+    private final Queue<Object> accesses;
+
+    /**
+     * Number of elements in the {@link #accesses} queue. This is tracked separately because
+     * {@link ConcurrentLinkedQueue#size()} is not a constant-time operation.
+     */
+    private final AtomicInteger pendingAccesses;
+
+    /**
+     * Maximal number of elements in the {@link #accesses} queue. Additional accesses are ignored
+     * until the background thread drained the queue.
+     */
+    private static final int MAX_PENDING_ACCESSES = 128;
+
     /**
      * Creates a new cache with a default initial capacity and cost limit of 100.
      * The oldest objects will be hold by {@linkplain WeakReference weak references}.
@@ -216,6 +267,8 @@ public class Cache<K,V> extends AbstractMap<K,V> implements ConcurrentMap<K,V> {
         this.costs      = new LinkedHashMap<>((int) Math.min(initialCapacity, costLimit), 0.75f, true);
         this.costLimit  = costLimit;
         this.soft       = soft;
+        accesses        = new ConcurrentLinkedQueue<>();
+        pendingAccesses = new AtomicInteger();
     }
 
     /**
@@ -227,6 +280,9 @@ public class Cache<K,V> extends AbstractMap<K,V> implements ConcurrentMap<K,V> {
             map.clear();
             costs.clear();
             totalCost = 0;
+            if (statisticsShare != null) {
+                statisticsShare.cost(0);
+            }
         }
     }
 
@@ -266,7 +322,16 @@ public class Cache<K,V> extends AbstractMap<K,V> implements ConcurrentMap<K,V> {
      */
     @Override
     public V get(final Object key) {
-        return valueOf(map.get(key));
+        final V value = valueOf(map.get(key));
+        if (value != null) {
+            hit(key);
+        } else {
+            final CacheStatistics stats = statistics;
+            if (stats != null) {
+                stats.miss();
+            }
+        }
+        return value;
     }
 
     /**
@@ -800,13 +865,81 @@ public class Cache<K,V> extends AbstractMap<K,V> implements ConcurrentMap<K,V> {
                 ref.clear();                        // Prevents the reference from being enqueued.
                 notifyChange(key, result);
             }
+            if (result != null) {
+                hit(key);
+            }
             return result;
         }
+        if (value != null) {
+            hit(key);
+        }
         @SuppressWarnings("unchecked")
         final V result = (V) value;
         return result;
     }
 
+    /**
+     * Records a cache hit if statistics are enabled, and records the access
+     * to the given key for the least-recently-used policy if the cache is bounded.
+     */
+    private void hit(final Object key) {
+        final CacheStatistics stats = statistics;
+        if (stats != null) {
+            stats.hit();
+        }
+        if (bounded) {
+            accessed(key);
+        }
+    }
+
+    /**
+     * Records an access to the given key, to be reflected in the {@link #costs} order later.
+     * The {@link #costs} map can not be updated immediately because it is not thread-safe,
+     * and we do not want to block readers on the {@code costs} lock. Instead, accesses are
+     * stored in a buffer drained by the background thread. If the buffer is full, accesses
+     * are discarded; this is okay since the eviction order is only approximate anyway.
+     */
+    private void accessed(final Object key) {
+        final int n = pendingAccesses.incrementAndGet();
+        if (n <= MAX_PENDING_ACCESSES) {
+            accesses.add(key);
+            if (n == MAX_PENDING_ACCESSES) {
+                DelayedExecutor.schedule(new Drain());
+            }
+        } else {
+            pendingAccesses.decrementAndGet();
+        }
+    }
+
+    /**
+     * Moves the keys recorded by {@link #accessed(Object)} to the end of the {@link #costs} map,
+     * which is ordered from least-recently accessed to most-recently accessed. This method shall
+     * be invoked in a block synchronized on {@link #costs}.
+     */
+    private void drainAccesses() {
+        Object key;
+        while ((key = accesses.poll()) != null) {
+            pendingAccesses.decrementAndGet();
+            costs.get(key);                         // Move the entry (if any) at the end of the map.
+        }
+    }
+
+    /**
+     * A task draining the buffer of accessed keys when that buffer is full.
+     */
+    private final class Drain extends DelayedRunnable.Immediate {
+        /** Creates a new task. */
+        Drain() {
+        }
+
+        /** Invoked in the background thread for draining the buffer. */
+        @Override public void run() {
+            synchronized (costs) {
+                drainAccesses();
+            }
+        }
+    }
+
     /**
      * Invoked from the a background thread after a {@linkplain WeakReference weak}
      * or {@linkplain SoftReference soft} reference has been replaced by a strong one.
@@ -869,7 +1002,7 @@ public class Cache<K,V> extends AbstractMap<K,V> implements ConcurrentMap<K,V> {
                      * unlock in the finally clause (we want the lock to still active).
                      */
                     unlock = false;
-                    return handler;
+                    return handler.started();
                 }
                 /*
                  * If the value is a strong reference or other handler, stop the loop and release the lock.
@@ -893,6 +1026,7 @@ public class Cache<K,V> extends AbstractMap<K,V> implements ConcurrentMap<K,V> {
                         ref.clear();                        // Prevents the reference from being enqueued.
                         notifyChange(key, result);
                     }
+                    hit(key);
                     return new Simple<>(result);
                 }
                 /*
@@ -902,7 +1036,7 @@ public class Cache<K,V> extends AbstractMap<K,V> implements ConcurrentMap<K,V> {
                  */
                 if (map.replace(key, ref, handler)) {
                     unlock = false;
-                    return handler;
+                    return handler.started();
                 }
                 // The map content changed. Try again.
             } while (true);
@@ -939,6 +1073,7 @@ public class Cache<K,V> extends AbstractMap<K,V> implements ConcurrentMap<K,V> {
                 }
                 throw new IllegalStateException(Errors.format(Errors.Keys.RecursiveCreateCallForKey_1, key));
             }
+            hit(key);
             return work.new Wait();
         }
         /*
@@ -948,6 +1083,7 @@ public class Cache<K,V> extends AbstractMap<K,V> implements ConcurrentMap<K,V> {
         assert !isReservedType(value) : value;
         @SuppressWarnings("unchecked")
         final V result = (V) value;
+        hit(key);
         return new Simple<>(result);
     }
 
@@ -1065,6 +1201,17 @@ public class Cache<K,V> extends AbstractMap<K,V> implements ConcurrentMap<K,V> {
          */
         private V value;
 
+        /**
+         * The statistics to update when the value has been computed, or {@code null} if none.
+         */
+        private CacheStatistics stats;
+
+        /**
+         * Value of {@link System#nanoTime()} when the computation started.
+         * Used only if {@link #stats} is non-null.
+         */
+        private long startTime;
+
         /**
          * Creates a new handler which will store the result in the given map at the given key.
          */
@@ -1073,6 +1220,21 @@ public class Cache<K,V> extends AbstractMap<K,V> implements ConcurrentMap<K,V> {
             this.key = key;
         }
 
+        /**
+         * Invoked when this handler has been put in the map, before the value computation begins.
+         * Records a cache miss if statistics are enabled.
+         *
+         * @return {@code this}.
+         */
+        final Work started() {
+            stats = statistics;
+            if (stats != null) {
+                stats.miss();
+                startTime = System.nanoTime();
+            }
+            return this;
+        }
+
         /**
          * Waits for the completion of the value computation and returns this result.
          * This method should be invoked only from another thread than the one doing the computation.
@@ -1107,6 +1269,9 @@ public class Cache<K,V> extends AbstractMap<K,V> implements ConcurrentMap<K,V> {
         @Override
         public void putAndUnlock(final V result) throws IllegalStateException {
             final boolean done;
+            if (stats != null) {
+                stats.loaded(System.nanoTime() - startTime);
+            }
             try {
                 if (isReservedType(result)) {
                     throw new IllegalArgumentException(Errors.format(
@@ -1180,7 +1345,11 @@ public class Cache<K,V> extends AbstractMap<K,V> implements ConcurrentMap<K,V> {
      */
     final void adjustReferences(final K key, final V value) {
         int cost = (value != null) ? cost(value) : 0;
+        final CacheStatistics stats = statistics;
         synchronized (costs) {
+            if (bounded) {
+                drainAccesses();
+            }
             final Integer old = costs.put(key, cost);
             if (old != null) {
                 cost -= old;
@@ -1199,11 +1368,25 @@ public class Cache<K,V> extends AbstractMap<K,V> implements ConcurrentMap<K,V> {
                     final K oldKey = entry.getKey();
                     final Object oldValue = map.get(oldKey);
                     if (oldValue != null && !isReservedType(oldValue)) {
-                        @SuppressWarnings("unchecked")
-                        final Reference<V> ref = soft ? new Soft<>(map, oldKey, (V) oldValue)
-                                                      : new Weak<>(map, oldKey, (V) oldValue);
-                        if (!map.replace(oldKey, oldValue, ref)) {
-                            ref.clear();                // Prevents the reference to be enqueued.
+                        final boolean evicted;
+                        if (bounded) {
+                            /*
+                             * Remove the value instead of replacing it by a weak or soft reference.
+                             * Values under computation (Handler instances) are never removed,
+                             * so the lock(key) contract is preserved.
+                             */
+                            evicted = map.remove(oldKey, oldValue);
+                        } else {
+                            @SuppressWarnings("unchecked")
+                            final Reference<V> ref = soft ? new Soft<>(map, oldKey, (V) oldValue)
+                                                          : new Weak<>(map, oldKey, (V) oldValue);
+                            evicted = map.replace(oldKey, oldValue, ref);
+                            if (!evicted) {
+                                ref.clear();            // Prevents the reference to be enqueued.
+                            }
+                        }
+                        if (evicted && stats != null) {
+                            stats.evicted();
                         }
                     }
                     it.remove();
@@ -1212,6 +1395,9 @@ public class Cache<K,V> extends AbstractMap<K,V> implements ConcurrentMap<K,V> {
                     }
                 }
             }
+            if (statisticsShare != null) {
+                statisticsShare.cost(totalCost);
+            }
         }
     }
 
@@ -1290,6 +1476,48 @@ public class Cache<K,V> extends AbstractMap<K,V> implements ConcurrentMap<K,V> {
         return (es != null) ? es : (entries = new CacheEntries<>(map.entrySet()));
     }
 
+    /**
+     * Returns {@code true} if the eldest values are removed from this cache when the cost limit is exceeded.
+     * The default value is {@code false}, in which case the eldest values are retained by weak or soft
+     * references and are removed only when the garbage collector reclaims them.
+     *
+     * @return {@code true} if this cache removes the eldest values itself.
+     *
+     * @since 1.0
+     */
+    public boolean isBounded() {
+        return bounded;
+    }
+
+    /**
+     * If set to {@code true}, values are removed from this cache when the total cost exceeds the cost limit
+     * instead of being retained by weak or soft references. The values removed first are the ones that have
+     * been least recently computed or found in the cache (this order is approximate since accesses
+     * are recorded asynchronously, and may be discarded under heavy load).
+     *
+     * <p>This mode makes memory usage more predictable, at the cost of recomputing values that the
+     * garbage collector would otherwise have retained. It avoids massive clearing of soft references
+     * at full garbage collection time. Values under computation are never removed, so the
+     * {@link #lock(Object)} and {@link Handler} contract is unchanged. Since eviction is performed
+     * in a background thread, the total cost may exceed the cost limit for a short time.</p>
+     *
+     * <p>This method should be invoked before the cache is populated. Values already retained by
+     * weak or soft references at the time this method is invoked stay in the cache until
+     * garbage-collected.</p>
+     *
+     * @param  enabled  whether the eldest values should be removed from this cache.
+     *
+     * @since 1.0
+     */
+    public void setBounded(final boolean enabled) {
+        bounded = enabled;
+        if (!enabled) {
+            synchronized (costs) {
+                drainAccesses();
+            }
+        }
+    }
+
     /**
      * Returns {@code true} if different values may be assigned to the same key.
      * The default value is {@code false}.
@@ -1324,6 +1552,34 @@ public class Cache<K,V> extends AbstractMap<K,V> implements ConcurrentMap<K,V> {
         isKeyCollisionAllowed = allowed;
     }
 
+    /**
+     * Enables the recording of hits, misses, computation time and evictions in this cache.
+     * The statistics are registered under the given name and published as a JMX bean in the
+     * {@code "org.apache.sis:type=Cache"} domain if JMX is available. All caches enabling statistics
+     * under the same name share the same counters, and their costs are summed.
+     *
+     * <p>A <cite>hit</cite> is counted when {@link #get get(…)}, {@link #peek peek(…)} or {@link #lock lock(…)}
+     * finds a value in this cache. A <cite>miss</cite> is counted when {@code get(…)} does not find a value,
+     * or when {@code lock(…)} returns a handler for a value to compute. In the later case, the time elapsed
+     * until {@link Handler#putAndUnlock putAndUnlock(…)} is recorded as the computation time. An
+     * <cite>eviction</cite> is counted when a strong reference is replaced by a weak or soft reference.</p>
+     *
+     * @param  name  the name under which to register the statistics of this cache.
+     *
+     * @since 1.0
+     */
+    public void enableStatistics(final String name) {
+        ArgumentChecks.ensureNonNull("name", name);
+        final CacheStatistics stats = CacheStatistics.register(name);
+        synchronized (costs) {
+            if (statistics != stats) {
+                statisticsShare = stats.join(costLimit);
+                statisticsShare.cost(totalCost);
+                statistics = stats;
+            }
+        }
+    }
+
     /**
      * Computes an estimation of the cost of the given value. The default implementation returns 1
      * in all cases. Subclasses should override this method if they have some easy way to measure
@@ -20,6 +20,7 @@ import java.util.Arrays;
 import java.util.Objects;
 import java.util.Iterator;
 import java.util.AbstractSet;
+import java.util.concurrent.locks.StampedLock;
 import java.lang.reflect.Array;
 import org.apache.sis.util.Debug;
 import org.apache.sis.util.ArraysExt;
@@ -67,8 +68,15 @@ import static org.apache.sis.util.collection.WeakEntry.*;
  * the caller. But if a sequence of two or more method calls need to appear atomic from other threads perspective,
  * then the caller can synchronize on {@code this}.
  *
+ * <p>The {@link #get(Object) get}, {@link #contains(Object) contains}, {@link #add(Object) add} and
+ * {@link #unique(Object) unique} methods first search for an existing element without locking.
+ * Only when no such element is found, or when the set has been modified during the search, are those methods
+ * synchronized on {@code this}. Consequently concurrent threads interning elements already in the set do not
+ * block each other. This strategy assumes that the {@code equals(Object)} method of the elements does not have
+ * side effects, which is usually the case of the immutable objects stored in such pools.</p>
+ *
  * @author  Martin Desruisseaux (MPO, IRD, Geomatys)
- * @version 0.3
+ * @version 1.0
  *
  * @param <E>  the type of elements in the set.
  *
@@ -130,6 +138,15 @@ public class WeakHashSet<E> extends AbstractSet<E> implements CheckedContainer<E
      */
     private transient long lastTimeNormalCapacity;
 
+    /**
+     * Used for detecting changes in {@link #table} during the searches performed without synchronization.
+     * All changes in the table are done while holding the write lock, in addition to the synchronization
+     * on {@code this}. Readers use only optimistic reads.
+     *
+     * @see #find(Object, int)
+     */
+    private final StampedLock changes;
+
     /**
      * Creates a {@code WeakHashSet} for elements of the specified type.
      *
@@ -139,6 +156,7 @@ public class WeakHashSet<E> extends AbstractSet<E> implements CheckedContainer<E
         elementType            = type;
         mayContainArrays       = type.isArray() || type.equals(Object.class);
         lastTimeNormalCapacity = System.nanoTime();
+        changes                = new StampedLock();
         /*
          * Workaround for the "generic array creation" compiler error.
          * Otherwise we would use the commented-out line instead.
@@ -164,18 +182,23 @@ public class WeakHashSet<E> extends AbstractSet<E> implements CheckedContainer<E
      */
     private synchronized void removeEntry(final Entry toRemove) {
         assert isValid();
-        final int capacity = table.length;
-        if (toRemove.removeFrom(table, toRemove.hash % capacity)) {
-            count--;
-            assert isValid();
-            if (count < lowerCapacityThreshold(capacity)) {
-                final long currentTime = System.nanoTime();
-                if (currentTime - lastTimeNormalCapacity > REHASH_DELAY) {
-                    table = (Entry[]) WeakEntry.rehash(table, count, "remove");
-                    lastTimeNormalCapacity = currentTime;
-                    assert isValid();
+        final long stamp = changes.writeLock();
+        try {
+            final int capacity = table.length;
+            if (toRemove.removeFrom(table, toRemove.hash % capacity)) {
+                count--;
+                assert isValid();
+                if (count < lowerCapacityThreshold(capacity)) {
+                    final long currentTime = System.nanoTime();
+                    if (currentTime - lastTimeNormalCapacity > REHASH_DELAY) {
+                        table = (Entry[]) WeakEntry.rehash(table, count, "remove");
+                        lastTimeNormalCapacity = currentTime;
+                        assert isValid();
+                    }
                 }
             }
+        } finally {
+            changes.unlockWrite(stamp);
         }
     }
 
@@ -215,9 +238,15 @@ public class WeakHashSet<E> extends AbstractSet<E> implements CheckedContainer<E
      * @throws NullArgumentException if the given object is {@code null}.
      */
     @Override
-    public synchronized boolean add(final E element) throws NullArgumentException {
+    public boolean add(final E element) throws NullArgumentException {
         ArgumentChecks.ensureNonNull("element", element);
-        return intern(element, ADD) == null;
+        final int hash = hash(element);
+        if (find(element, hash) != null) {
+            return false;
+        }
+        synchronized (this) {
+            return intern(element, hash, ADD) == null;
+        }
     }
 
     /**
@@ -229,7 +258,7 @@ public class WeakHashSet<E> extends AbstractSet<E> implements CheckedContainer<E
      */
     @Override
     public synchronized boolean remove(final Object element) {
-        return intern(element, REMOVE) != null;
+        return (element != null) && intern(element, hash(element), REMOVE) != null;
     }
 
     /**
@@ -243,8 +272,18 @@ public class WeakHashSet<E> extends AbstractSet<E> implements CheckedContainer<E
      *
      * @see #unique(Object)
      */
-    public synchronized E get(final Object element) {
-        return intern(element, GET);
+    public E get(final Object element) {
+        if (element == null) {
+            return null;
+        }
+        final int hash = hash(element);
+        E found = find(element, hash);
+        if (found == null) {
+            synchronized (this) {
+                found = intern(element, hash, GET);
+            }
+        }
+        return found;
     }
 
     /**
@@ -255,8 +294,8 @@ public class WeakHashSet<E> extends AbstractSet<E> implements CheckedContainer<E
      * @return {@code true} if this set contains the specified element.
      */
     @Override
-    public synchronized boolean contains(final Object element) {
-        return intern(element, GET) != null;
+    public boolean contains(final Object element) {
+        return get(element) != null;
     }
 
     /**
@@ -282,13 +321,23 @@ public class WeakHashSet<E> extends AbstractSet<E> implements CheckedContainer<E
      * @return an element equals to the given one if already presents in the set,
      *         or the given {@code object} otherwise.
      */
-    public synchronized <T extends E> T unique(final T element) {
+    public <T extends E> T unique(final T element) {
+        if (element == null) {
+            return null;
+        }
         /*
          * There is no way to make sure that this operation is really safe.
          * We have to trust the Object.equals(Object) method to be strict
          * about the type of compared objects.
          */
-        return (T) intern(element, INTERN);
+        final int hash = hash(element);
+        E found = find(element, hash);
+        if (found == null) {
+            synchronized (this) {
+                found = intern(element, hash, INTERN);
+            }
+        }
+        return (T) found;
     }
 
     // Arguments for the {@link #intern} method.
@@ -298,31 +347,84 @@ public class WeakHashSet<E> extends AbstractSet<E> implements CheckedContainer<E
     /** The "intern" operation.  */  private static final int INTERN = +2;
 
     /**
-     * Implementation of the {@link #add(Object)}, {@link #remove(Object)}, {@link #get(Object)},
-     * {@link #contains(Object)} and {@link #unique(Object)} methods.
+     * Returns the hash code value of the given non-null object, masked for ensuring a positive value.
      */
-    private E intern(final Object obj, final int operation) {
-        assert isValid();
-        if (obj != null) {
+    private int hash(final Object obj) {
+        return (mayContainArrays ? Utilities.deepHashCode(obj) : obj.hashCode()) & HASH_MASK;
+    }
+
+    /**
+     * Returns {@code true} if the given element of this set is equal to the given object.
+     */
+    private boolean matches(final E candidate, final Object obj) {
+        return mayContainArrays ? Objects.deepEquals(candidate, obj) : obj.equals(candidate);
+    }
+
+    /**
+     * Searches for an element equal to the given object without synchronization. This method may miss an existing
+     * element if the set is modified concurrently, in which case the caller shall repeat the search while holding
+     * the lock. A non-null value returned by this method is an element which was in the set during this search.
+     *
+     * <p>Since the {@code equals(Object)} method may be invoked on elements seen in an inconsistent state,
+     * any exception thrown by that method is ignored here. The caller will repeat the comparison under lock,
+     * where the exception (if it still occurs) is propagated.</p>
+     *
+     * @param  obj   the non-null object to search.
+     * @param  hash  the value of {@code hash(obj)}.
+     * @return an element equal to the given object, or {@code null} if not found or if the set has been modified.
+     */
+    private E find(final Object obj, final int hash) {
+        final long stamp = changes.tryOptimisticRead();
+        if (stamp != 0) try {
+            final Entry[] table = this.table;
             /*
-             * Check if the object is already contained in this
-             * WeakHashSet. If yes, return the existing element.
+             * If the set is modified during this loop, the links between entries may be inconsistent.
+             * The limit on the number of iterations ensures that we do not loop forever in such case.
              */
-            Entry[] table = this.table;
-            final int hash = (mayContainArrays ? Utilities.deepHashCode(obj) : obj.hashCode()) & HASH_MASK;
-            int index = hash % table.length;
-            for (Entry e=table[index]; e!=null; e=(Entry) e.next) {
+            int n = count;
+            for (Entry e = table[hash % table.length]; e != null && --n >= -1; e = (Entry) e.next) {
                 final E candidate = e.get();
-                if (mayContainArrays ? Objects.deepEquals(candidate, obj) : obj.equals(candidate)) {
-                    if (operation == REMOVE) {
-                        e.dispose();
-                    }
-                    return candidate;
+                if (matches(candidate, obj)) {
+                    return changes.validate(stamp) ? candidate : null;
                 }
-                // Do not remove the null element; lets ReferenceQueue do its job
-                // (it was a bug to remove element here as an "optimization")
             }
-            if (operation >= ADD) {
+        } catch (RuntimeException e) {
+            // Ignore and let the caller search again while holding the lock.
+        }
+        return null;
+    }
+
+    /**
+     * Implementation of the {@link #add(Object)}, {@link #remove(Object)}, {@link #get(Object)},
+     * {@link #contains(Object)} and {@link #unique(Object)} methods.
+     * The caller shall hold the lock on {@code this}.
+     *
+     * @param  obj   the non-null object to search.
+     * @param  hash  the value of {@code hash(obj)}.
+     */
+    private E intern(final Object obj, final int hash, final int operation) {
+        assert isValid();
+        /*
+         * Check if the object is already contained in this
+         * WeakHashSet. If yes, return the existing element.
+         */
+        Entry[] table = this.table;
+        int index = hash % table.length;
+        for (Entry e=table[index]; e!=null; e=(Entry) e.next) {
+            final E candidate = e.get();
+            if (matches(candidate, obj)) {
+                if (operation == REMOVE) {
+                    e.dispose();
+                }
+                return candidate;
+            }
+            // Do not remove the null element; lets ReferenceQueue do its job
+            // (it was a bug to remove element here as an "optimization")
+        }
+        if (operation >= ADD) {
+            final E element = elementType.cast(obj);
+            final long stamp = changes.writeLock();
+            try {
                 /*
                  * Check if the table needs to be rehashed, and add {@code obj} to the table.
                  */
@@ -333,12 +435,13 @@ public class WeakHashSet<E> extends AbstractSet<E> implements CheckedContainer<E
                     }
                     lastTimeNormalCapacity = System.nanoTime();
                 }
-                final E element = elementType.cast(obj);
                 table[index] = new Entry(element, table[index], hash);
-                assert isValid();
-                if (operation == INTERN) {
-                    return element;
-                }
+            } finally {
+                changes.unlockWrite(stamp);
+            }
+            assert isValid();
+            if (operation == INTERN) {
+                return element;
             }
         }
         return null;
@@ -349,8 +452,13 @@ public class WeakHashSet<E> extends AbstractSet<E> implements CheckedContainer<E
      */
     @Override
     public synchronized void clear() {
-        Arrays.fill(table, null);
-        count = 0;
+        final long stamp = changes.writeLock();
+        try {
+            Arrays.fill(table, null);
+            count = 0;
+        } finally {
+            changes.unlockWrite(stamp);
+        }
     }
 
     /**
@@ -27,7 +27,7 @@ import org.opengis.util.InternationalString;
  * Locale-dependent resources for miscellaneous (often logging) messages.
  *
  * @author  Martin Desruisseaux (IRD, Geomatys)
- * @version 0.8
+ * @version 1.0
  * @since   0.3
  * @module
  */
@@ -193,6 +193,11 @@ public final class Messages extends IndexedResourceBundle {
          */
         public static final short NonConformFormatting_1 = 26;
 
+        /**
+         * Operation “{0}” completed in {1} seconds.
+         */
+        public static final short OperationDuration_2 = 34;
+
         /**
          * Optional module “{0}” requested but not found.
          */
@@ -501,6 +501,11 @@ public final class Vocabulary extends IndexedResourceBundle {
          */
         public static final short MeanValue = 68;
 
+        /**
+         * Median
+         */
+        public static final short Median = 155;
+
         /**
          * Methods
          */
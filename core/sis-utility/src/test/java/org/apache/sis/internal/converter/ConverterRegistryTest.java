@@ -41,7 +41,7 @@ import static org.apache.sis.test.Assert.*;
  * isolated.</p>
  *
  * @author  Martin Desruisseaux (Geomatys)
- * @version 0.8
+ * @version 1.0
  * @since   0.3
  * @module
  */
@@ -417,4 +417,21 @@ public final strictfp class ConverterRegistryTest extends TestCase {
         assertSame("Shall fallback on most specific interface.", child, registry.find(ArrayDeque.class, Integer.class));
         assertSame("Shall fallback on most specific interface.", child, registry.find(ArrayDeque.class, Number.class));
     }
+
+    /**
+     * Tests that the converters cached by {@link ConverterRegistry#find(Class, Class)} are discarded
+     * when a new converter is registered.
+     */
+    @Test
+    public void testCacheInvalidation() {
+        final ObjectConverter<String,Integer> integers = new StringConverter.Integer();
+        register(integers);
+        assertSame("Shall use the converter for a subclass.", integers, registry.find(String.class, Number.class));
+        assertSame("Shall use the cached converter.",         integers, registry.find(String.class, Number.class));
+
+        final ObjectConverter<String,Number> numbers = new StringConverter.Number();
+        register(numbers);
+        assertSame("Shall use the new converter.", numbers, registry.find(String.class, Number.class));
+        assertAllConvertersAreRegistered();
+    }
 }
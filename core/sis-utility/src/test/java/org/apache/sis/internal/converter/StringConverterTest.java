@@ -17,6 +17,7 @@
 package org.apache.sis.internal.converter;
 
 import java.util.Locale;
+import java.time.Instant;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.io.File;
@@ -49,7 +50,7 @@ import static org.apache.sis.test.Assert.*;
  * Tests the various {@link StringConverter} implementations.
  *
  * @author  Martin Desruisseaux (Geomatys)
- * @version 0.8
+ * @version 1.0
  * @since   0.3
  * @module
  */
@@ -197,6 +198,17 @@ public final strictfp class StringConverterTest extends TestCase {
         assertSerializedEquals(c);
     }
 
+    /**
+     * Tests conversions to {@link Instant}.
+     */
+    @Test
+    public void testInstant() {
+        final ObjectConverter<String,Instant> c = new StringConverter.Instant();
+        runInvertibleConversion(c, "2018-07-24T10:15:30Z", Instant.ofEpochSecond(1532427330));
+        tryUnconvertibleValue(c);
+        assertSerializedEquals(c);
+    }
+
     /**
      * Tests conversions to boolean values.
      */
@@ -0,0 +1,126 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sis.internal.system;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import org.apache.sis.test.TestCase;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+
+/**
+ * Tests {@link DelayedExecutor}.
+ *
+ * @author  agent
+ * @version 1.0
+ * @since   1.0
+ * @module
+ */
+public final strictfp class DelayedExecutorTest extends TestCase {
+    /**
+     * Tests the execution of tasks in a user-specified executor.
+     *
+     * @throws InterruptedException if the test has been interrupted.
+     */
+    @Test
+    public void testSetExecutor() throws InterruptedException {
+        final CountDownLatch done = new CountDownLatch(2);
+        final ScheduledThreadPoolExecutor pool = new ScheduledThreadPoolExecutor(2);
+        DelayedExecutor.setExecutor(pool);
+        try {
+            DelayedExecutor.schedule(new DelayedRunnable.Immediate() {
+                @Override public void run() {
+                    done.countDown();
+                }
+            });
+            DelayedExecutor.schedule(new DelayedRunnable(10, TimeUnit.MILLISECONDS) {
+                @Override public void run() {
+                    done.countDown();
+                }
+            });
+            assertTrue("Tasks have not been executed.", done.await(10, TimeUnit.SECONDS));
+        } finally {
+            DelayedExecutor.setExecutor(null);
+            pool.shutdown();
+        }
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+        assertTrue("completedTasks", pool.getCompletedTaskCount() >= 2);
+        /*
+         * Tasks submitted after shutdown fallback on the daemon thread.
+         */
+        DelayedExecutor.setExecutor(pool);
+        try {
+            final CountDownLatch fallback = new CountDownLatch(1);
+            DelayedExecutor.schedule(new DelayedRunnable.Immediate() {
+                @Override public void run() {
+                    fallback.countDown();
+                }
+            });
+            assertTrue("Task has not been executed.", fallback.await(10, TimeUnit.SECONDS));
+        } finally {
+            DelayedExecutor.setExecutor(null);
+        }
+    }
+
+    /**
+     * Tests {@link DelayedExecutor#backlog()} with tasks executed concurrently in a pool of many threads.
+     * The tasks are blocked until all of them are running, so the backlog shall include all of them.
+     * After the tasks are released, the backlog shall return to its initial value.
+     *
+     * @throws InterruptedException if the test has been interrupted.
+     */
+    @Test
+    public void testBacklog() throws InterruptedException {
+        final int numTasks = 3;
+        final CountDownLatch started = new CountDownLatch(numTasks);
+        final CountDownLatch release = new CountDownLatch(1);
+        final Set<Thread> threads = ConcurrentHashMap.newKeySet();
+        final ScheduledThreadPoolExecutor pool = new ScheduledThreadPoolExecutor(numTasks);
+        final int initial = DelayedExecutor.backlog();
+        DelayedExecutor.setExecutor(pool);
+        try {
+            for (int i=0; i<numTasks; i++) {
+                DelayedExecutor.schedule(new DelayedRunnable.Immediate() {
+                    @Override public void run() {
+                        threads.add(Thread.currentThread());
+                        started.countDown();
+                        try {
+                            release.await(10, TimeUnit.SECONDS);
+                        } catch (InterruptedException e) {
+                            throw new AssertionError(e);
+                        }
+                    }
+                });
+            }
+            assertTrue("Tasks have not been started.", started.await(10, TimeUnit.SECONDS));
+            assertTrue("backlog", DelayedExecutor.backlog() >= initial + numTasks);
+            assertEquals("Number of threads", numTasks, threads.size());
+            release.countDown();
+        } finally {
+            DelayedExecutor.setExecutor(null);
+            release.countDown();
+            pool.shutdown();
+        }
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+        assertTrue("backlog", DelayedExecutor.backlog() <= initial);
+    }
+}
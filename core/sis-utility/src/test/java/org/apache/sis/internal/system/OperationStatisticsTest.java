@@ -0,0 +1,60 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sis.internal.system;
+
+import org.apache.sis.math.StatisticsTest;
+import org.apache.sis.test.DependsOn;
+import org.apache.sis.test.TestCase;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+
+/**
+ * Tests {@link OperationStatistics}.
+ *
+ * @author  agent
+ * @version 1.0
+ * @since   1.0
+ * @module
+ */
+@DependsOn(StatisticsTest.class)
+public final strictfp class OperationStatisticsTest extends TestCase {
+    /**
+     * Tests the recording of execution times and the computation of percentiles.
+     */
+    @Test
+    public void testRecord() {
+        final OperationStatistics stats = OperationStatistics.forName("OperationStatisticsTest");
+        assertSame(stats, OperationStatistics.forName("OperationStatisticsTest"));
+        assertEquals("count", 0, stats.getCount());
+        assertTrue("average", Double.isNaN(stats.getAverageTime()));
+        for (int i=0; i<98; i++) {
+            stats.record(1000000);                  // 1 millisecond.
+        }
+        stats.record(20000000);                     // 20 milliseconds.
+        stats.record(1000000000);                   // 1 second.
+        assertEquals("count",   100,   stats.getCount());
+        assertEquals("average", 11.18, stats.getAverageTime(), 1E-9);
+        assertEquals("maximum", 1000,  stats.getMaximumTime(), 1E-9);
+        assertEquals("median",  1,     stats.getMedianTime(),  0.03);
+        final double p99 = stats.getPercentile99Time();
+        assertTrue(String.valueOf(p99), p99 >= 1 && p99 <= 20 * 1.03);
+        stats.reset();
+        assertEquals("count", 0, stats.getCount());
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sis.internal.util;
+
+import java.util.Random;
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import org.apache.sis.test.DependsOnMethod;
+import org.apache.sis.test.TestCase;
+import org.apache.sis.test.TestUtilities;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+
+/**
+ * Tests {@link LargeIntegerList}.
+ *
+ * @author  agent
+ * @version 1.0
+ * @since   1.0
+ * @module
+ */
+public final strictfp class LargeIntegerListTest extends TestCase {
+    /**
+     * Shift for the length of chunks used in tests. Chunks of 16 {@code long} values
+     * are small enough for having many values spanning two chunks.
+     */
+    private static final int CHUNK_SHIFT = 4;
+
+    /**
+     * Creates a list of the given size backed by chunks of 2<sup>{@value #CHUNK_SHIFT}</sup> values.
+     */
+    private static LargeIntegerList create(final long size, final long maximalValue, final boolean direct) {
+        final int length = (int) (LargeIntegerList.byteCount(size, maximalValue) / Long.BYTES);
+        final LongBuffer[] chunks = new LongBuffer[(length + (1 << CHUNK_SHIFT) - 1) >>> CHUNK_SHIFT];
+        for (int i=0; i<chunks.length; i++) {
+            final int n = Math.min(length - (i << CHUNK_SHIFT), 1 << CHUNK_SHIFT);
+            chunks[i] = direct ? ByteBuffer.allocateDirect(n * Long.BYTES).asLongBuffer() : LongBuffer.allocate(n);
+        }
+        return new LargeIntegerList(chunks, size, maximalValue, CHUNK_SHIFT);
+    }
+
+    /**
+     * Returns random values in the range of the given list.
+     */
+    private static long[] values(final Random random, final LargeIntegerList list) {
+        final long[] values = new long[(int) list.size()];
+        for (int i=0; i<values.length; i++) {
+            values[i] = random.nextLong() & list.maximalValue();
+        }
+        return values;
+    }
+
+    /**
+     * Tests {@link LargeIntegerList#setLong(long, long)} and {@link LargeIntegerList#getLong(long)}
+     * with various number of bits per value.
+     */
+    @Test
+    public void testGetAndSet() {
+        final Random random = TestUtilities.createRandomNumberGenerator();
+        for (final long maximalValue : new long[] {1, 100, 8191, Integer.MAX_VALUE, 0xFFFFFFFFFFL, Long.MAX_VALUE}) {
+            final LargeIntegerList list = create(300 + random.nextInt(100), maximalValue, random.nextBoolean());
+            assertTrue("maximalValue()", list.maximalValue() >= maximalValue);
+            final long[] values = values(random, list);
+            for (int i=0; i<values.length; i++) {
+                list.setLong(i, values[i]);
+            }
+            for (int i=0; i<values.length; i++) {
+                assertEquals(values[i], list.getLong(i));
+            }
+        }
+    }
+
+    /**
+     * Tests {@link LargeIntegerList#getLongs(long, long[], int, int)} and
+     * {@link LargeIntegerList#setLongs(long, long[], int, int)} on random ranges.
+     */
+    @Test
+    @DependsOnMethod("testGetAndSet")
+    public void testBulkCopy() {
+        final Random random = TestUtilities.createRandomNumberGenerator();
+        for (final long maximalValue : new long[] {1, 100, 8191, Integer.MAX_VALUE, 0xFFFFFFFFFFL, Long.MAX_VALUE}) {
+            final LargeIntegerList list = create(300 + random.nextInt(100), maximalValue, random.nextBoolean());
+            final long[] values = values(random, list);
+            list.setLongs(0, values, 0, values.length);
+            for (int i=0; i<values.length; i++) {
+                assertEquals(values[i], list.getLong(i));
+            }
+            for (int j=0; j<20; j++) {
+                final int lower  = random.nextInt(values.length);
+                final int length = random.nextInt(values.length - lower + 1);
+                final long[] copy = new long[length + 2];
+                list.getLongs(lower, copy, 1, length);
+                for (int i=0; i<length; i++) {
+                    assertEquals(values[lower + i], copy[i + 1]);
+                }
+                assertEquals("Value before range.", 0, copy[0]);
+                assertEquals("Value after range.",  0, copy[length + 1]);
+                /*
+                 * Overwrite the range with new values and verify that values
+                 * before and after the range are unmodified.
+                 */
+                for (int i=1; i<=length; i++) {
+                    copy[i] = random.nextLong() & list.maximalValue();
+                }
+                list.setLongs(lower, copy, 1, length);
+                System.arraycopy(copy, 1, values, lower, length);
+                for (int i=0; i<values.length; i++) {
+                    assertEquals(values[i], list.getLong(i));
+                }
+            }
+        }
+    }
+
+    /**
+     * Tests argument validation.
+     */
+    @Test
+    public void testArgumentChecks() {
+        final LargeIntegerList list = create(100, 1000, false);
+        assertEquals(1023, list.maximalValue());
+        assertEquals(100,  list.size());
+        try {
+            list.getLong(100);
+            fail("Index out of bounds.");
+        } catch (IndexOutOfBoundsException e) {
+            assertTrue(e.getMessage().contains("100"));
+        }
+        try {
+            list.setLongs(0, new long[] {10, 2000}, 0, 2);
+            fail("Value out of bounds.");
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("src[1]"));
+        }
+        assertEquals("No value shall be written if a value is invalid.", 0, list.getLong(0));
+        try {
+            new LargeIntegerList(new LongBuffer[] {LongBuffer.allocate(10)}, 100, 1000);
+            fail("Insufficient buffer capacity.");
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("chunks"));
+        }
+    }
+
+    /**
+     * Tests {@link LargeIntegerList#byteCount(long, long)}, including for a billion of 40 bits values.
+     */
+    @Test
+    public void testByteCount() {
+        assertEquals(  8, LargeIntegerList.byteCount(  1, 1));
+        assertEquals(  8, LargeIntegerList.byteCount( 64, 1));
+        assertEquals( 16, LargeIntegerList.byteCount( 65, 1));
+        assertEquals(504, LargeIntegerList.byteCount( 64, Long.MAX_VALUE));
+        assertEquals(5000000000L, LargeIntegerList.byteCount(1000000000, 0xFFFFFFFFFFL));
+    }
+}
@@ -62,6 +62,32 @@ public final strictfp class StatisticsFormatTest extends TestCase {
                 "Standard deviation:  6.49  6.99   6.19\n", text);
     }
 
+    /**
+     * Tests the formatting of {@code Statistics} with a histogram, which adds a median row.
+     */
+    @Test
+    @DependsOnMethod("testFormattingWithoutHeader")
+    public void testFormattingWithMedian() {
+        final Statistics statistics = Statistics.withHistogram(null, 0, 30, 30);
+        statistics.accept(10);
+        statistics.accept(15);
+        statistics.accept(22);
+        statistics.accept(17);
+        statistics.accept(12);
+        statistics.accept( 3);
+
+        final StatisticsFormat format = StatisticsFormat.getInstance(Locale.US);
+        final String text = format.format(statistics);
+        assertMultilinesEquals(
+                "Number of values:       6\n" +
+                "Minimum value:       3.00\n" +
+                "Maximum value:      22.00\n" +
+                "Mean value:         13.17\n" +
+                "Median:             13.00\n" +
+                "Root Mean Square:   14.44\n" +
+                "Standard deviation:  6.49\n", text);
+    }
+
     /**
      * Tests the formatting of {@code Statistics} with column headers and a border.
      * This test uses the same numerical values than {@link #testFormattingWithoutHeader()}.
@@ -17,9 +17,11 @@
 package org.apache.sis.math;
 
 import java.util.Random;
+import java.util.stream.IntStream;
 import java.io.IOException;
 import org.junit.Test;
 import org.apache.sis.test.TestCase;
+import org.apache.sis.test.DependsOnMethod;
 
 import static java.lang.StrictMath.*;
 import static java.lang.Double.NaN;
@@ -41,7 +43,7 @@ import static org.apache.sis.test.Assert.*;
  * that are known to produce results inside the range expected by this test class.</p>
  *
  * @author  Martin Desruisseaux (Geomatys)
- * @version 0.3
+ * @version 1.0
  * @since   0.3
  * @module
  */
@@ -224,6 +226,73 @@ public final strictfp class StatisticsTest extends TestCase {
         }
     }
 
+    /**
+     * Tests the computation of statistics in a parallel stream.
+     * The result shall be the same than sequential computation, except for rounding errors.
+     */
+    @Test
+    @DependsOnMethod("testConcatenation")
+    public void testCollector() {
+        final Statistics sequential = new Statistics(null);
+        for (int i=0; i<100000; i++) {
+            sequential.accept(i);
+        }
+        final Statistics parallel = IntStream.range(0, 100000).boxed().parallel()
+                .collect(Statistics.collector(() -> new Statistics(null)));
+        assertEquals(sequential.count(),   parallel.count());
+        assertEquals(sequential.minimum(), parallel.minimum(), STRICT);
+        assertEquals(sequential.maximum(), parallel.maximum(), STRICT);
+        assertEquals(sequential.mean(),    parallel.mean(),    1E-9);
+        assertEquals(sequential.rms(),     parallel.rms(),     1E-9);
+    }
+
+    /**
+     * Tests the histogram and the quantiles computed from it, including after
+     * {@linkplain Statistics#combine(Statistics) combination} and {@linkplain Statistics#scale(double) scaling}.
+     */
+    @Test
+    @DependsOnMethod("testConcatenation")
+    public void testHistogram() {
+        final Statistics global = Statistics.withHistogram(null, 0, 1000, 100);
+        final Statistics byBlock = Statistics.withHistogram(null, 0, 1000, 100);
+        for (int i=0; i<10; i++) {
+            final Statistics block = Statistics.withHistogram(null, 0, 1000, 100);
+            for (int j=0; j<100; j++) {
+                final int value = i*100 + j;
+                global.accept(value);
+                block.accept(value);
+            }
+            byBlock.combine(block);
+        }
+        assertEquals(global, byBlock);
+        final long[] histogram = global.histogram();
+        assertEquals(100, histogram.length);
+        for (final long n : histogram) {
+            assertEquals(10, n);
+        }
+        assertEquals(  0, global.quantile(0),    STRICT);
+        assertEquals(250, global.quantile(0.25), STRICT);
+        assertEquals(500, global.quantile(0.5),  STRICT);
+        assertEquals(999, global.quantile(1),    STRICT);
+        /*
+         * Scaling by a negative factor shall reverse the histogram.
+         */
+        global.scale(-2);
+        assertEquals(-1998, global.quantile(0),   STRICT);
+        assertEquals(-1000, global.quantile(0.5), STRICT);
+        /*
+         * Statistics without histogram can not be combined into statistics with histogram.
+         */
+        try {
+            byBlock.combine(new Statistics(null));
+            fail("Expected IllegalArgumentException.");
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("histogram"));
+        }
+        assertNull(new Statistics(null).histogram());
+        assertTrue(Double.isNaN(new Statistics(null).quantile(0.5)));
+    }
+
     /**
      * Tests the serialization.
      *
@@ -16,6 +16,9 @@
  */
 package org.apache.sis.math;
 
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
 import org.apache.sis.measure.NumberRange;
 import org.apache.sis.test.DependsOnMethod;
 import org.apache.sis.test.TestCase;
@@ -28,7 +31,7 @@ import static org.opengis.test.Assert.*;
  * Tests the {@link Vector} class.
  *
  * @author  Martin Desruisseaux (Geomatys)
- * @version 0.8
+ * @version 1.0
  * @since   0.8
  * @module
  */
@@ -441,6 +444,99 @@ public final strictfp class VectorTest extends TestCase {
         assertContentEquals(vec, compressed);
     }
 
+    /**
+     * Tests {@link Vector#doubleValues(int, double[], int, int)} and {@link Vector#floatValues(int, float[], int, int)}
+     * on vectors backed by arrays of various types, including unsigned integers and a packed vector.
+     */
+    @Test
+    @DependsOnMethod("testCompress")
+    public void testBulkCopy() {
+        final Vector[] vectors = {
+            Vector.create(new double[] {4, 8, 12, 16, 20, 24, 28, 32, 36, 60}, false),
+            Vector.create(new float[]  {4, 8, 12, 16, 20, 24, 28, 32, 36, 60}, false),
+            Vector.create(new long[]   {4, 8, 12, 16, 20, 24, 28, 32, 36, 60}, false),
+            Vector.create(new short[]  {4, 8, 12, 16, 20, 24, 28, 32, 36, 60}, false),
+            Vector.create(new double[] {4, 8, 12, 16, 20, 24, 28, 32, 36, 60}, false).compress(0),
+            Vector.create(new byte[]   {4, 8, 12, 16, 20, 24, 28, 32, 36, -3}, true)
+        };
+        assertInstanceOf("compress(0)", PackedVector.class, vectors[4]);
+        for (final Vector v : vectors) {
+            final double[] d = new double[6];
+            final float[]  f = new float [6];
+            v.doubleValues(3, d, 1, 4);
+            v.floatValues (6, f, 2, 4);
+            assertArrayEquals(new double[] {0, 16, 20, 24, 28, 0}, d, STRICT);
+            assertArrayEquals(new float[] {0, 0, 28, 32, 36, v.floatValue(9)}, f, 0f);
+            try {
+                v.doubleValues(8, d, 0, 3);
+                fail("Expected an IndexOutOfBoundsException.");
+            } catch (IndexOutOfBoundsException e) {
+                assertNotNull(e.getMessage());
+            }
+        }
+        assertEquals(253, vectors[5].floatValue(9), 0f);
+    }
+
+    /**
+     * Tests {@link Vector#range()} and {@link Vector#increment(double)} on a {@link PackedVector}.
+     */
+    @Test
+    @DependsOnMethod("testCompress")
+    public void testPackedRangeAndIncrement() {
+        Vector vec = Vector.create(new double[] {200, 100, 20, 80, 180, 2000, 500, 120}, false).compress(0);
+        assertInstanceOf("compress(0)", PackedVector.class, vec);
+        final NumberRange<?> range = vec.range();
+        assertEquals("minValue",   20, range.getMinDouble(), STRICT);
+        assertEquals("maxValue", 2000, range.getMaxDouble(), STRICT);
+        assertNull("increment", vec.increment(0));
+
+        /*
+         * A vector with a constant increment would be compressed as a sequence vector,
+         * so we make the increment constant only after the creation of the packed vector.
+         */
+        vec = Vector.create(new double[] {1000, 1030, 1060, 1090, 1120, 1150, 1180, 1210, 1900}, false).compress(0);
+        assertInstanceOf("compress(0)", PackedVector.class, vec);
+        assertNull("increment", vec.increment(0));
+        vec.set(8, 1240L);
+        assertEquals("increment", 30L, vec.increment(0));
+        assertEquals("range", NumberRange.create(1000L, true, 1240L, true), vec.range());
+    }
+
+    /**
+     * Tests {@link Vector#create(Object, boolean)} with NIO buffers.
+     * Changes in the buffer shall be reflected in the vector.
+     */
+    @Test
+    public void testBuffers() {
+        final DoubleBuffer doubles = DoubleBuffer.wrap(new double[] {2, 4, 6, 8, 10, 12});
+        doubles.position(1);
+        vector = Vector.create(doubles, false);
+        assertEquals(Double.class, vector.getElementType());
+        assertEquals(5, vector.size());
+        assertEquals(4, vector.doubleValue(0), STRICT);
+        assertEquals(2, vector.increment(0).doubleValue(), STRICT);
+        doubles.put(2, 7);
+        assertEquals(7, vector.doubleValue(1), STRICT);
+        final double[] d = new double[3];
+        vector.doubleValues(2, d, 0, 3);
+        assertArrayEquals(new double[] {8, 10, 12}, d, STRICT);
+
+        vector = Vector.create(IntBuffer.wrap(new int[] {-1, 5, 3}), true);
+        assertTrue("isUnsigned()", vector.isUnsigned());
+        assertEquals(4294967295L, vector.longValue(0));
+        assertEquals(5, vector.intValue(1));
+
+        final ByteBuffer bytes = ByteBuffer.wrap(new byte[] {10, 20, (byte) 200});
+        vector = Vector.create(bytes, true);
+        assertEquals(Byte.class, vector.getElementType());
+        assertEquals(200, vector.shortValue(2));
+        vector.set(0, (byte) 15);
+        assertEquals(15, bytes.get(0));
+        final NumberRange<?> range = vector.range();
+        assertEquals("minValue",  15, range.getMinDouble(), STRICT);
+        assertEquals("maxValue", 200, range.getMaxDouble(), STRICT);
+    }
+
     /**
      * Asserts that the content of the given vector are equal.
      * The vectors do not need to use the same element type.
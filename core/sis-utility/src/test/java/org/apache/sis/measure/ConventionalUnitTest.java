@@ -188,6 +188,22 @@ public final strictfp class ConventionalUnitTest extends TestCase {
         assertEquals(2.33722917, c.convert(2.5969213), STRICT);
     }
 
+    /**
+     * Tests that the converter between two conventional units is reused when requested again.
+     *
+     * @throws IncommensurableException if the units are not compatible.
+     */
+    @Test
+    @DependsOnMethod("testConvertAngle")
+    public void testConverterReuse() throws IncommensurableException {
+        final UnitConverter c = Units.GRAD.getConverterTo(Units.DEGREE);
+        assertSame(c, Units.GRAD.getConverterTo(Units.DEGREE));
+        assertSame(c, Units.GRAD.getConverterToAny(Units.DEGREE));
+        final UnitConverter r = Units.GRAD.getConverterTo(Units.MICRORADIAN);
+        assertNotSame(c, r);
+        assertEquals(Math.PI * 1E+6, r.convert(200), 1E-6);
+    }
+
     /**
      * Tests conversion of a temperature value between two conventional units.
      */
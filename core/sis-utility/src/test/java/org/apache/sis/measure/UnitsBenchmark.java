@@ -0,0 +1,102 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sis.measure;
+
+import java.util.Locale;
+import javax.measure.Unit;
+import javax.measure.IncommensurableException;
+import org.apache.sis.internal.util.StandardDateFormat;
+
+
+/**
+ * Measures the time for parsing unit symbols found in netCDF files following the CF conventions,
+ * and for getting the converters from those units to their system units. The parsing is measured
+ * with {@link Units#valueOf(String)} (which caches the parsed units) and with a new
+ * {@link UnitFormat} instance (which parses the symbols every time).
+ *
+ * <p><b>Usage:</b> run the {@code main} method, optionally with the number of iterations over the corpus.
+ * The number of units parsed or converters obtained per second is printed.</p>
+ *
+ * @author  agent
+ * @version 1.0
+ * @since   1.0
+ * @module
+ */
+@SuppressWarnings("UseOfSystemOutOrSystemErr")
+public final class UnitsBenchmark {
+    /**
+     * Unit symbols found in the attributes of netCDF files following the CF conventions.
+     */
+    private static final String[] CORPUS = {
+        "degrees_east", "degrees_north", "m", "km", "cm", "mm", "s", "ms", "K", "hPa", "Pa", "Pa/s",
+        "m/s", "m.s-1", "m s-1", "m2.s-1", "kg.m-2", "kg.m-2.s-1", "kg/kg", "kg.kg-1", "J/kg", "W.m-2",
+        "1/s", "s-1", "%", "ppm", "psu", "K.m2.kg-1.s-1", "m2/s", "°C"
+    };
+
+    /**
+     * Number of times to repeat the measurements.
+     */
+    private static final int REPEAT = 10;
+
+    /**
+     * Runs the benchmark and prints the time result to the standard output.
+     *
+     * @param  args  optionally the number of iterations over all units in the corpus.
+     * @throws IncommensurableException if a unit can not be converted to its system unit.
+     */
+    public static void main(final String[] args) throws IncommensurableException {
+        final int count = (args.length != 0) ? Integer.parseInt(args[0]) : 10000;
+        final double total = count * (double) CORPUS.length;
+        final Unit<?>[] units = new Unit<?>[CORPUS.length];
+        for (int i=0; i<CORPUS.length; i++) {
+            units[i] = Units.valueOf(CORPUS[i]);
+        }
+        for (int r=0; r<REPEAT; r++) {
+            final UnitFormat format = new UnitFormat(Locale.ROOT);
+            long time = System.nanoTime();
+            for (int j=0; j<count; j++) {
+                for (final String symbol : CORPUS) {
+                    format.parse(symbol);
+                }
+            }
+            final double parse = seconds(time);
+            time = System.nanoTime();
+            for (int j=0; j<count; j++) {
+                for (final String symbol : CORPUS) {
+                    Units.valueOf(symbol);
+                }
+            }
+            final double valueOf = seconds(time);
+            time = System.nanoTime();
+            for (int j=0; j<count; j++) {
+                for (final Unit<?> unit : units) {
+                    unit.getConverterToAny(unit.getSystemUnit());
+                }
+            }
+            final double convert = seconds(time);
+            System.out.printf("parse: %10.0f units/s    valueOf: %10.0f units/s    getConverterToAny: %10.0f calls/s%n",
+                              total / parse, total / valueOf, total / convert);
+        }
+    }
+
+    /**
+     * Returns the number of seconds elapsed since the given time.
+     */
+    private static double seconds(final long start) {
+        return (System.nanoTime() - start) / (double) StandardDateFormat.NANOS_PER_SECOND;
+    }
+}
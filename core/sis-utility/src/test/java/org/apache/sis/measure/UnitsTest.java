@@ -30,7 +30,9 @@ import javax.measure.quantity.Temperature;
 import javax.measure.quantity.Time;
 import javax.measure.quantity.Volume;
 import javax.measure.IncommensurableException;
+import javax.measure.format.ParserException;
 import org.apache.sis.test.DependsOn;
+import org.apache.sis.test.DependsOnMethod;
 import org.apache.sis.test.TestCase;
 import org.junit.Test;
 
@@ -314,6 +316,28 @@ public final strictfp class UnitsTest extends TestCase {
         assertEquals(KELVIN.multiply(SQUARE_METRE).divide(KILOGRAM.multiply(SECOND)), valueOf("K.m2.kg-1.s-1"));
     }
 
+    /**
+     * Tests that {@link Units#valueOf(String)} returns the same instance when the same symbol is parsed twice.
+     */
+    @Test
+    @DependsOnMethod("testAdvancedValueOf")
+    public void testValueOfCached() {
+        final Unit<?> unit = valueOf("K.m2.kg-1.s-1");
+        assertSame(unit, valueOf("K.m2.kg-1.s-1"));
+        try {
+            valueOf("K.m2.foo");
+            fail("Expected a ParserException.");
+        } catch (ParserException e) {
+            assertNotNull(e.getMessage());
+        }
+        try {
+            valueOf("K.m2.foo");
+            fail("Parsing errors shall not be cached.");
+        } catch (ParserException e) {
+            assertNotNull(e.getMessage());
+        }
+    }
+
     /**
      * Tests {@link Units#valueOfEPSG(int)} and {@link Units#valueOf(String)} with a {@code "EPSG:####"} syntax.
      */
@@ -18,6 +18,8 @@ package org.apache.sis.util.collection;
 
 import java.util.Map;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Arrays;
 import java.util.AbstractMap.SimpleEntry;
 import java.util.concurrent.atomic.AtomicReference;
 import java.io.IOException;
@@ -26,6 +28,7 @@ import java.io.PrintWriter;
 import org.apache.sis.math.Statistics;
 import org.apache.sis.math.StatisticsFormat;
 import org.apache.sis.internal.util.StandardDateFormat;
+import org.apache.sis.internal.system.CacheStatistics;
 import org.apache.sis.util.CharSequences;
 import org.apache.sis.test.TestUtilities;
 import org.apache.sis.test.TestCase;
@@ -43,7 +46,7 @@ import static org.apache.sis.test.Assert.*;
  * Tests the {@link Cache} with simple tests and a {@linkplain #stress() stress} test.
  *
  * @author  Martin Desruisseaux (Geomatys)
- * @version 0.3
+ * @version 1.0
  * @since   0.3
  * @module
  */
@@ -97,6 +100,105 @@ public final strictfp class CacheTest extends TestCase {
         assertEquals(singleton(new SimpleEntry<>(key, value)), cache.entrySet());
     }
 
+    /**
+     * Tests the statistics recorded by a cache after {@link Cache#enableStatistics(String)}.
+     *
+     * @throws InterruptedException if the test has been interrupted while waiting for evictions.
+     */
+    @Test
+    @DependsOnMethod("testPutAndUnlock")
+    public void testStatistics() throws InterruptedException {
+        final Cache<Integer,String> cache = new Cache<>(4, 2, false);
+        cache.enableStatistics("CacheTest");
+        final CacheStatistics stats = CacheStatistics.forName("CacheTest");
+        assertNotNull(stats);
+        assertEquals("costLimit", 2, stats.getCostLimit());
+        for (int i=0; i<4; i++) {
+            assertEquals(String.valueOf(i), cache.computeIfAbsent(i, String::valueOf));
+        }
+        assertEquals("misses", 4, stats.getMissCount());
+        assertEquals("hits",   0, stats.getHitCount());
+        assertEquals("3", cache.computeIfAbsent(3, (k) -> {throw new AssertionError(k);}));
+        assertEquals("3", cache.get(3));
+        assertNull(cache.get(10));
+        assertEquals("misses", 5, stats.getMissCount());
+        assertEquals("hits",   2, stats.getHitCount());
+        assertEquals("hitRatio", 2/7d, stats.getHitRatio(), STRICT);
+        assertTrue("loadTime", stats.getTotalLoadTime() >= 0);
+        /*
+         * Eviction of eldest strong references is performed in a background thread.
+         */
+        for (int i=0; stats.getEvictionCount() < 2; i++) {
+            assertTrue("Timeout while waiting for evictions.", i < 100);
+            Thread.sleep(50);
+        }
+        assertEquals("evictions", 2, stats.getEvictionCount());
+        assertEquals("cost",      2, stats.getCost());
+        stats.reset();
+        assertEquals("hits", 0, stats.getHitCount());
+    }
+
+    /**
+     * Tests two caches enabling statistics under the same name.
+     * The counters and the costs shall be shared by both caches.
+     */
+    @Test
+    @DependsOnMethod("testStatistics")
+    public void testSharedStatistics() {
+        final Cache<Integer,String> c1 = new Cache<>(4, 3, false);
+        final Cache<Integer,String> c2 = new Cache<>(4, 5, false);
+        c1.enableStatistics("CacheTest.shared");
+        c2.enableStatistics("CacheTest.shared");
+        final CacheStatistics stats = CacheStatistics.forName("CacheTest.shared");
+        assertEquals("costLimit", 8, stats.getCostLimit());
+        assertEquals("1", c1.computeIfAbsent(1, String::valueOf));
+        assertEquals("2", c2.computeIfAbsent(2, String::valueOf));
+        assertEquals("1", c1.get(1));
+        assertEquals("misses", 2, stats.getMissCount());
+        assertEquals("hits",   1, stats.getHitCount());
+        assertEquals("cost",   2, stats.getCost());
+        c1.clear();
+        assertEquals("cost",   1, stats.getCost());
+    }
+
+    /**
+     * Tests a cache with {@link Cache#setBounded(boolean)} enabled.
+     * The least recently used values shall be removed when the cost limit is exceeded.
+     *
+     * @throws InterruptedException if the test has been interrupted while waiting for evictions.
+     */
+    @Test
+    @DependsOnMethod("testPutAndUnlock")
+    public void testBounded() throws InterruptedException {
+        final Cache<Integer,String> cache = new Cache<>(4, 2, false);
+        cache.setBounded(true);
+        assertTrue(cache.isBounded());
+        for (int i=0; i<4; i++) {
+            cache.computeIfAbsent(i, String::valueOf);
+        }
+        waitForSize(cache, 2);
+        assertEquals(new HashSet<>(Arrays.asList(2, 3)), cache.keySet());
+        /*
+         * Access the eldest value, then add a new value.
+         * The value to be removed shall be the least recently used one.
+         */
+        assertEquals("2", cache.get(2));
+        cache.computeIfAbsent(4, String::valueOf);
+        waitForSize(cache, 2);
+        assertEquals(new HashSet<>(Arrays.asList(2, 4)), cache.keySet());
+    }
+
+    /**
+     * Waits until the given cache contains the given number of entries.
+     * Eviction is performed in a background thread, so this method polls the cache size.
+     */
+    private static void waitForSize(final Cache<?,?> cache, final int size) throws InterruptedException {
+        for (int i=0; cache.size() != size; i++) {
+            assertTrue("Timeout while waiting for evictions.", i < 100);
+            Thread.sleep(50);
+        }
+    }
+
     /**
      * Tests the cache when a thread is blocking a second one.
      * The second thread tries to write a value while the first thread holds the lock.
@@ -0,0 +1,93 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sis.util.collection;
+
+import java.util.Collections;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.apache.sis.internal.util.StandardDateFormat;
+
+
+/**
+ * Measures the throughput of {@link WeakHashSet#unique(Object)} when the same set is used as an interning pool
+ * by 1 to 64 threads. Most calls find an existing element, which is the typical usage in factories.
+ *
+ * <p><b>Usage:</b> run the {@code main} method, optionally with the number of calls per thread in argument.
+ * The number of calls per second is printed for each number of threads.</p>
+ *
+ * @author  agent
+ * @version 1.0
+ * @since   1.0
+ * @module
+ */
+@SuppressWarnings("UseOfSystemOutOrSystemErr")
+public final class WeakHashSetBenchmark {
+    /**
+     * Number of distinct values in the pool.
+     */
+    private static final int POOL_SIZE = 1000;
+
+    /**
+     * Number of times to repeat the measurements.
+     */
+    private static final int REPEAT = 5;
+
+    /**
+     * Runs the benchmark and prints the time result to the standard output.
+     *
+     * @param  args  optionally the number of calls to {@code unique(…)} per thread.
+     * @throws Exception if an error occurred in a thread.
+     */
+    public static void main(final String[] args) throws Exception {
+        final int count = (args.length != 0) ? Integer.parseInt(args[0]) : 1000000;
+        final WeakHashSet<String> pool = new WeakHashSet<>(String.class);
+        final String[] values = new String[POOL_SIZE];
+        for (int i=0; i<POOL_SIZE; i++) {
+            values[i] = pool.unique("Value " + i);
+        }
+        for (int r=0; r<REPEAT; r++) {
+            for (int numThreads = 1; numThreads <= 64; numThreads *= 2) {
+                final ExecutorService executor = Executors.newFixedThreadPool(numThreads);
+                try {
+                    final Callable<Void> task = () -> {
+                        final String[] keys = new String[POOL_SIZE];
+                        for (int i=0; i<POOL_SIZE; i++) {
+                            keys[i] = new String(values[i]);                // Equal but not same instances.
+                        }
+                        for (int i=0; i<count; i++) {
+                            if (pool.unique(keys[i % POOL_SIZE]) != values[i % POOL_SIZE]) {
+                                throw new AssertionError(i);
+                            }
+                        }
+                        return null;
+                    };
+                    final long time = System.nanoTime();
+                    for (final Future<Void> f : executor.invokeAll(Collections.nCopies(numThreads, task))) {
+                        f.get();
+                    }
+                    final double seconds = (System.nanoTime() - time) / (double) StandardDateFormat.NANOS_PER_SECOND;
+                    System.out.printf("%2d threads: %12.0f calls/s%n", numThreads, numThreads * (double) count / seconds);
+                } finally {
+                    executor.shutdown();
+                }
+            }
+            System.out.println();
+        }
+    }
+}
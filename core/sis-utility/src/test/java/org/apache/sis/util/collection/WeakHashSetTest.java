@@ -16,8 +16,14 @@
  */
 package org.apache.sis.util.collection;
 
+import java.util.List;
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import org.apache.sis.test.TestCase;
 import org.apache.sis.test.DependsOn;
 import org.apache.sis.test.DependsOnMethod;
@@ -33,7 +39,7 @@ import static org.apache.sis.test.TestUtilities.waitForGarbageCollection;
  * A standard {@link HashSet} object is used for comparison purpose.
  *
  * @author  Martin Desruisseaux (IRD, Geomatys)
- * @version 0.3
+ * @version 1.0
  * @since   0.3
  * @module
  */
@@ -180,4 +186,106 @@ public final strictfp class WeakHashSetTest extends TestCase {
         assertTrue (weakSet.add(new int[] {2, 5, 4}));
         assertSame (array, weakSet.unique(array.clone()));
     }
+
+    /**
+     * Tests {@link WeakHashSet#unique(Object)} invoked concurrently from many threads.
+     * All threads shall get the same instances for equal values.
+     *
+     * @throws Exception if an error occurred in a thread.
+     */
+    @Test
+    @DependsOnMethod("testStrongReferences")
+    public void testConcurrentAccess() throws Exception {
+        final WeakHashSet<Integer> weakSet = new WeakHashSet<>(Integer.class);
+        final List<Callable<Integer[]>> tasks = new ArrayList<>();
+        for (int t=0; t<8; t++) {
+            tasks.add(() -> {
+                final Integer[] values = new Integer[SAMPLE_SIZE];
+                for (int i=0; i<SAMPLE_SIZE; i++) {
+                    @SuppressWarnings("UnnecessaryBoxing")
+                    final Integer value = new Integer(i);                   // Really need new instances
+                    values[i] = weakSet.unique(value);
+                }
+                return values;
+            });
+        }
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Integer[] expected = null;
+            for (final Future<Integer[]> f : executor.invokeAll(tasks)) {
+                final Integer[] values = f.get();
+                if (expected == null) {
+                    expected = values;
+                } else for (int i=0; i<SAMPLE_SIZE; i++) {
+                    assertSame(expected[i], values[i]);
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(SAMPLE_SIZE, weakSet.size());
+    }
+
+    /**
+     * An element whose {@code equals(Object)} method throws an exception when invoked without the lock
+     * on the set. This simulates an element which can not be compared when the set is seen in an
+     * inconsistent state, for example during a concurrent resize.
+     */
+    private static final class Fragile {
+        /** The set which must be locked for allowing comparisons. */
+        private final WeakHashSet<Fragile> set;
+
+        /** The value to compare. */
+        private final int value;
+
+        /** Creates a new element of the given value. */
+        Fragile(final WeakHashSet<Fragile> set, final int value) {
+            this.set   = set;
+            this.value = value;
+        }
+
+        /** Returns a hash code value for this element. */
+        @Override public int hashCode() {
+            return value;
+        }
+
+        /** Compares this element with the given object, provided that the caller holds the lock on the set. */
+        @Override public boolean equals(final Object other) {
+            if (!Thread.holdsLock(set)) {
+                throw new IllegalStateException("Comparison without lock.");
+            }
+            return (other instanceof Fragile) && ((Fragile) other).value == value;
+        }
+    }
+
+    /**
+     * Tests {@link WeakHashSet#unique(Object)} with elements having an {@code equals(Object)} method
+     * which throws an exception when invoked outside the lock, while another thread resizes the set.
+     * The exception shall be ignored during the optimistic search, and the search repeated under lock.
+     *
+     * @throws InterruptedException if the test has been interrupted while waiting for the writer thread.
+     */
+    @Test
+    @DependsOnMethod("testConcurrentAccess")
+    public void testFailingEqualsDuringResize() throws InterruptedException {
+        final WeakHashSet<Fragile> weakSet = new WeakHashSet<>(Fragile.class);
+        final Fragile[] elements = new Fragile[SAMPLE_SIZE];
+        for (int i=0; i<SAMPLE_SIZE; i++) {
+            elements[i] = new Fragile(weakSet, i);
+            assertSame(elements[i], weakSet.unique(elements[i]));
+        }
+        final Fragile[] added = new Fragile[SAMPLE_SIZE * 4];
+        final Thread writer = new Thread(() -> {
+            for (int i=0; i<added.length; i++) {
+                added[i] = new Fragile(weakSet, SAMPLE_SIZE + i);
+                weakSet.add(added[i]);
+            }
+        });
+        writer.start();
+        for (int i=0; i<SAMPLE_SIZE; i++) {
+            assertSame(elements[i], weakSet.unique(new Fragile(weakSet, i)));
+        }
+        writer.join();
+        assertEquals(SAMPLE_SIZE * 5, weakSet.size());
+    }
 }
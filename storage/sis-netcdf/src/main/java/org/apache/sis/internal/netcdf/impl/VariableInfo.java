@@ -30,6 +30,7 @@ import org.apache.sis.internal.netcdf.DataType;
 import org.apache.sis.internal.netcdf.Variable;
 import org.apache.sis.internal.netcdf.Resources;
 import org.apache.sis.internal.system.Modules;
+import org.apache.sis.internal.system.OperationStatistics;
 import org.apache.sis.internal.storage.io.ChannelDataInput;
 import org.apache.sis.internal.storage.io.HyperRectangleReader;
 import org.apache.sis.internal.storage.io.Region;
@@ -68,6 +69,11 @@ final class VariableInfo extends Variable implements Comparable<VariableInfo> {
         CF.STANDARD_NAME
     };
 
+    /**
+     * Execution times of the reads of variable data.
+     */
+    private static final OperationStatistics READ = OperationStatistics.forName("Read netCDF variable");
+
     /**
      * Helper class for reading a sub-area with a sub-sampling,
      * or {@code null} if {@code dataType} is not a supported type.
@@ -555,7 +561,7 @@ final class VariableInfo extends Variable implements Comparable<VariableInfo> {
             }
             final Region region = new Region(upper, lower, upper, subsampling);
             applyUnlimitedDimensionStride(region);
-            values = Vector.create(reader.read(region), dataType.isUnsigned).compress(0);
+            values = Vector.create(read(region), dataType.isUnsigned).compress(0);
         }
         return values;
     }
@@ -626,7 +632,20 @@ final class VariableInfo extends Variable implements Comparable<VariableInfo> {
         }
         final Region region = new Region(size, lower, upper, sub);
         applyUnlimitedDimensionStride(region);
-        return Vector.create(reader.read(region), dataType.isUnsigned);
+        return Vector.create(read(region), dataType.isUnsigned);
+    }
+
+    /**
+     * Reads the given region of this variable and records the execution time.
+     *
+     * @param  region  the region to read.
+     * @return the data as an array of a Java primitive type.
+     */
+    private Object read(final Region region) throws IOException {
+        final long startTime = System.nanoTime();
+        final Object array = reader.read(region);
+        READ.record(startTime, Modules.NETCDF, Variable.class, "read");
+        return array;
     }
 
     /**
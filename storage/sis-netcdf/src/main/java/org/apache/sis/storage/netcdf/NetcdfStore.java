@@ -32,6 +32,8 @@ import org.apache.sis.storage.StorageConnector;
 import org.apache.sis.storage.Aggregate;
 import org.apache.sis.internal.netcdf.Decoder;
 import org.apache.sis.internal.storage.URIDataStore;
+import org.apache.sis.internal.system.Modules;
+import org.apache.sis.internal.system.OperationStatistics;
 import org.apache.sis.internal.util.UnmodifiableArrayList;
 import org.apache.sis.metadata.ModifiableMetadata;
 import org.apache.sis.setup.OptionKey;
@@ -176,8 +178,10 @@ public class NetcdfStore extends DataStore implements Aggregate {
     @Override
     public synchronized Metadata getMetadata() throws DataStoreException {
         if (metadata == null) try {
+            final long startTime = System.nanoTime();
             final MetadataReader reader = new MetadataReader(decoder);
             metadata = reader.read();
+            OperationStatistics.forName("Build netCDF metadata").record(startTime, Modules.NETCDF, NetcdfStore.class, "getMetadata");
             if (metadata instanceof ModifiableMetadata) {
                 ((ModifiableMetadata) metadata).transition(ModifiableMetadata.State.FINAL);
             }
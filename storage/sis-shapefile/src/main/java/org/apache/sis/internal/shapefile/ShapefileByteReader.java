@@ -31,6 +31,7 @@ import org.apache.sis.internal.shapefile.jdbc.*;
 import org.apache.sis.storage.shapefile.InvalidShapefileFormatException;
 import org.apache.sis.storage.shapefile.ShapeTypeEnum;
 import org.apache.sis.feature.AbstractFeature;
+import org.apache.sis.internal.util.LargeIntegerList;
 import org.apache.sis.util.logging.Logging;
 
 import com.esri.core.geometry.*;
@@ -39,7 +40,7 @@ import com.esri.core.geometry.*;
  * Reader of a Shapefile Binary content by the way of a {@link java.nio.MappedByteBuffer}
  *
  * @author  Marc Le Bihan
- * @version 0.5
+ * @version 1.0
  * @since   0.5
  * @module
  */
@@ -59,11 +60,11 @@ public class ShapefileByteReader extends CommonByteReader<InvalidShapefileFormat
     /** Shapefile index. */
     private File shapeFileIndex;
 
-    /** Shapefile indexes (loaded from .SHX file, if any found). */
-    private ArrayList<Integer> indexes;
+    /** Shapefile indexes (loaded from .SHX file, if any found), stored off-heap. */
+    private LargeIntegerList indexes;
 
-    /** Shapefile records lengths (loaded from .SHX file, if any found). */
-    private ArrayList<Integer> recordsLengths;
+    /** Shapefile records lengths (loaded from .SHX file, if any found), stored off-heap. */
+    private LargeIntegerList recordsLengths;
 
     /**
      * Construct a shapefile byte reader.
@@ -162,15 +163,16 @@ public class ShapefileByteReader extends CommonByteReader<InvalidShapefileFormat
                 int fsize = (int)fc.size();
                 MappedByteBuffer indexesByteBuffer = fc.map(FileChannel.MapMode.READ_ONLY, 0, fsize);
 
-                // Indexes entries follow.
-                this.indexes = new ArrayList<>();
-                this.recordsLengths = new ArrayList<>();
+                // Indexes entries follow, 8 bytes per record. Values are unsigned 32 bits integers.
                 indexesByteBuffer.position(100);
                 indexesByteBuffer.order(ByteOrder.BIG_ENDIAN);
+                final long count = indexesByteBuffer.remaining() / (2 * Integer.BYTES);
+                this.indexes = LargeIntegerList.allocate(count, 0xFFFFFFFFL, true);
+                this.recordsLengths = LargeIntegerList.allocate(count, 0xFFFFFFFFL, true);
 
-                while(indexesByteBuffer.hasRemaining()) {
-                    this.indexes.add(indexesByteBuffer.getInt());        // Data offset : the position of the record in the main shapefile, expressed in words (16 bits).
-                    this.recordsLengths.add(indexesByteBuffer.getInt()); // Length of this shapefile record.
+                for (long i=0; i<count; i++) {
+                    this.indexes.setLong(i, Integer.toUnsignedLong(indexesByteBuffer.getInt()));        // Data offset : the position of the record in the main shapefile, expressed in words (16 bits).
+                    this.recordsLengths.setLong(i, Integer.toUnsignedLong(indexesByteBuffer.getInt())); // Length of this shapefile record.
                 }
 
                 log(Level.INFO, "log.index_has_been_read", this.shapeFileIndex.getAbsolutePath(), this.indexes.size(), this.getFile().getAbsolutePath());
@@ -237,16 +239,15 @@ public class ShapefileByteReader extends CommonByteReader<InvalidShapefileFormat
             throw new SQLNoDirectAccessAvailableException(message);
         }
 
-        int position = this.indexes.get(recordNumber - 1) * 2; // Indexes unit are words (16 bits).
-
         // Check that the asked record number is not after the last.
+        final long position = (recordNumber <= this.indexes.size()) ? this.indexes.getLong(recordNumber - 1) * 2 : Long.MAX_VALUE; // Indexes unit are words (16 bits).
         if (position >= this.getByteBuffer().capacity()) {
             String message = format(Level.SEVERE, "excp.wrong_direct_access_after_last", recordNumber, getFile().getAbsolutePath());
             throw new SQLInvalidRecordNumberForDirectAccessException(recordNumber, message);
         }
 
         try {
-            getByteBuffer().position(position);
+            getByteBuffer().position((int) position);
         }
         catch(IllegalArgumentException e) {
             String message = format(Level.SEVERE, "assert.wrong_position", recordNumber, position, getFile().getAbsolutePath(), e.getMessage());
@@ -138,11 +138,12 @@ final class Analyzer {
      *
      * @param  source     the data source, usually given by user at {@code SQLStore} creation time.
      * @param  metadata   Value of {@code source.getConnection().getMetaData()}.
+     * @param  deferGeometryDecoding  whether to decode geometries only when first requested.
      * @param  listeners  Value of {@code SQLStore.listeners}.
      * @param  locale     Value of {@code SQLStore.getLocale()}.
      */
-    Analyzer(final DataSource source, final DatabaseMetaData metadata, final WarningListeners<DataStore> listeners,
-             final Locale locale) throws SQLException
+    Analyzer(final DataSource source, final DatabaseMetaData metadata, final boolean deferGeometryDecoding,
+             final WarningListeners<DataStore> listeners, final Locale locale) throws SQLException
     {
         this.source      = source;
         this.metadata    = metadata;
@@ -150,7 +151,7 @@ final class Analyzer {
         this.locale      = locale;
         this.strings     = new HashMap<>();
         this.escape      = metadata.getSearchStringEscape();
-        this.functions   = new SpatialFunctions(metadata);
+        this.functions   = new SpatialFunctions(metadata, deferGeometryDecoding);
         this.nameFactory = DefaultFactories.forBuildin(NameFactory.class);
         /*
          * The following tables are defined by ISO 19125 / OGC Simple feature access part 2.
@@ -20,9 +20,14 @@ import java.util.List;
 import java.util.ArrayList;
 import java.util.Map;
 import java.util.HashMap;
+import java.util.Set;
+import java.util.HashSet;
 import java.util.Collection;
 import java.util.Spliterator;
 import java.util.function.Consumer;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+import java.util.logging.LogRecord;
 import java.sql.Connection;
 import java.sql.DatabaseMetaData;
 import java.sql.Statement;
@@ -30,20 +35,34 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.lang.reflect.Array;
+import javax.sql.DataSource;
 import org.apache.sis.internal.metadata.sql.SQLBuilder;
+import org.apache.sis.internal.system.Loggers;
+import org.apache.sis.internal.system.OperationStatistics;
+import org.apache.sis.internal.util.StandardDateFormat;
 import org.apache.sis.storage.InternalDataStoreException;
 import org.apache.sis.util.collection.BackingStoreException;
 import org.apache.sis.util.collection.WeakValueHashMap;
+import org.apache.sis.util.logging.PerformanceLevel;
+import org.apache.sis.util.logging.Logging;
 import org.apache.sis.util.ArraysExt;
 
 // Branch-dependent imports
 import org.apache.sis.feature.AbstractFeature;
 import org.apache.sis.feature.DefaultFeatureType;
+import org.apache.sis.feature.DefaultAttributeType;
 
 
 /**
  * Iterator over feature instances.
  *
+ * <div class="section">Parallelism</div>
+ * The main iterator (the one created by {@link Table#features(boolean)}) can be split for parallel streams.
+ * In such case, this iterator reads a batch of rows and gives them to a new spliterator which will create
+ * the feature instances in another thread. If the features have associations to other tables, the split
+ * iterator uses its own (pooled) connection for querying the dependencies, since JDBC statements can not
+ * be shared between threads. Geometries are read as bytes and decoded by the thread creating the features.
+ *
  * @author  Martin Desruisseaux (Geomatys)
  * @version 1.0
  * @since   1.0
@@ -55,6 +74,23 @@ final class Features implements Spliterator<AbstractFeature>, Runnable {
      */
     private static final Features[] EMPTY = new Features[0];
 
+    /**
+     * Increment in the number of rows to read in a batch when splitting this iterator.
+     * This is the same strategy than {@link java.util.Spliterators.AbstractSpliterator}.
+     */
+    private static final int BATCH_UNIT = 256;
+
+    /**
+     * Maximal number of rows to read in a batch when splitting this iterator.
+     * Rows are kept in memory until processed, so this value should not be too large.
+     */
+    private static final int MAX_BATCH = 1 << 14;
+
+    /**
+     * Execution times of the feature iterations, from the creation of the iterator to its closing.
+     */
+    private static final OperationStatistics READ = OperationStatistics.forName("Read SQL features");
+
     /**
      * The type of features to create.
      */
@@ -67,6 +103,17 @@ final class Features implements Spliterator<AbstractFeature>, Runnable {
      */
     private final String[] attributeNames;
 
+    /**
+     * For each element in {@link #attributeNames}, whether the attribute contains geometries.
+     * This array is {@code null} if there is no geometry. This array shall not be modified.
+     */
+    private final boolean[] geometryAttributes;
+
+    /**
+     * Functions for decoding the geometries, or {@code null} if {@link #geometryAttributes} is null.
+     */
+    private final SpatialFunctions functions;
+
     /**
      * Name of the properties where are stored associations in feature instances.
      * The length of this array shall be equal to the {@link #dependencies} array length.
@@ -108,6 +155,66 @@ final class Features implements Spliterator<AbstractFeature>, Runnable {
      */
     private final PreparedStatement statement;
 
+    /**
+     * The SQL query executed by this iterator. This is used for creating a new statement
+     * on another connection when this iterator is copied for parallel execution.
+     */
+    private final String query;
+
+    /**
+     * Number of columns in the {@code SELECT} clause of {@link #query}.
+     * This is the length of {@link #row} arrays.
+     */
+    private final int columnCount;
+
+    /**
+     * Provider of (pooled) connections to the database, or {@code null} if this iterator can not be split.
+     * This is non-null only for the main iterator, i.e. the one created by {@link Table#features(boolean)}.
+     */
+    private final DataSource source;
+
+    /**
+     * The values of the current row if they have been read in advance by another iterator, or {@code null}
+     * if the values shall be read from {@link #result}. This is used for iterators created by {@link #trySplit()}.
+     */
+    private Object[] row;
+
+    /**
+     * The iterators created by {@link #trySplit()} which are currently holding a connection,
+     * or {@code null} if this iterator has not been split. All accesses to this set shall be
+     * synchronized on the set.
+     */
+    private Set<Batch> splits;
+
+    /**
+     * Whether {@link #close()} has been invoked on this iterator. After that point, the {@linkplain #splits}
+     * release their connection as soon as they are no longer in use. This field shall be accessed while
+     * synchronized on {@link #splits}.
+     */
+    private boolean splitsClosed;
+
+    /**
+     * Maximal number of rows read by the last invocation of {@link #trySplit()}.
+     */
+    private int batchSize;
+
+    /**
+     * Number of rows read by this iterator, including rows delegated to {@link #splits}.
+     * This statistic is logged when the iterator is closed.
+     */
+    private long rowCount;
+
+    /**
+     * Number of connections used by this iterator, including the connections used by {@link #splits}.
+     * All accesses to this field shall be synchronized on {@link #splits} if non-null.
+     */
+    private int connectionCount;
+
+    /**
+     * Value of {@link System#nanoTime()} when this iterator has been created.
+     */
+    private final long startTime;
+
     /**
      * The result of executing the SQL query for a {@link Table}. If {@link #statement} is null,
      * then a single {@code ResultSet} is used for all the lifetime of this {@code Features} instance.
@@ -155,8 +262,11 @@ final class Features implements Spliterator<AbstractFeature>, Runnable {
              final Relation[] importedKeys, final Relation[] exportedKeys, final List<Relation> following, final Relation noFollow)
              throws SQLException, InternalDataStoreException
     {
+        this.startTime = System.nanoTime();
         this.featureType = table.featureType;
         this.attributeNames = attributeNames;
+        this.geometryAttributes = table.geometryAttributes;
+        this.functions = (geometryAttributes != null) ? table.functions : null;
         final DatabaseMetaData metadata = connection.getMetaData();
         estimatedSize = following.isEmpty() ? table.countRows(metadata, true) : 0;
         final SQLBuilder sql = new SQLBuilder(metadata, true).append("SELECT");
@@ -237,11 +347,15 @@ final class Features implements Spliterator<AbstractFeature>, Runnable {
          * a possibility that many rows reference the same feature instance.
          */
         sql.append(" FROM ").appendIdentifier(table.name.catalog, table.name.schema, table.name.table);
+        columnCount = columnIndices.size();
         if (following.isEmpty()) {
             statement = null;
             instances = null;       // A future SIS version could use the map opportunistically if it exists.
             keyComponentClass = null;
-            result = connection.createStatement().executeQuery(sql.toString());
+            source = table.source;
+            query  = sql.toString();
+            connectionCount = 1;
+            result = connection.createStatement().executeQuery(query);
         } else {
             final Relation componentOf = following.get(following.size() - 1);
             String separator = " WHERE ";
@@ -249,7 +363,9 @@ final class Features implements Spliterator<AbstractFeature>, Runnable {
                 sql.append(separator).appendIdentifier(primaryKey).append("=?");
                 separator = " AND ";
             }
-            statement = connection.prepareStatement(sql.toString());
+            source    = null;
+            query     = sql.toString();
+            statement = connection.prepareStatement(query);
             /*
              * Following assumes that the foreigner key references the primary key of this table,
              * in which case 'table.primaryKeyClass' should never be null. This assumption may not
@@ -265,6 +381,43 @@ final class Features implements Spliterator<AbstractFeature>, Runnable {
         }
     }
 
+    /**
+     * Creates a new iterator executing the same queries than the given iterator, but on another connection.
+     * This is used for the iterators created by {@link #trySplit()}: the values of the main table are provided
+     * in {@link #row} arrays read by the original iterator, and only the dependencies are queried on the new
+     * connection. Consequently the given connection can be null if the original iterator has no dependency.
+     *
+     * @param  other       the iterator to copy.
+     * @param  connection  connection to use for querying the dependencies, or {@code null} if none.
+     */
+    private Features(final Features other, final Connection connection) throws SQLException {
+        startTime           = other.startTime;
+        featureType         = other.featureType;
+        attributeNames      = other.attributeNames;
+        geometryAttributes  = other.geometryAttributes;
+        functions           = other.functions;
+        associationNames    = other.associationNames;
+        deferredAssociation = other.deferredAssociation;
+        importCount         = other.importCount;
+        foreignerKeyIndices = other.foreignerKeyIndices;
+        instances           = other.instances;
+        keyComponentClass   = other.keyComponentClass;
+        estimatedSize       = 0;
+        columnCount         = other.columnCount;
+        query               = other.query;
+        source              = null;
+        statement           = (other.statement != null) ? connection.prepareStatement(query) : null;
+        final int n = other.dependencies.length;
+        if (n == 0) {
+            dependencies = EMPTY;
+        } else {
+            dependencies = new Features[n];
+            for (int i=0; i<n; i++) {
+                dependencies[i] = new Features(other.dependencies[i], connection);
+            }
+        }
+    }
+
     /**
      * Appends a columns in the given builder and remember the column indices.
      * An exception is thrown if the column has already been added (should never happen).
@@ -319,13 +472,40 @@ final class Features implements Spliterator<AbstractFeature>, Runnable {
     }
 
     /**
-     * Current version does not support split.
+     * If this iterator is the main one, reads a batch of rows and returns an iterator which will create
+     * the features for those rows. The returned iterator will use its own connection for fetching the
+     * dependencies, if any. This method reads more rows at each invocation, up to a limit.
      *
-     * @return always {@code null}.
+     * @return an iterator over a batch of rows, or {@code null} if this iterator can not be split.
      */
     @Override
     public Spliterator<AbstractFeature> trySplit() {
-        return null;
+        final ResultSet r = result;
+        if (source == null || r == null) {
+            return null;
+        }
+        if (splits == null) {
+            splits = new HashSet<>();
+        }
+        batchSize = Math.min(batchSize + BATCH_UNIT, MAX_BATCH);
+        Object[][] rows = new Object[batchSize][];
+        int n = 0;
+        try {
+            while (n < batchSize && r.next()) {
+                final Object[] values = new Object[columnCount];
+                for (int i=0; i<columnCount; i++) {
+                    values[i] = read(r, i+1);
+                }
+                rows[n++] = values;
+            }
+        } catch (SQLException e) {
+            throw new BackingStoreException(e);
+        }
+        if (n == 0) {
+            return null;
+        }
+        rowCount += n;
+        return new Batch(this, ArraysExt.resize(rows, n));
     }
 
     /**
@@ -362,56 +542,98 @@ final class Features implements Spliterator<AbstractFeature>, Runnable {
      */
     private boolean fetch(final Consumer<? super AbstractFeature> action, final boolean all) throws SQLException {
         while (result.next()) {
-            final AbstractFeature feature = featureType.newInstance();
-            for (int i=0; i < attributeNames.length; i++) {
-                final Object value = result.getObject(i+1);
-                if (!result.wasNull()) {
-                    feature.setPropertyValue(attributeNames[i], value);
+            rowCount++;
+            action.accept(createFeature());
+            if (!all) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Returns the value in the given column of the current row. The value is taken from {@link #row}
+     * if the row has been read in advance, or from the {@link #result} set otherwise.
+     *
+     * @param  column  one-based index of the column.
+     * @return value in the given column, or {@code null} if null.
+     */
+    private Object getObject(final int column) throws SQLException {
+        return (row != null) ? row[column - 1] : read(result, column);
+    }
+
+    /**
+     * Reads the value in the given column of the current row of the given result set.
+     * Geometries are read as bytes, to be decoded by {@link #createFeature()}.
+     *
+     * @param  r       the result set from which to read the value.
+     * @param  column  one-based index of the column.
+     * @return value in the given column, or {@code null} if null.
+     */
+    private Object read(final ResultSet r, final int column) throws SQLException {
+        if (geometryAttributes != null && column <= geometryAttributes.length && geometryAttributes[column - 1]) {
+            return r.getBytes(column);
+        }
+        return r.getObject(column);
+    }
+
+    /**
+     * Creates a feature instance for the current row, together with its dependencies.
+     */
+    private AbstractFeature createFeature() throws SQLException {
+        final AbstractFeature feature = featureType.newInstance();
+        for (int i=0; i < attributeNames.length; i++) {
+            final Object value = getObject(i+1);
+            if (value != null) {
+                final String name = attributeNames[i];
+                if (geometryAttributes == null || !geometryAttributes[i]) {
+                    feature.setPropertyValue(name, value);
+                } else if (functions.deferGeometryDecoding) {
+                    final DefaultAttributeType<?> type = (DefaultAttributeType<?>) featureType.getProperty(name);
+                    feature.setProperty(new GeometryAttribute(type, functions, (byte[]) value));
+                } else {
+                    feature.setPropertyValue(name, functions.toGeometry((byte[]) value));
                 }
             }
-            for (int i=0; i < dependencies.length; i++) {
-                final Features dependency = dependencies[i];
-                final int[] columnIndices = foreignerKeyIndices[i];
-                final Object value;
-                if (i < importCount) {
-                    /*
-                     * Relation.Direction.IMPORT: this table contains the foreigner keys.
-                     *
-                     * If the foreigner key uses only one column, we will store the foreigner key value
-                     * in the 'key' variable without creating array. But if the foreigner key uses more
-                     * than one column, then we need to create an array holding all values.
-                     */
-                    Object key = null;
-                    final Object keys = dependency.identifierArray(columnIndices.length);
-                    for (int p=0; p < columnIndices.length;) {
-                        key = result.getObject(columnIndices[p]);
-                        if (keys != null) Array.set(keys, p, key);
-                        dependency.statement.setObject(++p, key);
-                    }
-                    if (keys != null) key = keys;
-                    value = dependency.fetchReferenced(key, null);
-                } else {
-                    /*
-                     * Relation.Direction.EXPORT: another table references this table.
-                     *
-                     * 'key' must stay null because we do not cache those dependencies.
-                     * The reason is that this direction can return a lot of instances,
-                     * contrarily to Direction.IMPORT which return only one instance.
-                     * Furthermore instances fetched from Direction.EXPORT can not be
-                     * shared by feature instances, so caching would be useless here.
-                     */
-                    for (int p=0; p < columnIndices.length;) {
-                        final Object k = result.getObject(columnIndices[p]);
-                        dependency.statement.setObject(++p, k);
-                    }
-                    value = dependency.fetchReferenced(null, feature);
+        }
+        for (int i=0; i < dependencies.length; i++) {
+            final Features dependency = dependencies[i];
+            final int[] columnIndices = foreignerKeyIndices[i];
+            final Object value;
+            if (i < importCount) {
+                /*
+                 * Relation.Direction.IMPORT: this table contains the foreigner keys.
+                 *
+                 * If the foreigner key uses only one column, we will store the foreigner key value
+                 * in the 'key' variable without creating array. But if the foreigner key uses more
+                 * than one column, then we need to create an array holding all values.
+                 */
+                Object key = null;
+                final Object keys = dependency.identifierArray(columnIndices.length);
+                for (int p=0; p < columnIndices.length;) {
+                    key = getObject(columnIndices[p]);
+                    if (keys != null) Array.set(keys, p, key);
+                    dependency.statement.setObject(++p, key);
                 }
-                feature.setPropertyValue(associationNames[i], value);
+                if (keys != null) key = keys;
+                value = dependency.fetchReferenced(key, null);
+            } else {
+                /*
+                 * Relation.Direction.EXPORT: another table references this table.
+                 *
+                 * 'key' must stay null because we do not cache those dependencies.
+                 * The reason is that this direction can return a lot of instances,
+                 * contrarily to Direction.IMPORT which return only one instance.
+                 * Furthermore instances fetched from Direction.EXPORT can not be
+                 * shared by feature instances, so caching would be useless here.
+                 */
+                for (int p=0; p < columnIndices.length;) {
+                    final Object k = getObject(columnIndices[p]);
+                    dependency.statement.setObject(++p, k);
+                }
+                value = dependency.fetchReferenced(null, feature);
             }
-            action.accept(feature);
-            if (!all) return true;
+            feature.setPropertyValue(associationNames[i], value);
         }
-        return false;
+        return feature;
     }
 
     /**
@@ -481,6 +703,57 @@ final class Features implements Spliterator<AbstractFeature>, Runnable {
                     dependency.close();
                 }
             }
+            /*
+             * Close the connections of split iterators that have not been fully consumed
+             * (e.g. because of a short-circuiting stream operation like 'findAny()').
+             */
+            SQLException failure = null;
+            if (splits != null) {
+                final Batch[] remaining;
+                synchronized (splits) {
+                    splitsClosed = true;
+                    remaining = splits.toArray(new Batch[splits.size()]);
+                }
+                for (final Batch batch : remaining) {
+                    final SQLException e = batch.closeIfUnused();
+                    if (e != null) {
+                        if (failure == null) failure = e;
+                        else failure.addSuppressed(e);
+                    }
+                }
+            }
+            if (source != null) {
+                log();
+            }
+            if (failure != null) {
+                throw failure;
+            }
+        }
+    }
+
+    /**
+     * Logs the time elapsed since the creation of this iterator, together with the number of rows read
+     * and the number of connections used. The log level depends on the execution duration as specified
+     * in {@link PerformanceLevel}. This information can help to size the connection pool.
+     */
+    private void log() {
+        final long time = System.nanoTime() - startTime;
+        READ.record(time);
+        final PerformanceLevel level = PerformanceLevel.forDuration(time, TimeUnit.NANOSECONDS);
+        final Logger logger = Logging.getLogger(Loggers.SQL);
+        if (logger.isLoggable(level)) {
+            final int n;
+            if (splits != null) {
+                synchronized (splits) {
+                    n = connectionCount;
+                }
+            } else {
+                n = connectionCount;
+            }
+            final LogRecord record = Resources.forLocale(null).getLogRecord(level, Resources.Keys.FetchDuration_4,
+                    rowCount, featureType.getName(), time / (double) StandardDateFormat.NANOS_PER_SECOND, n);
+            record.setLoggerName(Loggers.SQL);
+            Logging.log(Table.class, "features", record);
         }
     }
 
@@ -496,4 +769,230 @@ final class Features implements Spliterator<AbstractFeature>, Runnable {
             throw new BackingStoreException(e);
         }
     }
+
+    /**
+     * An iterator over a batch of rows read in advance by the main {@link Features} iterator.
+     * Feature instances are created in the thread that consumes this iterator. If the features
+     * have dependencies, a new connection is obtained from the data source when first needed
+     * and released when all rows have been consumed. If the main iterator is closed while this
+     * iterator is creating features in another thread, the connection is released by the last
+     * of those two users to finish.
+     */
+    private static final class Batch implements Spliterator<AbstractFeature> {
+        /**
+         * The main iterator which has read the rows.
+         */
+        private final Features parent;
+
+        /**
+         * The rows read by the {@linkplain #parent}. Elements are set to {@code null} after use.
+         */
+        private final Object[][] rows;
+
+        /**
+         * Index of the next row to process.
+         */
+        private int index;
+
+        /**
+         * A copy of the parent iterator using its own connection, or {@code null} if not yet created.
+         */
+        private Features reader;
+
+        /**
+         * The connection used by {@link #reader}, or {@code null} if none.
+         */
+        private Connection connection;
+
+        /**
+         * Whether a thread is currently creating features with this iterator. In such case the connection
+         * can not be closed by the main iterator; it will be closed by this iterator when {@code fetch(…)}
+         * returns. This field shall be accessed while synchronized on {@code parent.splits}.
+         */
+        private boolean busy;
+
+        /**
+         * Creates a new iterator over the given rows.
+         */
+        Batch(final Features parent, final Object[][] rows) {
+            this.parent = parent;
+            this.rows   = rows;
+        }
+
+        /**
+         * Returns the iterator to use for creating the feature instances, creating it when first needed.
+         * A new connection is obtained only if there is dependencies to query.
+         */
+        private Features reader() throws SQLException {
+            if (reader == null) {
+                if (parent.dependencies.length != 0) {
+                    connection = parent.source.getConnection();
+                    synchronized (parent.splits) {
+                        parent.splits.add(this);
+                        parent.connectionCount++;
+                    }
+                }
+                reader = new Features(parent, connection);
+            }
+            return reader;
+        }
+
+        /**
+         * Declares that this iterator never returns {@code null} elements and knows the exact number of elements.
+         */
+        @Override
+        public int characteristics() {
+            return NONNULL | SIZED | SUBSIZED;
+        }
+
+        /**
+         * Returns the number of remaining rows.
+         */
+        @Override
+        public long estimateSize() {
+            return rows.length - index;
+        }
+
+        /**
+         * The rows in a batch are not split further.
+         *
+         * @return always {@code null}.
+         */
+        @Override
+        public Spliterator<AbstractFeature> trySplit() {
+            return null;
+        }
+
+        /**
+         * Gives the next feature to the given consumer.
+         */
+        @Override
+        public boolean tryAdvance(final Consumer<? super AbstractFeature> action) {
+            return fetch(action, false);
+        }
+
+        /**
+         * Gives all remaining features to the given consumer.
+         */
+        @Override
+        public void forEachRemaining(final Consumer<? super AbstractFeature> action) {
+            fetch(action, true);
+        }
+
+        /**
+         * Creates the feature instances for the next row or for all remaining rows,
+         * then releases the connection if there is no more rows to process.
+         */
+        private boolean fetch(final Consumer<? super AbstractFeature> action, final boolean all) {
+            synchronized (parent.splits) {
+                busy = true;
+            }
+            boolean advanced = false;
+            try {
+                while (index < rows.length) {
+                    final Features r = reader();
+                    r.row = rows[index];
+                    rows[index++] = null;
+                    final AbstractFeature feature = r.createFeature();
+                    r.row = null;
+                    action.accept(feature);
+                    if (!all) {
+                        advanced = true;
+                        break;
+                    }
+                }
+            } catch (SQLException e) {
+                final BackingStoreException failure = new BackingStoreException(e);
+                release(true, failure);
+                throw failure;
+            } catch (RuntimeException | Error e) {
+                release(true, e);
+                throw e;
+            }
+            release(index >= rows.length, null);
+            return advanced;
+        }
+
+        /**
+         * Invoked at the end of {@code fetch(…)} for closing the connection if this iterator is done
+         * or if the main iterator has been closed in the meantime. If an exception occurred during
+         * {@code fetch(…)}, then the exception thrown while closing is added to it as a suppressed one.
+         *
+         * @param  done     whether there is no more rows to process.
+         * @param  failure  the exception which occurred during {@code fetch(…)}, or {@code null} if none.
+         */
+        private void release(final boolean done, final Throwable failure) {
+            final boolean close;
+            synchronized (parent.splits) {
+                busy  = false;
+                close = done || parent.splitsClosed;
+            }
+            if (close) {
+                final SQLException e = closeConnection();
+                if (e != null) {
+                    if (failure == null) {
+                        throw new BackingStoreException(e);
+                    }
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+
+        /**
+         * Closes the connection, unless a thread is currently creating features with this iterator.
+         * In the later case, the connection will be closed when that thread finishes.
+         * This method is invoked by the main iterator when it is closed.
+         *
+         * @return the exception thrown while closing the connection, or {@code null} if none.
+         */
+        final SQLException closeIfUnused() {
+            final Connection c;
+            synchronized (parent.splits) {
+                if (busy) return null;
+                c = takeConnection();
+            }
+            return close(c);
+        }
+
+        /**
+         * Closes the statements of all dependencies and releases the (pooled) connection.
+         * This method can be invoked more than once.
+         *
+         * @return the exception thrown while closing the connection, or {@code null} if none.
+         */
+        private SQLException closeConnection() {
+            final Connection c;
+            synchronized (parent.splits) {
+                c = takeConnection();
+            }
+            return close(c);
+        }
+
+        /**
+         * Removes this iterator from the splits holding a connection and returns that connection.
+         * The caller shall hold the lock on {@code parent.splits}.
+         */
+        private Connection takeConnection() {
+            final Connection c = connection;
+            connection = null;
+            parent.splits.remove(this);
+            return c;
+        }
+
+        /**
+         * Closes the statements of all dependencies, then the given connection if non-null.
+         *
+         * @return the exception thrown while closing the connection, or {@code null} if none.
+         */
+        private SQLException close(final Connection c) {
+            if (c != null) try (Connection co = c) {
+                for (final Features dependency : reader.dependencies) {
+                    dependency.close();
+                }
+            } catch (SQLException e) {
+                return e;
+            }
+            return null;
+        }
+    }
 }
@@ -0,0 +1,142 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sis.internal.sql.feature;
+
+import java.util.Objects;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.sql.SQLException;
+import org.apache.sis.util.collection.BackingStoreException;
+
+// Branch-dependent imports
+import org.apache.sis.feature.AbstractAttribute;
+import org.apache.sis.feature.DefaultAttributeType;
+
+
+/**
+ * An attribute containing a geometry which is decoded only when first requested.
+ * The Well Known Binary (WKB) read from the database is kept until {@link #getValue()} is invoked.
+ * This is used when {@link SpatialFunctions#deferGeometryDecoding} is {@code true}.
+ *
+ * @author  agent
+ * @version 1.0
+ * @since   1.0
+ * @module
+ */
+final class GeometryAttribute extends AbstractAttribute<Object> {
+    /**
+     * For cross-version compatibility.
+     */
+    private static final long serialVersionUID = -1389431576282226736L;
+
+    /**
+     * The functions to use for decoding the geometry, or {@code null} after decoding.
+     */
+    private transient SpatialFunctions functions;
+
+    /**
+     * The bytes to decode, or {@code null} after decoding.
+     */
+    private byte[] wkb;
+
+    /**
+     * The decoded geometry, or {@code null} if not yet decoded.
+     */
+    private Object value;
+
+    /**
+     * Creates a new attribute for the given bytes to decode.
+     *
+     * @param  type       information about the attribute (base Java class, domain of values, <i>etc.</i>).
+     * @param  functions  the functions to use for decoding the geometry.
+     * @param  wkb        the bytes to decode.
+     */
+    @SuppressWarnings("unchecked")
+    GeometryAttribute(final DefaultAttributeType<?> type, final SpatialFunctions functions, final byte[] wkb) {
+        super((DefaultAttributeType<Object>) type);
+        this.functions = functions;
+        this.wkb       = wkb;
+    }
+
+    /**
+     * Returns the geometry, decoding it when first requested.
+     *
+     * @return the geometry.
+     * @throws BackingStoreException if the geometry can not be decoded.
+     */
+    @Override
+    public synchronized Object getValue() {
+        if (wkb != null) try {
+            value = functions.toGeometry(wkb);
+            wkb = null;
+            functions = null;
+        } catch (SQLException e) {
+            throw new BackingStoreException(e);
+        }
+        return value;
+    }
+
+    /**
+     * Returns whether the geometry has been decoded (or explicitly set).
+     * This is used for testing purpose.
+     *
+     * @return {@code false} if the bytes are still waiting to be decoded.
+     */
+    final synchronized boolean isDecoded() {
+        return wkb == null;
+    }
+
+    /**
+     * Sets the geometry, discarding the bytes to decode if any.
+     *
+     * @param  value  the new geometry.
+     */
+    @Override
+    public synchronized void setValue(final Object value) {
+        this.value = value;
+        wkb = null;
+        functions = null;
+    }
+
+    /**
+     * Decodes the geometry before serialization, since the functions are not serializable.
+     */
+    private void writeObject(final ObjectOutputStream out) throws IOException {
+        getValue();
+        out.defaultWriteObject();
+    }
+
+    /**
+     * Returns a hash code value for this attribute.
+     */
+    @Override
+    public int hashCode() {
+        return getType().hashCode() + Objects.hashCode(getValue());
+    }
+
+    /**
+     * Compares this attribute with the given object for equality.
+     */
+    @Override
+    public boolean equals(final Object obj) {
+        if (obj instanceof GeometryAttribute) {
+            final GeometryAttribute that = (GeometryAttribute) obj;
+            return getType().equals(that.getType()) && Objects.equals(getValue(), that.getValue());
+        }
+        return false;
+    }
+}
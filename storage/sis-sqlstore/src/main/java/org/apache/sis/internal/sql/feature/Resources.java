@@ -70,6 +70,12 @@ public final class Resources extends IndexedResourceBundle {
          */
         public static final short DuplicatedColumn_1 = 5;
 
+        /**
+         * Fetched {0} features from “{1}” in {2} seconds using {3}
+         * {3,choice,1#connection|2#connections}.
+         */
+        public static final short FetchDuration_4 = 8;
+
         /**
          * “{0}” is not a valid qualified name for a table.
          */
@@ -25,9 +25,11 @@ import java.time.OffsetDateTime;
 import java.sql.Types;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.SQLDataException;
 import java.sql.DatabaseMetaData;
 import org.opengis.referencing.crs.CoordinateReferenceSystem;
 import org.apache.sis.internal.metadata.sql.Reflection;
+import org.apache.sis.internal.feature.Geometries;
 import org.apache.sis.setup.GeometryLibrary;
 
 
@@ -56,10 +58,29 @@ class SpatialFunctions {
      */
     final GeometryLibrary library;
 
+    /**
+     * The implementation of the geometry library specified by {@link #library},
+     * or {@code null} if no geometry library is available.
+     */
+    private final Geometries<?> geometries;
+
+    /**
+     * Whether geometries should be decoded only when the feature property is first requested.
+     * If {@code true}, the bytes read from the database are kept in memory until first needed,
+     * which saves the parsing cost for geometries that are never used but increases memory usage.
+     *
+     * @see org.apache.sis.storage.DataOptionKey#DEFERRED_GEOMETRY_DECODING
+     */
+    final boolean deferGeometryDecoding;
+
     /**
      * Creates a new accessor to geospatial functions for the database described by given metadata.
+     *
+     * @param  metadata               information about the database.
+     * @param  deferGeometryDecoding  whether to decode geometries only when first requested.
      */
-    SpatialFunctions(final DatabaseMetaData metadata) throws SQLException {
+    SpatialFunctions(final DatabaseMetaData metadata, final boolean deferGeometryDecoding) throws SQLException {
+        this.deferGeometryDecoding = deferGeometryDecoding;
         /*
          * Get information about whether byte are unsigned.
          * According JDBC specification, the rows shall be ordered by DATA_TYPE.
@@ -80,6 +101,7 @@ class SpatialFunctions {
          * For now use the default library.
          */
         library = null;
+        geometries = Geometries.implementation(library);
     }
 
     /**
@@ -119,14 +141,60 @@ class SpatialFunctions {
             case Types.TIMESTAMP_WITH_TIMEZONE: return OffsetDateTime.class;
             case Types.BINARY:
             case Types.VARBINARY:
-            case Types.LONGVARBINARY:           return byte[].class;
+            case Types.LONGVARBINARY:           return isGeometry(sqlTypeName) ? geometries.rootClass : byte[].class;
             case Types.ARRAY:                   return Object[].class;
             case Types.OTHER:                   // Database-specific accessed via getObject and setObject.
-            case Types.JAVA_OBJECT:             return Object.class;
+            case Types.JAVA_OBJECT:             return isGeometry(sqlTypeName) ? geometries.rootClass : Object.class;
             default:                            return null;
         }
     }
 
+    /**
+     * Returns {@code true} if the given SQL type name is the name of a geometry type that we can decode.
+     * The geometry library shall be able to represent all geometries (including points) as instances of
+     * its {@linkplain Geometries#rootClass root class}, because all values in a column have the same type.
+     *
+     * @param  sqlTypeName  data source dependent type name, optionally qualified by a schema name.
+     * @return whether values of the given type can be decoded by {@link #toGeometry(byte[])}.
+     */
+    private boolean isGeometry(String sqlTypeName) {
+        if (geometries == null || sqlTypeName == null || !geometries.rootClass.isAssignableFrom(geometries.pointClass)) {
+            return false;
+        }
+        sqlTypeName = sqlTypeName.substring(sqlTypeName.lastIndexOf('.') + 1);
+        return "geometry".equalsIgnoreCase(sqlTypeName) || "geography".equalsIgnoreCase(sqlTypeName);
+    }
+
+    /**
+     * Decodes a geometry read from the database by {@link ResultSet#getBytes(int)}.
+     * The given bytes shall be in Well Known Binary (WKB) or PostGIS Extended WKB (EWKB) format.
+     * Some drivers like PostgreSQL returns the hexadecimal representation of those bytes for
+     * geometry columns; this representation is also accepted.
+     *
+     * @param  wkb  the bytes read from the database.
+     * @return the geometry decoded from the given bytes.
+     * @throws SQLDataException if the given bytes can not be decoded.
+     */
+    protected Object toGeometry(byte[] wkb) throws SQLDataException {
+        try {
+            if (wkb.length != 0 && wkb[0] == '0') {
+                /*
+                 * WKB starts with 0 or 1 (the byte order). If we have the '0' character (0x30) instead,
+                 * then the bytes are the characters of the hexadecimal representation of the WKB.
+                 */
+                final byte[] hex = wkb;
+                wkb = new byte[hex.length / 2];
+                for (int i=0; i<wkb.length; i++) {
+                    final int j = i << 1;
+                    wkb[i] = (byte) ((Character.digit(hex[j], 16) << 4) | Character.digit(hex[j+1], 16));
+                }
+            }
+            return geometries.parseWKB(wkb);
+        } catch (Exception e) {
+            throw new SQLDataException(e);
+        }
+    }
+
     /**
      * Creates the Coordinate Reference System associated to the the geometry SRID of a given column.
      * The {@code reflect} argument is the result of a call to {@link DatabaseMetaData#getColumns
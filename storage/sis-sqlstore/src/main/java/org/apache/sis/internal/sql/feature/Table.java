@@ -72,8 +72,9 @@ import org.apache.sis.feature.DefaultAssociationRole;
 final class Table extends AbstractFeatureSet {
     /**
      * Provider of (pooled) connections to the database.
+     * Used also by {@link Features} for executing dependency queries in parallel.
      */
-    private final DataSource source;
+    final DataSource source;
 
     /**
      * The structure of this table represented as a feature. Each feature attribute is a table column,
@@ -101,6 +102,18 @@ final class Table extends AbstractFeatureSet {
      */
     private final String[] attributeColumns;
 
+    /**
+     * For each element in {@link #attributeNames}, whether the attribute contains geometries to decode
+     * with {@link #functions}. This array is {@code null} if the table contains no geometry column.
+     */
+    final boolean[] geometryAttributes;
+
+    /**
+     * Functions that may be specific to the geospatial database in use.
+     * Used for decoding the geometries in {@link #geometryAttributes}.
+     */
+    final SpatialFunctions functions;
+
     /**
      * The columns that constitute the primary key, or {@code null} if there is no primary key.
      */
@@ -155,8 +168,9 @@ final class Table extends AbstractFeatureSet {
             throws SQLException, DataStoreException
     {
         super(analyzer.listeners);
-        this.source = analyzer.source;
-        this.name   = id;
+        this.source    = analyzer.source;
+        this.functions = analyzer.functions;
+        this.name      = id;
         final String tableEsc  = analyzer.escape(id.table);
         final String schemaEsc = analyzer.escape(id.schema);
         /*
@@ -222,6 +236,7 @@ final class Table extends AbstractFeatureSet {
         int startWithLowerCase     = 0;
         final List<String> attributeNames = new ArrayList<>();
         final List<String> attributeColumns = new ArrayList<>();
+        final List<Integer> geometryIndices = new ArrayList<>();
         final FeatureTypeBuilder feature = new FeatureTypeBuilder(analyzer.nameFactory, analyzer.functions.library, analyzer.locale);
         try (ResultSet reflect = analyzer.metadata.getColumns(id.catalog, schemaEsc, tableEsc, null)) {
             while (reflect.next()) {
@@ -281,6 +296,7 @@ final class Table extends AbstractFeatureSet {
                         }
                     }
                     if (Geometries.isKnownType(type)) {
+                        geometryIndices.add(attributeNames.size() - 1);
                         final CoordinateReferenceSystem crs = analyzer.functions.createGeometryCRS(reflect);
                         if (crs != null) {
                             attribute.setCRS(crs);
@@ -413,6 +429,14 @@ final class Table extends AbstractFeatureSet {
         this.attributeNames   = attributeNames.toArray(new String[attributeNames.size()]);
         this.attributeColumns = attributeColumns.equals(attributeNames) ? this.attributeNames
                               : attributeColumns.toArray(new String[attributeColumns.size()]);
+        if (geometryIndices.isEmpty()) {
+            geometryAttributes = null;
+        } else {
+            geometryAttributes = new boolean[this.attributeNames.length];
+            for (final int i : geometryIndices) {
+                geometryAttributes[i] = true;
+            }
+        }
     }
 
     /**
@@ -29,6 +29,7 @@ import org.apache.sis.storage.Resource;
 import org.apache.sis.storage.Aggregate;
 import org.apache.sis.storage.DataStore;
 import org.apache.sis.storage.DataStoreException;
+import org.apache.sis.storage.DataOptionKey;
 import org.apache.sis.storage.IllegalNameException;
 import org.apache.sis.storage.StorageConnector;
 import org.apache.sis.storage.event.ChangeEvent;
@@ -44,7 +45,8 @@ import org.apache.sis.util.Exceptions;
  * A data store capable to read and create features from a spatial database.
  * {@code SQLStore} requires a {@link DataSource} to be specified (indirectly) at construction time.
  * The {@code DataSource} should provide pooled connections, because {@code SQLStore} will frequently
- * opens and closes them.
+ * opens and closes them. Parallel streams of features use one additional connection for each split
+ * having associations to other tables, so the pool size should take the parallelism level in account.
  *
  * @author  Johann Sorel (Geomatys)
  * @author  Martin Desruisseaux (Geomatys)
@@ -72,14 +74,21 @@ public class SQLStore extends DataStore implements Aggregate {
     /**
      * The result of inspecting database schema for deriving {@link org.apache.sis.feature.DefaultFeatureType}s.
      * Created when first needed. May be discarded and recreated if the store needs a refresh.
+     * This model is shared by all connections obtained from the {@linkplain #source}.
      */
-    private Database model;
+    private volatile Database model;
 
     /**
      * Fully qualified names (including catalog and schema) of the tables to include in this store.
      */
     private final GenericName[] tableNames;
 
+    /**
+     * Whether geometries are decoded only when first requested.
+     * This is the value of the {@link DataOptionKey#DEFERRED_GEOMETRY_DECODING} option.
+     */
+    private final boolean deferGeometryDecoding;
+
     /**
      * The metadata, created when first requested.
      */
@@ -123,6 +132,7 @@ public class SQLStore extends DataStore implements Aggregate {
             }
         }
         this.tableNames = tableNames;
+        deferGeometryDecoding = Boolean.TRUE.equals(connector.getOption(DataOptionKey.DEFERRED_GEOMETRY_DECODING));
     }
 
     /**
@@ -155,16 +165,21 @@ public class SQLStore extends DataStore implements Aggregate {
 
     /**
      * Returns the database model, analyzing the database schema when first needed.
+     * The model is thread-safe, so no synchronization is needed after it has been created.
      */
-    private synchronized Database model() throws DataStoreException {
-        if (model == null) {
-            try (Connection c = source.getConnection()) {
-                model = new Database(this, c, source, tableNames, listeners);
-            } catch (SQLException e) {
-                throw new DataStoreException(Exceptions.unwrap(e));
+    private Database model() throws DataStoreException {
+        Database current = model;
+        if (current == null) {
+            synchronized (this) {
+                current = model;
+                if (current == null) try (Connection c = source.getConnection()) {
+                    model = current = new Database(this, c, source, tableNames, deferGeometryDecoding, listeners);
+                } catch (SQLException e) {
+                    throw new DataStoreException(Exceptions.unwrap(e));
+                }
             }
         }
-        return model;
+        return current;
     }
 
     /**
@@ -175,10 +190,11 @@ public class SQLStore extends DataStore implements Aggregate {
      * @param c  connection to the database.
      */
     private Database model(final Connection c) throws DataStoreException, SQLException {
-        if (model == null) {
-            model = new Database(this, c, source, tableNames, listeners);
+        Database current = model;
+        if (current == null) {
+            model = current = new Database(this, c, source, tableNames, deferGeometryDecoding, listeners);
         }
-        return model;
+        return current;
     }
 
     /**
@@ -0,0 +1,87 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sis.internal.sql.feature;
+
+import java.util.stream.Stream;
+import java.sql.Connection;
+import java.sql.Statement;
+import org.apache.sis.geometry.GeneralEnvelope;
+import org.apache.sis.internal.feature.Geometries;
+import org.apache.sis.storage.DataOptionKey;
+import org.apache.sis.storage.FeatureSet;
+import org.apache.sis.storage.StorageConnector;
+import org.apache.sis.storage.sql.SQLStore;
+import org.apache.sis.storage.sql.SQLStoreProvider;
+import org.apache.sis.test.sql.TestDatabase;
+import org.apache.sis.test.TestCase;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+// Branch-dependent imports
+import org.apache.sis.feature.AbstractFeature;
+
+
+/**
+ * Tests {@link GeometryAttribute}.
+ *
+ * @author  agent
+ * @version 1.0
+ * @since   1.0
+ * @module
+ */
+public final strictfp class GeometryAttributeTest extends TestCase {
+    /**
+     * Tests reading a feature with {@link DataOptionKey#DEFERRED_GEOMETRY_DECODING} enabled.
+     * The geometry shall be kept in its binary form until the property value is first requested.
+     * HSQLDB has no geometry type, so we declare a binary type named {@code GEOMETRY}.
+     *
+     * @throws Exception if an error occurred while testing the database.
+     */
+    @Test
+    public void testDeferredDecoding() throws Exception {
+        try (TestDatabase tmp = TestDatabase.createOnHSQLDB("GeometryAttribute", false)) {
+            /*
+             * Executed directly instead of by 'executeSQL(…)' because the script runner
+             * skips "CREATE TYPE" statements on databases other than PostgreSQL.
+             */
+            try (Connection c = tmp.source.getConnection(); Statement stmt = c.createStatement()) {
+                stmt.executeUpdate("CREATE TYPE GEOMETRY AS VARBINARY(1000)");
+                stmt.executeUpdate("CREATE TABLE \"Roads\" (\"id\" INTEGER PRIMARY KEY, \"shape\" GEOMETRY)");
+                stmt.executeUpdate("INSERT INTO \"Roads\" VALUES (1, X'010200000002000000000000000000F03F"
+                                 + "000000000000004000000000000010400000000000001840')");
+            }
+            final StorageConnector connector = new StorageConnector(tmp.source);
+            connector.setOption(DataOptionKey.DEFERRED_GEOMETRY_DECODING, Boolean.TRUE);
+            try (SQLStore store = (SQLStore) new SQLStoreProvider().open(connector)) {
+                final AbstractFeature feature;
+                try (Stream<AbstractFeature> features = ((FeatureSet) store.findResource("Roads")).features(false)) {
+                    feature = features.findAny().get();
+                }
+                final GeometryAttribute attribute = (GeometryAttribute) feature.getProperty("shape");
+                assertFalse("isDecoded", attribute.isDecoded());
+                final GeneralEnvelope env = Geometries.getEnvelope(feature.getPropertyValue("shape"));
+                assertTrue("isDecoded", attribute.isDecoded());
+                assertNotNull("envelope", env);
+                assertEquals("xmin", 1, env.getLower(0), STRICT);
+                assertEquals("ymin", 2, env.getLower(1), STRICT);
+                assertEquals("xmax", 4, env.getUpper(0), STRICT);
+                assertEquals("ymax", 6, env.getUpper(1), STRICT);
+            }
+        }
+    }
+}
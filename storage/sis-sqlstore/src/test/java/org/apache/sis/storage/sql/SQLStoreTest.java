@@ -17,11 +17,13 @@
 package org.apache.sis.storage.sql;
 
 import java.util.Map;
+import java.util.List;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.stream.Stream;
+import java.util.stream.Collectors;
 import org.apache.sis.storage.FeatureSet;
 import org.apache.sis.storage.StorageConnector;
 import org.apache.sis.test.sql.TestDatabase;
@@ -130,11 +132,20 @@ public final strictfp class SQLStoreTest extends TestCase {
                 try (Stream<AbstractFeature> features = cities.features(false)) {
                     features.forEach((f) -> verifyContent(f));
                 }
+                /*
+                 * Read the same features using a parallel stream. The features are collected
+                 * before verification because 'verifyContent(…)' is not thread-safe.
+                 */
+                final List<AbstractFeature> list;
+                try (Stream<AbstractFeature> features = cities.features(true)) {
+                    list = features.collect(Collectors.toList());
+                }
+                list.forEach((f) -> verifyContent(f));
             }
         }
-        assertEquals(Integer.valueOf(2), countryCount.remove("CAN"));
-        assertEquals(Integer.valueOf(1), countryCount.remove("FRA"));
-        assertEquals(Integer.valueOf(1), countryCount.remove("JPN"));
+        assertEquals(Integer.valueOf(4), countryCount.remove("CAN"));
+        assertEquals(Integer.valueOf(2), countryCount.remove("FRA"));
+        assertEquals(Integer.valueOf(2), countryCount.remove("JPN"));
         assertTrue  (countryCount.isEmpty());
     }
 
@@ -233,7 +244,7 @@ public final strictfp class SQLStoreTest extends TestCase {
                 assertSame(canada, f);              // Want exact same feature instance, not just equal.
             }
         }
-        countryCount.merge(country, 1, (o, n) -> n+1);
+        countryCount.merge(country, 1, (o, n) -> o + n);
         /*
          * Associations using Relation.Direction.EXPORT.
          * Contrarily to the IMPORT case, those associations can contain many values.
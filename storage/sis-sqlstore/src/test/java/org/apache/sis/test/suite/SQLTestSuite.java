@@ -25,6 +25,7 @@ import org.junit.BeforeClass;
  * All tests from the {@code sis-sqlstore} module, in approximative dependency order.
  */
 @Suite.SuiteClasses({
+    org.apache.sis.internal.sql.feature.GeometryAttributeTest.class,
     org.apache.sis.storage.sql.SQLStoreTest.class
 })
 public final strictfp class SQLTestSuite extends TestSuite {
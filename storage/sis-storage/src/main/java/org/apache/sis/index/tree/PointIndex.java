@@ -0,0 +1,632 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sis.index.tree;
+
+import java.util.Arrays;
+import java.io.IOException;
+import java.io.EOFException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import org.apache.sis.util.ArgumentChecks;
+import org.apache.sis.util.resources.Errors;
+
+
+/**
+ * A static spatial index of two-dimensional points packed in primitive arrays.
+ * The points are sorted along a Hilbert curve, then grouped in nodes of {@value #DEFAULT_NODE_CAPACITY}
+ * elements (by default) for building a packed R-tree from the leaves to the root. The tree is built once
+ * from all points (bulk loading) and can not be modified after construction.
+ *
+ * <p>Points are identified by their index in the array given at construction time. The index does not
+ * store any user object; callers can keep their own array of objects and use the point identifiers as
+ * indices in that array. The storage cost is 20 bytes per point plus about 2 bytes per point for the
+ * nodes with the default capacity, compared to hundreds of bytes per point for {@link QuadTree}.</p>
+ *
+ * <p>The index can be {@linkplain #write(Path) written} in a binary file and {@linkplain #read(Path) read}
+ * back by memory-mapping that file, in which case the points are not loaded in the Java heap.</p>
+ *
+ * <p>Distances used by {@link #nearest(double, double, int)} are Cartesian distances computed directly on
+ * the coordinate values. For geographic coordinates, this is an approximation of the real distances.</p>
+ *
+ * <p>Instances of this class are immutable and thread-safe.</p>
+ *
+ * <div class="warning"><b>Note on future work:</b> this class may change in
+ * incompatible way in a future Apache SIS release, or may be replaced by new
+ * API.</div>
+ *
+ * @author  agent
+ * @version 1.0
+ * @since   1.0
+ * @module
+ */
+public final class PointIndex {
+    /**
+     * The default maximal number of children in each node.
+     */
+    public static final int DEFAULT_NODE_CAPACITY = 16;
+
+    /**
+     * The number of bits in each coordinate of the grid used for computing Hilbert values.
+     * Shall not be greater than 15 for keeping the Hilbert values in a positive {@code int}.
+     */
+    private static final int HILBERT_ORDER = 15;
+
+    /**
+     * Number of points above which sorting is done in parallel.
+     */
+    private static final int PARALLEL_THRESHOLD = 100000;
+
+    /**
+     * Value written at the beginning of the index file for identifying its format.
+     * This is the {@code "SISX"} ASCII characters in little-endian byte order.
+     */
+    private static final int MAGIC_NUMBER = 0x58534953;
+
+    /**
+     * Version of the binary format written by {@link #write(Path)}.
+     */
+    private static final int VERSION = 1;
+
+    /**
+     * Byte order of all values in the index file.
+     */
+    private static final ByteOrder BYTE_ORDER = ByteOrder.LITTLE_ENDIAN;
+
+    /**
+     * Receives the points found by a search in the index.
+     * This interface allows to process the results without allocating a collection.
+     *
+     * @see PointIndex#search(double, double, double, double, Visitor)
+     */
+    @FunctionalInterface
+    public interface Visitor {
+        /**
+         * Invoked for each point found by a search.
+         *
+         * @param  identifier  index of the point in the array given at {@code PointIndex} construction time.
+         * @param  x           first coordinate of the point.
+         * @param  y           second coordinate of the point.
+         * @return {@code true} for continuing the search, or {@code false} for stopping it.
+         */
+        boolean visit(int identifier, double x, double y);
+    }
+
+    /**
+     * Maximal number of children in each node.
+     */
+    private final int nodeCapacity;
+
+    /**
+     * Number of points in this index.
+     */
+    private final int size;
+
+    /**
+     * Index of the first node of each level, starting from the level just above the points and ending
+     * with the root. This array has one more element than the number of levels, with the last element
+     * equals to the total number of nodes.
+     */
+    private final int[] levelStart;
+
+    /**
+     * The (<var>x</var>,<var>y</var>) coordinates of all points sorted in Hilbert order.
+     */
+    private final DoubleBuffer points;
+
+    /**
+     * The (<var>xmin</var>, <var>ymin</var>, <var>xmax</var>, <var>ymax</var>) bounds of all nodes.
+     */
+    private final DoubleBuffer bounds;
+
+    /**
+     * Identifiers of all points, in the same order than {@link #points}.
+     */
+    private final IntBuffer identifiers;
+
+    /**
+     * Creates an index for the given points with the {@linkplain #DEFAULT_NODE_CAPACITY default node capacity}.
+     *
+     * @param  coordinates  the (<var>x</var>,<var>y</var>) coordinates of all points in a sequence of
+     *         (<var>x</var><sub>0</sub>,<var>y</var><sub>0</sub>,<var>x</var><sub>1</sub>,<var>y</var><sub>1</sub>,…) tuples.
+     */
+    public PointIndex(final double[] coordinates) {
+        this(coordinates, DEFAULT_NODE_CAPACITY);
+    }
+
+    /**
+     * Creates an index for the given points. The identifier of each point is its index in the given array
+     * divided by 2. The given array is not modified and no reference to it is retained.
+     *
+     * @param  coordinates   the (<var>x</var>,<var>y</var>) coordinates of all points in a sequence of
+     *         (<var>x</var><sub>0</sub>,<var>y</var><sub>0</sub>,<var>x</var><sub>1</sub>,<var>y</var><sub>1</sub>,…) tuples.
+     * @param  nodeCapacity  maximal number of children in each node.
+     * @throws IllegalArgumentException if the array length is odd or if a coordinate is NaN.
+     */
+    public PointIndex(final double[] coordinates, final int nodeCapacity) {
+        ArgumentChecks.ensureNonNull("coordinates", coordinates);
+        ArgumentChecks.ensureBetween("nodeCapacity", 2, Short.MAX_VALUE, nodeCapacity);
+        if ((coordinates.length & 1) != 0) {
+            throw new IllegalArgumentException(Errors.format(Errors.Keys.OddArrayLength_1, coordinates.length));
+        }
+        this.nodeCapacity = nodeCapacity;
+        size = coordinates.length / 2;
+        /*
+         * Compute the envelope of all points, which is needed for computing Hilbert values.
+         */
+        double xmin = Double.POSITIVE_INFINITY, xmax = Double.NEGATIVE_INFINITY;
+        double ymin = Double.POSITIVE_INFINITY, ymax = Double.NEGATIVE_INFINITY;
+        for (int i=0; i<coordinates.length;) {
+            final double x = coordinates[i++];
+            final double y = coordinates[i++];
+            if (Double.isNaN(x) || Double.isNaN(y)) {
+                throw new IllegalArgumentException(Errors.format(Errors.Keys.NotANumber_1, "coordinates[" + (i-2) + ']'));
+            }
+            if (x < xmin) xmin = x;
+            if (x > xmax) xmax = x;
+            if (y < ymin) ymin = y;
+            if (y > ymax) ymax = y;
+        }
+        /*
+         * Sort the points along the Hilbert curve. We store the Hilbert value in the high bits of a long
+         * and the point index in the low bits, which allows us to sort in a single array of primitives.
+         */
+        final double sx = scale(xmin, xmax);
+        final double sy = scale(ymin, ymax);
+        final long[] keys = new long[size];
+        for (int i=0; i<size; i++) {
+            final int hx = (int) ((coordinates[2*i  ] - xmin) * sx);
+            final int hy = (int) ((coordinates[2*i+1] - ymin) * sy);
+            keys[i] = (((long) hilbert(hx, hy)) << Integer.SIZE) | i;
+        }
+        if (size >= PARALLEL_THRESHOLD) {
+            Arrays.parallelSort(keys);
+        } else {
+            Arrays.sort(keys);
+        }
+        final double[] sorted = new double[coordinates.length];
+        final int[]    ids    = new int[size];
+        for (int i=0; i<size; i++) {
+            final int id = (int) keys[i];
+            ids[i] = id;
+            sorted[2*i  ] = coordinates[2*id  ];
+            sorted[2*i+1] = coordinates[2*id+1];
+        }
+        /*
+         * Compute the number of nodes in each level, then the bounds of each node
+         * from the level just above the points up to the root.
+         */
+        levelStart = levelStarts(size, nodeCapacity);
+        final int levelCount = levelStart.length - 1;
+        final double[] boxes = new double[levelStart[levelCount] * 4];
+        int p = 0;
+        for (int level = 0; level < levelCount; level++) {
+            final int childCount = (level == 0) ? size : levelStart[level] - levelStart[level - 1];
+            for (int first = 0; first < childCount; first += nodeCapacity) {
+                final int last = Math.min(first + nodeCapacity, childCount);
+                xmin = ymin = Double.POSITIVE_INFINITY;
+                xmax = ymax = Double.NEGATIVE_INFINITY;
+                if (level == 0) {
+                    for (int i=first; i<last; i++) {
+                        final double x = sorted[2*i];
+                        final double y = sorted[2*i+1];
+                        if (x < xmin) xmin = x;
+                        if (x > xmax) xmax = x;
+                        if (y < ymin) ymin = y;
+                        if (y > ymax) ymax = y;
+                    }
+                } else {
+                    final int offset = levelStart[level - 1];
+                    for (int i = (first + offset) * 4, end = (last + offset) * 4; i < end; i += 4) {
+                        if (boxes[i  ] < xmin) xmin = boxes[i  ];
+                        if (boxes[i+1] < ymin) ymin = boxes[i+1];
+                        if (boxes[i+2] > xmax) xmax = boxes[i+2];
+                        if (boxes[i+3] > ymax) ymax = boxes[i+3];
+                    }
+                }
+                boxes[p++] = xmin;
+                boxes[p++] = ymin;
+                boxes[p++] = xmax;
+                boxes[p++] = ymax;
+            }
+        }
+        points      = DoubleBuffer.wrap(sorted);
+        bounds      = DoubleBuffer.wrap(boxes);
+        identifiers = IntBuffer.wrap(ids);
+    }
+
+    /**
+     * Creates an index from data read from a file.
+     */
+    private PointIndex(final int nodeCapacity, final int size, final int[] levelStart,
+                       final DoubleBuffer points, final DoubleBuffer bounds, final IntBuffer identifiers)
+    {
+        this.nodeCapacity = nodeCapacity;
+        this.size         = size;
+        this.levelStart   = levelStart;
+        this.points       = points;
+        this.bounds       = bounds;
+        this.identifiers  = identifiers;
+    }
+
+    /**
+     * Returns the factor by which to multiply coordinates for getting values in the grid of Hilbert curve.
+     */
+    private static double scale(final double min, final double max) {
+        final double span = max - min;
+        return (span > 0 && span != Double.POSITIVE_INFINITY) ? ((1 << HILBERT_ORDER) - 1) / span : 0;
+    }
+
+    /**
+     * Computes the index of the first node of each level for a tree of the given size.
+     * The last element of the returned array is the total number of nodes.
+     */
+    private static int[] levelStarts(int count, final int nodeCapacity) {
+        int[] starts = new int[8];
+        int levelCount = 0;
+        while (count > 1 || (levelCount == 0 && count != 0)) {
+            count = (count + nodeCapacity - 1) / nodeCapacity;
+            if (levelCount + 1 >= starts.length) {
+                starts = Arrays.copyOf(starts, starts.length * 2);
+            }
+            starts[levelCount + 1] = starts[levelCount] + count;
+            levelCount++;
+        }
+        return Arrays.copyOf(starts, levelCount + 1);
+    }
+
+    /**
+     * Returns the position of the given cell along a Hilbert curve of order {@value #HILBERT_ORDER}.
+     *
+     * @param  x  column of the cell, from 0 inclusive to 2<sup>{@value #HILBERT_ORDER}</sup> exclusive.
+     * @param  y  row of the cell, from 0 inclusive to 2<sup>{@value #HILBERT_ORDER}</sup> exclusive.
+     * @return position along the Hilbert curve.
+     */
+    static int hilbert(int x, int y) {
+        final int n = 1 << HILBERT_ORDER;
+        int d = 0;
+        for (int s = n >>> 1; s > 0; s >>>= 1) {
+            final int rx = (x & s) != 0 ? 1 : 0;
+            final int ry = (y & s) != 0 ? 1 : 0;
+            d += s * s * ((3 * rx) ^ ry);
+            if (ry == 0) {
+                if (rx != 0) {
+                    x = n - 1 - x;
+                    y = n - 1 - y;
+                }
+                final int t = x;
+                x = y;
+                y = t;
+            }
+        }
+        return d;
+    }
+
+    /**
+     * Returns the number of points in this index.
+     *
+     * @return number of points in this index.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns {@code true} if the node at the given index intersects the given rectangle.
+     */
+    private boolean intersects(final int node, final double xmin, final double ymin, final double xmax, final double ymax) {
+        final int i = node * 4;
+        return bounds.get(i) <= xmax && bounds.get(i+1) <= ymax && bounds.get(i+2) >= xmin && bounds.get(i+3) >= ymin;
+    }
+
+    /**
+     * Invokes the given visitor for all points inside the given rectangle, bounds inclusive.
+     * The points are visited in no particular order.
+     *
+     * @param  xmin     minimal <var>x</var> value of the search region.
+     * @param  ymin     minimal <var>y</var> value of the search region.
+     * @param  xmax     maximal <var>x</var> value of the search region.
+     * @param  ymax     maximal <var>y</var> value of the search region.
+     * @param  visitor  the visitor to invoke for each point found.
+     * @return {@code false} if the search has been stopped by the visitor, or {@code true} otherwise.
+     */
+    public boolean search(final double xmin, final double ymin, final double xmax, final double ymax, final Visitor visitor) {
+        ArgumentChecks.ensureNonNull("visitor", visitor);
+        int level = levelStart.length - 2;
+        if (level < 0 || !intersects(levelStart[level], xmin, ymin, xmax, ymax)) {
+            return true;
+        }
+        /*
+         * Depth-first traversal with an explicit stack of (node, level) pairs. A node is pushed
+         * on the stack only if it intersects the search region. The stack can not contain more
+         * than (nodeCapacity - 1) nodes per level, plus the root.
+         */
+        final int[] stack = new int[2 * (level + 1) * nodeCapacity];
+        stack[0] = levelStart[level];
+        stack[1] = level;
+        int sp = 2;
+        while (sp != 0) {
+            level = stack[--sp];
+            final int node  = stack[--sp];
+            final int first = (node - levelStart[level]) * nodeCapacity;
+            if (level == 0) {
+                final int last = Math.min(first + nodeCapacity, size);
+                for (int i=first; i<last; i++) {
+                    final double x = points.get(2*i);
+                    final double y = points.get(2*i+1);
+                    if (x >= xmin && x <= xmax && y >= ymin && y <= ymax) {
+                        if (!visitor.visit(identifiers.get(i), x, y)) {
+                            return false;
+                        }
+                    }
+                }
+            } else {
+                final int offset = levelStart[level - 1];
+                final int last = Math.min(first + offset + nodeCapacity, levelStart[level]);
+                for (int child = first + offset; child < last; child++) {
+                    if (intersects(child, xmin, ymin, xmax, ymax)) {
+                        stack[sp++] = child;
+                        stack[sp++] = level - 1;
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the identifiers of the <var>k</var> points nearest to the given position, in increasing
+     * order of distance. The distances are Cartesian distances computed on the coordinate values.
+     *
+     * @param  x  first coordinate of the position.
+     * @param  y  second coordinate of the position.
+     * @param  k  maximal number of points to return.
+     * @return identifiers of the nearest points, sorted by increasing distance.
+     *         The array length is the minimum of <var>k</var> and {@link #size()}.
+     */
+    public int[] nearest(final double x, final double y, final int k) {
+        ArgumentChecks.ensurePositive("k", k);
+        final int[] result = new int[Math.min(k, size)];
+        if (result.length == 0) {
+            return result;
+        }
+        /*
+         * Best-first search: nodes and points are put in a priority queue sorted by their minimal
+         * distance to the given position. When a point is taken from the queue, no other point can
+         * be closer since all remaining nodes and points have greater or equal minimal distances.
+         * Points are stored in the queue with negative values (-1 - index) and nodes with their level.
+         */
+        final Queue queue = new Queue(nodeCapacity * 4);
+        int level = levelStart.length - 2;
+        queue.add(0, levelStart[level], level);
+        int n = 0;
+        while (n < result.length) {
+            final int node = queue.item[0];
+            level = queue.level[0];
+            queue.removeFirst();
+            if (level < 0) {
+                result[n++] = identifiers.get(node);
+                continue;
+            }
+            final int first = (node - levelStart[level]) * nodeCapacity;
+            if (level == 0) {
+                final int last = Math.min(first + nodeCapacity, size);
+                for (int i=first; i<last; i++) {
+                    final double dx = points.get(2*i)   - x;
+                    final double dy = points.get(2*i+1) - y;
+                    queue.add(dx*dx + dy*dy, i, -1);
+                }
+            } else {
+                final int offset = levelStart[level - 1];
+                final int last = Math.min(first + offset + nodeCapacity, levelStart[level]);
+                for (int child = first + offset; child < last; child++) {
+                    final int i = child * 4;
+                    final double dx = Math.max(0, Math.max(bounds.get(i)   - x, x - bounds.get(i+2)));
+                    final double dy = Math.max(0, Math.max(bounds.get(i+1) - y, y - bounds.get(i+3)));
+                    queue.add(dx*dx + dy*dy, child, level - 1);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * A priority queue of nodes or points sorted by increasing distance, backed by arrays of primitives.
+     */
+    private static final class Queue {
+        /** The squared distances, organized as a binary heap. */
+        private double[] distance;
+
+        /** Index of the node or point associated to each distance. */
+        int[] item;
+
+        /** Level of the node associated to each distance, or -1 for points. */
+        int[] level;
+
+        /** Number of valid elements in the above arrays. */
+        private int count;
+
+        /** Creates a queue of the given initial capacity. */
+        Queue(final int capacity) {
+            distance = new double[capacity];
+            item     = new int[capacity];
+            level    = new int[capacity];
+        }
+
+        /** Adds a node or a point in the queue. */
+        void add(final double d, final int i, final int l) {
+            if (count == distance.length) {
+                final int capacity = count * 2;
+                distance = Arrays.copyOf(distance, capacity);
+                item     = Arrays.copyOf(item,     capacity);
+                level    = Arrays.copyOf(level,    capacity);
+            }
+            int k = count++;
+            while (k > 0) {
+                final int parent = (k - 1) >>> 1;
+                if (distance[parent] <= d) break;
+                set(k, parent);
+                k = parent;
+            }
+            distance[k] = d;
+            item    [k] = i;
+            level   [k] = l;
+        }
+
+        /** Removes the element at index 0, which is the element with smallest distance. */
+        void removeFirst() {
+            final int last = --count;
+            final double d = distance[last];
+            int k = 0;
+            int child;
+            while ((child = 2*k + 1) < last) {
+                if (child + 1 < last && distance[child + 1] < distance[child]) child++;
+                if (d <= distance[child]) break;
+                set(k, child);
+                k = child;
+            }
+            set(k, last);
+        }
+
+        /** Copies the element at index {@code source} to index {@code target}. */
+        private void set(final int target, final int source) {
+            distance[target] = distance[source];
+            item    [target] = item    [source];
+            level   [target] = level   [source];
+        }
+    }
+
+    /**
+     * Writes this index in the given file. The file can be read back by {@link #read(Path)}.
+     * If the file already exists, it will be overwritten.
+     *
+     * @param  file  the file where to write the index.
+     * @throws IOException if an error occurred while writing the file.
+     */
+    public void write(final Path file) throws IOException {
+        final ByteBuffer buffer = ByteBuffer.allocate(8192).order(BYTE_ORDER);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE))
+        {
+            buffer.putInt(MAGIC_NUMBER).putInt(VERSION).putInt(nodeCapacity).putInt(size).putInt(levelStart.length);
+            for (final int s : levelStart) {
+                buffer.putInt(s);
+            }
+            if ((buffer.position() & (Double.BYTES - 1)) != 0) {
+                buffer.putInt(0);                           // Align the doubles on 8 bytes boundary.
+            }
+            for (int i=0, n=points.limit(); i<n; i++) {
+                if (buffer.remaining() < Double.BYTES) flush(channel, buffer);
+                buffer.putDouble(points.get(i));
+            }
+            for (int i=0, n=bounds.limit(); i<n; i++) {
+                if (buffer.remaining() < Double.BYTES) flush(channel, buffer);
+                buffer.putDouble(bounds.get(i));
+            }
+            for (int i=0; i<size; i++) {
+                if (buffer.remaining() < Integer.BYTES) flush(channel, buffer);
+                buffer.putInt(identifiers.get(i));
+            }
+            flush(channel, buffer);
+        }
+    }
+
+    /**
+     * Writes all bytes in the given buffer to the given channel, then clears the buffer.
+     */
+    private static void flush(final FileChannel channel, final ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Reads an index from a file written by {@link #write(Path)}. The file is memory-mapped,
+     * so the points are loaded only when needed by the operating system. The file should not
+     * be modified while the returned index is in use.
+     *
+     * @param  file  the file to read.
+     * @return the index read from the given file.
+     * @throws IOException if an error occurred while reading the file, or if the file format is invalid.
+     */
+    public static PointIndex read(final Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            final long length = channel.size();
+            final ByteBuffer header = ByteBuffer.allocate(5 * Integer.BYTES).order(BYTE_ORDER);
+            readFully(channel, header, file);
+            if (header.getInt() != MAGIC_NUMBER) {
+                throw new IOException(Errors.format(Errors.Keys.UnexpectedFileFormat_2, "PointIndex", file));
+            }
+            final int version = header.getInt();
+            if (version != VERSION) {
+                throw new IOException(Errors.format(Errors.Keys.UnsupportedFormatVersion_2, "PointIndex", version));
+            }
+            final int nodeCapacity = header.getInt();
+            final int size         = header.getInt();
+            final int startCount   = header.getInt();
+            if (nodeCapacity < 2 || size < 0 || startCount < 1 || startCount > Integer.SIZE) {
+                throw new IOException(Errors.format(Errors.Keys.UnexpectedFileFormat_2, "PointIndex", file));
+            }
+            final ByteBuffer buffer = ByteBuffer.allocate(startCount * Integer.BYTES).order(BYTE_ORDER);
+            readFully(channel, buffer, file);
+            final int[] levelStart = new int[startCount];
+            buffer.asIntBuffer().get(levelStart);
+            if (!Arrays.equals(levelStart, levelStarts(size, nodeCapacity))) {
+                throw new IOException(Errors.format(Errors.Keys.UnexpectedFileFormat_2, "PointIndex", file));
+            }
+            long position = channel.position();
+            position += position & (Double.BYTES - 1);
+            final long pointsSize = 2L * Double.BYTES * size;
+            final long boundsSize = 4L * Double.BYTES * levelStart[startCount - 1];
+            final long idSize     = (long) Integer.BYTES * size;
+            if (position + pointsSize + boundsSize + idSize > length) {
+                throw new EOFException(Errors.format(Errors.Keys.UnexpectedEndOfFile_1, file));
+            }
+            final DoubleBuffer points = map(channel, position, pointsSize).asDoubleBuffer();
+            position += pointsSize;
+            final DoubleBuffer bounds = map(channel, position, boundsSize).asDoubleBuffer();
+            position += boundsSize;
+            final IntBuffer ids = map(channel, position, idSize).asIntBuffer();
+            return new PointIndex(nodeCapacity, size, levelStart, points, bounds, ids);
+        }
+    }
+
+    /**
+     * Fills the given buffer with bytes read from the given channel, then flips the buffer.
+     */
+    private static void readFully(final FileChannel channel, final ByteBuffer buffer, final Path file) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                throw new EOFException(Errors.format(Errors.Keys.UnexpectedEndOfFile_1, file));
+            }
+        }
+        buffer.flip();
+    }
+
+    /**
+     * Maps a region of the given file in memory. The mapping stays valid after the channel is closed.
+     */
+    private static ByteBuffer map(final FileChannel channel, final long position, final long size) throws IOException {
+        return channel.map(FileChannel.MapMode.READ_ONLY, position, size).order(BYTE_ORDER);
+    }
+}
@@ -24,14 +24,19 @@ import java.util.List;
 //SIS imports
 import org.apache.sis.geometry.DirectPosition2D;
 import org.apache.sis.geometry.Envelope2D;
-import org.apache.sis.distance.DistanceUtils;
-import org.apache.sis.distance.LatLonPointRadius;
+import org.apache.sis.util.ArgumentChecks;
 
 /**
  * Implementation of Quad Tree Index. Insertion algorithm implemented based on
  * design of quad tree index in H. Samet, The Design and Analysis of Spatial
  * Data Structures. Massachusetts: Addison Wesley Publishing Company, 1989.
  *
+ * <p>Queries can be executed concurrently with insertions without locking.
+ * Insertions never modify a node which is reachable from the root; instead they copy
+ * the nodes on the path from the root to the modified leaf, then publish the new root.
+ * Consequently each query sees a consistent snapshot of the tree as it was when the
+ * query started. Insertions are serialized with each other.</p>
+ *
  * <div class="warning"><b>Note on future work:</b> this class may change in
  * incompatible way in a future Apache SIS release, or may be replaced by new
  * API.</div>
@@ -48,8 +53,12 @@ public class QuadTree {
     private static final double[] xf = new double[] { -0.25, 0.25, -0.25, 0.25 };
     private static final double[] yf = new double[] { 0.25, 0.25, -0.25, -0.25 };
 
-    private QuadTreeNode root;
-    private int size;
+    /**
+     * The root of the tree. Nodes reachable from this root shall never be modified,
+     * except by {@code QuadTreeReader} while the tree is not yet shared.
+     */
+    private volatile QuadTreeNode root;
+    private volatile int size;
     private int nodeSize;
 
     private int maxDepth;
@@ -93,9 +102,11 @@ public class QuadTree {
      *         exceeded and the depth of the tree will be exceeded if we insert
      *         this data
      */
-    public boolean insert(QuadTreeData data) {
-        if (insert(data, this.root)) {
-            this.size++;
+    public synchronized boolean insert(QuadTreeData data) {
+        final QuadTreeNode r = new QuadTreeNode(this.root);
+        if (insert(data, r)) {
+            this.size++;        // Increment before to publish the root, for queries comparing with size().
+            this.root = r;
             return true;
         } else {
             return false;
@@ -125,17 +136,35 @@ public class QuadTree {
             return Quadrant.NE;
     }
 
+    /**
+     * Returns a copy of the child in the given quadrant, after replacing that child by its copy.
+     * This is used for modifying a node without changing the tree seen by concurrent queries.
+     *
+     * @param parent
+     *            a node which is not yet reachable from the root
+     * @param q
+     *            quadrant of the child to copy
+     * @return the copy, which is not yet reachable from the root
+     */
+    private static QuadTreeNode copyChild(final QuadTreeNode parent, final Quadrant q) {
+        final QuadTreeNode child = new QuadTreeNode(parent.getChild(q));
+        parent.setChild(child, q);
+        return child;
+    }
+
     /**
      * Inserts the data into the quad tree with the specified root.
+     * The given root shall be a copy which is not yet visible to queries.
      *
      * @param data
      *            data to be inserted
      * @param root
-     *            root of quadtree
+     *            copy of the root of quadtree
      * @return true if data was inserted, false otherwise
      */
     private boolean insert(final QuadTreeData data, final QuadTreeNode root) {
         int currentDepth = 0;
+        int nodeCount = this.nodeSize;
 
         QuadTreeNode r = root;
         double x = EARTH_MID_X;
@@ -150,7 +179,7 @@ public class QuadTree {
         q = compare(data, x, y);
         currentDepth++;
         while (t.getChild(q) != null && t.getChild(q).getNodeType() == NodeType.GRAY) {
-            t = t.getChild(q);
+            t = copyChild(t, q);
             x = x + xf[q.index()] * lx;
             lx = lx / 2.0;
             y = y + yf[q.index()] * ly;
@@ -162,13 +191,13 @@ public class QuadTree {
                 return false;
         }
         if (t.getChild(q) == null) {
-            QuadTreeNode newlyCreated = new QuadTreeNode(++this.nodeSize, this.capacity);
+            QuadTreeNode newlyCreated = new QuadTreeNode(++nodeCount, this.capacity);
             newlyCreated.addData(data);
             t.setChild(newlyCreated, q);
         } else {
             u = t.getChild(q);
             if (u.getCount() < this.capacity) {
-                u.addData(data);
+                copyChild(t, q).addData(data);
                 return true;
             } else {
                 QuadTreeData[] originalData = u.getData();
@@ -186,7 +215,7 @@ public class QuadTree {
                     if (currentDepth > this.maxDepth)
                         return false;
                     while (isSimilarQuad(originalData, data, x, y, q)) {
-                        t.setChild(new QuadTreeNode(NodeType.GRAY, ++this.nodeSize), q);
+                        t.setChild(new QuadTreeNode(NodeType.GRAY, ++nodeCount), q);
                         t = t.getChild(q);
                         x = x + xf[q.index()] * lx;
                         lx = lx / 2.0;
@@ -200,7 +229,7 @@ public class QuadTree {
                     }
 
                     if (t.getChild(q) == null) {
-                        QuadTreeNode newlyCreated = new QuadTreeNode(++this.nodeSize, this.capacity);
+                        QuadTreeNode newlyCreated = new QuadTreeNode(++nodeCount, this.capacity);
                         newlyCreated.addData(data);
                         t.setChild(newlyCreated, q);
                     } else {
@@ -210,7 +239,7 @@ public class QuadTree {
                     for (int i = 0; i < originalData.length; i++) {
                         uq = compare(originalData[i], x, y);
                         if (t.getChild(uq) == null) {
-                            QuadTreeNode newlyCreated = new QuadTreeNode(++this.nodeSize, this.capacity);
+                            QuadTreeNode newlyCreated = new QuadTreeNode(++nodeCount, this.capacity);
                             newlyCreated.addData(originalData[i]);
                             t.setChild(newlyCreated, uq);
                         } else {
@@ -222,6 +251,7 @@ public class QuadTree {
                 }
             }
         }
+        this.nodeSize = nodeCount;     // Update only on success, since the copy is discarded on failure.
         return true;
     }
 
@@ -307,6 +337,26 @@ public class QuadTree {
         return true;
     }
 
+    /**
+     * Receives the data found by a point radius search.
+     * This interface allows to process the results without allocating a list.
+     *
+     * @see QuadTree#queryByPointRadius(DirectPosition2D, double, Visitor)
+     */
+    @FunctionalInterface
+    public interface Visitor {
+        /**
+         * Invoked for each data found within the search radius.
+         *
+         * @param data
+         *            the data found
+         * @param distanceKM
+         *            great circle distance in kilometers between the data and the search center
+         * @return {@code true} for continuing the search, or {@code false} for stopping it
+         */
+        boolean visit(QuadTreeData data, double distanceKM);
+    }
+
     /**
      * Performs point radius search.
      *
@@ -318,87 +368,53 @@ public class QuadTree {
      *         point
      */
     public List<QuadTreeData> queryByPointRadius(final DirectPosition2D point, final double radiusKM) {
-        LatLonPointRadius pr = new LatLonPointRadius(point, radiusKM);
-        return queryByPointRadius(point, radiusKM, this.root,
-                new Rectangle2D.Double(EARTH_MIN_X, EARTH_MIN_Y, EARTH_MAX_X, EARTH_MAX_Y),
-                pr.getRectangularRegionApproximation(360));
+        final List<QuadTreeData> matches = new ArrayList<QuadTreeData>();
+        queryByPointRadius(point, radiusKM, (data, distance) -> matches.add(data));
+        return matches;
     }
 
     /**
-     * Performs point radius search.
+     * Performs point radius search and invokes the given visitor for each data found, in no particular order.
+     * Nodes are pruned using the latitude and longitude bounds of the circular region, and great circle
+     * distances are computed only for data inside those bounds.
      *
      * @param point
      *            the center of the circular region
      * @param radiusKM
      *            the radius in kilometers
-     * @param node
-     *            quad tree root node
-     * @param nodeRegion
-     *            Rectangle2D representing the circular node region
-     * @param searchRegion
-     *            Rectangle2D representing the circular search region
-     * @return a list of QuadTreeData that are within the given radius from the
-     *         point
+     * @param visitor
+     *            the visitor to invoke for each data within the given radius from the point
+     * @return {@code false} if the search has been stopped by the visitor, or {@code true} otherwise
      */
-    private List<QuadTreeData> queryByPointRadius(final DirectPosition2D point, final double radiusKM,
-            final QuadTreeNode node, final Rectangle2D nodeRegion, final Rectangle2D searchRegion) {
-        List<QuadTreeData> matches = new ArrayList<QuadTreeData>();
-        if (node == null) {
-            return matches;
-        } else if (node.getNodeType() != NodeType.GRAY) {
-            if (node.getNodeType() == NodeType.WHITE)
-                return matches;
-            else {
-                QuadTreeData[] data = node.getData();
-                for (int i = 0; i < node.getCount(); i++) {
-                    if (DistanceUtils.getHaversineDistance(data[i].getLatLon().y, data[i].getLatLon().x, point.y,
-                            point.x) <= radiusKM) {
-                        matches.add(data[i]);
-                    }
-                }
-                return matches;
-            }
-
-        } else {
-            Rectangle2D swRectangle = new Rectangle2D.Double(nodeRegion.getX(), nodeRegion.getY(),
-                    nodeRegion.getWidth() / 2, nodeRegion.getHeight() / 2);
-            Rectangle2D seRectangle = new Rectangle2D.Double(nodeRegion.getX() + nodeRegion.getWidth() / 2,
-                    nodeRegion.getY(), nodeRegion.getWidth() / 2, nodeRegion.getHeight() / 2);
-            Rectangle2D nwRectangle = new Rectangle2D.Double(nodeRegion.getX(),
-                    nodeRegion.getY() + nodeRegion.getHeight() / 2, nodeRegion.getWidth() / 2,
-                    nodeRegion.getHeight() / 2);
-            Rectangle2D neRectangle = new Rectangle2D.Double(nodeRegion.getX() + nodeRegion.getWidth() / 2,
-                    nodeRegion.getY() + nodeRegion.getHeight() / 2, nodeRegion.getWidth() / 2,
-                    nodeRegion.getHeight() / 2);
+    public boolean queryByPointRadius(final DirectPosition2D point, final double radiusKM, final Visitor visitor) {
+        ArgumentChecks.ensureNonNull("visitor", visitor);
+        return new RadiusQuery(point, radiusKM).search(this.root, EARTH_MIN_X, EARTH_MIN_Y, EARTH_MAX_X, EARTH_MAX_Y, visitor);
+    }
 
-            if (swRectangle.intersects(searchRegion)) {
-                List<QuadTreeData> swMatches = queryByPointRadius(point, radiusKM, node.getChild(Quadrant.SW),
-                        swRectangle, searchRegion);
-                for (QuadTreeData q : swMatches) {
-                    matches.add(q);
-                }
-            }
-            if (seRectangle.intersects(searchRegion)) {
-                List<QuadTreeData> seMatches = queryByPointRadius(point, radiusKM, node.getChild(Quadrant.SE),
-                        seRectangle, searchRegion);
-                for (QuadTreeData q : seMatches) {
-                    matches.add(q);
-                }
-            }
-            if (nwRectangle.intersects(searchRegion)) {
-                List<QuadTreeData> nwMatches = queryByPointRadius(point, radiusKM, node.getChild(Quadrant.NW),
-                        nwRectangle, searchRegion);
-                for (QuadTreeData q : nwMatches) {
-                    matches.add(q);
-                }
-            }
-            if (neRectangle.intersects(searchRegion)) {
-                List<QuadTreeData> neMatches = queryByPointRadius(point, radiusKM, node.getChild(Quadrant.NE),
-                        neRectangle, searchRegion);
-                for (QuadTreeData q : neMatches) {
-                    matches.add(q);
-                }
-            }
+    /**
+     * Performs point radius search and returns the <var>k</var> nearest data, sorted by increasing distance.
+     * The search region shrinks when <var>k</var> data have been found, so nodes farther than the current
+     * <var>k</var>-th nearest data are not traversed.
+     *
+     * @param point
+     *            the center of the circular region
+     * @param radiusKM
+     *            the radius in kilometers
+     * @param k
+     *            maximal number of data to return
+     * @return at most <var>k</var> QuadTreeData within the given radius from the
+     *         point, sorted by increasing distance
+     */
+    public List<QuadTreeData> queryByPointRadius(final DirectPosition2D point, final double radiusKM, final int k) {
+        ArgumentChecks.ensurePositive("k", k);
+        final QuadTreeNode snapshot = this.root;
+        final int n = Math.min(k, this.size);       // Read after root, so size is not smaller than the snapshot size.
+        final List<QuadTreeData> matches = new ArrayList<QuadTreeData>(n);
+        if (n != 0) {
+            final RadiusQuery query = new RadiusQuery(point, radiusKM);
+            query.retainNearest(n);
+            query.search(snapshot, EARTH_MIN_X, EARTH_MIN_Y, EARTH_MAX_X, EARTH_MAX_Y, null);
+            query.nearest(matches);
         }
         return matches;
     }
@@ -412,6 +428,7 @@ public class QuadTree {
      *         point
      */
     public List<QuadTreeData> queryByBoundingBox(final Envelope2D searchRegion) {
+        final QuadTreeNode snapshot = this.root;
         Rectangle2D.Double[] rectArray = searchRegion.toRectangles();
         for (final Rectangle2D.Double r : rectArray) {
             r.x += 180;
@@ -419,12 +436,12 @@ public class QuadTree {
         }
         if (rectArray.length == 1) {
             // traverse tree once because region does not cross dateline
-            return queryByBoundingBox(rectArray[0]);
+            return queryByBoundingBox(snapshot, rectArray[0]);
 
         } else if (rectArray.length == 2) {
             // traverse tree twice since region crosses dateline
-            List<QuadTreeData> firstMatches = queryByBoundingBox(rectArray[0]);
-            List<QuadTreeData> secondMatches = queryByBoundingBox(rectArray[1]);
+            List<QuadTreeData> firstMatches = queryByBoundingBox(snapshot, rectArray[0]);
+            List<QuadTreeData> secondMatches = queryByBoundingBox(snapshot, rectArray[1]);
 
             // merge two lists and return
             for (QuadTreeData q : secondMatches) {
@@ -441,13 +458,15 @@ public class QuadTree {
     /**
      * Performs bounding box search.
      *
+     * @param root
+     *            the root of the tree snapshot in which to search
      * @param searchRegion
      *            Rectangle2D representing the rectangular search region
      * @return a list of QuadTreeData that are within the given radius from the
      *         point
      */
-    private List<QuadTreeData> queryByBoundingBox(final Rectangle2D searchRegion) {
-        return queryByBoundingBox(this.root, new Rectangle2D.Double(EARTH_MIN_X, EARTH_MIN_Y, EARTH_MAX_X, EARTH_MAX_Y),
+    private List<QuadTreeData> queryByBoundingBox(final QuadTreeNode root, final Rectangle2D searchRegion) {
+        return queryByBoundingBox(root, new Rectangle2D.Double(EARTH_MIN_X, EARTH_MIN_Y, EARTH_MAX_X, EARTH_MAX_Y),
                 searchRegion);
     }
 
@@ -550,7 +569,7 @@ public class QuadTree {
      * @param size
      *            The new quad tree size.
      */
-    public void setSize(int size) {
+    public synchronized void setSize(int size) {
         this.size = size;
     }
 
@@ -569,7 +588,7 @@ public class QuadTree {
      * @param nodeSize
      *            The new node size.
      */
-    public void setNodeSize(int nodeSize) {
+    public synchronized void setNodeSize(int nodeSize) {
         this.nodeSize = nodeSize;
     }
 
@@ -578,7 +597,7 @@ public class QuadTree {
      *
      * @return node size of the quad tree.
      */
-    public int getNodeSize() {
+    public synchronized int getNodeSize() {
         return this.nodeSize;
     }
 
@@ -587,7 +606,7 @@ public class QuadTree {
      *
      * @return capacity of node in the quad tree.
      */
-    public int getCapacity() {
+    public synchronized int getCapacity() {
         return this.capacity;
     }
 
@@ -596,7 +615,7 @@ public class QuadTree {
      *
      * @return maximum depth of the quad tree.
      */
-    public int getDepth() {
+    public synchronized int getDepth() {
         return this.maxDepth;
     }
 
@@ -606,7 +625,7 @@ public class QuadTree {
      * @param capacity
      *            the capacity of node in the quad tree.
      */
-    public void setCapacity(int capacity) {
+    public synchronized void setCapacity(int capacity) {
         this.capacity = capacity;
     }
 
@@ -616,7 +635,7 @@ public class QuadTree {
      * @param depth
      *            the maximum depth of the quad tree.
      */
-    public void setDepth(int depth) {
+    public synchronized void setDepth(int depth) {
         this.maxDepth = depth;
     }
 }
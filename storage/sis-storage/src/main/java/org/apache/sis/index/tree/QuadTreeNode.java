@@ -71,6 +71,25 @@ final class QuadTreeNode {
         this.id = id;
     }
 
+    /**
+     * Constructs a copy of the given node. The children are shared with the given node,
+     * but the data array is copied since it may be modified by {@link #addData(QuadTreeData)}.
+     *
+     * @param other
+     *            the node to copy
+     */
+    QuadTreeNode(final QuadTreeNode other) {
+        this.type = other.type;
+        this.nw = other.nw;
+        this.ne = other.ne;
+        this.sw = other.sw;
+        this.se = other.se;
+        this.id = other.id;
+        this.capacity = other.capacity;
+        this.dataCount = other.dataCount;
+        this.data = (other.data != null) ? other.data.clone() : null;
+    }
+
     /**
      * Add data to the node.
      *
@@ -0,0 +1,287 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sis.index.tree;
+
+import java.util.Arrays;
+import java.util.List;
+import org.apache.sis.distance.DistanceUtils;
+import org.apache.sis.geometry.DirectPosition2D;
+
+
+/**
+ * A search for all data within a given distance from a point, in a {@link QuadTree}.
+ * Distances are great circle distances computed with the haversine formula on a sphere.
+ * The search region is bounded by the exact latitude and longitude ranges of the spherical cap,
+ * which are computed once and used for pruning the quadtree nodes without trigonometric functions.
+ * Trigonometric functions are evaluated only for data inside those ranges.
+ *
+ * <p>This class can operate in two modes: with a {@link QuadTree.Visitor} receiving all data
+ * within the radius, or with a bounded priority queue retaining only the <var>k</var> nearest
+ * data. In the later mode, the search region shrinks as nearer data are found.</p>
+ *
+ * <p>Instances of this class are used for a single search and are not thread-safe.</p>
+ *
+ * @author  agent
+ * @version 1.0
+ * @since   1.0
+ * @module
+ */
+final class RadiusQuery {
+    /**
+     * Width and height of the quadtree domain. Coordinates in the quadtree are longitudes and
+     * latitudes shifted by 180° and 90° respectively, for having only positive values.
+     */
+    private static final double WIDTH = 360, HEIGHT = 180;
+
+    /**
+     * Latitude and longitude of the search center, in radians.
+     */
+    private final double φ0, λ0;
+
+    /**
+     * Cosine of the latitude of the search center.
+     */
+    private final double cosφ0;
+
+    /**
+     * Maximal value of the haversine of the angular distance for accepting a data.
+     * This is sin²(δ/2) where δ is the angular radius of the search region.
+     */
+    private double threshold;
+
+    /**
+     * Range of quadtree <var>y</var> values (shifted latitudes) of the search region.
+     */
+    private double ymin, ymax;
+
+    /**
+     * Ranges of quadtree <var>x</var> values (shifted longitudes) of the search region.
+     * The second range is used only when the search region crosses the anti-meridian,
+     * and is empty ({@code xmin2 > xmax2}) otherwise.
+     */
+    private double xmin, xmax, xmin2, xmax2;
+
+    /**
+     * If this query retains only the <var>k</var> nearest data, a max-heap of those data
+     * sorted by the haversine values in {@link #heapValues}. Otherwise {@code null}.
+     */
+    private QuadTreeData[] heapData;
+
+    /**
+     * Haversine values of the data in {@link #heapData}, organized as a max-heap.
+     */
+    private double[] heapValues;
+
+    /**
+     * Number of valid elements in {@link #heapData}.
+     */
+    private int count;
+
+    /**
+     * Creates a new query for all data within the given distance from the given point.
+     *
+     * @param  center    longitude and latitude of the center of the search region, in degrees.
+     * @param  radiusKM  the radius in kilometres.
+     */
+    RadiusQuery(final DirectPosition2D center, final double radiusKM) {
+        φ0    = Math.toRadians(center.y);
+        λ0    = Math.toRadians(center.x);
+        cosφ0 = Math.cos(φ0);
+        final double δ = radiusKM / DistanceUtils.EARTH_RADIUS;
+        setThreshold(δ >= Math.PI ? 1 : haversine(δ));
+    }
+
+    /**
+     * Sets this query for retaining only the <var>k</var> nearest data.
+     *
+     * @param  k  maximal number of data to retain.
+     */
+    void retainNearest(final int k) {
+        heapData   = new QuadTreeData[k];
+        heapValues = new double[k];
+    }
+
+    /**
+     * Returns sin²(θ/2), which is the haversine of the given angle.
+     */
+    private static double haversine(final double θ) {
+        final double s = Math.sin(θ / 2);
+        return s*s;
+    }
+
+    /**
+     * Converts a haversine value computed by this class to a distance in kilometres.
+     */
+    private static double toDistance(final double h) {
+        return 2 * DistanceUtils.EARTH_RADIUS * Math.asin(Math.sqrt(Math.min(h, 1)));
+    }
+
+    /**
+     * Sets the maximal haversine value and computes the latitude and longitude ranges
+     * of the spherical cap having the corresponding angular radius.
+     */
+    private void setThreshold(final double h) {
+        threshold = h;
+        xmin2 = Double.POSITIVE_INFINITY;
+        xmax2 = Double.NEGATIVE_INFINITY;
+        final double δ = 2 * Math.asin(Math.sqrt(Math.min(h, 1)));
+        ymin = Math.toDegrees(φ0 - δ) + HEIGHT/2;
+        ymax = Math.toDegrees(φ0 + δ) + HEIGHT/2;
+        if (ymin <= 0 || ymax >= HEIGHT) {
+            // The cap contains a pole: all longitudes are possible.
+            ymin = Math.max(ymin, 0);
+            ymax = Math.min(ymax, HEIGHT);
+            xmin = 0;
+            xmax = WIDTH;
+            return;
+        }
+        final double Δλ = Math.toDegrees(Math.asin(Math.sin(δ) / cosφ0));
+        final double λ  = Math.toDegrees(λ0) + WIDTH/2;
+        xmin = λ - Δλ;
+        xmax = λ + Δλ;
+        if (xmin < 0) {
+            xmin2 = xmin + WIDTH;
+            xmax2 = WIDTH;
+            xmin  = 0;
+        } else if (xmax > WIDTH) {
+            xmin2 = 0;
+            xmax2 = xmax - WIDTH;
+            xmax  = WIDTH;
+        }
+    }
+
+    /**
+     * Returns {@code true} if the given rectangle in quadtree coordinates intersects the search region.
+     */
+    private boolean intersects(final double x0, final double y0, final double x1, final double y1) {
+        return y0 <= ymax && y1 >= ymin && ((x0 <= xmax && x1 >= xmin) || (x0 <= xmax2 && x1 >= xmin2));
+    }
+
+    /**
+     * Searches all data in the given node and its children.
+     *
+     * @param  node     the node where to search, or {@code null}.
+     * @param  x        <var>x</var> value of the lower-left corner of the node.
+     * @param  y        <var>y</var> value of the lower-left corner of the node.
+     * @param  w        width of the node.
+     * @param  h        height of the node.
+     * @param  visitor  the visitor to invoke for each data, or {@code null} if retaining the nearest data.
+     * @return {@code false} if the search has been stopped by the visitor, or {@code true} otherwise.
+     */
+    boolean search(final QuadTreeNode node, final double x, final double y, final double w, final double h,
+                   final QuadTree.Visitor visitor)
+    {
+        if (node == null || !intersects(x, y, x + w, y + h)) {
+            return true;
+        }
+        switch (node.getNodeType()) {
+            case BLACK: {
+                final QuadTreeData[] data = node.getData();
+                for (int i=0, n=node.getCount(); i<n; i++) {
+                    final QuadTreeData d = data[i];
+                    final double dx = d.getX();
+                    final double dy = d.getY();
+                    if (dy >= ymin && dy <= ymax && ((dx >= xmin && dx <= xmax) || (dx >= xmin2 && dx <= xmax2))) {
+                        final DirectPosition2D p = d.getLatLon();
+                        final double φ = Math.toRadians(p.y);
+                        final double v = haversine(φ - φ0) + cosφ0 * Math.cos(φ) * haversine(Math.toRadians(p.x) - λ0);
+                        if (v <= threshold) {
+                            if (visitor == null) {
+                                offer(d, v);
+                            } else if (!visitor.visit(d, toDistance(v))) {
+                                return false;
+                            }
+                        }
+                    }
+                }
+                return true;
+            }
+            case GRAY: {
+                final double hw = w / 2;
+                final double hh = h / 2;
+                return search(node.getChild(Quadrant.SW), x,      y,      hw, hh, visitor)
+                    && search(node.getChild(Quadrant.SE), x + hw, y,      hw, hh, visitor)
+                    && search(node.getChild(Quadrant.NW), x,      y + hh, hw, hh, visitor)
+                    && search(node.getChild(Quadrant.NE), x + hw, y + hh, hw, hh, visitor);
+            }
+            default: return true;
+        }
+    }
+
+    /**
+     * Adds the given data in the bounded priority queue. If the queue is full,
+     * the farthest data is discarded and the search region is reduced.
+     */
+    private void offer(final QuadTreeData data, final double v) {
+        if (count < heapData.length) {
+            int k = count++;
+            while (k > 0) {                                     // Sift up.
+                final int parent = (k - 1) >>> 1;
+                if (heapValues[parent] >= v) break;
+                heapValues[k] = heapValues[parent];
+                heapData  [k] = heapData  [parent];
+                k = parent;
+            }
+            heapValues[k] = v;
+            heapData  [k] = data;
+        } else if (v < heapValues[0]) {
+            replaceFirst(data, v, count);
+        } else {
+            return;
+        }
+        if (count == heapData.length && heapValues[0] < threshold) {
+            setThreshold(heapValues[0]);
+        }
+    }
+
+    /**
+     * Replaces the farthest data (the heap root) by the given data, then restores the heap property
+     * in the first {@code n} elements.
+     */
+    private void replaceFirst(final QuadTreeData data, final double v, final int n) {
+        int k = 0;
+        int child;
+        while ((child = 2*k + 1) < n) {                         // Sift down.
+            if (child + 1 < n && heapValues[child + 1] > heapValues[child]) child++;
+            if (v >= heapValues[child]) break;
+            heapValues[k] = heapValues[child];
+            heapData  [k] = heapData  [child];
+            k = child;
+        }
+        heapValues[k] = v;
+        heapData  [k] = data;
+    }
+
+    /**
+     * Returns the nearest data found by the search, sorted by increasing distance.
+     * This method sorts the heap in place, so it shall be invoked only once.
+     *
+     * @param  target  where to add the data.
+     * @return the given list.
+     */
+    List<QuadTreeData> nearest(final List<QuadTreeData> target) {
+        for (int n = count; --n > 0;) {                         // Heap sort.
+            final QuadTreeData data = heapData[n];
+            final double v = heapValues[n];
+            heapData  [n] = heapData  [0];
+            heapValues[n] = heapValues[0];
+            replaceFirst(data, v, n);
+        }
+        target.addAll(Arrays.asList(heapData).subList(0, count));
+        return target;
+    }
+}
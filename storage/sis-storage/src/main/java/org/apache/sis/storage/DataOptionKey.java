@@ -49,6 +49,17 @@ public final class DataOptionKey<T> extends OptionKey<T> {
     public static final OptionKey<FoliationRepresentation> FOLIATION_REPRESENTATION =
             new DataOptionKey<>("FOLIATION_REPRESENTATION", FoliationRepresentation.class);
 
+    /**
+     * Whether to decode geometries only when the feature property value is first requested.
+     * If {@code true}, the encoded bytes are kept in memory until first needed, which saves the
+     * parsing cost for geometries that are never used but increases memory usage.
+     * The default value is {@code false}.
+     *
+     * @since 1.0
+     */
+    public static final OptionKey<Boolean> DEFERRED_GEOMETRY_DECODING =
+            new DataOptionKey<>("DEFERRED_GEOMETRY_DECODING", Boolean.class);
+
     /**
      * Creates a new key of the given name.
      */
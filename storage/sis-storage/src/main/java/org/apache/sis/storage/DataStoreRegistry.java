@@ -25,6 +25,8 @@ import org.apache.sis.internal.storage.Resources;
 import org.apache.sis.internal.storage.StoreMetadata;
 import org.apache.sis.internal.storage.io.IOUtilities;
 import org.apache.sis.internal.system.DefaultFactories;
+import org.apache.sis.internal.system.Modules;
+import org.apache.sis.internal.system.OperationStatistics;
 import org.apache.sis.internal.referencing.LazySet;
 import org.apache.sis.util.ArgumentChecks;
 import org.apache.sis.util.ArraysExt;
@@ -49,6 +51,11 @@ import org.apache.sis.util.ArraysExt;
  * @module
  */
 final class DataStoreRegistry {
+    /**
+     * Execution times of {@link #open(Object)}, including the search for a provider.
+     */
+    private static final OperationStatistics OPEN = OperationStatistics.forName("Open data store");
+
     /**
      * The loader to use for searching for {@link DataStoreProvider} implementations.
      * Note that {@code ServiceLoader} are not thread-safe - usage of this field must
@@ -136,7 +143,10 @@ final class DataStoreRegistry {
      */
     public DataStore open(final Object storage) throws UnsupportedStorageException, DataStoreException {
         ArgumentChecks.ensureNonNull("storage", storage);
-        return lookup(storage, true).store;
+        final long startTime = System.nanoTime();
+        final DataStore store = lookup(storage, true).store;
+        OPEN.record(startTime, Modules.STORAGE, DataStores.class, "open");
+        return store;
     }
 
     /**
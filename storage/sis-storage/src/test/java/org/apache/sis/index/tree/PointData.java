@@ -0,0 +1,62 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sis.index.tree;
+
+import java.util.Random;
+import org.apache.sis.geometry.DirectPosition2D;
+
+
+/**
+ * A point to insert in a {@link QuadTree}, together with a generator of random coordinates.
+ * This is a fixture shared by the {@link QuadTree} and {@link PointIndex} tests and benchmarks.
+ *
+ * @author  agent
+ * @version 1.0
+ * @since   1.0
+ * @module
+ */
+final class PointData implements QuadTreeData {
+    /**
+     * The (longitude, latitude) coordinates of this point.
+     */
+    private final DirectPosition2D position;
+
+    /**
+     * Creates a point at the given longitude and latitude.
+     */
+    PointData(final double x, final double y)     {position = new DirectPosition2D(x, y);}
+    @Override public double getX()                {return position.x + 180;}
+    @Override public double getY()                {return position.y + 90;}
+    @Override public DirectPosition2D getLatLon() {return position;}
+    @Override public String getFileName()         {return null;}
+
+    /**
+     * Creates random points in the [-180 … 180] × [-90 … 90] domain.
+     *
+     * @param  random  the random number generator to use.
+     * @param  count   number of points to create.
+     * @return the (<var>x</var>,<var>y</var>) coordinates of the points, as a sequence of tuples.
+     */
+    static double[] createCoordinates(final Random random, final int count) {
+        final double[] coordinates = new double[count * 2];
+        for (int i=0; i<coordinates.length;) {
+            coordinates[i++] = random.nextDouble() * 360 - 180;
+            coordinates[i++] = random.nextDouble() * 180 -  90;
+        }
+        return coordinates;
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sis.index.tree;
+
+import java.util.Random;
+import org.apache.sis.geometry.Envelope2D;
+import org.apache.sis.internal.util.StandardDateFormat;
+
+
+/**
+ * Compares {@link PointIndex} construction time and bounding box queries with {@link QuadTree}.
+ * The number of points is given on the command line (default is 10 millions).
+ * Memory usage can be compared with the {@code -Xmx} option of the Java virtual machine.
+ *
+ * @author  agent
+ * @version 1.0
+ * @since   1.0
+ * @module
+ */
+public final class PointIndexBenchmark {
+    /**
+     * Number of bounding box queries to execute.
+     */
+    private static final int QUERY_COUNT = 10000;
+
+    /**
+     * Do not allow instantiation of this class.
+     */
+    private PointIndexBenchmark() {
+    }
+
+    /**
+     * Prints the time elapsed since the given start time.
+     */
+    private static void print(final String label, final long startTime, final long count) {
+        final double seconds = (System.nanoTime() - startTime) / (double) StandardDateFormat.NANOS_PER_SECOND;
+        System.out.printf("%-32s %8.3f seconds (%d points found)%n", label, seconds, count);
+    }
+
+    /**
+     * Runs from the command line.
+     *
+     * @param  arguments  optionally the number of points.
+     */
+    public static void main(final String[] arguments) {
+        final int count = (arguments.length != 0) ? Integer.parseInt(arguments[0]) : 10_000_000;
+        final Random random = new Random(42);
+        final double[] coordinates = PointData.createCoordinates(random, count);
+        final double[] queries = new double[QUERY_COUNT * 2];
+        for (int i=0; i<queries.length;) {
+            queries[i++] = random.nextDouble() * 350 - 180;
+            queries[i++] = random.nextDouble() * 170 -  90;
+        }
+        /*
+         * Packed index.
+         */
+        long time = System.nanoTime();
+        final PointIndex index = new PointIndex(coordinates);
+        print("PointIndex construction", time, index.size());
+        final long[] found = new long[1];
+        time = System.nanoTime();
+        for (int i=0; i<queries.length; i += 2) {
+            index.search(queries[i], queries[i+1], queries[i] + 10, queries[i+1] + 10, (id, x, y) -> {found[0]++; return true;});
+        }
+        print("PointIndex bounding box queries", time, found[0]);
+        /*
+         * Object-based quadtree.
+         */
+        time = System.nanoTime();
+        final QuadTree tree = new QuadTree(100, 32);
+        for (int i=0; i<coordinates.length; i += 2) {
+            tree.insert(new PointData(coordinates[i], coordinates[i+1]));
+        }
+        print("QuadTree construction", time, tree.size());
+        found[0] = 0;
+        time = System.nanoTime();
+        for (int i=0; i<queries.length; i += 2) {
+            found[0] += tree.queryByBoundingBox(new Envelope2D(null, queries[i], queries[i+1], 10, 10)).size();
+        }
+        print("QuadTree bounding box queries", time, found[0]);
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sis.index.tree;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.apache.sis.test.DependsOnMethod;
+import org.apache.sis.test.TestCase;
+import org.apache.sis.test.TestUtilities;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+
+/**
+ * Tests {@link PointIndex}.
+ *
+ * @author  agent
+ * @version 1.0
+ * @since   1.0
+ * @module
+ */
+public final strictfp class PointIndexTest extends TestCase {
+    /**
+     * Tests the Hilbert curve computation on a few cells of known position.
+     */
+    @Test
+    public void testHilbert() {
+        assertEquals(0, PointIndex.hilbert(0, 0));
+        assertEquals((1 << 30) - 1, PointIndex.hilbert((1 << 15) - 1, 0));
+        /*
+         * Two consecutive positions along the curve shall be adjacent cells.
+         */
+        final int n = 1 << 15;
+        final int[] position = new int[2];
+        for (int x = n/2 - 8; x < n/2 + 8; x++) {
+            for (int y = 0; y < 16; y++) {
+                final int d = PointIndex.hilbert(x, y);
+                position[0] = x;
+                position[1] = y;
+                for (final int[] delta : new int[][] {{1,0}, {-1,0}, {0,1}, {0,-1}}) {
+                    final int nx = x + delta[0];
+                    final int ny = y + delta[1];
+                    if (nx >= 0 && ny >= 0 && PointIndex.hilbert(nx, ny) == d + 1) {
+                        position[0] = -1;
+                    }
+                }
+                assertEquals("Next position along the curve is not adjacent.", -1, position[0]);
+            }
+        }
+    }
+
+    /**
+     * Tests {@link PointIndex#search(double, double, double, double, PointIndex.Visitor)}
+     * by comparing with a brute-force search.
+     */
+    @Test
+    public void testSearch() {
+        final Random random = TestUtilities.createRandomNumberGenerator();
+        final double[] coordinates = PointData.createCoordinates(random, 5000);
+        final PointIndex index = new PointIndex(coordinates, 8);
+        assertEquals("size", 5000, index.size());
+        for (int n=0; n<20; n++) {
+            final double xmin = random.nextDouble() * 300 - 180;
+            final double ymin = random.nextDouble() * 150 -  90;
+            final double xmax = xmin + random.nextDouble() * 60;
+            final double ymax = ymin + random.nextDouble() * 30;
+            final boolean[] expected = new boolean[5000];
+            for (int i=0; i<expected.length; i++) {
+                final double x = coordinates[2*i];
+                final double y = coordinates[2*i+1];
+                expected[i] = (x >= xmin && x <= xmax && y >= ymin && y <= ymax);
+            }
+            final boolean[] actual = new boolean[5000];
+            assertTrue(index.search(xmin, ymin, xmax, ymax, (id, x, y) -> {
+                assertEquals("x", coordinates[2*id],   x, STRICT);
+                assertEquals("y", coordinates[2*id+1], y, STRICT);
+                assertFalse("Duplicated point.", actual[id]);
+                actual[id] = true;
+                return true;
+            }));
+            assertArrayEquals(expected, actual);
+        }
+    }
+
+    /**
+     * Tests {@link PointIndex#nearest(double, double, int)} by comparing with a brute-force search.
+     */
+    @Test
+    public void testNearest() {
+        final Random random = TestUtilities.createRandomNumberGenerator();
+        final double[] coordinates = PointData.createCoordinates(random, 3000);
+        final PointIndex index = new PointIndex(coordinates);
+        final double[] distances = new double[3000];
+        for (int n=0; n<20; n++) {
+            final double x = random.nextDouble() * 360 - 180;
+            final double y = random.nextDouble() * 180 -  90;
+            for (int i=0; i<distances.length; i++) {
+                distances[i] = Math.hypot(coordinates[2*i] - x, coordinates[2*i+1] - y);
+            }
+            final int[] nearest = index.nearest(x, y, 10);
+            assertEquals(10, nearest.length);
+            final double[] sorted = distances.clone();
+            Arrays.sort(sorted);
+            for (int i=0; i<nearest.length; i++) {
+                assertEquals(sorted[i], distances[nearest[i]], STRICT);
+            }
+        }
+        assertEquals(0, new PointIndex(new double[0]).nearest(0, 0, 5).length);
+    }
+
+    /**
+     * Tests writing an index in a file, then reading it back.
+     *
+     * @throws IOException if an error occurred while writing or reading the temporary file.
+     */
+    @Test
+    @DependsOnMethod({"testSearch", "testNearest"})
+    public void testWriteAndRead() throws IOException {
+        final Random random = TestUtilities.createRandomNumberGenerator();
+        final double[] coordinates = PointData.createCoordinates(random, 1000);
+        final PointIndex index = new PointIndex(coordinates);
+        final Path file = Files.createTempFile("PointIndex", ".bin");
+        try {
+            index.write(file);
+            final PointIndex copy = PointIndex.read(file);
+            assertEquals("size", index.size(), copy.size());
+            assertArrayEquals(index.nearest(10, 20, 50), copy.nearest(10, 20, 50));
+            final int[] count = new int[2];
+            index.search(-50, -40, 60, 30, (id, x, y) -> {count[0]++; return true;});
+            copy .search(-50, -40, 60, 30, (id, x, y) -> {count[1]++; return true;});
+            assertTrue(count[0] > 0);
+            assertEquals(count[0], count[1]);
+        } finally {
+            Files.delete(file);
+        }
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sis.index.tree;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicReference;
+import org.apache.sis.distance.DistanceUtils;
+import org.apache.sis.geometry.DirectPosition2D;
+import org.apache.sis.geometry.Envelope2D;
+import org.apache.sis.test.TestCase;
+import org.apache.sis.test.TestUtilities;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+
+/**
+ * Tests {@link QuadTree}.
+ *
+ * @author  agent
+ * @version 1.0
+ * @since   1.0
+ * @module
+ */
+public final strictfp class QuadTreeTest extends TestCase {
+    /**
+     * Number of points to insert in the tree.
+     */
+    private static final int COUNT = 20000;
+
+    /**
+     * Creates a tree filled with random data.
+     */
+    private static QuadTree createTree(final Random random, final PointData[] data) {
+        final QuadTree tree = new QuadTree(8, 32);
+        for (int i=0; i<data.length; i++) {
+            data[i] = new PointData(random.nextDouble() * 360 - 180, random.nextDouble() * 180 - 90);
+            assertTrue(tree.insert(data[i]));
+        }
+        return tree;
+    }
+
+    /**
+     * Tests {@link QuadTree#queryByPointRadius(DirectPosition2D, double, QuadTree.Visitor)}
+     * and {@link QuadTree#queryByPointRadius(DirectPosition2D, double, int)} by comparison
+     * with a brute-force search. Search centers include points close to the poles and
+     * to the anti-meridian.
+     */
+    @Test
+    public void testQueryByPointRadius() {
+        final Random random = TestUtilities.createRandomNumberGenerator();
+        final PointData[] data = new PointData[COUNT];
+        final QuadTree tree = createTree(random, data);
+        final double[] distances = new double[COUNT];
+        final double[][] centers = {{0, 0}, {179, 10}, {-179.5, -20}, {30, 89}, {-100, -88}};
+        for (final double[] c : centers) {
+            final DirectPosition2D center = new DirectPosition2D(c[0], c[1]);
+            final double radius = 200 + random.nextDouble() * 1000;
+            int expected = 0;
+            for (int i=0; i<COUNT; i++) {
+                final DirectPosition2D p = data[i].getLatLon();
+                distances[i] = DistanceUtils.getHaversineDistance(p.y, p.x, center.y, center.x);
+                if (distances[i] <= radius) expected++;
+            }
+            final int[] count = new int[1];
+            assertTrue(tree.queryByPointRadius(center, radius, (d, distance) -> {
+                final DirectPosition2D p = d.getLatLon();
+                assertEquals(DistanceUtils.getHaversineDistance(p.y, p.x, center.y, center.x), distance, 1E-6);
+                assertTrue(distance <= radius + 1E-6);
+                count[0]++;
+                return true;
+            }));
+            assertEquals("Number of points in radius.", expected, count[0]);
+            assertEquals(expected, tree.queryByPointRadius(center, radius).size());
+            /*
+             * Top-k query shall return the nearest points in increasing distance order.
+             */
+            final List<QuadTreeData> nearest = tree.queryByPointRadius(center, radius, 5);
+            final double[] sorted = distances.clone();
+            Arrays.sort(sorted);
+            assertEquals(Math.min(5, expected), nearest.size());
+            for (int i=0; i<nearest.size(); i++) {
+                final DirectPosition2D p = nearest.get(i).getLatLon();
+                assertEquals(sorted[i], DistanceUtils.getHaversineDistance(p.y, p.x, center.y, center.x), 1E-6);
+            }
+        }
+    }
+
+    /**
+     * Tests an insertion which fails because the maximal depth would be exceeded.
+     * The tree, including its node count, shall be unchanged.
+     */
+    @Test
+    public void testInsertFailure() {
+        final QuadTree tree = new QuadTree(1, 4);
+        assertTrue(tree.insert(new PointData(10, 20)));
+        final int nodeSize = tree.getNodeSize();
+        assertFalse(tree.insert(new PointData(10, 20)));
+        assertEquals("nodeSize", nodeSize, tree.getNodeSize());
+        assertEquals("size", 1, tree.size());
+    }
+
+    /**
+     * Tests queries executed while another thread inserts data.
+     * Each query shall see a consistent snapshot of the tree.
+     * Failures in the writer thread are reported after that thread completed.
+     *
+     * @throws InterruptedException if the test has been interrupted.
+     */
+    @Test
+    public void testConcurrentInsertAndQuery() throws InterruptedException {
+        final Random random = TestUtilities.createRandomNumberGenerator();
+        final PointData[] data = new PointData[COUNT];
+        for (int i=0; i<COUNT; i++) {
+            data[i] = new PointData(random.nextDouble() * 360 - 180, random.nextDouble() * 180 - 90);
+        }
+        final QuadTree tree = new QuadTree(8, 32);
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        final Thread writer = new Thread(() -> {
+            try {
+                for (final PointData d : data) {
+                    assertTrue(tree.insert(d));
+                }
+            } catch (RuntimeException | Error e) {
+                failure.set(e);
+            }
+        });
+        writer.start();
+        final Envelope2D world = new Envelope2D(null, -180, -90, 360, 180);
+        int previous = 0;
+        while (writer.isAlive()) {
+            final int count = tree.queryByBoundingBox(world).size();
+            assertTrue("Query saw fewer points than a previous query.", count >= previous);
+            assertTrue(count <= tree.size());
+            previous = count;
+        }
+        writer.join();
+        final Throwable e = failure.get();
+        if (e instanceof Error) throw (Error) e;
+        if (e != null) throw (RuntimeException) e;
+        assertEquals("size", COUNT, tree.size());
+        assertEquals(COUNT, tree.queryByBoundingBox(world).size());
+    }
+}